@@ -113,6 +113,30 @@ public final class Citrus {
     public static final String VARIABLE_SUFFIX = "}";
     public static final String VARIABLE_ESCAPE = "//";
 
+    /** Maximum number of compiled dynamic content templates held in cache, zero disables template compilation */
+    public static final String DYNAMIC_CONTENT_CACHE_SIZE_PROPERTY = "citrus.dynamic.content.cache.size";
+    public static final String DYNAMIC_CONTENT_CACHE_SIZE_ENV = "CITRUS_DYNAMIC_CONTENT_CACHE_SIZE";
+    public static final int DYNAMIC_CONTENT_CACHE_SIZE = Integer.valueOf(System.getProperty(DYNAMIC_CONTENT_CACHE_SIZE_PROPERTY, System.getenv(DYNAMIC_CONTENT_CACHE_SIZE_ENV) != null ?
+            System.getenv(DYNAMIC_CONTENT_CACHE_SIZE_ENV) : "1000"));
+
+    /** Parse XML test files once and reuse parsed bean definitions for each test instance */
+    public static final String XML_TEST_DEFINITION_CACHE_PROPERTY = "citrus.xml.test.definition.cache";
+    public static final String XML_TEST_DEFINITION_CACHE_ENV = "CITRUS_XML_TEST_DEFINITION_CACHE";
+    public static final boolean XML_TEST_DEFINITION_CACHE = Boolean.valueOf(System.getProperty(XML_TEST_DEFINITION_CACHE_PROPERTY, System.getenv(XML_TEST_DEFINITION_CACHE_ENV) != null ?
+            System.getenv(XML_TEST_DEFINITION_CACHE_ENV) : "false"));
+
+    /** Maximum number of compiled XPath expressions held in cache per thread, zero disables expression caching */
+    public static final String XPATH_EXPRESSION_CACHE_SIZE_PROPERTY = "citrus.xpath.expression.cache.size";
+    public static final String XPATH_EXPRESSION_CACHE_SIZE_ENV = "CITRUS_XPATH_EXPRESSION_CACHE_SIZE";
+    public static final int XPATH_EXPRESSION_CACHE_SIZE = Integer.valueOf(System.getProperty(XPATH_EXPRESSION_CACHE_SIZE_PROPERTY, System.getenv(XPATH_EXPRESSION_CACHE_SIZE_ENV) != null ?
+            System.getenv(XPATH_EXPRESSION_CACHE_SIZE_ENV) : "500"));
+
+    /** Maximum number of compiled JsonPath expressions held in cache, zero disables expression caching */
+    public static final String JSON_PATH_CACHE_SIZE_PROPERTY = "citrus.json.path.cache.size";
+    public static final String JSON_PATH_CACHE_SIZE_ENV = "CITRUS_JSON_PATH_CACHE_SIZE";
+    public static final int JSON_PATH_CACHE_SIZE = Integer.valueOf(System.getProperty(JSON_PATH_CACHE_SIZE_PROPERTY, System.getenv(JSON_PATH_CACHE_SIZE_ENV) != null ?
+            System.getenv(JSON_PATH_CACHE_SIZE_ENV) : "500"));
+
     /** Default application context name */
     public static final String DEFAULT_APPLICATION_CONTEXT_PROPERTY = "citrus.spring.application.context";
     public static final String DEFAULT_APPLICATION_CONTEXT_ENV = "CITRUS_SPRING_APPLICATION_CONTEXT";
@@ -18,14 +18,34 @@ package com.consol.citrus.actions;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.NestedTransactionNotSupportedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Test action execute SQL statements. Use this action when executing
  * database altering statements like UPDATE, INSERT, ALTER, DELETE. Statements are either
  * embedded inline in the test case description or given by an external file resource.
  * 
  * When executing SQL query statements (SELECT) see {@link ExecuteSQLQueryAction}.
+ *
+ * With a batch size greater than zero statements are sent to the database in JDBC batches. When bind variables
+ * are enabled in addition test variables used as complete string literal such as '${name}' become bind parameters
+ * so statements differing only in those values share a prepared statement. The variable values are bound as strings
+ * just like the former literal so strict databases need an explicit cast where the column is not a character type,
+ * e.g. CAST('${id}' AS INTEGER). Consecutive statements without bind parameters are grouped in plain statement batches.
+ *
+ * When errors are ignored a failed batch is rolled back, either to a savepoint within the current transaction or
+ * as local transaction on the data source, and its statements are executed one by one afterwards. In case the transaction
+ * manager does not allow nested transactions statements are executed one by one without batching.
  * 
  * @author Christoph Deppisch, Jan Szczepanski
  * @since 2006
@@ -34,6 +54,15 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
     /** boolean flag marking that possible SQL errors will be ignored */
     private boolean ignoreErrors = false;
 
+    /** Number of statements per JDBC batch, batch execution is disabled when zero */
+    private int batchSize = 0;
+
+    /** Use bind parameters for test variables in string literals when executing batches */
+    private boolean bindVariables = false;
+
+    /** Test variable placeholders used as complete string literal */
+    private static final Pattern BIND_VARIABLE_PATTERN = Pattern.compile("(?<!')'\\$\\{([^'{}]+)\\}'(?!')");
+
     /**
      * Default constructor.
      */
@@ -69,6 +98,15 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
      * @param context
      */
     protected void executeStatements(TestContext context) {
+        if (batchSize > 0) {
+            if (!ignoreErrors || isNestedTransactionAllowed()) {
+                executeBatches(context);
+                return;
+            }
+
+            log.warn("Transaction manager does not allow nested transactions - ignoring errors without batch execution");
+        }
+
         for (String stmt : statements)  {
             try {
                 final String toExecute;
@@ -97,6 +135,222 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
         }
     }
 
+    /**
+     * Run all SQL statements in JDBC batches. Batch is sent when batch size is reached or when next statement
+     * can not join the current batch.
+     * @param context
+     */
+    protected void executeBatches(TestContext context) {
+        TransactionTemplate batchTransaction = ignoreErrors ? createBatchTransaction() : null;
+        List<PreparedSql> batch = new ArrayList<>();
+
+        for (String stmt : statements) {
+            PreparedSql preparedSql;
+            try {
+                preparedSql = prepareSql(stmt, context);
+            } catch (Exception e) {
+                if (ignoreErrors) {
+                    log.error("Ignoring error while preparing SQL statement: " + e.getLocalizedMessage());
+                    continue;
+                } else {
+                    throw new CitrusRuntimeException(e);
+                }
+            }
+
+            if (!batch.isEmpty() && (batch.size() >= batchSize || !batch.get(0).isBatchCompatible(preparedSql))) {
+                executeBatch(batch, batchTransaction);
+                batch = new ArrayList<>();
+            }
+
+            batch.add(preparedSql);
+        }
+
+        if (!batch.isEmpty()) {
+            executeBatch(batch, batchTransaction);
+        }
+    }
+
+    /**
+     * Checks if transaction manager used for batches allows nested transactions. Transaction managers that
+     * do not expose this setting are expected to support nested transactions.
+     * @return
+     */
+    private boolean isNestedTransactionAllowed() {
+        PlatformTransactionManager transactionManager = getTransactionManager();
+        return !(transactionManager instanceof AbstractPlatformTransactionManager) ||
+                ((AbstractPlatformTransactionManager) transactionManager).isNestedTransactionAllowed();
+    }
+
+    /**
+     * Creates nested transaction for batches when errors are ignored. Nested transaction uses a savepoint when
+     * a transaction is active and a new local transaction on the data source otherwise.
+     * @return
+     */
+    private TransactionTemplate createBatchTransaction() {
+        PlatformTransactionManager transactionManager = getTransactionManager();
+        if (transactionManager == null) {
+            transactionManager = new DataSourceTransactionManager(getJdbcTemplate().getDataSource());
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        return transactionTemplate;
+    }
+
+    /**
+     * Sends batch of statements to the database. When errors are ignored the batch runs in given transaction so
+     * a failed batch is rolled back completely and all statements of the batch are executed one by one afterwards.
+     * @param batch
+     * @param batchTransaction
+     */
+    private void executeBatch(List<PreparedSql> batch, TransactionTemplate batchTransaction) {
+        try {
+            if (batchTransaction != null) {
+                batchTransaction.execute(status -> {
+                    sendBatch(batch);
+                    return null;
+                });
+            } else {
+                sendBatch(batch);
+            }
+
+            log.info(String.format("SQL batch execution of %d statements successful", batch.size()));
+        } catch (NestedTransactionNotSupportedException e) {
+            throw new CitrusRuntimeException("Failed to execute SQL batch in nested transaction", e);
+        } catch (Exception e) {
+            if (!ignoreErrors) {
+                throw new CitrusRuntimeException(e);
+            }
+
+            log.error("Ignoring error while executing SQL batch: " + e.getLocalizedMessage());
+
+            for (PreparedSql preparedSql : batch) {
+                executeSingle(preparedSql, batchTransaction);
+            }
+        }
+    }
+
+    /**
+     * Sends batch of statements to the database either as prepared statement batch or as plain statement batch.
+     * @param batch
+     */
+    private void sendBatch(List<PreparedSql> batch) {
+        PreparedSql first = batch.get(0);
+
+        if (first.isPrepared()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Executing SQL batch of %d prepared statements: %s", batch.size(), first.sql));
+            }
+
+            List<Object[]> batchArgs = new ArrayList<>(batch.size());
+            for (PreparedSql preparedSql : batch) {
+                batchArgs.add(preparedSql.args);
+            }
+
+            getJdbcTemplate().batchUpdate(first.sql, batchArgs);
+        } else {
+            String[] sql = new String[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                sql[i] = batch.get(i).sql;
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Executing SQL statement: " + sql[i]);
+                }
+            }
+
+            getJdbcTemplate().batchUpdate(sql);
+        }
+    }
+
+    /**
+     * Executes single statement ignoring errors. Statement runs in given transaction so a failure does not
+     * affect the surrounding transaction.
+     * @param preparedSql
+     * @param transaction
+     */
+    private void executeSingle(PreparedSql preparedSql, TransactionTemplate transaction) {
+        try {
+            transaction.execute(status -> {
+                if (preparedSql.isPrepared()) {
+                    getJdbcTemplate().update(preparedSql.sql, preparedSql.args);
+                } else {
+                    getJdbcTemplate().execute(preparedSql.sql);
+                }
+
+                return null;
+            });
+
+            log.info("SQL statement execution successful");
+        } catch (NestedTransactionNotSupportedException e) {
+            throw new CitrusRuntimeException("Failed to execute SQL statement in nested transaction", e);
+        } catch (Exception e) {
+            log.error("Ignoring error while executing SQL statement: " + e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Replaces dynamic content in statement. When bind variables are enabled test variables used as string literal
+     * are replaced with bind parameters first. Variable values are bound as strings.
+     * @param stmt
+     * @param context
+     * @return
+     */
+    private PreparedSql prepareSql(String stmt, TestContext context) {
+        String sql = stmt.trim();
+        if (sql.endsWith(";")) {
+            sql = sql.substring(0, sql.length() - 1);
+        }
+
+        if (!bindVariables) {
+            return new PreparedSql(context.replaceDynamicContentInString(sql), new Object[0]);
+        }
+
+        List<Object> args = new ArrayList<>();
+        StringBuffer prepared = new StringBuffer();
+        Matcher matcher = BIND_VARIABLE_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            args.add(context.getVariable(matcher.group(1)));
+            matcher.appendReplacement(prepared, "?");
+        }
+        matcher.appendTail(prepared);
+
+        return new PreparedSql(context.replaceDynamicContentInString(prepared.toString()), args.toArray());
+    }
+
+    /**
+     * SQL statement with bind parameter values.
+     */
+    private static final class PreparedSql {
+        private final String sql;
+        private final Object[] args;
+
+        PreparedSql(String sql, Object[] args) {
+            this.sql = sql;
+            this.args = args;
+        }
+
+        /**
+         * Statements with bind parameters are prepared.
+         * @return
+         */
+        boolean isPrepared() {
+            return args.length > 0;
+        }
+
+        /**
+         * Prepared statements share a batch when SQL is the same, plain statements always share a batch.
+         * @param other
+         * @return
+         */
+        boolean isBatchCompatible(PreparedSql other) {
+            if (isPrepared()) {
+                return other.isPrepared() && sql.equals(other.sql);
+            }
+
+            return !other.isPrepared();
+        }
+    }
+
     /**
      * Ignore errors during execution.
      * @param ignoreErrors boolean flag to set
@@ -113,4 +367,39 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
     public boolean isIgnoreErrors() {
         return ignoreErrors;
     }
+
+    /**
+     * Sets the number of statements per JDBC batch. Batch execution is disabled when zero.
+     * @param batchSize
+     */
+    public ExecuteSQLAction setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Gets the batchSize.
+     * @return the batchSize
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Enables bind parameters for test variables used as complete string literal in batch execution. Variable
+     * values are bound as strings so columns of other types may need an explicit cast in the statement.
+     * @param bindVariables
+     */
+    public ExecuteSQLAction setBindVariables(boolean bindVariables) {
+        this.bindVariables = bindVariables;
+        return this;
+    }
+
+    /**
+     * Gets the bindVariables.
+     * @return the bindVariables
+     */
+    public boolean isBindVariables() {
+        return bindVariables;
+    }
 }
@@ -15,6 +15,8 @@
  */
 package com.consol.citrus.channel;
 
+import com.consol.citrus.channel.selector.DispatchingMessageSelector;
+import com.consol.citrus.channel.selector.HeaderMatchingMessageSelector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
@@ -22,11 +24,13 @@ import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.core.MessageSelector;
 import org.springframework.util.Assert;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
- * Added selective consumption of messages according to a message selector implementation.
+ * Added selective consumption of messages according to a message selector implementation. Receivers waiting for a
+ * matching message get notified as soon as new messages arrive on the channel. Optional header indexes
+ * speed up selection for header matching selectors on deep channels.
  * 
  * @author Christoph Deppisch
  */
@@ -39,6 +43,15 @@ public class MessageSelectingQueueChannel extends QueueChannel {
     
     /** Polling interval when waiting for synchronous reply message to arrive */
     private long pollingInterval = 500;
+
+    /** Monitor notifying waiting receivers on new messages */
+    private final Object signal = new Object();
+
+    /** Number of signals sent to waiting receivers, guarded by signal monitor */
+    private long signalCount = 0L;
+
+    /** Header indexes mapping header name to header value and messages carrying that value in order of arrival */
+    private final Map<String, ConcurrentMap<String, Queue<Message<?>>>> headerIndexes = new ConcurrentHashMap<>();
     
     /**
      * Create a channel with the specified queue.
@@ -65,7 +78,48 @@ public class MessageSelectingQueueChannel extends QueueChannel {
     public MessageSelectingQueueChannel() {
         this(new LinkedBlockingQueue<Message<?>>());
     }
-    
+
+    @Override
+    protected boolean doSend(Message<?> message, long timeout) {
+        boolean sent = super.doSend(message, timeout);
+
+        if (sent) {
+            index(message);
+
+            synchronized (signal) {
+                signalCount++;
+                signal.notifyAll();
+            }
+        }
+
+        return sent;
+    }
+
+    @Override
+    protected Message<?> doReceive(long timeout) {
+        Message<?> message = super.doReceive(timeout);
+
+        if (message != null) {
+            unindex(message);
+        }
+
+        return message;
+    }
+
+    @Override
+    public List<Message<?>> clear() {
+        List<Message<?>> messages = super.clear();
+        messages.forEach(this::unindex);
+        return messages;
+    }
+
+    @Override
+    public List<Message<?>> purge(MessageSelector selector) {
+        List<Message<?>> messages = super.purge(selector);
+        messages.forEach(this::unindex);
+        return messages;
+    }
+
     /**
      * Supports selective consumption of messages on the channel. The first message 
      * to be accepted by given message selector is returned as result.
@@ -74,10 +128,25 @@ public class MessageSelectingQueueChannel extends QueueChannel {
      * @return
      */
     public Message<?> receive(MessageSelector selector) {
-        Object[] array = this.queue.toArray();
-        for (Object o : array) {
-            Message<?> message = (Message<?>) o;
+        Queue<Message<?>> candidates = getIndexedCandidates(selector);
+        if (candidates != null) {
+            for (Message<?> message : candidates) {
+                if (selector.accept(message)) {
+                    boolean removed = this.queue.remove(message);
+                    unindex(message);
+
+                    if (removed) {
+                        return message;
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        for (Message<?> message : this.queue) {
             if (selector.accept(message) && this.queue.remove(message)) {
+                unindex(message);
                 return message;
             }
         }
@@ -86,28 +155,43 @@ public class MessageSelectingQueueChannel extends QueueChannel {
     }
     
     /**
-     * Consume messages on the channel via message selector. Timeout forces several retries
-     * with polling interval setting.
+     * Consume messages on the channel via message selector. Receiver waits for new messages to arrive on
+     * the channel until timeout is exceeded. Polling interval marks the maximum time to wait for new
+     * messages before retrying the selection.
      * 
      * @param selector
      * @param timeout
      * @return
      */
     public Message<?> receive(MessageSelector selector, long timeout) {
-        long timeLeft = timeout;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        long seen = getSignalCount();
         Message<?> message = receive(selector);
 
-        while (message == null && timeLeft > 0) {
-            timeLeft -= pollingInterval;
-            
-            if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug("No message received with message selector - retrying in " + (timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft) + "ms");
-            }
-            
-            try {
-                Thread.sleep(timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+        while (message == null) {
+            synchronized (signal) {
+                long timeLeft = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (timeLeft <= 0) {
+                    break;
+                }
+
+                if (signalCount == seen) {
+                    long wait = Math.min(timeLeft, pollingInterval);
+
+                    if (RETRY_LOG.isDebugEnabled()) {
+                        RETRY_LOG.debug("No message received with message selector - retrying in " + wait + "ms");
+                    }
+
+                    try {
+                        signal.wait(wait);
+                    } catch (InterruptedException e) {
+                        RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+
+                seen = signalCount;
             }
             
             message = receive(selector);
@@ -116,6 +200,129 @@ public class MessageSelectingQueueChannel extends QueueChannel {
         return message;
     }
 
+    /**
+     * Gets candidate messages from header indexes for given selector. Only header matching selectors
+     * are supported, the index with the least candidates is chosen. Returns null in case selector
+     * is not supported by header indexes.
+     * @param selector
+     * @return
+     */
+    private Queue<Message<?>> getIndexedCandidates(MessageSelector selector) {
+        if (headerIndexes.isEmpty()) {
+            return null;
+        }
+
+        Map<String, String> matchingHeaders;
+        if (selector.getClass().equals(HeaderMatchingMessageSelector.class)) {
+            matchingHeaders = ((HeaderMatchingMessageSelector) selector).getMatchingHeaders();
+        } else if (selector.getClass().equals(DispatchingMessageSelector.class)) {
+            matchingHeaders = ((DispatchingMessageSelector) selector).getMatchingHeaders();
+        } else {
+            return null;
+        }
+
+        Queue<Message<?>> candidates = null;
+        for (Map.Entry<String, String> matchingHeader : matchingHeaders.entrySet()) {
+            ConcurrentMap<String, Queue<Message<?>>> index = headerIndexes.get(matchingHeader.getKey());
+            if (index != null) {
+                Queue<Message<?>> messages = index.get(matchingHeader.getValue());
+                if (messages == null) {
+                    return new ConcurrentLinkedQueue<>();
+                }
+
+                if (candidates == null || messages.size() < candidates.size()) {
+                    candidates = messages;
+                }
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Adds message to header indexes.
+     * @param message
+     */
+    private void index(Message<?> message) {
+        for (Map.Entry<String, ConcurrentMap<String, Queue<Message<?>>>> index : headerIndexes.entrySet()) {
+            String value = getHeaderValue(message, index.getKey());
+            if (value != null) {
+                index.getValue().compute(value, (key, messages) -> {
+                    Queue<Message<?>> indexed = messages != null ? messages : new ConcurrentLinkedQueue<>();
+                    indexed.add(message);
+                    return indexed;
+                });
+            }
+        }
+    }
+
+    /**
+     * Removes message from header indexes.
+     * @param message
+     */
+    private void unindex(Message<?> message) {
+        for (Map.Entry<String, ConcurrentMap<String, Queue<Message<?>>>> index : headerIndexes.entrySet()) {
+            String value = getHeaderValue(message, index.getKey());
+            if (value != null) {
+                index.getValue().computeIfPresent(value, (key, messages) -> {
+                    messages.remove(message);
+                    return messages.isEmpty() ? null : messages;
+                });
+            }
+        }
+    }
+
+    /**
+     * Gets header value as String. Citrus message headers in payload take precedence over
+     * message headers just as in {@link HeaderMatchingMessageSelector}.
+     * @param message
+     * @param headerName
+     * @return
+     */
+    private String getHeaderValue(Message<?> message, String headerName) {
+        if (message.getPayload() instanceof com.consol.citrus.message.Message) {
+            Object value = ((com.consol.citrus.message.Message) message.getPayload()).getHeader(headerName);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+
+        Object value = message.getHeaders().get(headerName);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Gets the number of signals sent to waiting receivers.
+     * @return
+     */
+    private long getSignalCount() {
+        synchronized (signal) {
+            return signalCount;
+        }
+    }
+
+    /**
+     * Gets the indexed header names.
+     * @return
+     */
+    public List<String> getIndexedHeaders() {
+        return new ArrayList<>(headerIndexes.keySet());
+    }
+
+    /**
+     * Sets the header names to index. Messages already present on the channel get indexed, too.
+     * @param indexedHeaders
+     */
+    public void setIndexedHeaders(List<String> indexedHeaders) {
+        headerIndexes.clear();
+
+        for (String headerName : indexedHeaders) {
+            headerIndexes.put(headerName, new ConcurrentHashMap<>());
+        }
+
+        this.queue.forEach(this::index);
+    }
+
     /**
      * Gets the pollingInterval.
      * @return the pollingInterval the pollingInterval to get.
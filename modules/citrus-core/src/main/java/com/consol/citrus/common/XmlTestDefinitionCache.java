@@ -0,0 +1,226 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.common;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.DefaultNamespaceHandlerResolver;
+import org.springframework.beans.factory.xml.NamespaceHandlerResolver;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.w3c.dom.Document;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of parsed XML test case documents. Each test XML file is read and schema validated only once. Test loaders
+ * run the bean definition parsers on the cached document in a new lightweight application context per test instance.
+ * This way each test instance gets its own message builders, validation contexts and other objects created by
+ * the parsers while the expensive XML parsing and schema validation does not happen for each test execution.
+ *
+ * Test files may be parsed up front in parallel when the list of tests is known e.g. with package scan.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public final class XmlTestDefinitionCache {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(XmlTestDefinitionCache.class);
+
+    /** Parsed test definitions by context file */
+    private static final Map<String, TestDefinition> definitions = new ConcurrentHashMap<>();
+
+    /** Namespace handlers shared by all bean definition readers so handler mappings are loaded and initialized only once */
+    private static final NamespaceHandlerResolver namespaceHandlerResolver = new DefaultNamespaceHandlerResolver();
+
+    /** Parse statistics */
+    private static final AtomicInteger parseCount = new AtomicInteger();
+    private static final AtomicLong parseTime = new AtomicLong();
+
+    /**
+     * Prevent instantiation.
+     */
+    private XmlTestDefinitionCache() {
+    }
+
+    /**
+     * Gets parsed test definition for given context file. Parses the file on first access.
+     * @param contextFile the classpath location of the test XML file.
+     * @return
+     */
+    public static TestDefinition getTestDefinition(String contextFile) {
+        TestDefinition definition = definitions.get(contextFile);
+        if (definition == null) {
+            definition = parse(contextFile);
+
+            TestDefinition existing = definitions.putIfAbsent(contextFile, definition);
+            if (existing != null) {
+                definition = existing;
+            }
+        }
+
+        return definition;
+    }
+
+    /**
+     * Parses all given context files in parallel. Files already parsed are skipped. Files that fail to parse
+     * are skipped as well so the error is raised when the respective test gets loaded.
+     * @param contextFiles
+     */
+    public static void preload(Collection<String> contextFiles) {
+        List<String> pending = new ArrayList<>();
+        for (String contextFile : new LinkedHashSet<>(contextFiles)) {
+            if (!definitions.containsKey(contextFile)) {
+                pending.add(contextFile);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        pending.parallelStream().forEach(contextFile -> {
+            try {
+                getTestDefinition(contextFile);
+            } catch (CitrusRuntimeException e) {
+                log.warn("Failed to preload test definition: " + contextFile, e);
+            }
+        });
+
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info(String.format("Parsed %d XML test definitions in %d ms (%.1f ms per test)", pending.size(), duration, (double) duration / pending.size()));
+    }
+
+    /**
+     * Parses and validates test XML file. Bean definitions are parsed once in order to raise errors early.
+     * @param contextFile
+     * @return
+     */
+    private static TestDefinition parse(String contextFile) {
+        long start = System.nanoTime();
+
+        Resource resource = new ClassPathResource(contextFile);
+        DefaultListableBeanFactory registry = new DefaultListableBeanFactory();
+        DocumentCapturingReader reader = new DocumentCapturingReader(registry);
+        try {
+            reader.loadBeanDefinitions(resource);
+        } catch (RuntimeException e) {
+            throw new CitrusRuntimeException("Failed to parse test definition: " + contextFile, e);
+        }
+
+        long duration = System.nanoTime() - start;
+        parseCount.incrementAndGet();
+        parseTime.addAndGet(duration);
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Parsed test definition '%s' in %d ms", contextFile, TimeUnit.NANOSECONDS.toMillis(duration)));
+        }
+
+        return new TestDefinition(reader.document, resource);
+    }
+
+    /**
+     * Clears all cached test definitions and statistics.
+     */
+    public static void clear() {
+        definitions.clear();
+        parseCount.set(0);
+        parseTime.set(0L);
+    }
+
+    /**
+     * Gets the number of cached test definitions.
+     * @return
+     */
+    public static int getSize() {
+        return definitions.size();
+    }
+
+    /**
+     * Gets the number of parsed test XML files.
+     * @return
+     */
+    public static int getParseCount() {
+        return parseCount.get();
+    }
+
+    /**
+     * Gets the average parse time per test XML file in milliseconds.
+     * @return
+     */
+    public static double getAverageParseTime() {
+        int count = parseCount.get();
+        return count > 0 ? (double) parseTime.get() / count / TimeUnit.MILLISECONDS.toNanos(1L) : 0.0D;
+    }
+
+    /**
+     * Bean definition reader remembers the validated document so it can be parsed again without reading the file.
+     */
+    private static final class DocumentCapturingReader extends XmlBeanDefinitionReader {
+        private Document document;
+
+        DocumentCapturingReader(BeanDefinitionRegistry registry) {
+            super(registry);
+            setNamespaceHandlerResolver(namespaceHandlerResolver);
+        }
+
+        @Override
+        public int registerBeanDefinitions(Document doc, Resource resource) throws BeanDefinitionStoreException {
+            this.document = doc;
+            return super.registerBeanDefinitions(doc, resource);
+        }
+    }
+
+    /**
+     * Validated document of a test XML file.
+     */
+    public static final class TestDefinition {
+        private final Document document;
+        private final Resource resource;
+
+        TestDefinition(Document document, Resource resource) {
+            this.document = document;
+            this.resource = resource;
+        }
+
+        /**
+         * Parses bean definitions from cached document and registers them with given registry. Parsers create new
+         * builder and validation objects on each call so nothing is shared between test instances. DOM implementations
+         * are not thread safe even for read access so parsing of the same document is synchronized.
+         * @param registry
+         */
+        public void registerBeanDefinitions(BeanDefinitionRegistry registry) {
+            XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(registry);
+            reader.setNamespaceHandlerResolver(namespaceHandlerResolver);
+
+            synchronized (document) {
+                reader.registerBeanDefinitions(document, resource);
+            }
+        }
+    }
+}
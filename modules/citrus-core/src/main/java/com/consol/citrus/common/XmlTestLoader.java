@@ -16,31 +16,47 @@
 
 package com.consol.citrus.common;
 
+import com.consol.citrus.Citrus;
 import com.consol.citrus.TestCase;
 import com.consol.citrus.context.TestContextFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.util.StringUtils;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Loads test case as Spring bean from XML application context file. Loader holds application context file
  * for test case and a parent application context. At runtime this class loads the Spring application context and gets
  * test case bean instance from context.
  *
+ * With test definition cache enabled the test XML file is parsed only once and the parsed bean definitions are reused
+ * for each test instance. See {@link XmlTestDefinitionCache}.
+ *
  * @author Christoph Deppisch
  * @since 2.1
  */
 public class XmlTestLoader implements TestLoader {
 
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(XmlTestLoader.class);
+
     private TestCase testCase;
     private Class<?> testClass;
     private String testName;
     private String packageName;
     private ApplicationContext parentContext;
     private String contextFile;
+    private boolean useDefinitionCache = Citrus.XML_TEST_DEFINITION_CACHE;
 
     /**
      * Default constructor with context file and parent application context field.
@@ -59,7 +75,8 @@ public class XmlTestLoader implements TestLoader {
     @Override
     public TestCase load() {
         if (testCase == null) {
-            ApplicationContext ctx = loadApplicationContext();
+            long start = System.nanoTime();
+            ApplicationContext ctx = useDefinitionCache ? createApplicationContext() : loadApplicationContext();
 
             try {
                 testCase = ctx.getBean(testName, TestCase.class);
@@ -69,6 +86,10 @@ public class XmlTestLoader implements TestLoader {
                 throw parentContext.getBean(TestContextFactory.class).getObject()
                         .handleError(testName, packageName, "Could not find test with name '" + testName + "'", e);
             }
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Loaded test '%s' in %d ms", testName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            }
         }
 
         return testCase;
@@ -92,6 +113,41 @@ public class XmlTestLoader implements TestLoader {
         }
     }
 
+    /**
+     * Create new lightweight Spring bean application context with cached test case bean definitions and parent context.
+     * @return
+     */
+    private ApplicationContext createApplicationContext() {
+        try {
+            GenericApplicationContext ctx = new GenericApplicationContext(parentContext);
+            AnnotationConfigUtils.registerAnnotationConfigProcessors(ctx);
+            XmlTestDefinitionCache.getTestDefinition(getContextFile()).registerBeanDefinitions(ctx);
+            ctx.refresh();
+
+            return ctx;
+        } catch (Exception e) {
+            throw parentContext.getBean(TestContextFactory.class).getObject()
+                    .handleError(testName, packageName, "Failed to load test case", e);
+        }
+    }
+
+    /**
+     * Parses test XML files of all given XML test loaders in parallel in case test definition cache is enabled.
+     * @param testLoaders
+     */
+    public static void preload(Collection<? extends TestLoader> testLoaders) {
+        List<String> contextFiles = new ArrayList<>();
+        for (TestLoader testLoader : testLoaders) {
+            if (testLoader instanceof XmlTestLoader && ((XmlTestLoader) testLoader).isUseDefinitionCache()) {
+                contextFiles.add(((XmlTestLoader) testLoader).getContextFile());
+            }
+        }
+
+        if (!contextFiles.isEmpty()) {
+            XmlTestDefinitionCache.preload(contextFiles);
+        }
+    }
+
     /**
      * Gets custom Spring application context file for the XML test case. If not set creates default
      * context file path from testName and packageName.
@@ -112,4 +168,20 @@ public class XmlTestLoader implements TestLoader {
     public void setContextFile(String contextFile) {
         this.contextFile = contextFile;
     }
+
+    /**
+     * Gets the useDefinitionCache.
+     * @return
+     */
+    public boolean isUseDefinitionCache() {
+        return useDefinitionCache;
+    }
+
+    /**
+     * Enables or disables usage of cached test definitions.
+     * @param useDefinitionCache
+     */
+    public void setUseDefinitionCache(boolean useDefinitionCache) {
+        this.useDefinitionCache = useDefinitionCache;
+    }
 }
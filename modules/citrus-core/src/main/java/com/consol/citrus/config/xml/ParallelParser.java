@@ -20,10 +20,14 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.xml.BeanDefinitionParser;
 import org.springframework.beans.factory.xml.ParserContext;
+import org.springframework.util.StringUtils;
 import org.w3c.dom.Element;
 
+import com.consol.citrus.config.util.BeanDefinitionParserUtils;
 import com.consol.citrus.container.Parallel;
 
+import java.util.Arrays;
+
 /**
  * Bean definition parser for parallel container in test case.
  * 
@@ -39,6 +43,16 @@ public class ParallelParser implements BeanDefinitionParser {
 
         DescriptionElementParser.doParse(element, builder);
         builder.addPropertyValue("name", element.getLocalName());
+
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("max-concurrency"), "maxConcurrency");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("fail-fast"), "failFast");
+        BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("executor"), "executorService");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("fork-context"), "forkContext");
+
+        if (StringUtils.hasText(element.getAttribute("output-variables"))) {
+            builder.addPropertyValue("outputVariables",
+                    Arrays.asList(StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(element.getAttribute("output-variables")))));
+        }
         
         ActionContainerParser.doParse(element, parserContext, builder);
 
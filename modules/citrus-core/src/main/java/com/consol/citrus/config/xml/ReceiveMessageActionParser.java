@@ -184,6 +184,11 @@ public class ReceiveMessageActionParser extends AbstractMessageActionParser {
                 ignoreExpressions.add(ignoreValue.getAttribute("path"));
             }
             context.setIgnoreExpressions(ignoreExpressions);
+
+            String streamingValidation = messageElement.getAttribute("streaming-validation");
+            if (StringUtils.hasText(streamingValidation)) {
+                context.setStreamingValidation(Boolean.valueOf(streamingValidation));
+            }
         }
 
         return context;
@@ -203,6 +208,11 @@ public class ReceiveMessageActionParser extends AbstractMessageActionParser {
                 context.setSchemaValidation(Boolean.valueOf(schemaValidation));
             }
 
+            String streamingValidation = messageElement.getAttribute("streaming-validation");
+            if (StringUtils.hasText(streamingValidation)) {
+                context.setStreamingValidation(Boolean.valueOf(streamingValidation));
+            }
+
             String schema = messageElement.getAttribute("schema");
             if (StringUtils.hasText(schema)) {
                 context.setSchema(schema);
@@ -255,6 +265,7 @@ public class ReceiveMessageActionParser extends AbstractMessageActionParser {
         context.setSchema(parentContext.getSchema());
         context.setSchemaRepository(parentContext.getSchemaRepository());
         context.setSchemaValidation(parentContext.isSchemaValidationEnabled());
+        context.setStreamingValidation(parentContext.isStreamingValidation());
         context.setDTDResource(parentContext.getDTDResource());
 
         return context;
@@ -16,6 +16,7 @@
 
 package com.consol.citrus.config.xml;
 
+import com.consol.citrus.config.util.BeanDefinitionParserUtils;
 import com.consol.citrus.endpoint.adapter.StaticResponseEndpointAdapter;
 import com.consol.citrus.message.MessageHeaderType;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
@@ -50,6 +51,8 @@ public class StaticResponseEndpointAdapterParser extends AbstractBeanDefinitionP
             if (payloadResource.hasAttribute("charset")) {
                 builder.addPropertyValue("messagePayloadResourceCharset", payloadResource.getAttribute("charset"));
             }
+
+            BeanDefinitionParserUtils.setPropertyValue(builder, payloadResource.getAttribute("reload"), "messagePayloadResourceReload");
         }
 
         Element headerElement = DomUtils.getChildElementByTagName(element, "header");
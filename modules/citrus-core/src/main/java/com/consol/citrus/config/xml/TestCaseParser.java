@@ -26,6 +26,7 @@ import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
 import org.springframework.beans.factory.xml.BeanDefinitionParser;
 import org.springframework.beans.factory.xml.ParserContext;
 import org.springframework.util.StringUtils;
@@ -111,7 +112,8 @@ public class TestCaseParser implements BeanDefinitionParser {
     private void parseVariableDefinitions(BeanDefinitionBuilder testCase, Element element) {
         Element variablesElement = DomUtils.getChildElementByTagName(element, "variables");
         if (variablesElement != null) {
-            Map<String, String> testVariables = new LinkedHashMap<String, String>();
+            // managed map gets copied for each test case instance created from this bean definition
+            Map<String, String> testVariables = new ManagedMap<String, String>();
             List<?> variableElements = DomUtils.getChildElementsByTagName(variablesElement, "variable");
             for (Iterator<?> iter = variableElements.iterator(); iter.hasNext();) {
                 Element variableDefinition = (Element) iter.next();
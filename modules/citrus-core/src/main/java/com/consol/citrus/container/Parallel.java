@@ -22,22 +22,57 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ParallelContainerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Test action will execute nested actions in parallel. Each action is executed in a
- * separate thread. Container joins all threads and waiting for them to end successfully.
+ * Test action will execute nested actions in parallel. Nested actions are executed on an executor service that
+ * is shared by default so threads get reused across parallel containers. The shared executor is not bounded so each nested
+ * action gets its own thread and actions depending on a sibling running at the same time (e.g. client request and server
+ * response) work as expected. Container waits for all nested actions to end successfully. Maximum concurrency or a custom
+ * executor service optionally limit the number of nested actions running at the same time. With fail fast enabled the first
+ * error cancels all sibling actions.
+ *
+ * The calling thread always takes part in executing nested actions. When a custom executor rejects further tasks or does not start
+ * them before the calling thread has run out of pending actions, remaining actions are executed in the calling thread. Nested
+ * parallel containers therefore never wait on tasks that are queued behind their own parent, so a saturated executor can not
+ * deadlock. Actions that depend on a sibling running at the same time need an executor with enough threads though.
+ *
+ * By default all nested actions share the test context. With fork context enabled each nested action runs with its own
+ * forked child context so variables such as correlation keys and stored messages of sibling actions do not collide.
+ * After all nested actions have finished stored messages and declared output variables are merged back in order of
+ * the nested actions.
  * 
  * @author Christoph Deppisch
  */
 public class Parallel extends AbstractActionContainer {
 
-    /** Store created threads in stack */
-    private Stack<Thread> threads = new Stack<Thread>();
+    /** Default executor shared by all parallel containers */
+    private static final ExecutorService DEFAULT_EXECUTOR;
+
+    static {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("citrus-parallel-");
+        threadFactory.setDaemon(true);
+        DEFAULT_EXECUTOR = Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /** Executor service running nested actions */
+    private ExecutorService executorService;
+
+    /** Maximum number of nested actions running at the same time, zero or less means no limit */
+    private int maxConcurrency = 0;
+
+    /** Cancel sibling actions on first error */
+    private boolean failFast = false;
+
+    /** Run each nested action with forked child test context */
+    private boolean forkContext = false;
 
-    /** Collect exceptions in list */
-    private List<CitrusRuntimeException> exceptions = new ArrayList<CitrusRuntimeException>();
+    /** Variables merged back from forked child contexts */
+    private List<String> outputVariables = new ArrayList<>();
     
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(Parallel.class);
@@ -51,79 +86,311 @@ public class Parallel extends AbstractActionContainer {
 
     @Override
     public void doExecute(TestContext context) {
-        for (final TestAction action : actions) {
-            Thread t = new Thread(new ActionRunner(action, context) {
-                @Override
-                public void exceptionCallback(CitrusRuntimeException e) {
-                    if (exceptions.isEmpty()) {
-                        setLastExecutedAction(action);
-                    }
-                    
-                    exceptions.add(e);
-                }
-            });
+        ExecutorService executor = executorService != null ? executorService : DEFAULT_EXECUTOR;
+        Execution execution = new Execution(context);
+
+        int workers = maxConcurrency > 0 ? Math.min(maxConcurrency, actions.size()) : actions.size();
+        Map<ActionRunner, Future<?>> submitted = new LinkedHashMap<>(workers);
+        for (int i = 1; i < workers; i++) {
+            ActionRunner runner = new ActionRunner(execution);
+            execution.runners.add(runner);
 
-            threads.push(t);
-            t.start();
+            try {
+                submitted.put(runner, executor.submit(runner));
+            } catch (RejectedExecutionException e) {
+                execution.runners.remove(runner);
+                log.debug("Executor saturated - running remaining parallel actions in calling thread");
+                break;
+            }
         }
 
-        while (!threads.isEmpty()) {
+        ActionRunner callerRunner = new ActionRunner(execution);
+        execution.runners.add(callerRunner);
+        callerRunner.run();
+
+        for (Map.Entry<ActionRunner, Future<?>> runner : submitted.entrySet()) {
+            // runners not started yet are no longer needed as calling thread has run out of pending actions
+            if (runner.getKey().claim()) {
+                runner.getValue().cancel(false);
+                continue;
+            }
+
             try {
-                threads.pop().join();
+                runner.getValue().get();
             } catch (InterruptedException e) {
-                log.error("Unable to join thread", e);
+                log.error("Interrupted while waiting for parallel actions to finish", e);
+                Thread.currentThread().interrupt();
+                execution.cancel();
+                throw new CitrusRuntimeException("Interrupted while waiting for parallel actions to finish", e);
+            } catch (ExecutionException | CancellationException e) {
+                log.error("Parallel action runner raised error", e);
             }
         }
-        
-        if (!exceptions.isEmpty()) {
-            if (exceptions.size() == 1) {
-                throw exceptions.get(0);
+
+        if (forkContext) {
+            for (TestContext actionContext : execution.actionContexts) {
+                if (actionContext != null) {
+                    context.merge(actionContext, outputVariables);
+                }
+            }
+        }
+
+        if (!execution.exceptions.isEmpty()) {
+            if (execution.exceptions.size() == 1) {
+                throw execution.exceptions.get(0);
             } else {
-                throw new ParallelContainerException(exceptions);
+                throw new ParallelContainerException(execution.exceptions);
             }
         }
     }
 
     /**
-     * Runnable wrapper for executing an action in separate Thread.
+     * Gets the executor service.
+     * @return
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Sets the executor service running nested actions. When not set a shared default executor is used.
+     * @param executorService
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Gets the maximum concurrency.
+     * @return
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of nested actions running at the same time.
+     * @param maxConcurrency
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Gets the fail fast setting.
+     * @return
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * Sets the fail fast setting.
+     * @param failFast
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    /**
+     * Gets the fork context setting.
+     * @return
      */
-    private abstract static class ActionRunner implements Runnable {
-        /** Test action to execute */
-        private TestAction action;
-        
+    public boolean isForkContext() {
+        return forkContext;
+    }
+
+    /**
+     * Sets the fork context setting.
+     * @param forkContext
+     */
+    public void setForkContext(boolean forkContext) {
+        this.forkContext = forkContext;
+    }
+
+    /**
+     * Gets the output variables.
+     * @return
+     */
+    public List<String> getOutputVariables() {
+        return outputVariables;
+    }
+
+    /**
+     * Sets the names of variables merged back from forked child contexts.
+     * @param outputVariables
+     */
+    public void setOutputVariables(List<String> outputVariables) {
+        this.outputVariables = outputVariables;
+    }
+
+    /**
+     * State of a single container execution shared by all action runners.
+     */
+    private class Execution {
+        /** Indices of pending test actions */
+        private final Queue<Integer> pending = new ConcurrentLinkedQueue<>();
+
+        /** Forked test contexts by action index */
+        private final TestContext[] actionContexts = new TestContext[actions.size()];
+
+        /** Collected errors */
+        private final List<CitrusRuntimeException> exceptions = new ArrayList<>();
+
+        /** Runners working on this execution */
+        private final List<ActionRunner> runners = new CopyOnWriteArrayList<>();
+
         /** Test context */
-        private TestContext context;
-        
-        public ActionRunner(TestAction action, TestContext context) {
-            this.action = action;
+        private final TestContext context;
+
+        /** Cancelled state */
+        private volatile boolean cancelled = false;
+
+        Execution(TestContext context) {
             this.context = context;
+
+            for (int i = 0; i < actions.size(); i++) {
+                pending.add(i);
+            }
         }
 
         /**
-         * Run the test action
+         * Cancels all runners so no further actions are started and running actions get interrupted.
+         */
+        void cancel() {
+            cancelled = true;
+
+            for (ActionRunner runner : runners) {
+                runner.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Runnable executing pending nested actions one after another until all actions are done or
+     * execution gets cancelled.
+     */
+    private class ActionRunner implements Runnable {
+        /** Shared execution state */
+        private final Execution execution;
+
+        /** Thread currently running this runner */
+        private Thread thread;
+
+        /** Marks runner as started or no longer needed */
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        /** Stop after own error in fail fast mode */
+        private boolean failed = false;
+
+        ActionRunner(Execution execution) {
+            this.execution = execution;
+        }
+
+        /**
+         * Claims this runner so it will not run any actions when started later.
+         * @return true if runner has not been started before.
+         */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        /**
+         * Run pending test actions
          */
         public void run() {
+            if (!claim()) {
+                return;
+            }
+
+            synchronized (this) {
+                thread = Thread.currentThread();
+            }
+
+            try {
+                Integer index;
+                while (!execution.cancelled && !(failFast && failed) && (index = execution.pending.poll()) != null) {
+                    execute(index);
+                }
+            } finally {
+                synchronized (this) {
+                    thread = null;
+                }
+
+                // clear interrupted state caused by cancellation
+                if (execution.cancelled) {
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        /**
+         * Executes single action and reports its execution time.
+         * @param index
+         */
+        private void execute(int index) {
+            TestAction action = actions.get(index);
+            TestContext actionContext = execution.context;
+            if (forkContext) {
+                actionContext = execution.context.fork();
+                execution.actionContexts[index] = actionContext;
+            }
+
+            long start = System.nanoTime();
+
             try {
-                action.execute(context);
+                action.execute(actionContext);
             } catch (CitrusRuntimeException e) {
                 log.error("Parallel test action raised error", e);
-                exceptionCallback(e);
-            } catch (RuntimeException e) {
-                log.error("Parallel test action raised error", e);
-                exceptionCallback(new CitrusRuntimeException(e));
-            } catch (Exception e) {
+                exceptionCallback(action, e);
+            } catch (Exception | AssertionError e) {
                 log.error("Parallel test action raised error", e);
-                exceptionCallback(new CitrusRuntimeException(e));
-            } catch (AssertionError e) {
-                log.error("Parallel test action raised error", e);
-                exceptionCallback(new CitrusRuntimeException(e));
+                exceptionCallback(action, new CitrusRuntimeException(e));
+            } finally {
+                long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Parallel test action '%s' finished in %s ms", action.getName(), duration));
+                }
+
+                execution.context.getTestActionListeners().onParallelActionFinish(Parallel.this, action, duration);
             }
         }
-        
+
         /**
-         * Callback for exception tracking.
+         * Callback for exception tracking. Errors of cancelled actions are consequences of the first error and
+         * therefore ignored. In fail fast mode the first error cancels the execution.
+         * @param action
          * @param exception
          */
-        public abstract void exceptionCallback(CitrusRuntimeException exception);
+        private void exceptionCallback(TestAction action, CitrusRuntimeException exception) {
+            if (execution.cancelled) {
+                log.debug("Ignoring error of cancelled parallel test action", exception);
+                return;
+            }
+
+            failed = true;
+
+            synchronized (execution.exceptions) {
+                if (execution.exceptions.isEmpty()) {
+                    setLastExecutedAction(action);
+                }
+
+                execution.exceptions.add(exception);
+            }
+
+            if (failFast) {
+                execution.cancel();
+            }
+        }
+
+        /**
+         * Interrupts the currently running action of this runner.
+         */
+        synchronized void interrupt() {
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
     }
-}
\ No newline at end of file
+}
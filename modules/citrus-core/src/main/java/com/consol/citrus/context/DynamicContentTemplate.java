@@ -0,0 +1,669 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import com.consol.citrus.Citrus;
+import com.consol.citrus.exceptions.NoSuchVariableException;
+import com.consol.citrus.functions.*;
+import com.consol.citrus.variable.VariableUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Compiled representation of a string holding dynamic content such as variable place holders and function expressions.
+ * Source string is parsed once into a list of literal, variable and function nodes. Evaluation of the template
+ * is a single walk over these nodes without rescanning the source string. Compiled templates are immutable and
+ * cached by their source string so they are reused across test contexts.
+ *
+ * Template evaluation follows the same rules as {@link VariableUtils#replaceVariablesInString(String, TestContext, boolean)}
+ * followed by {@link FunctionUtils#replaceFunctionsInString(String, TestContext, boolean)}. In case resolved variable values
+ * introduce dynamic content themselves (e.g. variable value is a function expression) the template falls back to
+ * these utility methods in order to keep the very same semantics. The same fallback applies to templates using functions
+ * of more than one function library and to function results holding the prefix of another function library, as the utility methods
+ * resolve one library after the other and therefore quote nested functions of earlier libraries and rescan function results
+ * for later libraries. Function results triggering the fallback at runtime cause the functions of this template to be executed twice.
+ *
+ * Compiled templates are held in a concurrent cache limited to {@link Citrus#DYNAMIC_CONTENT_CACHE_SIZE} entries. Cache lookups
+ * do not lock, oldest entries are evicted first when the limit is reached.
+ *
+ * Without function registry in test context only variables are resolved.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public final class DynamicContentTemplate {
+
+    /** Marks variable positions in source string when searching for function expressions */
+    private static final char VARIABLE_PLACEHOLDER = '\u0000';
+
+    /** Compiled templates by source string */
+    private static final Map<String, DynamicContentTemplate> cache = new ConcurrentHashMap<>();
+
+    /** Cached source strings in insertion order for eviction */
+    private static final Queue<String> cacheOrder = new ConcurrentLinkedQueue<>();
+
+    /** The source string */
+    private final String source;
+
+    /** Function library prefixes known at compile time */
+    private final String[] functionPrefixes;
+
+    /** Literal and variable nodes as they appear in source string */
+    private final List<Node> segments;
+
+    /** Literal, variable and function nodes */
+    private final List<Node> nodes;
+
+    /** Variable names in order of appearance */
+    private final String[] variableNames;
+
+    /** Marks variables that are part of a function expression */
+    private final boolean[] variableInFunction;
+
+    /** Resolved variable values holding parenthesis may change function expressions in source string */
+    private final boolean parenthesisSensitive;
+
+    /** Template holds at least one function expression */
+    private final boolean hasFunctions;
+
+    /** Template holds function expressions of more than one function library */
+    private final boolean multipleLibraries;
+
+    /**
+     * Constructor using compiled nodes.
+     */
+    private DynamicContentTemplate(String source, String[] functionPrefixes, List<Node> segments, List<Node> nodes,
+                                   String[] variableNames, boolean[] variableInFunction, boolean parenthesisSensitive, boolean hasFunctions,
+                                   boolean multipleLibraries) {
+        this.source = source;
+        this.functionPrefixes = functionPrefixes;
+        this.segments = segments;
+        this.nodes = nodes;
+        this.variableNames = variableNames;
+        this.variableInFunction = variableInFunction;
+        this.parenthesisSensitive = parenthesisSensitive;
+        this.hasFunctions = hasFunctions;
+        this.multipleLibraries = multipleLibraries;
+    }
+
+    /**
+     * Replaces variables and functions in given string using a cached compiled template. Strings that do not
+     * hold any dynamic content are returned as is.
+     *
+     * @param str the string to resolve.
+     * @param context the current test context.
+     * @param enableQuoting flag marking surrounding quotes should be added or not.
+     * @return resulting string without any variable place holders and functions.
+     */
+    public static String resolve(String str, TestContext context, boolean enableQuoting) {
+        List<FunctionLibrary> libraries = getFunctionLibraries(context);
+
+        if (!isDynamic(str, libraries)) {
+            return str;
+        }
+
+        if (Citrus.DYNAMIC_CONTENT_CACHE_SIZE <= 0 || str.indexOf(VARIABLE_PLACEHOLDER) >= 0) {
+            String result = VariableUtils.replaceVariablesInString(str, context, enableQuoting);
+            return libraries.isEmpty() ? result : FunctionUtils.replaceFunctionsInString(result, context, enableQuoting);
+        }
+
+        DynamicContentTemplate template = cache.get(str);
+        if (template == null || !template.isCompiledFor(libraries)) {
+            template = compile(str, libraries);
+            if (cache.put(str, template) == null) {
+                cacheOrder.add(str);
+                evict();
+            }
+        }
+
+        return template.evaluate(context, enableQuoting);
+    }
+
+    /**
+     * Compiles given string to template using the function libraries for detecting function expressions.
+     * @param str
+     * @param libraries
+     * @return
+     */
+    public static DynamicContentTemplate compile(String str, List<FunctionLibrary> libraries) {
+        String[] prefixes = new String[libraries.size()];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = libraries.get(i).getPrefix();
+        }
+
+        return new Compiler(str, prefixes).compile();
+    }
+
+    /**
+     * Evaluates this template with given test context.
+     * @param context the current test context.
+     * @param enableQuoting flag marking surrounding quotes should be added or not.
+     * @return
+     */
+    public String evaluate(TestContext context, boolean enableQuoting) {
+        if (variableNames.length == 0 && !hasFunctions) {
+            return source;
+        }
+
+        String[] values = new String[variableNames.length];
+        for (int i = 0; i < variableNames.length; i++) {
+            values[i] = context.getVariable(variableNames[i]);
+
+            if (values[i] == null) {
+                throw new NoSuchVariableException("Variable: " + variableNames[i] + " could not be found");
+            }
+        }
+
+        Evaluation evaluation = new Evaluation(values, context);
+        if (multipleLibraries || requiresFunctionScan(values)) {
+            return evaluateFunctionScan(evaluation, enableQuoting);
+        }
+
+        StringBuilder builder = new StringBuilder(source.length() + 16);
+        for (Node node : nodes) {
+            node.appendTo(builder, evaluation, enableQuoting, enableQuoting);
+        }
+
+        if (evaluation.rescan) {
+            return evaluateFunctionScan(evaluation, enableQuoting);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Resolves variables with compiled segments and functions with the function library scan of {@link FunctionUtils}.
+     * @param evaluation
+     * @param enableQuoting
+     * @return
+     */
+    private String evaluateFunctionScan(Evaluation evaluation, boolean enableQuoting) {
+        StringBuilder builder = new StringBuilder(source.length());
+        for (Node segment : segments) {
+            segment.appendTo(builder, evaluation, enableQuoting, enableQuoting);
+        }
+
+        return FunctionUtils.replaceFunctionsInString(builder.toString(), evaluation.context, enableQuoting);
+    }
+
+    /**
+     * Checks if resolved variable values introduce dynamic content that was not part of the compiled source string.
+     * @param values
+     * @return
+     */
+    private boolean requiresFunctionScan(String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            for (String prefix : functionPrefixes) {
+                if (values[i].contains(prefix)) {
+                    return true;
+                }
+            }
+
+            if ((variableInFunction[i] || parenthesisSensitive) &&
+                    (values[i].indexOf('(') >= 0 || values[i].indexOf(')') >= 0)) {
+                return true;
+            }
+
+            if (variableInFunction[i] && values[i].contains(Citrus.VARIABLE_PREFIX)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks that this template was compiled with the very same function library prefixes.
+     * @param libraries
+     * @return
+     */
+    private boolean isCompiledFor(List<FunctionLibrary> libraries) {
+        if (libraries.size() != functionPrefixes.length) {
+            return false;
+        }
+
+        for (int i = 0; i < functionPrefixes.length; i++) {
+            if (!functionPrefixes[i].equals(libraries.get(i).getPrefix())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes oldest templates until cache size is within limit.
+     */
+    private static void evict() {
+        while (cache.size() > Citrus.DYNAMIC_CONTENT_CACHE_SIZE) {
+            String eldest = cacheOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+
+            cache.remove(eldest);
+        }
+    }
+
+    /**
+     * Gets function libraries of test context, empty list when test context has no function registry.
+     * @param context
+     * @return
+     */
+    private static List<FunctionLibrary> getFunctionLibraries(TestContext context) {
+        if (context.getFunctionRegistry() == null) {
+            return Collections.emptyList();
+        }
+
+        return context.getFunctionRegistry().getFunctionLibraries();
+    }
+
+    /**
+     * Checks if string holds variable place holders or function library prefixes at all.
+     * @param str
+     * @param libraries
+     * @return
+     */
+    private static boolean isDynamic(String str, List<FunctionLibrary> libraries) {
+        if (str.contains(Citrus.VARIABLE_PREFIX)) {
+            return true;
+        }
+
+        for (FunctionLibrary library : libraries) {
+            if (str.contains(library.getPrefix())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Clears the compiled template cache.
+     */
+    public static void clearCache() {
+        cache.clear();
+        cacheOrder.clear();
+    }
+
+    /**
+     * Gets the current number of cached templates.
+     * @return
+     */
+    public static int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Gets the source string.
+     * @return
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the variable names used in this template in order of appearance.
+     * @return
+     */
+    public List<String> getVariableNames() {
+        return Collections.unmodifiableList(Arrays.asList(variableNames));
+    }
+
+    /**
+     * Gets the hasFunctions.
+     * @return
+     */
+    public boolean hasFunctions() {
+        return hasFunctions;
+    }
+
+    /**
+     * Compiles source string to template nodes. First step identifies variable place holders in the very same way
+     * as {@link VariableUtils#replaceVariablesInString(String, TestContext, boolean)} does. Second step searches for
+     * function expressions on the source where each variable is replaced by a placeholder character.
+     */
+    private static final class Compiler {
+        private final String source;
+        private final String[] prefixes;
+
+        private String masked;
+        private int[] variableIndex;
+        private final List<String> variableNames = new ArrayList<>();
+        private boolean[] variableInFunction;
+        private boolean parenthesisSensitive = false;
+        private boolean hasFunctions = false;
+        private final Set<String> functionPrefixes = new HashSet<>();
+
+        Compiler(String source, String[] prefixes) {
+            this.source = source;
+            this.prefixes = prefixes;
+        }
+
+        DynamicContentTemplate compile() {
+            parseVariables();
+
+            variableInFunction = new boolean[variableNames.size()];
+            List<Node> segments = parseSegments(0, masked.length());
+            List<Node> nodes = parseFunctions(0, masked.length());
+
+            return new DynamicContentTemplate(source, prefixes, segments, nodes,
+                    variableNames.toArray(new String[variableNames.size()]), variableInFunction, parenthesisSensitive, hasFunctions,
+                    functionPrefixes.size() > 1);
+        }
+
+        private void parseVariables() {
+            StringBuilder maskedBuilder = new StringBuilder(source.length());
+
+            int startIndex = 0;
+            int curIndex;
+            int searchIndex;
+
+            while ((searchIndex = source.indexOf(Citrus.VARIABLE_PREFIX, startIndex)) != -1) {
+                int control = 0;
+                boolean isVarComplete = false;
+                StringBuilder variableNameBuf = new StringBuilder();
+
+                curIndex = searchIndex + Citrus.VARIABLE_PREFIX.length();
+
+                while (curIndex < source.length() && !isVarComplete) {
+                    if (source.startsWith(Citrus.VARIABLE_PREFIX, curIndex)) {
+                        control++;
+                    }
+
+                    if ((!Character.isJavaIdentifierPart(source.charAt(curIndex)) && (source.charAt(curIndex) == Citrus.VARIABLE_SUFFIX.charAt(0))) || (curIndex + 1 == source.length())) {
+                        if (control == 0) {
+                            isVarComplete = true;
+                        } else {
+                            control--;
+                        }
+                    }
+
+                    if (!isVarComplete) {
+                        variableNameBuf.append(source.charAt(curIndex));
+                    }
+                    ++curIndex;
+                }
+
+                maskedBuilder.append(source, startIndex, searchIndex).append(VARIABLE_PLACEHOLDER);
+                variableNames.add(variableNameBuf.toString());
+
+                startIndex = curIndex;
+            }
+
+            maskedBuilder.append(source, startIndex, source.length());
+            masked = maskedBuilder.toString();
+
+            variableIndex = new int[masked.length()];
+            int index = 0;
+            for (int i = 0; i < masked.length(); i++) {
+                if (masked.charAt(i) == VARIABLE_PLACEHOLDER) {
+                    variableIndex[i] = index++;
+                }
+            }
+        }
+
+        /**
+         * Search function expressions in given range just like {@link FunctionUtils#replaceFunctionsInString(String, TestContext, boolean)}
+         * does on the variable resolved string.
+         */
+        private List<Node> parseFunctions(int from, int to) {
+            int firstPrefix = indexOfPrefix(from, to);
+            if (firstPrefix < 0) {
+                return parseSegments(from, to);
+            }
+
+            if (!containsLiteral(':', from, to) || !containsLiteral('(', from, to) || !containsLiteral(')', from, to)) {
+                // function search depends on parenthesis that may be added by variable values
+                parenthesisSensitive = true;
+                return parseSegments(from, to);
+            }
+
+            List<Node> result = new ArrayList<>();
+            int startIndex = from;
+            int searchIndex = firstPrefix;
+
+            while (searchIndex >= 0) {
+                result.addAll(parseSegments(startIndex, searchIndex));
+
+                int control = -1;
+                boolean isComplete = false;
+                int curIndex = searchIndex;
+
+                while (curIndex < to && !isComplete) {
+                    if (masked.charAt(curIndex) == '(') {
+                        control++;
+                    }
+
+                    if (masked.charAt(curIndex) == ')' || curIndex == to - 1) {
+                        if (control == 0) {
+                            isComplete = true;
+                        } else {
+                            control--;
+                        }
+                    }
+
+                    curIndex++;
+                }
+
+                result.add(parseFunction(searchIndex, curIndex));
+
+                startIndex = curIndex;
+                searchIndex = indexOfPrefix(startIndex, to);
+            }
+
+            result.addAll(parseSegments(startIndex, to));
+            return result;
+        }
+
+        private Node parseFunction(int from, int to) {
+            hasFunctions = true;
+
+            for (int i = from; i < to; i++) {
+                if (masked.charAt(i) == VARIABLE_PLACEHOLDER) {
+                    variableInFunction[variableIndex[i]] = true;
+                }
+            }
+
+            String expression = masked.substring(from, to);
+            for (String prefix : prefixes) {
+                if (expression.contains(prefix)) {
+                    functionPrefixes.add(prefix);
+                }
+            }
+
+            int prefixEnd = expression.indexOf(':');
+            int parameterStart = expression.indexOf('(');
+
+            if (prefixEnd < 0 || parameterStart < prefixEnd || !expression.endsWith(")") ||
+                    expression.substring(0, parameterStart).indexOf(VARIABLE_PLACEHOLDER) >= 0) {
+                // irregular function expression is resolved at runtime
+                return new FunctionExpressionNode(parseSegments(from, to));
+            }
+
+            return new FunctionNode(expression.substring(0, prefixEnd + 1),
+                    expression.substring(prefixEnd + 1, parameterStart),
+                    parseFunctions(from + parameterStart + 1, to - 1));
+        }
+
+        private List<Node> parseSegments(int from, int to) {
+            List<Node> result = new ArrayList<>();
+
+            int startIndex = from;
+            for (int i = from; i < to; i++) {
+                if (masked.charAt(i) == VARIABLE_PLACEHOLDER) {
+                    if (i > startIndex) {
+                        result.add(new LiteralNode(masked.substring(startIndex, i)));
+                    }
+
+                    result.add(new VariableNode(variableIndex[i]));
+                    startIndex = i + 1;
+                }
+            }
+
+            if (to > startIndex) {
+                result.add(new LiteralNode(masked.substring(startIndex, to)));
+            }
+
+            return result;
+        }
+
+        private int indexOfPrefix(int from, int to) {
+            int result = -1;
+            for (String prefix : prefixes) {
+                int index = masked.indexOf(prefix, from);
+                if (index >= 0 && index + prefix.length() <= to && (result < 0 || index < result)) {
+                    result = index;
+                }
+            }
+
+            return result;
+        }
+
+        private boolean containsLiteral(char c, int from, int to) {
+            int index = masked.indexOf(c, from);
+            return index >= 0 && index < to;
+        }
+    }
+
+    /**
+     * Template node appends its evaluated content to string builder.
+     */
+    private interface Node {
+        void appendTo(StringBuilder builder, Evaluation evaluation, boolean quoteVariables, boolean quoteFunctions);
+    }
+
+    /**
+     * Static text.
+     */
+    private static final class LiteralNode implements Node {
+        private final String text;
+
+        LiteralNode(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Evaluation evaluation, boolean quoteVariables, boolean quoteFunctions) {
+            builder.append(text);
+        }
+    }
+
+    /**
+     * Variable place holder referencing the resolved variable value by index.
+     */
+    private static final class VariableNode implements Node {
+        private final int index;
+
+        VariableNode(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Evaluation evaluation, boolean quoteVariables, boolean quoteFunctions) {
+            if (quoteVariables) {
+                builder.append('\'').append(evaluation.values[index]).append('\'');
+            } else {
+                builder.append(evaluation.values[index]);
+            }
+        }
+    }
+
+    /**
+     * Function with prefix, name and parameter nodes. Nested functions in parameters are evaluated first.
+     */
+    private static final class FunctionNode implements Node {
+        private final String prefix;
+        private final String name;
+        private final List<Node> parameters;
+
+        FunctionNode(String prefix, String name, List<Node> parameters) {
+            this.prefix = prefix;
+            this.name = name;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Evaluation evaluation, boolean quoteVariables, boolean quoteFunctions) {
+            StringBuilder parameterString = new StringBuilder();
+            for (Node parameter : parameters) {
+                parameter.appendTo(parameterString, evaluation, quoteVariables, false);
+            }
+
+            Function function = evaluation.context.getFunctionRegistry().getLibraryForPrefix(prefix).getFunction(name);
+            String value = function.execute(FunctionParameterHelper.getParameterList(parameterString.toString()), evaluation.context);
+
+            appendFunctionResult(builder, value == null ? "" : value, prefix, evaluation, quoteFunctions);
+        }
+    }
+
+    /**
+     * Function expression that could not be compiled. Expression is resolved at runtime.
+     */
+    private static final class FunctionExpressionNode implements Node {
+        private final List<Node> expression;
+
+        FunctionExpressionNode(List<Node> expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Evaluation evaluation, boolean quoteVariables, boolean quoteFunctions) {
+            StringBuilder functionString = new StringBuilder();
+            for (Node node : expression) {
+                node.appendTo(functionString, evaluation, quoteVariables, false);
+            }
+
+            String function = functionString.toString();
+            String prefix = function.substring(0, function.indexOf(':') + 1);
+            appendFunctionResult(builder, FunctionUtils.resolveFunction(function, evaluation.context), prefix, evaluation, quoteFunctions);
+        }
+    }
+
+    /**
+     * Appends function result. Results holding the prefix of another function library mark the evaluation for rescan.
+     */
+    private static void appendFunctionResult(StringBuilder builder, String value, String prefix, Evaluation evaluation, boolean quote) {
+        for (FunctionLibrary library : getFunctionLibraries(evaluation.context)) {
+            if (!library.getPrefix().equals(prefix) && value.contains(library.getPrefix())) {
+                evaluation.rescan = true;
+            }
+        }
+
+        if (quote) {
+            builder.append('\'').append(value).append('\'');
+        } else {
+            builder.append(value);
+        }
+    }
+
+    /**
+     * State of a single template evaluation.
+     */
+    private static final class Evaluation {
+        private final String[] values;
+        private final TestContext context;
+        private boolean rescan = false;
+
+        Evaluation(String[] values, TestContext context) {
+            this.values = values;
+            this.context = context;
+        }
+    }
+}
@@ -17,8 +17,10 @@
 package com.consol.citrus.context;
 
 import com.consol.citrus.Citrus;
+import com.consol.citrus.TestAction;
 import com.consol.citrus.TestCase;
 import com.consol.citrus.container.StopTimer;
+import com.consol.citrus.endpoint.Endpoint;
 import com.consol.citrus.endpoint.EndpointFactory;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.VariableNullValueException;
@@ -26,6 +28,7 @@ import com.consol.citrus.functions.FunctionRegistry;
 import com.consol.citrus.functions.FunctionUtils;
 import com.consol.citrus.message.*;
 import com.consol.citrus.report.MessageListeners;
+import com.consol.citrus.report.TestActionListeners;
 import com.consol.citrus.report.TestListeners;
 import com.consol.citrus.util.TypeConversionUtils;
 import com.consol.citrus.validation.MessageValidatorRegistry;
@@ -83,6 +86,9 @@ public class TestContext {
     /** List of test listeners to be informed on test events */
     private TestListeners testListeners = new TestListeners();
 
+    /** List of test action listeners to be informed on test action events */
+    private TestActionListeners testActionListeners = new TestActionListeners();
+
     /** List of message listeners to be informed on inbound and outbound message exchange */
     private MessageListeners messageListeners = new MessageListeners();
 
@@ -323,8 +329,7 @@ public class TestContext {
         String result = null;
 
         if (str != null) {
-            result = VariableUtils.replaceVariablesInString(str, this, enableQuoting);
-            result = FunctionUtils.replaceFunctionsInString(result, this, enableQuoting);
+            result = DynamicContentTemplate.resolve(str, this, enableQuoting);
         }
 
         return result;
@@ -502,6 +507,22 @@ public class TestContext {
         this.testListeners = testListeners;
     }
 
+    /**
+     * Gets the test action listeners.
+     * @return
+     */
+    public TestActionListeners getTestActionListeners() {
+        return testActionListeners;
+    }
+
+    /**
+     * Set the test action listeners.
+     * @param testActionListeners
+     */
+    public void setTestActionListeners(TestActionListeners testActionListeners) {
+        this.testActionListeners = testActionListeners;
+    }
+
     /**
      * Gets the message construction interceptors.
      * @return
@@ -646,6 +667,63 @@ public class TestContext {
         }
     }
 
+    /**
+     * Creates child context for concurrent execution of forked operations such as parallel branches. Child context
+     * shares registries, listeners, endpoint factory and timers with this context. Variables are copied so writes
+     * in the child context, for instance correlation keys stored as variables, do not interfere with sibling contexts.
+     * Child message store reads messages of this context but stores new messages on its own. Use
+     * {@link #merge(TestContext, Collection)} to take over outputs of the child context.
+     *
+     * @return the forked child context.
+     */
+    public TestContext fork() {
+        TestContext child = new TestContext();
+        child.variables.putAll(variables);
+        child.globalVariables = globalVariables;
+        child.messageStore = new ForkedMessageStore(messageStore);
+        child.functionRegistry = functionRegistry;
+        child.endpointFactory = endpointFactory;
+        child.referenceResolver = referenceResolver;
+        child.messageValidatorRegistry = messageValidatorRegistry;
+        child.validationMatcherRegistry = validationMatcherRegistry;
+        child.testListeners = testListeners;
+        child.testActionListeners = testActionListeners;
+        child.messageListeners = messageListeners;
+        child.messageConstructionInterceptors = messageConstructionInterceptors;
+        child.namespaceContextBuilder = namespaceContextBuilder;
+        child.applicationContext = applicationContext;
+        child.timers = timers;
+
+        return child;
+    }
+
+    /**
+     * Merges outputs of forked child context into this context. Messages stored in child context and exceptions
+     * raised in child context are always taken over. Messages are stored in this context in the order they were
+     * last stored in the child context. Variables are only taken over when explicitly declared as output variable.
+     *
+     * @param child the forked child context.
+     * @param outputVariables names of variables to take over.
+     */
+    public void merge(TestContext child, Collection<String> outputVariables) {
+        if (child.messageStore instanceof ForkedMessageStore) {
+            for (Entry<String, Message> entry : ((ForkedMessageStore) child.messageStore).getStoredMessages().entrySet()) {
+                messageStore.storeMessage(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (!CollectionUtils.isEmpty(outputVariables)) {
+            for (String outputVariable : outputVariables) {
+                String variableName = VariableUtils.cutOffVariablesPrefix(outputVariable);
+                if (child.variables.containsKey(variableName)) {
+                    setVariable(variableName, child.variables.get(variableName));
+                }
+            }
+        }
+
+        exceptions.addAll(child.exceptions);
+    }
+
     /**
      * Add new exception to the context marking the test as failed. This
      * is usually used by actions to mark exceptions during forked operations.
@@ -663,4 +741,53 @@ public class TestContext {
     public List<CitrusRuntimeException> getExceptions() {
         return exceptions;
     }
+
+    /**
+     * Message store of forked context. Messages of parent store are visible, new messages are kept
+     * locally in store order until merged into parent context.
+     */
+    private static class ForkedMessageStore implements MessageStore {
+        /** Store of parent context */
+        private final MessageStore parent;
+
+        /** Messages stored in forked context in store order */
+        private final Map<String, Message> storedMessages = new LinkedHashMap<>();
+
+        ForkedMessageStore(MessageStore parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public Message getMessage(String id) {
+            Message message;
+            synchronized (storedMessages) {
+                message = storedMessages.get(id);
+            }
+
+            return message != null ? message : parent.getMessage(id);
+        }
+
+        @Override
+        public void storeMessage(String id, Message message) {
+            synchronized (storedMessages) {
+                storedMessages.remove(id);
+                storedMessages.put(id, message);
+            }
+        }
+
+        @Override
+        public String constructMessageName(TestAction action, Endpoint endpoint) {
+            return parent.constructMessageName(action, endpoint);
+        }
+
+        /**
+         * Gets copy of messages stored in forked context in store order.
+         * @return
+         */
+        Map<String, Message> getStoredMessages() {
+            synchronized (storedMessages) {
+                return new LinkedHashMap<>(storedMessages);
+            }
+        }
+    }
 }
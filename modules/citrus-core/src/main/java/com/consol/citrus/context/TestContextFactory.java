@@ -19,6 +19,7 @@ package com.consol.citrus.context;
 import com.consol.citrus.endpoint.EndpointFactory;
 import com.consol.citrus.functions.FunctionRegistry;
 import com.consol.citrus.report.MessageListeners;
+import com.consol.citrus.report.TestActionListeners;
 import com.consol.citrus.report.TestListeners;
 import com.consol.citrus.validation.MessageValidatorRegistry;
 import com.consol.citrus.validation.interceptor.MessageConstructionInterceptors;
@@ -56,6 +57,9 @@ public class TestContextFactory implements FactoryBean<TestContext>, Application
     @Autowired
     private TestListeners testListeners;
 
+    @Autowired(required = false)
+    private TestActionListeners testActionListeners = new TestActionListeners();
+
     @Autowired
     private MessageListeners messageListeners;
 
@@ -105,6 +109,10 @@ public class TestContextFactory implements FactoryBean<TestContext>, Application
             factory.setTestListeners(applicationContext.getBean(TestListeners.class));
         }
 
+        if (!CollectionUtils.isEmpty(applicationContext.getBeansOfType(TestActionListeners.class))) {
+            factory.setTestActionListeners(applicationContext.getBean(TestActionListeners.class));
+        }
+
         if (!CollectionUtils.isEmpty(applicationContext.getBeansOfType(MessageListeners.class))) {
             factory.setMessageListeners(applicationContext.getBean(MessageListeners.class));
         }
@@ -132,6 +140,7 @@ public class TestContextFactory implements FactoryBean<TestContext>, Application
         context.setGlobalVariables(globalVariables);
         context.setMessageValidatorRegistry(messageValidatorRegistry);
         context.setTestListeners(testListeners);
+        context.setTestActionListeners(testActionListeners);
         context.setMessageListeners(messageListeners);
         context.setMessageConstructionInterceptors(messageConstructionInterceptors);
         context.setEndpointFactory(endpointFactory);
@@ -274,6 +283,22 @@ public class TestContextFactory implements FactoryBean<TestContext>, Application
         return testListeners;
     }
 
+    /**
+     * Sets the test action listeners.
+     * @param testActionListeners
+     */
+    public void setTestActionListeners(TestActionListeners testActionListeners) {
+        this.testActionListeners = testActionListeners;
+    }
+
+    /**
+     * Gets the test action listeners.
+     * @return
+     */
+    public TestActionListeners getTestActionListeners() {
+        return testActionListeners;
+    }
+
     /**
      * Sets the message validator registry.
      * @param messageValidatorRegistry
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2014 the original author or authors.
+ * Copyright 2006-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,22 +17,28 @@
 package com.consol.citrus.endpoint.adapter;
 
 import com.consol.citrus.Citrus;
+import com.consol.citrus.context.DynamicContentTemplate;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.functions.FunctionLibrary;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.util.FileUtils;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Endpoint adapter always returns a static response message.
  *
+ * Payload resource is loaded once and the payload is compiled to a template on first request. Optionally the payload resource
+ * is reloaded when the file has changed. Responses without any dynamic content in payload and header skip test context creation
+ * and only copy the prepared payload and header.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -47,27 +53,178 @@ public class StaticResponseEndpointAdapter extends StaticEndpointAdapter {
     /** Charset applied to payload resource */
     private String messagePayloadResourceCharset = Citrus.CITRUS_FILE_ENCODING;
 
+    /** Reload payload resource when file has changed */
+    private boolean messagePayloadResourceReload = false;
+
     /** Response message header */
     private Map<String, Object> messageHeader = new HashMap<String, Object>();
 
+    /** Compiled response template, reset when response properties change */
+    private volatile ResponseTemplate responseTemplate;
+
     @Override
     public Message handleMessageInternal(Message request) {
-        String payload;
+        ResponseTemplate template = getResponseTemplate();
+
+        if (template.isStatic()) {
+            return new DefaultMessage(template.payload, new HashMap<>(messageHeader));
+        }
 
         TestContext context = getTestContext();
         context.getMessageStore().storeMessage("request", request);
+
+        String payload;
+        if (template.payloadTemplate != null) {
+            payload = template.payloadTemplate.evaluate(context, false);
+        } else {
+            payload = context.replaceDynamicContentInString(template.payload);
+        }
+
+        return new DefaultMessage(payload, template.staticHeader ? new HashMap<>(messageHeader) : context.resolveDynamicValuesInMap(messageHeader));
+    }
+
+    /**
+     * Gets compiled response template. Template is created on first access and recreated in case payload resource
+     * has changed and reload is enabled.
+     * @return
+     */
+    private ResponseTemplate getResponseTemplate() {
+        ResponseTemplate template = responseTemplate;
+        if (template != null && !template.isModified()) {
+            return template;
+        }
+
+        synchronized (this) {
+            if (responseTemplate == null || responseTemplate.isModified()) {
+                responseTemplate = compileResponseTemplate();
+            }
+
+            return responseTemplate;
+        }
+    }
+
+    /**
+     * Loads payload and compiles response template.
+     * @return
+     */
+    private ResponseTemplate compileResponseTemplate() {
+        TestContext context = getTestContext();
+
+        String payload;
+        Resource resource = null;
+        long lastModified = -1L;
         if (StringUtils.hasText(messagePayloadResource)) {
+            resource = new PathMatchingResourcePatternResolver().getResource(messagePayloadResource);
             try {
-                payload = context.replaceDynamicContentInString(FileUtils.readToString(new PathMatchingResourcePatternResolver().getResource(messagePayloadResource),
-                        Charset.forName(context.replaceDynamicContentInString(messagePayloadResourceCharset))));
+                if (messagePayloadResourceReload) {
+                    lastModified = getLastModified(resource);
+                }
+
+                payload = FileUtils.readToString(resource, Charset.forName(context.replaceDynamicContentInString(messagePayloadResourceCharset)));
             } catch (IOException e) {
                 throw new CitrusRuntimeException("Failed to read message payload file resource", e);
             }
         } else {
-            payload = context.replaceDynamicContentInString(messagePayload);
+            payload = messagePayload;
         }
 
-        return new DefaultMessage(payload, context.resolveDynamicValuesInMap(messageHeader));
+        List<FunctionLibrary> libraries = context.getFunctionRegistry() != null ?
+                context.getFunctionRegistry().getFunctionLibraries() : Collections.<FunctionLibrary>emptyList();
+
+        DynamicContentTemplate payloadTemplate = null;
+        boolean staticPayload = false;
+        if (Citrus.DYNAMIC_CONTENT_CACHE_SIZE > 0 && payload.indexOf('\u0000') < 0) {
+            payloadTemplate = DynamicContentTemplate.compile(payload, libraries);
+            staticPayload = isStatic(payloadTemplate);
+        }
+
+        boolean staticHeader = Citrus.DYNAMIC_CONTENT_CACHE_SIZE > 0;
+        for (Iterator<Map.Entry<String, Object>> it = messageHeader.entrySet().iterator(); staticHeader && it.hasNext();) {
+            Map.Entry<String, Object> entry = it.next();
+            staticHeader = isStatic(entry.getKey(), libraries) &&
+                    (!(entry.getValue() instanceof String) || isStatic((String) entry.getValue(), libraries));
+        }
+
+        return new ResponseTemplate(payload, payloadTemplate, staticPayload, staticHeader,
+                messagePayloadResourceReload ? resource : null, lastModified);
+    }
+
+    /**
+     * Checks that given string does not hold any dynamic content.
+     * @param value
+     * @param libraries
+     * @return
+     */
+    private static boolean isStatic(String value, List<FunctionLibrary> libraries) {
+        return value.indexOf('\u0000') < 0 && isStatic(DynamicContentTemplate.compile(value, libraries));
+    }
+
+    /**
+     * Checks that given template does not hold any variables and functions.
+     * @param template
+     * @return
+     */
+    private static boolean isStatic(DynamicContentTemplate template) {
+        return template.getVariableNames().isEmpty() && !template.hasFunctions();
+    }
+
+    /**
+     * Gets last modified timestamp of resource. Returns -1 in case resource does not support last modified information
+     * e.g. resources inside of jar files.
+     * @param resource
+     * @return
+     */
+    private static long getLastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Resets compiled response template so changed properties are applied with next request.
+     */
+    private void reset() {
+        responseTemplate = null;
+    }
+
+    /**
+     * Compiled response payload with static markers.
+     */
+    private static final class ResponseTemplate {
+        private final String payload;
+        private final DynamicContentTemplate payloadTemplate;
+        private final boolean staticPayload;
+        private final boolean staticHeader;
+        private final Resource resource;
+        private final long lastModified;
+
+        ResponseTemplate(String payload, DynamicContentTemplate payloadTemplate, boolean staticPayload, boolean staticHeader,
+                         Resource resource, long lastModified) {
+            this.payload = payload;
+            this.payloadTemplate = payloadTemplate;
+            this.staticPayload = staticPayload;
+            this.staticHeader = staticHeader;
+            this.resource = resource;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Response needs no test context at all.
+         * @return
+         */
+        boolean isStatic() {
+            return staticPayload && staticHeader;
+        }
+
+        /**
+         * Checks if payload resource has changed since template was compiled.
+         * @return
+         */
+        boolean isModified() {
+            return resource != null && lastModified >= 0 && getLastModified(resource) != lastModified;
+        }
     }
 
     /**
@@ -84,6 +241,7 @@ public class StaticResponseEndpointAdapter extends StaticEndpointAdapter {
      */
     public void setMessagePayload(String messagePayload) {
         this.messagePayload = messagePayload;
+        reset();
     }
 
     /**
@@ -102,6 +260,41 @@ public class StaticResponseEndpointAdapter extends StaticEndpointAdapter {
      */
     public void setMessagePayloadResource(String messagePayloadResource) {
         this.messagePayloadResource = messagePayloadResource;
+        reset();
+    }
+
+    /**
+     * Gets the messagePayloadResourceCharset.
+     * @return
+     */
+    public String getMessagePayloadResourceCharset() {
+        return messagePayloadResourceCharset;
+    }
+
+    /**
+     * Sets the messagePayloadResourceCharset.
+     * @param messagePayloadResourceCharset
+     */
+    public void setMessagePayloadResourceCharset(String messagePayloadResourceCharset) {
+        this.messagePayloadResourceCharset = messagePayloadResourceCharset;
+        reset();
+    }
+
+    /**
+     * Gets the messagePayloadResourceReload.
+     * @return
+     */
+    public boolean isMessagePayloadResourceReload() {
+        return messagePayloadResourceReload;
+    }
+
+    /**
+     * Enables reload of payload resource when file has changed.
+     * @param messagePayloadResourceReload
+     */
+    public void setMessagePayloadResourceReload(boolean messagePayloadResourceReload) {
+        this.messagePayloadResourceReload = messagePayloadResourceReload;
+        reset();
     }
 
     /**
@@ -118,5 +311,6 @@ public class StaticResponseEndpointAdapter extends StaticEndpointAdapter {
      */
     public void setMessageHeader(Map<String, Object> messageHeader) {
         this.messageHeader = messageHeader;
+        reset();
     }
 }
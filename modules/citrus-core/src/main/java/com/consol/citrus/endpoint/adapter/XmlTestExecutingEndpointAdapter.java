@@ -19,6 +19,7 @@ package com.consol.citrus.endpoint.adapter;
 import com.consol.citrus.TestCase;
 import com.consol.citrus.channel.ChannelEndpointAdapter;
 import com.consol.citrus.channel.ChannelSyncEndpointConfiguration;
+import com.consol.citrus.common.XmlTestDefinitionCache;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.context.TestContextFactory;
 import com.consol.citrus.endpoint.EndpointAdapter;
@@ -31,20 +32,33 @@ import org.springframework.beans.factory.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
-import org.springframework.context.support.ClassPathXmlApplicationContext;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Special request dispatching endpoint adapter invokes XML test case for each incoming message. Incoming message is
  * passed to test case via normal message channel connection as usual.
  *
+ * Test XML files are read and validated once and cached in {@link XmlTestDefinitionCache}. Each request parses the bean
+ * definitions from the cached document in a new lightweight application context so test case, message builders and other
+ * parser created objects are never shared between requests. Tests are executed by a bounded worker pool unless a custom
+ * task executor is set.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointAdapter implements InitializingBean, BeanNameAware, ApplicationContextAware {
+public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointAdapter implements InitializingBean, DisposableBean, BeanNameAware, ApplicationContextAware {
     /** Executor start action sequence logic in separate thread task */
-    private TaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
+    private TaskExecutor taskExecutor;
+
+    /** Number of worker threads in default task executor */
+    private int poolSize = 10;
+
+    /** Number of test executions waiting for a worker thread in default task executor */
+    private int queueCapacity = 100;
 
     /** This adapter name - used for message channel generation */
     private String name = EndpointAdapter.class.getSimpleName();
@@ -74,12 +88,16 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
                     mappingName + "' in Spring bean context", e);
         }
 
-        taskExecutor.execute(new Runnable() {
-            public void run() {
-                prepareExecution(request, test);
-                test.execute(testContext);
-            }
-        });
+        try {
+            taskExecutor.execute(new Runnable() {
+                public void run() {
+                    prepareExecution(request, test);
+                    test.execute(testContext);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            throw new CitrusRuntimeException("Unable to execute test '" + mappingName + "' - all workers are busy", e);
+        }
 
         return endpointAdapterDelegate.handleMessage(request);
     }
@@ -91,7 +109,7 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
      * @return the new test case.
      */
     protected TestCase getTestCase(TestContext context, String testName) {
-        ClassPathXmlApplicationContext ctx = createApplicationContext(context, packageName, testName);
+        ApplicationContext ctx = createApplicationContext(context, packageName, testName);
 
         try {
             TestCase testCase = ctx.getBean(testName, TestCase.class);
@@ -104,16 +122,18 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
     }
 
     /**
-     * Creates the Spring application context.
+     * Creates new lightweight Spring application context with test case bean definitions parsed from the
+     * cached test XML document.
      * @return
      */
-    protected ClassPathXmlApplicationContext createApplicationContext(TestContext context, String packageName, String testName) {
+    protected ApplicationContext createApplicationContext(TestContext context, String packageName, String testName) {
         try {
-            return new ClassPathXmlApplicationContext(
-                    new String[] {
-                            packageName.replace('.', '/') + "/" + testName + ".xml",
-                            "com/consol/citrus/spring/annotation-config-ctx.xml"},
-                    true, applicationContext);
+            GenericApplicationContext ctx = new GenericApplicationContext(applicationContext);
+            AnnotationConfigUtils.registerAnnotationConfigProcessors(ctx);
+            XmlTestDefinitionCache.getTestDefinition(packageName.replace('.', '/') + "/" + testName + ".xml").registerBeanDefinitions(ctx);
+            ctx.refresh();
+
+            return ctx;
         } catch (Exception e) {
             throw context.handleError(getClass().getSimpleName(), getClass().getPackage().getName(), "Failed to load test case", e);
         }
@@ -148,6 +168,25 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
             mappingStrategy.setApplicationContext(applicationContext);
             setMappingStrategy(mappingStrategy);
         }
+
+        if (taskExecutor == null) {
+            ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+            threadPoolTaskExecutor.setCorePoolSize(poolSize);
+            threadPoolTaskExecutor.setMaxPoolSize(poolSize);
+            threadPoolTaskExecutor.setQueueCapacity(queueCapacity);
+            threadPoolTaskExecutor.setThreadNamePrefix(name + "-");
+            threadPoolTaskExecutor.initialize();
+            taskExecutor = threadPoolTaskExecutor;
+        }
+    }
+
+    /**
+     * Shuts down default task executor.
+     */
+    public void destroy() throws Exception {
+        if (taskExecutor instanceof ThreadPoolTaskExecutor) {
+            ((ThreadPoolTaskExecutor) taskExecutor).shutdown();
+        }
     }
 
     /**
@@ -192,6 +231,39 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
         this.taskExecutor = taskExecutor;
     }
 
+    /**
+     * Gets the pool size of default task executor.
+     * @return
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Sets the number of worker threads in default task executor.
+     * @param poolSize
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Gets the queue capacity of default task executor.
+     * @return
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the number of test executions waiting for a worker thread in default task executor. Requests
+     * exceeding this capacity are rejected.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
     /**
      * Gets the response generating endpoint adapter delegate.
      * @return
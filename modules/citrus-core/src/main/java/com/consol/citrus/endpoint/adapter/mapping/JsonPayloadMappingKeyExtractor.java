@@ -16,14 +16,12 @@
 
 package com.consol.citrus.endpoint.adapter.mapping;
 
-import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.util.JsonUtils;
 import com.consol.citrus.validation.json.JsonPathFunctions;
 import com.jayway.jsonpath.*;
 import net.minidev.json.JSONArray;
-import net.minidev.json.parser.JSONParser;
-import net.minidev.json.parser.ParseException;
 import org.springframework.util.StringUtils;
 
 /**
@@ -38,9 +36,7 @@ public class JsonPayloadMappingKeyExtractor extends AbstractMappingKeyExtractor
     @Override
     public String getMappingKey(Message request) {
         try {
-            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-            Object receivedJson = parser.parse(request.getPayload(String.class));
-            ReadContext readerContext = JsonPath.parse(receivedJson);
+            ReadContext readerContext = JsonUtils.parseMessagePayload(request);
 
             String expression = jsonPathExpression;
             String jsonPathFunction = null;
@@ -68,8 +64,6 @@ public class JsonPayloadMappingKeyExtractor extends AbstractMappingKeyExtractor
             }
 
             return jsonPathResult.toString();
-        } catch (ParseException e) {
-            throw new CitrusRuntimeException("Failed to parse JSON text", e);
         } catch (PathNotFoundException e) {
             throw new ValidationException(String.format("Failed to extract JSON element for path: %s", jsonPathExpression), e);
         }
@@ -20,7 +20,9 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.TypeConversionUtils;
 import org.springframework.util.CollectionUtils;
 
+import java.lang.ref.SoftReference;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Default message implementation holds message payload and message headers. Also provides access methods for special
@@ -46,6 +48,13 @@ public class DefaultMessage implements Message {
     /** The message name for internal use */
     private String name;
 
+    /** Parsed payload views, created lazily and invalidated on payload change. Soft references let the garbage
+     * collector reclaim views of messages kept in the message store when memory runs low */
+    private transient Map<Class<?>, SoftReference<Object>> payloadViews;
+
+    /** Payload the parsed views have been created from */
+    private transient Object payloadViewSource;
+
     /**
      * Empty constructor initializing with empty message payload.
      */
@@ -159,6 +168,38 @@ public class DefaultMessage implements Message {
     @Override
     public void setPayload(Object payload) {
         this.payload = payload;
+
+        synchronized (this) {
+            payloadViews = null;
+            payloadViewSource = null;
+        }
+    }
+
+    /**
+     * Caches parsed views until the payload is set or changed. A parsed view such as a DOM document usually takes several
+     * times the memory of the payload string. Views are held with soft references, so the garbage collector can reclaim them
+     * when memory runs low. A reclaimed view is simply parsed again on the next access.
+     * @param type the view type
+     * @param parser creates the view from this message
+     * @param <T>
+     * @return
+     */
+    @Override
+    public synchronized <T> T getPayloadView(Class<T> type, Function<Message, T> parser) {
+        Object source = getPayload();
+        if (payloadViews == null || payloadViewSource != source) {
+            payloadViews = new HashMap<>();
+            payloadViewSource = source;
+        }
+
+        SoftReference<Object> reference = payloadViews.get(type);
+        Object view = reference != null ? reference.get() : null;
+        if (view == null) {
+            view = parser.apply(this);
+            payloadViews.put(type, new SoftReference<>(view));
+        }
+
+        return type.cast(view);
     }
 
     @Override
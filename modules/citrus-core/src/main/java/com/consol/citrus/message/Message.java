@@ -19,6 +19,7 @@ package com.consol.citrus.message;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * @author Christoph Deppisch
@@ -105,4 +106,18 @@ public interface Message extends Serializable {
      */
     void setPayload(Object payload);
 
+    /**
+     * Gets parsed view of the message payload such as DOM document or JSON read context. Implementations may cache
+     * the view until the message payload changes so validators and variable extractors share the parsed payload.
+     * Views therefore must not be modified. Default implementation does not cache and creates a new view with
+     * given parser on each call.
+     * @param type the view type
+     * @param parser creates the view from this message
+     * @param <T>
+     * @return
+     */
+    default <T> T getPayloadView(Class<T> type, Function<Message, T> parser) {
+        return parser.apply(this);
+    }
+
 }
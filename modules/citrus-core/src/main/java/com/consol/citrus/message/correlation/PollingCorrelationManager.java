@@ -22,10 +22,14 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.*;
+
 /**
- * Extension of default correlation manager adds polling mechanism for find operation on object store.
- * In case object is not found in store retry is automatically performed. Polling interval and overall retry timeout
- * is usually defined in endpoint configuration.
+ * Extension of default correlation manager adds waiting mechanism for find operation on object store.
+ * In case object is not found in store the caller waits until the object is stored via this manager or the
+ * overall timeout is reached. Waiting threads are signaled per correlation key so they wake up as soon as the object
+ * arrives. As object stores may be filled without this manager being involved, stores are also polled with the polling
+ * interval defined in endpoint configuration.
  *
  * @author Christoph Deppisch
  * @since 2.1
@@ -36,6 +40,15 @@ public class PollingCorrelationManager<T> extends DefaultCorrelationManager<T> {
 
     private final PollableEndpointConfiguration endpointConfiguration;
 
+    /** Signals for threads waiting on correlation keys and correlated objects */
+    private final ConcurrentMap<String, Signal> signals = new ConcurrentHashMap<>();
+
+    /** Maximum time to wait for correlation key */
+    private static final long CORRELATION_KEY_TIMEOUT = 1000L;
+
+    /** Polling interval for correlation key */
+    private static final long CORRELATION_KEY_POLLING_INTERVAL = 300L;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(PollingCorrelationManager.class);
 
@@ -61,36 +74,21 @@ public class PollingCorrelationManager<T> extends DefaultCorrelationManager<T> {
         return find(correlationKey, endpointConfiguration.getTimeout());
     }
 
+    @Override
+    public void saveCorrelationKey(String correlationKeyName, String correlationKey, TestContext context) {
+        super.saveCorrelationKey(correlationKeyName, correlationKey, context);
+        signal(correlationKeyName);
+    }
+
     @Override
     public String getCorrelationKey(String correlationKeyName, TestContext context) {
         if (log.isDebugEnabled()) {
             log.debug(String.format("Get correlation key for '%s'", correlationKeyName));
         }
 
-        String correlationKey = null;
-        if (context.getVariables().containsKey(correlationKeyName)) {
-            correlationKey = context.getVariable(correlationKeyName);
-        }
-
-        long timeLeft = 1000L;
-        long pollingInterval = 300L;
-        while (correlationKey == null && timeLeft > 0) {
-            timeLeft -= pollingInterval;
-
-            if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug("Correlation key not available yet - retrying in " + (timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft) + "ms");
-            }
-
-            try {
-                Thread.sleep(timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
-            }
-
-            if (context.getVariables().containsKey(correlationKeyName)) {
-                correlationKey = context.getVariable(correlationKeyName);
-            }
-        }
+        String correlationKey = await(correlationKeyName, CORRELATION_KEY_TIMEOUT, CORRELATION_KEY_POLLING_INTERVAL,
+                "Correlation key not available yet",
+                () -> context.getVariables().containsKey(correlationKeyName) ? context.getVariable(correlationKeyName) : null);
 
         if (correlationKey == null) {
             throw new CitrusRuntimeException(String.format("Failed to get correlation key for '%s'", correlationKeyName));
@@ -100,29 +98,85 @@ public class PollingCorrelationManager<T> extends DefaultCorrelationManager<T> {
     }
 
     @Override
-    public T find(String correlationKey, long timeout) {
-        long timeLeft = timeout;
-        long pollingInterval = endpointConfiguration.getPollingInterval();
+    public void store(String correlationKey, T object) {
+        super.store(correlationKey, object);
+        signal(correlationKey);
+    }
 
-        T stored = super.find(correlationKey, timeLeft);
+    @Override
+    public T find(String correlationKey, long timeout) {
+        return await(correlationKey, timeout, endpointConfiguration.getPollingInterval(), retryLogMessage,
+                () -> super.find(correlationKey, timeout));
+    }
 
-        while (stored == null && timeLeft > 0) {
-            timeLeft -= pollingInterval;
+    /**
+     * Waits for lookup to provide a result. Waiting thread is woken up by signal on the given key or after polling interval
+     * has passed. Lookup is performed at least once and the last lookup is performed when timeout is reached.
+     *
+     * Waiting thread registers with the key signal before the first lookup and repeats the lookup while holding the signal monitor
+     * right before each wait so a store in between is never missed. Signal is removed when the last waiting thread leaves.
+     * @param key
+     * @param timeout
+     * @param pollingInterval
+     * @param retryMessage
+     * @param lookup
+     * @return
+     */
+    private <R> R await(String key, long timeout, long pollingInterval, String retryMessage, Lookup<R> lookup) {
+        if (timeout <= 0) {
+            return lookup.lookup();
+        }
 
-            if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug(retryLogMessage + " - retrying in " + (timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft) + "ms");
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        Signal signal = signals.compute(key, (k, existing) -> {
+            Signal registered = existing != null ? existing : new Signal();
+            registered.waiting++;
+            return registered;
+        });
+
+        try {
+            synchronized (signal) {
+                R result = lookup.lookup();
+                long timeLeft = timeout;
+
+                while (result == null && timeLeft > 0) {
+                    long waitTime = pollingInterval > 0 ? Math.min(timeLeft, pollingInterval) : timeLeft;
+
+                    if (RETRY_LOG.isDebugEnabled()) {
+                        RETRY_LOG.debug(retryMessage + " - waiting " + waitTime + "ms");
+                    }
+
+                    try {
+                        signal.wait(waitTime);
+                    } catch (InterruptedException e) {
+                        RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+                        Thread.currentThread().interrupt();
+                        return lookup.lookup();
+                    }
+
+                    result = lookup.lookup();
+                    timeLeft = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                }
+
+                return result;
             }
+        } finally {
+            signals.computeIfPresent(key, (k, registered) -> --registered.waiting == 0 ? null : registered);
+        }
+    }
 
-            try {
-                Thread.sleep(timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
-            }
+    /**
+     * Wakes up all threads waiting on given key.
+     * @param key
+     */
+    private void signal(String key) {
+        Signal signal = signals.get(key);
 
-            stored = super.find(correlationKey, timeLeft);
+        if (signal != null) {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
         }
-
-        return stored;
     }
 
     /**
@@ -140,4 +194,18 @@ public class PollingCorrelationManager<T> extends DefaultCorrelationManager<T> {
     public void setRetryLogMessage(String retryLogMessage) {
         this.retryLogMessage = retryLogMessage;
     }
+
+    /**
+     * Monitor object threads wait on for a single key. Number of waiting threads is only changed within atomic map operations.
+     */
+    private static final class Signal {
+        private int waiting = 0;
+    }
+
+    /**
+     * Lookup performed on each wake up.
+     */
+    private interface Lookup<R> {
+        R lookup();
+    }
 }
@@ -37,4 +37,7 @@ public abstract class AbstractTestActionListener implements TestActionListener {
     @Override
     public void onTestActionStart(TestCase testCase, TestAction testAction) {}
 
+    @Override
+    public void onParallelActionFinish(TestAction container, TestAction testAction, long duration) {}
+
 }
@@ -235,6 +235,13 @@ public class LoggingReporter implements MessageListener, TestSuiteListener, Test
         }
     }
 
+    @Override
+    public void onParallelActionFinish(TestAction container, TestAction testAction, long duration) {
+        if (log.isDebugEnabled()) {
+            log.debug("PARALLEL ACTION " + (testAction.getName() != null ? testAction.getName() : testAction.getClass().getName()) + " FINISHED in " + duration + " ms");
+        }
+    }
+
     @Override
     public void onInboundMessage(Message message, TestContext context) {
         inboundMsgLogger.debug(message.toString());
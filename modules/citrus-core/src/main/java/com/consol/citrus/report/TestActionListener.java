@@ -44,4 +44,13 @@ public interface TestActionListener {
      * @param testAction
      */
     void onTestActionSkipped(TestCase testCase, TestAction testAction);
+
+    /**
+     * Invoked when nested test action of a parallel container is finished. Default implementation does nothing.
+     * @param container
+     * @param testAction
+     * @param duration execution time in milliseconds
+     */
+    default void onParallelActionFinish(TestAction container, TestAction testAction, long duration) {
+    }
 }
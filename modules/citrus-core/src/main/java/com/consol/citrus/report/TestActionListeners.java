@@ -54,6 +54,18 @@ public class TestActionListeners {
         }
     }
 
+    /**
+     * Notifies listeners on finished nested action of parallel container.
+     * @param container
+     * @param testAction
+     * @param duration
+     */
+    public void onParallelActionFinish(TestAction container, TestAction testAction, long duration) {
+        for (TestActionListener listener : testActionListeners) {
+            listener.onParallelActionFinish(container, testAction, duration);
+        }
+    }
+
     /**
      * Adds a new test action listener.
      * @param listener
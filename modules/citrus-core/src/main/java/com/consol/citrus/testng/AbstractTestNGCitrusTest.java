@@ -248,6 +248,10 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
                     throw new CitrusRuntimeException("Unable to locate file resources for test package '" + packageName + "'", e);
                 }
             }
+
+            if (testPackages.length > 0) {
+                XmlTestLoader.preload(methodTestLoaders);
+            }
         }
 
         return methodTestLoaders;
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import com.consol.citrus.Citrus;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.Message;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+
+import java.util.*;
+
+/**
+ * Utility methods for JSON message payloads.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public final class JsonUtils {
+
+    /** Compiled JsonPath expressions are thread safe so cache is shared */
+    private static final Map<String, JsonPath> jsonPathCache = Collections.synchronizedMap(new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+            return size() > Citrus.JSON_PATH_CACHE_SIZE;
+        }
+    });
+
+    /**
+     * Prevent instantiation.
+     */
+    private JsonUtils() {
+        super();
+    }
+
+    /**
+     * Gets JSONPath document context of message payload. Parsed JSON is cached with the message so subsequent calls
+     * do not parse the payload again. Context is shared and must not be modified by callers.
+     * @param message
+     * @throws CitrusRuntimeException
+     * @return JSONPath document context holding the parsed JSON.
+     */
+    public static DocumentContext parseMessagePayload(Message message) {
+        return message.getPayloadView(DocumentContext.class, m -> JsonPath.parse(parseJson(m.getPayload(String.class))));
+    }
+
+    /**
+     * Parse JSON text to JSON object or array.
+     * @param jsonText
+     * @throws CitrusRuntimeException
+     * @return
+     */
+    public static Object parseJson(String jsonText) {
+        try {
+            return new JSONParser(JSONParser.MODE_JSON_SIMPLE).parse(jsonText);
+        } catch (ParseException e) {
+            throw new CitrusRuntimeException("Failed to parse JSON text", e);
+        }
+    }
+
+    /**
+     * Compiles JsonPath expression. Compiled expressions are cached so subsequent calls with the same expression
+     * do not compile the expression again.
+     * @param jsonPathExpression
+     * @return
+     */
+    public static JsonPath compileJsonPath(String jsonPathExpression) {
+        if (Citrus.JSON_PATH_CACHE_SIZE <= 0) {
+            return JsonPath.compile(jsonPathExpression);
+        }
+
+        JsonPath jsonPath = jsonPathCache.get(jsonPathExpression);
+        if (jsonPath == null) {
+            jsonPath = JsonPath.compile(jsonPathExpression);
+            jsonPathCache.put(jsonPathExpression, jsonPath);
+        }
+
+        return jsonPath;
+    }
+
+    /**
+     * Clears compiled JsonPath expression cache.
+     */
+    public static void clearCache() {
+        jsonPathCache.clear();
+    }
+}
@@ -18,6 +18,7 @@ package com.consol.citrus.util;
 
 import com.consol.citrus.Citrus;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.Message;
 import com.consol.citrus.xml.XmlConfigurer;
 import org.springframework.util.StringUtils;
 import org.w3c.dom.*;
@@ -28,8 +29,6 @@ import java.io.*;
 import java.nio.charset.Charset;
 import java.util.*;
 
-import static com.consol.citrus.xml.XmlConfigurer.VALIDATE_IF_SCHEMA;
-
 /**
  * Class providing several utility methods for XML processing.
  *
@@ -211,7 +210,7 @@ public final class XMLUtils {
      * @return serialized XML string
      */
     public static String serialize(Document doc) {
-        LSSerializer serializer = configurer.createLSSerializer();
+        LSSerializer serializer = configurer.getLSSerializer();
 
         LSOutput output = configurer.createLSOutput();
         String charset = getTargetCharset(doc).displayName();
@@ -232,8 +231,7 @@ public final class XMLUtils {
      * @return pretty printed XML string
      */
     public static String prettyPrint(String xml) {
-        LSParser parser = configurer.createLSParser();
-        configurer.setParserConfigParameter(parser, VALIDATE_IF_SCHEMA, false);
+        LSParser parser = configurer.getNonValidatingLSParser();
 
         LSInput input = configurer.createLSInput();
 
@@ -336,6 +334,17 @@ public final class XMLUtils {
         return namespaces;
     }
 
+    /**
+     * Gets DOM document of message payload. Parsed document is cached with the message so subsequent calls
+     * do not parse the payload again. Document is shared and must not be modified by callers.
+     * @param message
+     * @throws CitrusRuntimeException
+     * @return DOM document.
+     */
+    public static Document parseMessagePayload(Message message) {
+        return message.getPayloadView(Document.class, m -> parseMessagePayload(m.getPayload(String.class)));
+    }
+
     /**
      * Parse message payload with DOM implementation.
      * @param messagePayload
@@ -343,7 +352,7 @@ public final class XMLUtils {
      * @return DOM document.
      */
     public static Document parseMessagePayload(String messagePayload) {
-        LSParser parser = configurer.createLSParser();
+        LSParser parser = configurer.getLSParser();
         LSInput receivedInput = configurer.createLSInput();
         try {
             Charset charset = getTargetCharset(messagePayload);
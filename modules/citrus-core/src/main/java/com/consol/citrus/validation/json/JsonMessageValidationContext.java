@@ -31,6 +31,12 @@ public class JsonMessageValidationContext implements ValidationContext {
     /** Map holding xpath expressions to identify the ignored message elements */
     private Set<String> ignoreExpressions = new HashSet<>();
 
+    /** Should match array items regardless of their order */
+    private boolean ignoreArrayOrder = false;
+
+    /** Should validate received JSON as token stream without building JSON tree */
+    private boolean streamingValidation = false;
+
     /**
      * Get ignored message elements.
      * @return the ignoreExpressions
@@ -47,4 +53,37 @@ public class JsonMessageValidationContext implements ValidationContext {
         this.ignoreExpressions = ignoreExpressions;
     }
 
+    /**
+     * Is array item order ignored during validation.
+     * @return the ignoreArrayOrder
+     */
+    public boolean isIgnoreArrayOrder() {
+        return ignoreArrayOrder;
+    }
+
+    /**
+     * Enables/disables order insensitive array item matching.
+     * @param ignoreArrayOrder the ignoreArrayOrder to set
+     */
+    public void setIgnoreArrayOrder(boolean ignoreArrayOrder) {
+        this.ignoreArrayOrder = ignoreArrayOrder;
+    }
+
+    /**
+     * Is streaming validation of received JSON enabled.
+     * @return the streamingValidation
+     */
+    public boolean isStreamingValidation() {
+        return streamingValidation;
+    }
+
+    /**
+     * Enables/disables streaming validation of received JSON. Received payload is read as token stream
+     * without building the JSON tree.
+     * @param streamingValidation the streamingValidation to set
+     */
+    public void setStreamingValidation(boolean streamingValidation) {
+        this.streamingValidation = streamingValidation;
+    }
+
 }
@@ -17,15 +17,13 @@
 package com.consol.citrus.validation.json;
 
 import com.consol.citrus.context.TestContext;
-import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.util.JsonUtils;
 import com.consol.citrus.validation.AbstractMessageValidator;
 import com.consol.citrus.validation.ValidationUtils;
 import com.jayway.jsonpath.*;
 import net.minidev.json.JSONArray;
-import net.minidev.json.parser.JSONParser;
-import net.minidev.json.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
@@ -53,60 +51,54 @@ public class JsonPathMessageValidator extends AbstractMessageValidator<JsonPathM
         log.debug("Start JSONPath element validation ...");
 
         String jsonPathExpression;
-        try {
-            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-            Object receivedJson = parser.parse(receivedMessage.getPayload(String.class));
-            ReadContext readerContext = JsonPath.parse(receivedJson);
-
-            for (Map.Entry<String, Object> entry : validationContext.getJsonPathExpressions().entrySet()) {
-                jsonPathExpression = context.replaceDynamicContentInString(entry.getKey());
-
-                String jsonPathFunction = null;
-                for (String name : JsonPathFunctions.getSupportedFunctions()) {
-                    if (jsonPathExpression.endsWith(String.format(".%s()", name))) {
-                        jsonPathFunction = name;
-                        jsonPathExpression = jsonPathExpression.substring(0, jsonPathExpression.length() - String.format(".%s()", name).length());
-                    }
+        ReadContext readerContext = JsonUtils.parseMessagePayload(receivedMessage);
+
+        for (Map.Entry<String, Object> entry : validationContext.getJsonPathExpressions().entrySet()) {
+            jsonPathExpression = context.replaceDynamicContentInString(entry.getKey());
+
+            String jsonPathFunction = null;
+            for (String name : JsonPathFunctions.getSupportedFunctions()) {
+                if (jsonPathExpression.endsWith(String.format(".%s()", name))) {
+                    jsonPathFunction = name;
+                    jsonPathExpression = jsonPathExpression.substring(0, jsonPathExpression.length() - String.format(".%s()", name).length());
                 }
+            }
 
-                Object jsonPathResult;
-                try {
-                    if (JsonPath.isPathDefinite(jsonPathExpression)) {
-                        jsonPathResult = readerContext.read(jsonPathExpression);
+            Object jsonPathResult;
+            try {
+                if (JsonPath.isPathDefinite(jsonPathExpression)) {
+                    jsonPathResult = readerContext.read(jsonPathExpression);
+                } else {
+                    JSONArray values = readerContext.read(jsonPathExpression);
+                    if (values.size() == 1) {
+                        jsonPathResult = values.get(0);
                     } else {
-                        JSONArray values = readerContext.read(jsonPathExpression);
-                        if (values.size() == 1) {
-                            jsonPathResult = values.get(0);
-                        } else {
-                            jsonPathResult = values.toJSONString();
-                        }
+                        jsonPathResult = values.toJSONString();
                     }
-                } catch (PathNotFoundException e) {
-                    throw new ValidationException("Validation failed:" + e);
                 }
+            } catch (PathNotFoundException e) {
+                throw new ValidationException("Validation failed:" + e);
+            }
 
-                if (StringUtils.hasText(jsonPathFunction)) {
-                    jsonPathResult = JsonPathFunctions.evaluate(jsonPathResult, jsonPathFunction);
-                }
+            if (StringUtils.hasText(jsonPathFunction)) {
+                jsonPathResult = JsonPathFunctions.evaluate(jsonPathResult, jsonPathFunction);
+            }
 
-                Object expectedValue = entry.getValue();
-                if (expectedValue instanceof String) {
-                    //check if expected value is variable or function (and resolve it, if yes)
-                    expectedValue = context.replaceDynamicContentInString(String.valueOf(expectedValue));
-                }
+            Object expectedValue = entry.getValue();
+            if (expectedValue instanceof String) {
+                //check if expected value is variable or function (and resolve it, if yes)
+                expectedValue = context.replaceDynamicContentInString(String.valueOf(expectedValue));
+            }
 
-                //do the validation of actual and expected value for element
-                ValidationUtils.validateValues(jsonPathResult, expectedValue, jsonPathExpression, context);
+            //do the validation of actual and expected value for element
+            ValidationUtils.validateValues(jsonPathResult, expectedValue, jsonPathExpression, context);
 
-                if (log.isDebugEnabled()) {
-                    log.debug("Validating element: " + jsonPathExpression + "='" + expectedValue + "': OK.");
-                }
+            if (log.isDebugEnabled()) {
+                log.debug("Validating element: " + jsonPathExpression + "='" + expectedValue + "': OK.");
             }
-
-            log.info("JSONPath element validation successful: All values OK");
-        } catch (ParseException e) {
-            throw new CitrusRuntimeException("Failed to parse JSON text", e);
         }
+
+        log.info("JSONPath element validation successful: All values OK");
     }
 
     @Override
@@ -17,14 +17,12 @@
 package com.consol.citrus.validation.json;
 
 import com.consol.citrus.context.TestContext;
-import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.UnknownElementException;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.util.JsonUtils;
 import com.consol.citrus.variable.VariableExtractor;
 import com.jayway.jsonpath.*;
 import net.minidev.json.JSONArray;
-import net.minidev.json.parser.JSONParser;
-import net.minidev.json.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
@@ -57,51 +55,45 @@ public class JsonPathVariableExtractor implements VariableExtractor {
         }
 
         String jsonPathExpression;
-        try {
-            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-            Object receivedJson = parser.parse(message.getPayload(String.class));
-            ReadContext readerContext = JsonPath.parse(receivedJson);
+        ReadContext readerContext = JsonUtils.parseMessagePayload(message);
 
-            for (Map.Entry<String, String> entry : jsonPathExpressions.entrySet()) {
-                jsonPathExpression = context.replaceDynamicContentInString(entry.getKey());
-                String variableName = entry.getValue();
+        for (Map.Entry<String, String> entry : jsonPathExpressions.entrySet()) {
+            jsonPathExpression = context.replaceDynamicContentInString(entry.getKey());
+            String variableName = entry.getValue();
 
-                if (log.isDebugEnabled()) {
-                    log.debug("Evaluating JSONPath expression: " + jsonPathExpression);
-                }
+            if (log.isDebugEnabled()) {
+                log.debug("Evaluating JSONPath expression: " + jsonPathExpression);
+            }
 
-                String jsonPathFunction = null;
-                for (String name : JsonPathFunctions.getSupportedFunctions()) {
-                    if (jsonPathExpression.endsWith(String.format(".%s()", name))) {
-                        jsonPathFunction = name;
-                        jsonPathExpression = jsonPathExpression.substring(0, jsonPathExpression.length() - String.format(".%s()", name).length());
-                    }
+            String jsonPathFunction = null;
+            for (String name : JsonPathFunctions.getSupportedFunctions()) {
+                if (jsonPathExpression.endsWith(String.format(".%s()", name))) {
+                    jsonPathFunction = name;
+                    jsonPathExpression = jsonPathExpression.substring(0, jsonPathExpression.length() - String.format(".%s()", name).length());
                 }
+            }
 
-                Object jsonPathResult;
-                try {
-                    if (JsonPath.isPathDefinite(jsonPathExpression)) {
-                        jsonPathResult = readerContext.read(jsonPathExpression);
+            Object jsonPathResult;
+            try {
+                if (JsonPath.isPathDefinite(jsonPathExpression)) {
+                    jsonPathResult = readerContext.read(jsonPathExpression);
+                } else {
+                    JSONArray values = readerContext.read(jsonPathExpression);
+                    if (values.size() == 1) {
+                        jsonPathResult = values.get(0);
                     } else {
-                        JSONArray values = readerContext.read(jsonPathExpression);
-                        if (values.size() == 1) {
-                            jsonPathResult = values.get(0);
-                        } else {
-                            jsonPathResult = values.toJSONString();
-                        }
+                        jsonPathResult = values.toJSONString();
                     }
-                } catch (PathNotFoundException e) {
-                    throw new UnknownElementException(String.format("Could not find element for expression: %s", jsonPathExpression), e);
-                }
-
-                if (StringUtils.hasText(jsonPathFunction)) {
-                    jsonPathResult = JsonPathFunctions.evaluate(jsonPathResult, jsonPathFunction);
                 }
+            } catch (PathNotFoundException e) {
+                throw new UnknownElementException(String.format("Could not find element for expression: %s", jsonPathExpression), e);
+            }
 
-                context.setVariable(variableName, jsonPathResult);
+            if (StringUtils.hasText(jsonPathFunction)) {
+                jsonPathResult = JsonPathFunctions.evaluate(jsonPathResult, jsonPathFunction);
             }
-        } catch (ParseException e) {
-            throw new CitrusRuntimeException("Failed to parse JSON text", e);
+
+            context.setVariable(variableName, jsonPathResult);
         }
     }
 
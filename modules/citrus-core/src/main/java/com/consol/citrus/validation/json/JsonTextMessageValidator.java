@@ -22,21 +22,22 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageType;
+import com.consol.citrus.util.JsonUtils;
 import com.consol.citrus.validation.AbstractMessageValidator;
 import com.consol.citrus.validation.ValidationUtils;
 import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
-import com.jayway.jsonpath.JsonPath;
-import com.jayway.jsonpath.ReadContext;
+import com.jayway.jsonpath.*;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import net.minidev.json.parser.JSONParser;
 import net.minidev.json.parser.ParseException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-import java.util.Map;
-import java.util.Set;
+import java.io.StringReader;
+import java.util.*;
 
 /**
  * This message validator implementation is able to validate two JSON text objects. The order of JSON entries can differ
@@ -52,6 +53,12 @@ import java.util.Set;
  */
 public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessageValidationContext> {
 
+    /** Normalized path of JSON root element */
+    private static final String ROOT_PATH = "$";
+
+    /** JsonPath configuration resolving expressions to normalized paths of matching entries */
+    private static final Configuration PATH_LIST_CONFIGURATION = Configuration.builder().options(Option.AS_PATH_LIST).build();
+
     /** Should also check exact amount of object fields */
     @Value("${citrus.json.message.validation.strict:true}")
     private boolean strict = true;
@@ -85,19 +92,37 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
             }
             
             JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-        
-            Object receivedJson = parser.parse(receivedJsonText);
-            ReadContext readContext = JsonPath.parse(receivedJson);
             Object controlJson = parser.parse(controlJsonText);
+
+            if (validationContext.isStreamingValidation()) {
+                if (!validationContext.isIgnoreArrayOrder() && StreamingJsonValidator.supports(validationContext.getIgnoreExpressions())) {
+                    log.debug("Start streaming JSON validation ...");
+
+                    new StreamingJsonValidator(validationContext.getIgnoreExpressions(), strict, context)
+                            .validate(new StringReader(receivedJsonText), controlJson);
+
+                    log.info("JSON message validation successful: All values OK");
+                    return;
+                }
+
+                log.warn("Ignore expressions or array order settings are not supported by streaming JSON validation - using JSON tree validation");
+            }
+        
+            ReadContext readContext = JsonUtils.parseMessagePayload(receivedMessage);
+            Object receivedJson = readContext.json();
+            Set<String> ignoredPaths = resolveIgnoredPaths(validationContext.getIgnoreExpressions(), readContext);
             if (receivedJson instanceof JSONObject) {
-                validateJson("$.", (JSONObject) receivedJson, (JSONObject) controlJson, validationContext, context, readContext);
+                Assert.isTrue(controlJson instanceof JSONObject,
+                        ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON root element",
+                                JSONObject.class.getSimpleName(), controlJson.getClass().getSimpleName()));
+
+                validateJsonObject("$.", ROOT_PATH, (JSONObject) receivedJson, (JSONObject) controlJson, ignoredPaths, validationContext, context);
             } else if (receivedJson instanceof JSONArray) {
-                JSONObject tempReceived = new JSONObject();
-                tempReceived.put("array", receivedJson);
-                JSONObject tempControl = new JSONObject();
-                tempControl.put("array", controlJson);
-                
-                validateJson("$.", tempReceived, tempControl, validationContext, context, readContext);
+                Assert.isTrue(controlJson instanceof JSONArray,
+                        ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry 'array'",
+                                JSONArray.class.getSimpleName(), controlJson.getClass().getSimpleName()));
+
+                validateJsonArray("array", ROOT_PATH, (JSONArray) receivedJson, (JSONArray) controlJson, ignoredPaths, validationContext, context);
             } else {
                 throw new CitrusRuntimeException("Unsupported json type " + receivedJson.getClass());
             }
@@ -121,8 +146,24 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
      * @param context the current test context.
      * @param readContext the JSONPath read context.
      */
-    @SuppressWarnings("rawtypes")
     public void validateJson(String elementName, JSONObject receivedJson, JSONObject controlJson, JsonMessageValidationContext validationContext, TestContext context, ReadContext readContext) {
+        validateJsonObject(elementName, ROOT_PATH, receivedJson, controlJson,
+                resolveIgnoredPaths(validationContext.getIgnoreExpressions(), readContext), validationContext, context);
+    }
+
+    /**
+     * Validates JSON object with comparison to expected control JSON object. Entries are ignored when either the
+     * control value is the ignore placeholder or the entry path is part of the given set of ignored paths.
+     *
+     * @param elementName the current element name that is under verification in this method
+     * @param path the normalized JsonPath of the current element.
+     * @param receivedJson the received JSON object.
+     * @param controlJson the expected control JSON object.
+     * @param ignoredPaths normalized paths of ignored entries.
+     * @param validationContext the JSON message validation context.
+     * @param context the current test context.
+     */
+    private void validateJsonObject(String elementName, String path, JSONObject receivedJson, JSONObject controlJson, Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext context) {
         if (strict) {
             Assert.isTrue(controlJson.size() == receivedJson.size(),
                           ValidationUtils.buildValueMismatchErrorMessage("Number of JSON entries not equal for element: '" + elementName + "'", controlJson.size(), receivedJson.size()));
@@ -136,9 +177,10 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
 
             Object controlValue = controlJsonEntry.getValue();
             Object receivedValue = receivedJson.get(controlKey);
+            String entryPath = path + "['" + controlKey + "']";
 
-            // check if entry is ignored by placeholder
-            if (isIgnored(controlKey, controlValue, receivedValue, validationContext.getIgnoreExpressions(), readContext)) {
+            // check if entry is ignored by placeholder or ignore expression
+            if (isIgnored(controlKey, controlValue, entryPath, ignoredPaths)) {
                 continue;
             }
 
@@ -156,39 +198,15 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
                             ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlKey + "'",
                                     JSONObject.class.getSimpleName(), receivedValue.getClass().getSimpleName()));
 
-                    validateJson(controlKey, (JSONObject) receivedValue,
-                            (JSONObject) controlValue, validationContext, context, readContext);
+                    validateJsonObject(controlKey, entryPath, (JSONObject) receivedValue,
+                            (JSONObject) controlValue, ignoredPaths, validationContext, context);
                 } else if (controlValue instanceof JSONArray) {
                     Assert.isTrue(receivedValue instanceof JSONArray,
                             ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlKey + "'",
                                     JSONArray.class.getSimpleName(), receivedValue.getClass().getSimpleName()));
 
-                    JSONArray jsonArrayControl = (JSONArray) controlValue;
-                    JSONArray jsonArrayReceived = (JSONArray) receivedValue;
-
-                    if (log.isDebugEnabled()) {
-                        log.debug("Validating JSONArray containing " + jsonArrayControl.size() + " entries");
-                    }
-
-                    if (strict) {
-                        Assert.isTrue(jsonArrayControl.size() == jsonArrayReceived.size(),
-                                ValidationUtils.buildValueMismatchErrorMessage("JSONArray size mismatch for JSON entry '" + controlKey + "'",
-                                        jsonArrayControl.size(), jsonArrayReceived.size()));
-                    }
-                    for (int i = 0; i < jsonArrayControl.size(); i++) {
-                        if (jsonArrayControl.get(i).getClass().isAssignableFrom(JSONObject.class)) {
-                            Assert.isTrue(jsonArrayReceived.get(i).getClass().isAssignableFrom(JSONObject.class),
-                                    ValidationUtils.buildValueMismatchErrorMessage("Value types not equal for entry: '" + jsonArrayControl.get(i) + "'",
-                                            JSONObject.class.getName(), jsonArrayReceived.get(i).getClass().getName()));
-
-                            validateJson(controlKey, (JSONObject) jsonArrayReceived.get(i),
-                                    (JSONObject) jsonArrayControl.get(i), validationContext, context, readContext);
-                        } else {
-                            Assert.isTrue(jsonArrayControl.get(i).equals(jsonArrayReceived.get(i)),
-                                    ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + jsonArrayControl.get(i) + "'",
-                                            jsonArrayControl.get(i), jsonArrayReceived.get(i)));
-                        }
-                    }
+                    validateJsonArray(controlKey, entryPath, (JSONArray) receivedValue,
+                            (JSONArray) controlValue, ignoredPaths, validationContext, context);
                 } else {
                     Assert.isTrue(controlValue.equals(receivedValue),
                             ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlKey + "'",
@@ -210,6 +228,658 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
         }
     }
 
+    /**
+     * Validates JSON array with comparison to expected control JSON array. Array items are compared by index unless
+     * array order is ignored in validation context.
+     *
+     * @param controlKey the name of the JSON entry holding the array.
+     * @param path the normalized JsonPath of the array.
+     * @param jsonArrayReceived the received JSON array.
+     * @param jsonArrayControl the expected control JSON array.
+     * @param ignoredPaths normalized paths of ignored entries.
+     * @param validationContext the JSON message validation context.
+     * @param context the current test context.
+     */
+    private void validateJsonArray(String controlKey, String path, JSONArray jsonArrayReceived, JSONArray jsonArrayControl, Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext context) {
+        if (log.isDebugEnabled()) {
+            log.debug("Validating JSONArray containing " + jsonArrayControl.size() + " entries");
+        }
+
+        if (strict) {
+            Assert.isTrue(jsonArrayControl.size() == jsonArrayReceived.size(),
+                    ValidationUtils.buildValueMismatchErrorMessage("JSONArray size mismatch for JSON entry '" + controlKey + "'",
+                            jsonArrayControl.size(), jsonArrayReceived.size()));
+        }
+
+        if (validationContext.isIgnoreArrayOrder()) {
+            validateJsonArrayIgnoreOrder(controlKey, path, jsonArrayReceived, jsonArrayControl, ignoredPaths, validationContext, context);
+            return;
+        }
+
+        for (int i = 0; i < jsonArrayControl.size(); i++) {
+            String itemPath = path + "[" + i + "]";
+            if (!ignoredPaths.isEmpty() && ignoredPaths.contains(itemPath)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("JSON array item: '" + itemPath + "' is ignored - skip value validation");
+                }
+                continue;
+            }
+
+            if (jsonArrayControl.get(i).getClass().isAssignableFrom(JSONObject.class)) {
+                Assert.isTrue(jsonArrayReceived.get(i).getClass().isAssignableFrom(JSONObject.class),
+                        ValidationUtils.buildValueMismatchErrorMessage("Value types not equal for entry: '" + jsonArrayControl.get(i) + "'",
+                                JSONObject.class.getName(), jsonArrayReceived.get(i).getClass().getName()));
+
+                validateJsonObject(controlKey, itemPath, (JSONObject) jsonArrayReceived.get(i),
+                        (JSONObject) jsonArrayControl.get(i), ignoredPaths, validationContext, context);
+            } else {
+                Assert.isTrue(jsonArrayControl.get(i).equals(jsonArrayReceived.get(i)),
+                        ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + jsonArrayControl.get(i) + "'",
+                                jsonArrayControl.get(i), jsonArrayReceived.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Validates JSON array regardless of item order. Control items are assigned to received items with a maximum
+     * bipartite matching so a control item never blocks a received item another control item depends on. Candidate
+     * assignments are probed with side effect free matching on a forked test context, only the final assignment is
+     * validated with the actual test context. Received items are bucketed by structural hash first so control items
+     * without placeholders and validation matchers usually find their counterpart with a single probe. Received items
+     * on the ignore list may take the place of any control item.
+     *
+     * @param controlKey the name of the JSON entry holding the array.
+     * @param path the normalized JsonPath of the array.
+     * @param jsonArrayReceived the received JSON array.
+     * @param jsonArrayControl the expected control JSON array.
+     * @param ignoredPaths normalized paths of ignored entries.
+     * @param validationContext the JSON message validation context.
+     * @param context the current test context.
+     */
+    private void validateJsonArrayIgnoreOrder(String controlKey, String path, JSONArray jsonArrayReceived, JSONArray jsonArrayControl,
+                                              Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext context) {
+        ArrayMatching matching = new ArrayMatching(path, jsonArrayReceived, jsonArrayControl, ignoredPaths, validationContext, context.fork());
+        int[] assignment = matching.match();
+
+        int missingItems = 0;
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] < 0 && ++missingItems > matching.ignoredItems) {
+                throw new IllegalArgumentException(buildMissingItemErrorMessage(controlKey, path, jsonArrayControl.get(i), jsonArrayReceived,
+                        assignment, ignoredPaths, validationContext, context));
+            }
+        }
+
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] >= 0) {
+                validateArrayItem(controlKey, path + "[" + assignment[i] + "]", jsonArrayControl.get(i), jsonArrayReceived.get(assignment[i]),
+                        ignoredPaths, validationContext, context);
+            }
+        }
+    }
+
+    /**
+     * Validates received array item that has been assigned to control item. Nested objects and arrays are validated with the
+     * usual validation rules, all other items have to be equal.
+     * @param controlKey
+     * @param itemPath
+     * @param controlItem
+     * @param receivedItem
+     * @param ignoredPaths
+     * @param validationContext
+     * @param context
+     */
+    private void validateArrayItem(String controlKey, String itemPath, Object controlItem, Object receivedItem,
+                                   Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext context) {
+        if (controlItem instanceof JSONObject && receivedItem instanceof JSONObject) {
+            validateJsonObject(controlKey, itemPath, (JSONObject) receivedItem, (JSONObject) controlItem, ignoredPaths, validationContext, context);
+        } else if (controlItem instanceof JSONArray && receivedItem instanceof JSONArray) {
+            validateJsonArray(controlKey, itemPath, (JSONArray) receivedItem, (JSONArray) controlItem, ignoredPaths, validationContext, context);
+        } else {
+            Assert.isTrue(controlItem == null ? receivedItem == null : controlItem.equals(receivedItem),
+                    ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlItem + "'",
+                            controlItem, receivedItem));
+        }
+    }
+
+    /**
+     * Builds error message for control item without matching received item. Message includes the validation failure of the
+     * closest unassigned received item, that is the received item with most matching entries.
+     * @param controlKey
+     * @param path
+     * @param controlItem
+     * @param jsonArrayReceived
+     * @param assignment
+     * @param ignoredPaths
+     * @param validationContext
+     * @param context
+     * @return
+     */
+    private String buildMissingItemErrorMessage(String controlKey, String path, Object controlItem, JSONArray jsonArrayReceived, int[] assignment,
+                                                Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext context) {
+        String message = "Missing JSON array item: '" + controlItem + "' in JSON entry '" + controlKey + "'";
+
+        boolean[] assigned = new boolean[jsonArrayReceived.size()];
+        for (int index : assignment) {
+            if (index >= 0) {
+                assigned[index] = true;
+            }
+        }
+
+        TestContext trialContext = context.fork();
+        int closest = -1;
+        int closestScore = -1;
+        for (int i = 0; i < assigned.length; i++) {
+            String itemPath = path + "[" + i + "]";
+            if (assigned[i] || (!ignoredPaths.isEmpty() && ignoredPaths.contains(itemPath))) {
+                continue;
+            }
+
+            int score = similarity(itemPath, controlItem, jsonArrayReceived.get(i), ignoredPaths, validationContext, trialContext);
+            if (score > closestScore) {
+                closest = i;
+                closestScore = score;
+            }
+        }
+
+        if (closest < 0) {
+            return message;
+        }
+
+        try {
+            validateArrayItem(controlKey, path + "[" + closest + "]", controlItem, jsonArrayReceived.get(closest),
+                    ignoredPaths, validationContext, trialContext);
+        } catch (IllegalArgumentException | ValidationException e) {
+            return message + " - closest candidate '" + jsonArrayReceived.get(closest) + "' failed: " + e.getMessage();
+        }
+
+        return message;
+    }
+
+    /**
+     * Counts matching entries of received and control item. Used to find the closest candidate for a control item
+     * without matching received item.
+     * @param itemPath
+     * @param controlItem
+     * @param receivedItem
+     * @param ignoredPaths
+     * @param validationContext
+     * @param trialContext
+     * @return
+     */
+    private int similarity(String itemPath, Object controlItem, Object receivedItem,
+                           Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext trialContext) {
+        if (!(controlItem instanceof JSONObject) || !(receivedItem instanceof JSONObject)) {
+            return 0;
+        }
+
+        int score = 0;
+        for (Map.Entry<String, Object> controlEntry : ((JSONObject) controlItem).entrySet()) {
+            JSONObject received = (JSONObject) receivedItem;
+            if (received.containsKey(controlEntry.getKey()) && matchesEntry(controlEntry.getKey(), itemPath + "['" + controlEntry.getKey() + "']",
+                    controlEntry.getValue(), received.get(controlEntry.getKey()), ignoredPaths, validationContext, trialContext)) {
+                score++;
+            }
+        }
+
+        return score;
+    }
+
+    /**
+     * Checks if received array item matches control item following the same rules as {@link #validateArrayItem}
+     * without raising validation errors.
+     * @param itemPath
+     * @param controlItem
+     * @param receivedItem
+     * @param ignoredPaths
+     * @param validationContext
+     * @param trialContext
+     * @return
+     */
+    private boolean matchesItem(String itemPath, Object controlItem, Object receivedItem,
+                                Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext trialContext) {
+        if (controlItem instanceof JSONObject && receivedItem instanceof JSONObject) {
+            return matchesObject(itemPath, (JSONObject) receivedItem, (JSONObject) controlItem, ignoredPaths, validationContext, trialContext);
+        } else if (controlItem instanceof JSONArray && receivedItem instanceof JSONArray) {
+            return matchesArray(itemPath, (JSONArray) receivedItem, (JSONArray) controlItem, ignoredPaths, validationContext, trialContext);
+        }
+
+        return controlItem == null ? receivedItem == null : controlItem.equals(receivedItem);
+    }
+
+    /**
+     * Checks if received JSON object matches control JSON object following the same rules as {@link #validateJsonObject}
+     * without raising validation errors.
+     * @param path
+     * @param receivedJson
+     * @param controlJson
+     * @param ignoredPaths
+     * @param validationContext
+     * @param trialContext
+     * @return
+     */
+    private boolean matchesObject(String path, JSONObject receivedJson, JSONObject controlJson,
+                                  Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext trialContext) {
+        if (strict && controlJson.size() != receivedJson.size()) {
+            return false;
+        }
+
+        for (Map.Entry<String, Object> controlEntry : controlJson.entrySet()) {
+            if (!receivedJson.containsKey(controlEntry.getKey()) ||
+                    !matchesEntry(controlEntry.getKey(), path + "['" + controlEntry.getKey() + "']", controlEntry.getValue(),
+                            receivedJson.get(controlEntry.getKey()), ignoredPaths, validationContext, trialContext)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if received JSON object entry matches control entry following the same rules as {@link #validateJsonObject}
+     * without raising validation errors.
+     * @param controlKey
+     * @param entryPath
+     * @param controlValue
+     * @param receivedValue
+     * @param ignoredPaths
+     * @param validationContext
+     * @param trialContext
+     * @return
+     */
+    private boolean matchesEntry(String controlKey, String entryPath, Object controlValue, Object receivedValue,
+                                 Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext trialContext) {
+        if (isIgnored(controlKey, controlValue, entryPath, ignoredPaths)) {
+            return true;
+        }
+
+        if (controlValue == null) {
+            return receivedValue == null;
+        } else if (ValidationMatcherUtils.isValidationMatcherExpression(controlValue.toString())) {
+            return matchesExpression(controlKey, receivedValue, controlValue.toString(), trialContext);
+        } else if (receivedValue == null) {
+            return !StringUtils.hasText(controlValue.toString());
+        } else if (controlValue instanceof JSONObject) {
+            return receivedValue instanceof JSONObject &&
+                    matchesObject(entryPath, (JSONObject) receivedValue, (JSONObject) controlValue, ignoredPaths, validationContext, trialContext);
+        } else if (controlValue instanceof JSONArray) {
+            return receivedValue instanceof JSONArray &&
+                    matchesArray(entryPath, (JSONArray) receivedValue, (JSONArray) controlValue, ignoredPaths, validationContext, trialContext);
+        }
+
+        return controlValue.equals(receivedValue);
+    }
+
+    /**
+     * Checks if received JSON array matches control JSON array following the same rules as {@link #validateJsonArray}
+     * without raising validation errors.
+     * @param path
+     * @param jsonArrayReceived
+     * @param jsonArrayControl
+     * @param ignoredPaths
+     * @param validationContext
+     * @param trialContext
+     * @return
+     */
+    private boolean matchesArray(String path, JSONArray jsonArrayReceived, JSONArray jsonArrayControl,
+                                 Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext trialContext) {
+        if (strict && jsonArrayControl.size() != jsonArrayReceived.size()) {
+            return false;
+        }
+
+        if (validationContext.isIgnoreArrayOrder()) {
+            ArrayMatching matching = new ArrayMatching(path, jsonArrayReceived, jsonArrayControl, ignoredPaths, validationContext, trialContext);
+
+            int missingItems = 0;
+            for (int index : matching.match()) {
+                if (index < 0 && ++missingItems > matching.ignoredItems) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        for (int i = 0; i < jsonArrayControl.size(); i++) {
+            String itemPath = path + "[" + i + "]";
+            if (!ignoredPaths.isEmpty() && ignoredPaths.contains(itemPath)) {
+                continue;
+            }
+
+            if (i >= jsonArrayReceived.size()) {
+                return false;
+            }
+
+            Object controlItem = jsonArrayControl.get(i);
+            Object receivedItem = jsonArrayReceived.get(i);
+            if (controlItem instanceof JSONObject) {
+                if (!(receivedItem instanceof JSONObject) ||
+                        !matchesObject(itemPath, (JSONObject) receivedItem, (JSONObject) controlItem, ignoredPaths, validationContext, trialContext)) {
+                    return false;
+                }
+            } else if (controlItem == null ? receivedItem != null : !controlItem.equals(receivedItem)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Evaluates validation matcher expression on trial test context. Validation matchers report mismatches
+     * as validation errors only.
+     * @param controlKey
+     * @param receivedValue
+     * @param expression
+     * @param trialContext
+     * @return
+     */
+    private boolean matchesExpression(String controlKey, Object receivedValue, String expression, TestContext trialContext) {
+        try {
+            ValidationMatcherUtils.resolveValidationMatcher(controlKey, receivedValue != null ? receivedValue.toString() : null, expression, trialContext);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Maximum bipartite matching of control array items to received array items. Control items without validation matchers
+     * and ignore placeholders are first assigned to equal received items looked up by structural hash. Remaining control items
+     * take the first free received item they match. Control items left over search augmenting paths so an assigned control item
+     * is moved to another candidate when this frees a received item for the current control item. The search is iterative and
+     * keeps visited received items until a path is found as these items can not lead to a free received item before the
+     * assignment changes.
+     */
+    private class ArrayMatching {
+        private final String path;
+        private final JSONArray jsonArrayReceived;
+        private final JSONArray jsonArrayControl;
+        private final Set<String> ignoredPaths;
+        private final JsonMessageValidationContext validationContext;
+        private final TestContext trialContext;
+
+        /** Received item indices by structural hash, ignored received items excluded */
+        private final Map<Integer, List<Integer>> buckets = new HashMap<>();
+        /** Indices of all received items not on ignore list */
+        private final List<Integer> candidates = new ArrayList<>();
+        /** Received items not assigned yet */
+        private final BitSet free = new BitSet();
+        /** Control items that did not match any of the free received items */
+        private final BitSet scannedFree = new BitSet();
+        /** Control item assigned to received item or -1 */
+        private final int[] owner;
+        /** Received item assigned to control item or -1 */
+        private final int[] assignment;
+        /** Structural hash of control items */
+        private final int[] controlHashes;
+        /** Visit marker of received items per augmenting path search */
+        private final int[] visited;
+
+        private int ignoredItems;
+
+        ArrayMatching(String path, JSONArray jsonArrayReceived, JSONArray jsonArrayControl,
+                      Set<String> ignoredPaths, JsonMessageValidationContext validationContext, TestContext trialContext) {
+            this.path = path;
+            this.jsonArrayReceived = jsonArrayReceived;
+            this.jsonArrayControl = jsonArrayControl;
+            this.ignoredPaths = ignoredPaths;
+            this.validationContext = validationContext;
+            this.trialContext = trialContext;
+            this.owner = new int[jsonArrayReceived.size()];
+            this.visited = new int[jsonArrayReceived.size()];
+            this.assignment = new int[jsonArrayControl.size()];
+            this.controlHashes = new int[jsonArrayControl.size()];
+
+            Arrays.fill(owner, -1);
+            Arrays.fill(assignment, -1);
+            for (int i = 0; i < jsonArrayReceived.size(); i++) {
+                if (!ignoredPaths.isEmpty() && ignoredPaths.contains(path + "[" + i + "]")) {
+                    ignoredItems++;
+                } else {
+                    buckets.computeIfAbsent(structuralHash(jsonArrayReceived.get(i)), hash -> new ArrayList<>()).add(i);
+                    candidates.add(i);
+                    free.set(i);
+                }
+            }
+
+            for (int i = 0; i < jsonArrayControl.size(); i++) {
+                controlHashes[i] = structuralHash(jsonArrayControl.get(i));
+            }
+        }
+
+        /**
+         * Computes assignment of control items to received items.
+         * @return received item index per control item or -1 for unmatched control items.
+         */
+        int[] match() {
+            Map<Integer, Deque<Integer>> unassigned = new HashMap<>();
+            for (Map.Entry<Integer, List<Integer>> bucket : buckets.entrySet()) {
+                unassigned.put(bucket.getKey(), new ArrayDeque<>(bucket.getValue()));
+            }
+
+            for (int i = 0; i < jsonArrayControl.size(); i++) {
+                Object controlItem = jsonArrayControl.get(i);
+                Deque<Integer> equalCandidates = unassigned.get(controlHashes[i]);
+                if (equalCandidates == null || !isPlain(controlItem)) {
+                    continue;
+                }
+
+                for (Iterator<Integer> it = equalCandidates.iterator(); it.hasNext(); ) {
+                    int j = it.next();
+                    if (controlItem == null ? jsonArrayReceived.get(j) == null : controlItem.equals(jsonArrayReceived.get(j))) {
+                        it.remove();
+                        assign(i, j);
+                        break;
+                    }
+                }
+            }
+
+            for (int i = 0; i < jsonArrayControl.size() && !free.isEmpty(); i++) {
+                if (assignment[i] >= 0) {
+                    continue;
+                }
+
+                for (int j = free.nextSetBit(0); j >= 0; j = free.nextSetBit(j + 1)) {
+                    if (probe(i, j)) {
+                        assign(i, j);
+                        break;
+                    }
+                }
+
+                if (assignment[i] < 0) {
+                    scannedFree.set(i);
+                }
+            }
+
+            int round = 1;
+            for (int i = 0; i < jsonArrayControl.size() && !free.isEmpty(); i++) {
+                if (assignment[i] < 0 && augment(i, round)) {
+                    round++;
+                }
+            }
+
+            return assignment;
+        }
+
+        /**
+         * Searches augmenting path starting with given control item. Received items with same structural hash are probed first.
+         * Received items visited in given round are skipped.
+         * @param controlIndex
+         * @param round
+         * @return
+         */
+        private boolean augment(int controlIndex, int round) {
+            Deque<Step> steps = new ArrayDeque<>();
+            steps.push(new Step(controlIndex));
+
+            while (!steps.isEmpty()) {
+                Step step = steps.peek();
+                int j = step.next();
+                if (j < 0) {
+                    steps.pop();
+                    continue;
+                }
+
+                if (visited[j] == round || (free.get(j) && scannedFree.get(step.controlIndex)) || !probe(step.controlIndex, j)) {
+                    continue;
+                }
+
+                visited[j] = round;
+                step.receivedIndex = j;
+                if (owner[j] < 0) {
+                    for (Step assigned : steps) {
+                        assign(assigned.controlIndex, assigned.receivedIndex);
+                    }
+                    return true;
+                }
+
+                steps.push(new Step(owner[j]));
+            }
+
+            return false;
+        }
+
+        private void assign(int controlIndex, int receivedIndex) {
+            owner[receivedIndex] = controlIndex;
+            assignment[controlIndex] = receivedIndex;
+            free.clear(receivedIndex);
+        }
+
+        private boolean probe(int controlIndex, int receivedIndex) {
+            return matchesItem(path + "[" + receivedIndex + "]", jsonArrayControl.get(controlIndex), jsonArrayReceived.get(receivedIndex),
+                    ignoredPaths, validationContext, trialContext);
+        }
+
+        /**
+         * Control item on augmenting path with position in its list of candidate received items.
+         */
+        private final class Step {
+            private final int controlIndex;
+            private final List<Integer> preferred;
+            private int position = 0;
+            private int receivedIndex = -1;
+
+            Step(int controlIndex) {
+                this.controlIndex = controlIndex;
+                this.preferred = buckets.getOrDefault(controlHashes[controlIndex], Collections.emptyList());
+            }
+
+            /**
+             * Gets next candidate received item, received items with same structural hash first.
+             * @return received item index or -1 when all candidates have been tried.
+             */
+            int next() {
+                if (position < preferred.size()) {
+                    return preferred.get(position++);
+                }
+
+                int index = position++ - preferred.size();
+                return index < candidates.size() ? candidates.get(index) : -1;
+            }
+        }
+    }
+
+    /**
+     * Checks if JSON item holds neither validation matcher expressions nor ignore placeholders. Such an item matches
+     * an equal received item.
+     * @param json
+     * @return
+     */
+    private static boolean isPlain(Object json) {
+        if (json instanceof JSONObject) {
+            for (Object value : ((JSONObject) json).values()) {
+                if (!isPlain(value)) {
+                    return false;
+                }
+            }
+        } else if (json instanceof JSONArray) {
+            for (Object item : (JSONArray) json) {
+                if (!isPlain(item)) {
+                    return false;
+                }
+            }
+        } else if (json instanceof String) {
+            return !ValidationMatcherUtils.isValidationMatcherExpression((String) json) &&
+                    !((String) json).trim().equals(Citrus.IGNORE_PLACEHOLDER);
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes hash code of JSON structure that does not depend on the order of object entries and array items.
+     * @param json
+     * @return
+     */
+    private static int structuralHash(Object json) {
+        if (json instanceof JSONObject) {
+            int hash = 1;
+            for (Map.Entry<String, Object> entry : ((JSONObject) json).entrySet()) {
+                hash += entry.getKey().hashCode() ^ structuralHash(entry.getValue());
+            }
+            return hash;
+        } else if (json instanceof JSONArray) {
+            int hash = 31;
+            for (Object item : (JSONArray) json) {
+                hash += structuralHash(item);
+            }
+            return hash;
+        }
+
+        return json == null ? 0 : json.hashCode();
+    }
+
+    /**
+     * Resolves ignore expressions to the normalized paths of all matching entries in received JSON. Resolution
+     * is done once per validation so the recursive validation walk is able to perform simple lookups.
+     * @param ignoreExpressions
+     * @param readContext
+     * @return
+     */
+    private Set<String> resolveIgnoredPaths(Set<String> ignoreExpressions, ReadContext readContext) {
+        if (CollectionUtils.isEmpty(ignoreExpressions)) {
+            return Collections.emptySet();
+        }
+
+        ReadContext pathContext = JsonPath.using(PATH_LIST_CONFIGURATION).parse((Object) readContext.json());
+
+        Set<String> ignoredPaths = new HashSet<>();
+        for (String jsonPathExpression : ignoreExpressions) {
+            List<String> paths = pathContext.read(JsonUtils.compileJsonPath(jsonPathExpression));
+            ignoredPaths.addAll(paths);
+        }
+
+        return ignoredPaths;
+    }
+
+    /**
+     * Checks if given entry is either on ignore list or
+     * contains @ignore@ tag inside control message
+     * @param controlKey
+     * @param controlValue
+     * @param entryPath
+     * @param ignoredPaths
+     * @return
+     */
+    private boolean isIgnored(String controlKey, Object controlValue, String entryPath, Set<String> ignoredPaths) {
+        if (controlValue != null && controlValue.toString().trim().equals(Citrus.IGNORE_PLACEHOLDER)) {
+            if (log.isDebugEnabled()) {
+                log.debug("JSON entry: '" + controlKey + "' is ignored by placeholder '" +
+                        Citrus.IGNORE_PLACEHOLDER + "'");
+            }
+            return true;
+        }
+
+        if (!ignoredPaths.isEmpty() && ignoredPaths.contains(entryPath)) {
+            if (log.isDebugEnabled()) {
+                log.debug("JSON entry: '" + controlKey + "' is ignored - skip value validation");
+            }
+            return true;
+        }
+
+        return false;
+    }
+
     /**
      * Checks if given element node is either on ignore list or
      * contains @ignore@ tag inside control message
@@ -219,7 +889,9 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
      * @param ignoreExpressions
      * @param readContext
      * @return
+     * @deprecated evaluates all ignore expressions on each call, validation resolves ignored paths once per message instead.
      */
+    @Deprecated
     public boolean isIgnored(String controlKey, Object controlValue, Object receivedJson, Set<String> ignoreExpressions, ReadContext readContext) {
         if (controlValue != null && controlValue.toString().trim().equals(Citrus.IGNORE_PLACEHOLDER)) {
             if (log.isDebugEnabled()) {
@@ -230,7 +902,7 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
         }
 
         for (String jsonPathExpression : ignoreExpressions) {
-            Object foundEntry = readContext.read(jsonPathExpression);
+            Object foundEntry = readContext.read(JsonUtils.compileJsonPath(jsonPathExpression));
 
             if (foundEntry instanceof JSONArray && ((JSONArray) foundEntry).contains(receivedJson)) {
                 if (log.isDebugEnabled()) {
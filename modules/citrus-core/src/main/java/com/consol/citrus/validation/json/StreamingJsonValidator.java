@@ -0,0 +1,508 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.json;
+
+import com.consol.citrus.Citrus;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.validation.ValidationUtils;
+import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
+import com.fasterxml.jackson.core.*;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JSON validator consuming the received JSON as token stream and comparing it with the control JSON tree. Validator
+ * applies the same rules as the tree validation in {@link JsonTextMessageValidator} including ignore placeholders,
+ * validation matchers and strict/soft mode. Received JSON is never materialized as a whole so memory consumption is
+ * bounded by the nesting depth. Only received values compared with validation matchers or with control arrays of
+ * non object items are read into memory.
+ *
+ * Ignore expressions are supported as JsonPath expressions consisting of property, index and wildcard steps with
+ * optional deep scan such as <code>$..items[*].id</code>. Filters, slices, unions and functions are not supported.
+ * Use {@link #supports(Set)} to check ignore expressions before validating.
+ *
+ * Validator instances hold state of a single validation and must not be reused.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class StreamingJsonValidator {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(StreamingJsonValidator.class);
+
+    /** Json factory with strict default features so received payloads are accepted the same way as by the tree validation */
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    /** Pattern matching single step of supported JsonPath ignore expressions */
+    private static final Pattern PATH_STEP_PATTERN = Pattern.compile("(\\.\\.|\\.)?(?:(\\*)|([^.\\[\\]()\\s*?@,:'\"]+)|\\[(?:(\\*)|(\\d+)|'([^']*)'|\"([^\"]*)\")\\])");
+
+    /** Test context resolving validation matchers */
+    private final TestContext context;
+
+    /** Should also check exact amount of object fields */
+    private final boolean strict;
+
+    /** Ignore expressions evaluated on each received entry */
+    private final List<IgnorePath> ignorePaths = new ArrayList<>();
+
+    /** Property names and array indices of currently visited entry in received JSON */
+    private final List<Object> path = new ArrayList<>();
+
+    /** Parser converting received number tokens to the same types as in control JSON */
+    private final JSONParser numberParser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
+
+    /**
+     * Constructor using ignore expressions, strict mode and test context.
+     * @param ignoreExpressions
+     * @param strict
+     * @param context
+     */
+    public StreamingJsonValidator(Set<String> ignoreExpressions, boolean strict, TestContext context) {
+        this.context = context;
+        this.strict = strict;
+
+        if (!CollectionUtils.isEmpty(ignoreExpressions)) {
+            for (String expression : ignoreExpressions) {
+                IgnorePath ignorePath = IgnorePath.parse(expression);
+                if (ignorePath == null) {
+                    throw new CitrusRuntimeException("Unsupported JsonPath ignore expression '" + expression + "' for streaming JSON validation");
+                }
+
+                ignorePaths.add(ignorePath);
+            }
+        }
+    }
+
+    /**
+     * Checks whether all given ignore expressions can be evaluated while streaming.
+     * @param ignoreExpressions
+     * @return
+     */
+    public static boolean supports(Set<String> ignoreExpressions) {
+        if (CollectionUtils.isEmpty(ignoreExpressions)) {
+            return true;
+        }
+
+        for (String expression : ignoreExpressions) {
+            if (IgnorePath.parse(expression) == null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Validates received JSON stream against control JSON. Reader gets closed after validation.
+     * @param receivedReader
+     * @param controlJson
+     */
+    public void validate(Reader receivedReader, Object controlJson) {
+        try (JsonParser received = jsonFactory.createParser(receivedReader)) {
+            JsonToken token = received.nextToken();
+
+            if (token == JsonToken.START_OBJECT) {
+                Assert.isTrue(controlJson instanceof JSONObject,
+                        ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON root element",
+                                JSONObject.class.getSimpleName(), getTypeName(controlJson)));
+
+                validateObject("$.", received, (JSONObject) controlJson);
+            } else if (token == JsonToken.START_ARRAY) {
+                Assert.isTrue(controlJson instanceof JSONArray,
+                        ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry 'array'",
+                                JSONArray.class.getSimpleName(), getTypeName(controlJson)));
+
+                validateArray("array", received, (JSONArray) controlJson);
+            } else {
+                throw new CitrusRuntimeException("Unsupported json type " + token);
+            }
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to parse JSON text", e);
+        }
+    }
+
+    /**
+     * Validates JSON object the parser is positioned on. When method returns parser is positioned on the
+     * respective end of the object.
+     * @param elementName
+     * @param received
+     * @param controlJson
+     * @throws IOException
+     */
+    private void validateObject(String elementName, JsonParser received, JSONObject controlJson) throws IOException {
+        Set<String> controlKeys = new HashSet<>();
+        int receivedEntries = 0;
+
+        while (received.nextToken() == JsonToken.FIELD_NAME) {
+            String key = received.getCurrentName();
+            received.nextToken();
+            receivedEntries++;
+
+            if (!controlJson.containsKey(key)) {
+                received.skipChildren();
+                continue;
+            }
+
+            controlKeys.add(key);
+            path.add(key);
+            validateEntry(key, received, controlJson.get(key));
+            path.remove(path.size() - 1);
+        }
+
+        if (strict) {
+            Assert.isTrue(controlJson.size() == receivedEntries,
+                    ValidationUtils.buildValueMismatchErrorMessage("Number of JSON entries not equal for element: '" + elementName + "'", controlJson.size(), receivedEntries));
+        }
+
+        if (controlKeys.size() < controlJson.size()) {
+            for (String controlKey : controlJson.keySet()) {
+                Assert.isTrue(controlKeys.contains(controlKey),
+                        "Missing JSON entry: + '" + controlKey + "'");
+            }
+        }
+    }
+
+    /**
+     * Validates JSON entry value the parser is positioned on. When method returns parser is positioned on the
+     * last token of the value.
+     * @param controlKey
+     * @param received
+     * @param controlValue
+     * @throws IOException
+     */
+    private void validateEntry(String controlKey, JsonParser received, Object controlValue) throws IOException {
+        if (isIgnored(controlKey, controlValue)) {
+            received.skipChildren();
+            return;
+        }
+
+        JsonToken token = received.getCurrentToken();
+        if (controlValue == null) {
+            if (token != JsonToken.VALUE_NULL) {
+                throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlKey + "'",
+                        null, readValue(received)));
+            }
+        } else if (token != JsonToken.VALUE_NULL) {
+            if (ValidationMatcherUtils.isValidationMatcherExpression(controlValue.toString())) {
+                ValidationMatcherUtils.resolveValidationMatcher(controlKey,
+                        readValue(received).toString(),
+                        controlValue.toString(), context);
+            } else if (controlValue instanceof JSONObject) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlKey + "'",
+                            JSONObject.class.getSimpleName(), getTypeName(readValue(received))));
+                }
+
+                validateObject(controlKey, received, (JSONObject) controlValue);
+            } else if (controlValue instanceof JSONArray) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlKey + "'",
+                            JSONArray.class.getSimpleName(), getTypeName(readValue(received))));
+                }
+
+                validateArray(controlKey, received, (JSONArray) controlValue);
+            } else {
+                Object receivedValue = readValue(received);
+                Assert.isTrue(controlValue.equals(receivedValue),
+                        ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlKey + "'",
+                                controlValue, receivedValue));
+            }
+        } else if (ValidationMatcherUtils.isValidationMatcherExpression(controlValue.toString())) {
+            ValidationMatcherUtils.resolveValidationMatcher(controlKey,
+                    null,
+                    controlValue.toString(), context);
+        } else {
+            Assert.isTrue(!StringUtils.hasText(controlValue.toString()),
+                    ValidationUtils.buildValueMismatchErrorMessage(
+                            "Values not equal for entry '" + controlKey + "'", controlValue.toString(), null));
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validation successful for JSON entry '" + controlKey + "' (" + controlValue + ")");
+        }
+    }
+
+    /**
+     * Validates JSON array the parser is positioned on. Array items are compared by index. When method returns parser
+     * is positioned on the respective end of the array.
+     * @param controlKey
+     * @param received
+     * @param jsonArrayControl
+     * @throws IOException
+     */
+    private void validateArray(String controlKey, JsonParser received, JSONArray jsonArrayControl) throws IOException {
+        if (log.isDebugEnabled()) {
+            log.debug("Validating JSONArray containing " + jsonArrayControl.size() + " entries");
+        }
+
+        int index = 0;
+        while (received.nextToken() != JsonToken.END_ARRAY) {
+            if (index >= jsonArrayControl.size()) {
+                received.skipChildren();
+                index++;
+                continue;
+            }
+
+            path.add(index);
+            if (isIgnored(path)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("JSON array item: '" + controlKey + "[" + index + "]' is ignored - skip value validation");
+                }
+
+                received.skipChildren();
+            } else if (jsonArrayControl.get(index) instanceof JSONObject) {
+                if (received.getCurrentToken() != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Value types not equal for entry: '" + jsonArrayControl.get(index) + "'",
+                            JSONObject.class.getName(), getTypeName(readValue(received))));
+                }
+
+                validateObject(controlKey, received, (JSONObject) jsonArrayControl.get(index));
+            } else {
+                Object receivedItem = readValue(received);
+                Assert.isTrue(jsonArrayControl.get(index).equals(receivedItem),
+                        ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + jsonArrayControl.get(index) + "'",
+                                jsonArrayControl.get(index), receivedItem));
+            }
+            path.remove(path.size() - 1);
+
+            index++;
+        }
+
+        if (strict) {
+            Assert.isTrue(jsonArrayControl.size() == index,
+                    ValidationUtils.buildValueMismatchErrorMessage("JSONArray size mismatch for JSON entry '" + controlKey + "'",
+                            jsonArrayControl.size(), index));
+        } else {
+            Assert.isTrue(jsonArrayControl.size() <= index,
+                    ValidationUtils.buildValueMismatchErrorMessage("JSONArray size mismatch for JSON entry '" + controlKey + "'",
+                            jsonArrayControl.size(), index));
+        }
+    }
+
+    /**
+     * Checks if current entry is either on ignore list or
+     * contains @ignore@ tag inside control message
+     * @param controlKey
+     * @param controlValue
+     * @return
+     */
+    private boolean isIgnored(String controlKey, Object controlValue) {
+        if (controlValue != null && controlValue.toString().trim().equals(Citrus.IGNORE_PLACEHOLDER)) {
+            if (log.isDebugEnabled()) {
+                log.debug("JSON entry: '" + controlKey + "' is ignored by placeholder '" +
+                        Citrus.IGNORE_PLACEHOLDER + "'");
+            }
+            return true;
+        }
+
+        if (isIgnored(path)) {
+            if (log.isDebugEnabled()) {
+                log.debug("JSON entry: '" + controlKey + "' is ignored - skip value validation");
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if given path matches any of the ignore expressions.
+     * @param path
+     * @return
+     */
+    private boolean isIgnored(List<Object> path) {
+        for (IgnorePath ignorePath : ignorePaths) {
+            if (ignorePath.matches(path)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads value the parser is positioned on into JSON object, JSON array or simple value using the same value
+     * types as the control JSON.
+     * @param received
+     * @return
+     * @throws IOException
+     */
+    private Object readValue(JsonParser received) throws IOException {
+        switch (received.getCurrentToken()) {
+            case START_OBJECT:
+                JSONObject jsonObject = new JSONObject();
+                while (received.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = received.getCurrentName();
+                    received.nextToken();
+                    jsonObject.put(key, readValue(received));
+                }
+                return jsonObject;
+            case START_ARRAY:
+                JSONArray jsonArray = new JSONArray();
+                while (received.nextToken() != JsonToken.END_ARRAY) {
+                    jsonArray.add(readValue(received));
+                }
+                return jsonArray;
+            case VALUE_STRING:
+                return received.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                try {
+                    return numberParser.parse(received.getText());
+                } catch (ParseException e) {
+                    throw new CitrusRuntimeException("Failed to parse JSON number", e);
+                }
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Gets simple type name of JSON value for error messages.
+     * @param value
+     * @return
+     */
+    private static String getTypeName(Object value) {
+        return value != null ? value.getClass().getSimpleName() : "null";
+    }
+
+    /**
+     * JsonPath ignore expression evaluated on the path of received entries.
+     */
+    private static final class IgnorePath {
+        private final List<PathStep> steps;
+
+        private IgnorePath(List<PathStep> steps) {
+            this.steps = steps;
+        }
+
+        /**
+         * Parses supported JsonPath expressions. Returns null for unsupported expressions.
+         * @param expression
+         * @return
+         */
+        static IgnorePath parse(String expression) {
+            String jsonPath = expression.trim();
+            if (!jsonPath.startsWith("$")) {
+                return null;
+            }
+
+            List<PathStep> steps = new ArrayList<>();
+            Matcher matcher = PATH_STEP_PATTERN.matcher(jsonPath);
+            int position = 1;
+            while (position < jsonPath.length()) {
+                matcher.region(position, jsonPath.length());
+                if (!matcher.lookingAt()) {
+                    return null;
+                }
+
+                String separator = matcher.group(1);
+                boolean bracket = matcher.group(4) != null || matcher.group(5) != null || matcher.group(6) != null || matcher.group(7) != null;
+                if (separator == null && !bracket) {
+                    return null;
+                }
+
+                boolean deepScan = "..".equals(separator);
+                if (matcher.group(2) != null || matcher.group(4) != null) {
+                    steps.add(new PathStep(deepScan, null, null));
+                } else if (matcher.group(5) != null) {
+                    steps.add(new PathStep(deepScan, null, Integer.valueOf(matcher.group(5))));
+                } else if (matcher.group(3) != null) {
+                    steps.add(new PathStep(deepScan, matcher.group(3), null));
+                } else {
+                    steps.add(new PathStep(deepScan, matcher.group(6) != null ? matcher.group(6) : matcher.group(7), null));
+                }
+
+                position = matcher.end();
+            }
+
+            return steps.isEmpty() ? null : new IgnorePath(steps);
+        }
+
+        /**
+         * Checks if this expression matches given entry path.
+         * @param path
+         * @return
+         */
+        boolean matches(List<Object> path) {
+            return matches(0, path, 0);
+        }
+
+        private boolean matches(int stepIndex, List<Object> path, int pathIndex) {
+            if (stepIndex == steps.size()) {
+                return pathIndex == path.size();
+            }
+
+            PathStep step = steps.get(stepIndex);
+            if (!step.deepScan) {
+                return pathIndex < path.size() && step.matches(path.get(pathIndex)) && matches(stepIndex + 1, path, pathIndex + 1);
+            }
+
+            for (int i = pathIndex; i < path.size(); i++) {
+                if (step.matches(path.get(i)) && matches(stepIndex + 1, path, i + 1)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Single step of JsonPath ignore expression matching property name, array index or any child.
+     */
+    private static final class PathStep {
+        private final boolean deepScan;
+        private final String name;
+        private final Integer index;
+
+        PathStep(boolean deepScan, String name, Integer index) {
+            this.deepScan = deepScan;
+            this.name = name;
+            this.index = index;
+        }
+
+        boolean matches(Object segment) {
+            if (name != null) {
+                return name.equals(segment);
+            } else if (index != null) {
+                return index.equals(segment);
+            }
+
+            return true;
+        }
+    }
+}
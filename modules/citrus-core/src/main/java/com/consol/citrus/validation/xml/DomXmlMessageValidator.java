@@ -27,20 +27,16 @@ import com.consol.citrus.validation.ValidationUtils;
 import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
 import com.consol.citrus.xml.XsdSchemaRepository;
 import com.consol.citrus.xml.namespace.NamespaceContextBuilder;
-import com.consol.citrus.xml.schema.WsdlXsdSchema;
-import com.consol.citrus.xml.schema.XsdSchemaCollection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.*;
 import org.springframework.util.xml.DomUtils;
 import org.springframework.xml.validation.XmlValidator;
-import org.springframework.xml.validation.XmlValidatorFactory;
 import org.springframework.xml.xsd.XsdSchema;
 import org.w3c.dom.*;
 import org.w3c.dom.ls.LSException;
@@ -49,14 +45,15 @@ import org.xml.sax.SAXParseException;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
+import javax.xml.namespace.QName;
 import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import java.io.ByteArrayOutputStream;
+import javax.xml.transform.stream.StreamSource;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Default message validator implementation. Working on XML messages
@@ -78,8 +75,8 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
     /** Root application context this validator is defined in */
     private ApplicationContext applicationContext;
 
-    /** Transformer factory */
-    private TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    /** Validators for schema instances, compiled once on first usage */
+    private Map<XsdSchema, XmlValidator> schemaValidators = new ConcurrentHashMap<>();
 
     @Override
     public void validateMessage(Message receivedMessage, Message controlMessage,
@@ -92,7 +89,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                 validateDTD(validationContext.getDTDResource(), receivedMessage);
             }
 
-            validateNamespaces(validationContext.getControlNamespaces(), receivedMessage);
+            validateNamespaces(validationContext.getControlNamespaces(), receivedMessage, isStreamingValidation(validationContext));
             validateMessageContent(receivedMessage, controlMessage, validationContext, context);
 
             if (controlMessage != null) {
@@ -111,10 +108,14 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         } catch (ClassCastException | DOMException | LSException e) {
             throw new CitrusRuntimeException(e);
         } catch (IllegalArgumentException e) {
-            log.error("Failed to validate:\n" + XMLUtils.prettyPrint(receivedMessage.getPayload(String.class)));
+            if (log.isErrorEnabled()) {
+                log.error("Failed to validate:\n" + XMLUtils.prettyPrint(receivedMessage.getPayload(String.class)));
+            }
             throw new ValidationException("Validation failed:", e);
         } catch (ValidationException ex) {
-            log.error("Failed to validate:\n" + XMLUtils.prettyPrint(receivedMessage.getPayload(String.class)));
+            if (log.isErrorEnabled()) {
+                log.error("Failed to validate:\n" + XMLUtils.prettyPrint(receivedMessage.getPayload(String.class)));
+            }
             throw ex;
         }
     }
@@ -140,8 +141,22 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             return;
         }
 
+        boolean streaming = isStreamingValidation(validationContext);
+
         try {
-            Document doc = XMLUtils.parseMessagePayload(receivedMessage.getPayload(String.class));
+            Document doc;
+            if (streaming) {
+                // document holding the root element only as input for schema mapping strategies
+                QName rootElement = StreamingXmlTreeValidator.readRootElement(new StringReader(receivedMessage.getPayload(String.class)));
+                if (rootElement == null || !StringUtils.hasText(rootElement.getNamespaceURI())) {
+                    return;
+                }
+
+                doc = XMLUtils.parseMessagePayload("<" + rootElement.getLocalPart() + " xmlns=\"" +
+                        rootElement.getNamespaceURI().replace("&", "&amp;").replace("\"", "&quot;") + "\"/>");
+            } else {
+                doc = XMLUtils.parseMessagePayload(receivedMessage);
+            }
 
             if (!StringUtils.hasText(doc.getFirstChild().getNamespaceURI())) {
                 return;
@@ -152,7 +167,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             XmlValidator validator = null;
             XsdSchemaRepository schemaRepository = null;
             if (validationContext.getSchema() != null) {
-                validator = applicationContext.getBean(validationContext.getSchema(), XsdSchema.class).createValidator();
+                validator = getSchemaValidator(applicationContext.getBean(validationContext.getSchema(), XsdSchema.class));
             } else if (validationContext.getSchemaRepository() != null) {
                 schemaRepository = applicationContext.getBean(validationContext.getSchemaRepository(), XsdSchemaRepository.class);
             } else if (schemaRepositories.size() == 1) {
@@ -181,38 +196,24 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                             schemaRepository.getName()));
                 }
 
-                List<Resource> schemas = new ArrayList<>();
-                for (XsdSchema xsdSchema : schemaRepository.getSchemas()) {
-                    if (xsdSchema instanceof XsdSchemaCollection) {
-                        for (Resource resource : ((XsdSchemaCollection) xsdSchema).getSchemaResources()) {
-                            schemas.add(resource);
-                        }                            
-                    } else if (xsdSchema instanceof WsdlXsdSchema) {
-                        for (Resource resource : ((WsdlXsdSchema) xsdSchema).getSchemaResources()) {
-                            schemas.add(resource);
-                        }
-                    } else {
-                        synchronized (transformerFactory) {
-                            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                            try {
-                                transformerFactory.newTransformer().transform(xsdSchema.getSource(), new StreamResult(bos));
-                            } catch (TransformerException e) {
-                                throw new CitrusRuntimeException("Failed to read schema " + xsdSchema.getTargetNamespace(), e);
-                            }
-                            schemas.add(new ByteArrayResource(bos.toByteArray()));
-                        }
-                    }
-                }
-                
-                validator = XmlValidatorFactory.createValidator(schemas.toArray(new Resource[schemas.size()]), WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI);
+                validator = schemaRepository.getValidator();
             }
             
-            SAXParseException[] results = validator.validate(new DOMSource(doc));
+            long start = System.nanoTime();
+            SAXParseException[] results = validator.validate(streaming ?
+                    new StreamSource(new StringReader(receivedMessage.getPayload(String.class))) : new DOMSource(doc));
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("XML schema validation took %s ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            }
+
             if (results.length == 0) {
                 log.info("XML schema validation successful: All values OK");
             } else {
-                log.error("XML schema validation failed for message:\n" +
-                        XMLUtils.prettyPrint(receivedMessage.getPayload(String.class)));
+                if (log.isErrorEnabled()) {
+                    log.error("XML schema validation failed for message:\n" +
+                            XMLUtils.prettyPrint(receivedMessage.getPayload(String.class)));
+                }
                 
                 // Report all parsing errors
                 log.debug("Found " + results.length + " schema validation errors");
@@ -232,6 +233,34 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         }
     }
 
+    /**
+     * Checks if streaming validation is enabled and supports all ignore expressions of the validation context.
+     * @param validationContext
+     * @return
+     */
+    private boolean isStreamingValidation(XmlMessageValidationContext validationContext) {
+        return validationContext.isStreamingValidation() && StreamingXmlTreeValidator.supports(validationContext.getIgnoreExpressions());
+    }
+
+    /**
+     * Gets validator for schema instance. Validator is created only once for each schema.
+     * @param schema
+     * @return
+     */
+    private XmlValidator getSchemaValidator(XsdSchema schema) {
+        XmlValidator validator = schemaValidators.get(schema);
+
+        if (validator == null) {
+            long start = System.nanoTime();
+            validator = schema.createValidator();
+            log.info(String.format("Compiled XML schema validator for schema '%s' in %s ms", schema.getTargetNamespace(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+
+            schemaValidators.put(schema, validator);
+        }
+
+        return validator;
+    }
+
     /**
      * Validate namespaces in message. The method compares namespace declarations in the root
      * element of the received message to expected namespaces. Prefixes are important too, so
@@ -241,6 +270,18 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
      * @param receivedMessage
      */
     protected void validateNamespaces(Map<String, String> expectedNamespaces, Message receivedMessage) {
+        validateNamespaces(expectedNamespaces, receivedMessage, false);
+    }
+
+    /**
+     * Validate namespaces in message. In streaming mode namespace declarations are read from the StAX start elements
+     * so no document tree is built.
+     *
+     * @param expectedNamespaces
+     * @param receivedMessage
+     * @param streaming
+     */
+    private void validateNamespaces(Map<String, String> expectedNamespaces, Message receivedMessage, boolean streaming) {
         if (CollectionUtils.isEmpty(expectedNamespaces)) { return; }
 
         if (receivedMessage.getPayload() == null || !StringUtils.hasText(receivedMessage.getPayload(String.class))) {
@@ -249,13 +290,20 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
 
         log.debug("Start XML namespace validation");
 
-        Document received = XMLUtils.parseMessagePayload(receivedMessage.getPayload(String.class));
-
-        Map<String, String> foundNamespaces = XMLUtils.lookupNamespaces(receivedMessage.getPayload(String.class));
+        String rootElementName;
+        Map<String, String> foundNamespaces;
+        if (streaming) {
+            QName rootElement = StreamingXmlTreeValidator.readRootElement(new StringReader(receivedMessage.getPayload(String.class)));
+            rootElementName = rootElement != null ? rootElement.getLocalPart() : "";
+            foundNamespaces = StreamingXmlTreeValidator.lookupNamespaces(new StringReader(receivedMessage.getPayload(String.class)));
+        } else {
+            rootElementName = XMLUtils.getNodesPathName(XMLUtils.parseMessagePayload(receivedMessage).getFirstChild());
+            foundNamespaces = XMLUtils.lookupNamespaces(receivedMessage.getPayload(String.class));
+        }
 
         if (foundNamespaces.size() != expectedNamespaces.size()) {
             throw new ValidationException("Number of namespace declarations not equal for node " +
-                    XMLUtils.getNodesPathName(received.getFirstChild()) + " found " +
+                    rootElementName + " found " +
                     foundNamespaces.size() + " expected " + expectedNamespaces.size());
         }
 
@@ -267,16 +315,14 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                 if (!foundNamespaces.get(namespace).equals(url)) {
                     throw new ValidationException("Namespace '" + namespace +
                             "' values not equal: found '" + foundNamespaces.get(namespace) +
-                            "' expected '" + url + "' in reference node " +
-                            XMLUtils.getNodesPathName(received.getFirstChild()));
+                            "' expected '" + url + "' in reference node " + rootElementName);
                 } else {
                     if (log.isDebugEnabled()) {
                         log.debug("Validating namespace " + namespace + " value as expected " + url + " - value OK");
                     }
                 }
             } else {
-                throw new ValidationException("Missing namespace " + namespace + "(" + url + ") in node " +
-                        XMLUtils.getNodesPathName(received.getFirstChild()));
+                throw new ValidationException("Missing namespace " + namespace + "(" + url + ") in node " + rootElementName);
             }
         }
 
@@ -344,12 +390,23 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             return;
         }
 
+        if (isStreamingValidation(validationContext)) {
+            log.debug("Start streaming XML tree validation ...");
+
+            new StreamingXmlTreeValidator(validationContext.getIgnoreExpressions(),
+                    namespaceContextBuilder.buildContext(receivedMessage, validationContext.getNamespaces()), context)
+                    .validate(new StringReader(receivedMessage.getPayload(String.class)), new StringReader(controlMessagePayload));
+            return;
+        } else if (validationContext.isStreamingValidation()) {
+            log.warn("Ignore expressions are not supported by streaming XML validation - using XML tree validation");
+        }
+
         log.debug("Start XML tree validation ...");
 
-        Document received = XMLUtils.parseMessagePayload(receivedMessage.getPayload(String.class));
+        // cached received document is not modified, whitespace nodes are skipped during validation instead
+        Document received = XMLUtils.parseMessagePayload(receivedMessage);
         Document source = XMLUtils.parseMessagePayload(controlMessagePayload);
 
-        XMLUtils.stripWhitespaceNodes(received);
         XMLUtils.stripWhitespaceNodes(source);
 
         if (log.isDebugEnabled()) {
@@ -514,7 +571,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         //check if validation matcher on element is specified
         if (isValidationMatcherExpression(source)) {
             ValidationMatcherUtils.resolveValidationMatcher(source.getNodeName(),
-                    received.getFirstChild().getNodeValue().trim(),
+                    getFirstNonWhitespaceChild(received).getNodeValue().trim(),
                     source.getFirstChild().getNodeValue().trim(),
                     context);
             return;
@@ -552,7 +609,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             log.debug("Validating node value for element: " + received.getLocalName());
         }
 
-        String receivedText = DomUtils.getTextValue(received);
+        String receivedText = getTextValue(received);
         String sourceText = DomUtils.getTextValue(source);
 
         if (receivedText != null) {
@@ -575,6 +632,49 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         }
     }
 
+    /**
+     * Gets text value of element ignoring whitespace only text nodes just like a document with stripped whitespace nodes.
+     * @param element
+     * @return
+     */
+    private String getTextValue(Element element) {
+        StringBuilder value = new StringBuilder();
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (isWhitespaceNode(child)) {
+                continue;
+            }
+
+            if ((child instanceof CharacterData && !(child instanceof Comment)) || child instanceof EntityReference) {
+                value.append(child.getNodeValue());
+            }
+        }
+
+        return value.toString();
+    }
+
+    /**
+     * Gets first child node that is not a whitespace only text node.
+     * @param node
+     * @return
+     */
+    private Node getFirstNonWhitespaceChild(Node node) {
+        Node child = node.getFirstChild();
+        while (child != null && isWhitespaceNode(child)) {
+            child = child.getNextSibling();
+        }
+
+        return child;
+    }
+
+    /**
+     * Checks for text node holding whitespace characters only.
+     * @param node
+     * @return
+     */
+    private boolean isWhitespaceNode(Node node) {
+        return node.getNodeType() == Node.TEXT_NODE && node.getNodeValue().trim().length() == 0;
+    }
+
     /**
      * Handle attribute node during validation.
      *
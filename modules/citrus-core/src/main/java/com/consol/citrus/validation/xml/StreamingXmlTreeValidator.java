@@ -0,0 +1,1112 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.xml;
+
+import com.consol.citrus.Citrus;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.validation.ValidationUtils;
+import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
+import com.consol.citrus.xml.xpath.XPathUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.*;
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * XML tree validator walking received and control document in lockstep with StAX stream readers. Validator applies
+ * the same rules as the DOM tree validation in {@link DomXmlMessageValidator} including ignore expressions, validation
+ * matchers and namespace qualified attribute values. As no document tree is built memory consumption is bounded
+ * by the document depth instead of the document size.
+ *
+ * Ignore expressions are supported in dot notation and as XPath location paths consisting of name tests with optional
+ * positional predicate, descendant steps and a trailing attribute step such as <code>//ns:item[2]/@id</code>. Short
+ * dot notation names match the first occurrence in document order. Use {@link #supports(Set)} to check ignore
+ * expressions before validating.
+ *
+ * Validator instances hold state of a single validation and must not be reused.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class StreamingXmlTreeValidator {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(StreamingXmlTreeValidator.class);
+
+    /** Input factory is thread safe once configured */
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    /** Pattern extracting public and system id from document type declaration */
+    private static final Pattern DOCTYPE_PATTERN = Pattern.compile("<!DOCTYPE\\s+[^\\s\\[>]+(?:\\s+PUBLIC\\s+(\"[^\"]*\"|'[^']*')\\s+(\"[^\"]*\"|'[^']*')|\\s+SYSTEM\\s+(\"[^\"]*\"|'[^']*'))?");
+
+    /** Pattern matching single location step of supported XPath ignore expressions */
+    private static final Pattern LOCATION_STEP_PATTERN = Pattern.compile("(@)?(?:([A-Za-z_][\\w.-]*):)?([A-Za-z_][\\w.-]*|\\*)(?:\\[(\\d+)\\])?");
+
+    /** Wildcard name test */
+    private static final String WILDCARD = "*";
+
+    /** Test context resolving validation matchers */
+    private final TestContext context;
+
+    /** Ignore expressions evaluated on each received element */
+    private final List<IgnoreExpression> ignoreExpressions = new ArrayList<>();
+
+    /** Currently open elements in received document */
+    private final List<PathElement> path = new ArrayList<>();
+
+    /**
+     * Constructor using ignore expressions, namespace context resolving prefixes in XPath ignore expressions and test context.
+     * @param ignoreExpressions
+     * @param namespaceContext
+     * @param context
+     */
+    public StreamingXmlTreeValidator(Set<String> ignoreExpressions, NamespaceContext namespaceContext, TestContext context) {
+        this.context = context;
+
+        if (!CollectionUtils.isEmpty(ignoreExpressions)) {
+            for (String expression : ignoreExpressions) {
+                if (XPathUtils.isXPathExpression(expression)) {
+                    LocationPath locationPath = LocationPath.parse(expression);
+                    if (locationPath == null) {
+                        throw new CitrusRuntimeException("Unsupported XPath ignore expression '" + expression + "' for streaming XML validation");
+                    }
+
+                    locationPath.resolveNamespaces(namespaceContext);
+                    this.ignoreExpressions.add(locationPath);
+                } else {
+                    this.ignoreExpressions.add(new DotNotationPath(expression));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether all given ignore expressions can be evaluated while streaming.
+     * @param ignoreExpressions
+     * @return
+     */
+    public static boolean supports(Set<String> ignoreExpressions) {
+        if (CollectionUtils.isEmpty(ignoreExpressions)) {
+            return true;
+        }
+
+        for (String expression : ignoreExpressions) {
+            if (XPathUtils.isXPathExpression(expression) && LocationPath.parse(expression) == null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Validates received document against control document. Readers get closed after validation.
+     * @param receivedReader
+     * @param controlReader
+     */
+    public void validate(Reader receivedReader, Reader controlReader) {
+        Cursor received = null;
+        Cursor control = null;
+
+        try {
+            received = new Cursor(inputFactory.createXMLStreamReader(receivedReader));
+            control = new Cursor(inputFactory.createXMLStreamReader(controlReader));
+
+            received.next();
+            control.next();
+
+            doDocumentTypeDefinition(received.getDocumentType(), control.getDocumentType());
+
+            Assert.isTrue(received.isStartElement() && control.isStartElement(), "Missing root element in XML document");
+            validateElement(received, control);
+        } catch (XMLStreamException e) {
+            throw new CitrusRuntimeException("Failed to read XML document stream", e);
+        } finally {
+            if (received != null) {
+                received.close();
+            }
+
+            if (control != null) {
+                control.close();
+            }
+        }
+    }
+
+    /**
+     * Handle document type definition with validation of publicId and systemId.
+     * @param receivedDTD
+     * @param sourceDTD
+     */
+    private void doDocumentTypeDefinition(String receivedDTD, String sourceDTD) {
+        if (receivedDTD == null) {
+            Assert.isNull(sourceDTD, "Missing document type definition in received xml fragment");
+            return;
+        }
+
+        Assert.isTrue(sourceDTD != null, "Missing document type definition in expected xml fragment");
+
+        String[] receivedIds = getDocumentTypeIds(receivedDTD);
+        String[] sourceIds = getDocumentTypeIds(sourceDTD);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validating document type definition: " + receivedIds[0] + " (" + receivedIds[1] + ")");
+        }
+
+        doDocumentTypeId("public", receivedIds[0], sourceIds[0]);
+        doDocumentTypeId("system", receivedIds[1], sourceIds[1]);
+    }
+
+    /**
+     * Validates public or system id of document type definition.
+     * @param idType
+     * @param receivedId
+     * @param sourceId
+     */
+    private void doDocumentTypeId(String idType, String receivedId, String sourceId) {
+        if (!StringUtils.hasText(sourceId)) {
+            Assert.isNull(receivedId,
+                    ValidationUtils.buildValueMismatchErrorMessage("Document type " + idType + " id not equal", sourceId, receivedId));
+        } else if (sourceId.trim().equals(Citrus.IGNORE_PLACEHOLDER)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Document type " + idType + " id: '" + receivedId + "' is ignored by placeholder '" + Citrus.IGNORE_PLACEHOLDER + "'");
+            }
+        } else {
+            Assert.isTrue(StringUtils.hasText(receivedId) && receivedId.equals(sourceId),
+                    ValidationUtils.buildValueMismatchErrorMessage("Document type " + idType + " id not equal", sourceId, receivedId));
+        }
+    }
+
+    /**
+     * Validates element the cursors are positioned on. When method returns both cursors are positioned
+     * on the respective end element.
+     * @param received
+     * @param control
+     * @throws XMLStreamException
+     */
+    private void validateElement(Cursor received, Cursor control) throws XMLStreamException {
+        PathElement element = push(received);
+
+        String localName = element.localName;
+        String sourceLocalName = control.reader.getLocalName();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validating element: " + localName + " (" + element.namespaceUri + ")");
+        }
+
+        Assert.isTrue(localName.equals(sourceLocalName),
+                ValidationUtils.buildValueMismatchErrorMessage("Element names not equal", sourceLocalName, localName));
+
+        doElementNamespaceValidation(element, normalize(control.reader.getNamespaceURI()));
+
+        if (element.ignored) {
+            if (log.isDebugEnabled()) {
+                log.debug("Element: '" + localName + "' is on ignore list - skipped validation");
+            }
+
+            control.skipElement();
+            received.next();
+            skipReceivedContent(received);
+            return;
+        }
+
+        List<AttributeValue> receivedAttributes = AttributeValue.getAttributes(received.reader);
+        List<AttributeValue> sourceAttributes = AttributeValue.getAttributes(control.reader);
+        String sourceName = getQualifiedName(control.reader.getPrefix(), sourceLocalName);
+
+        control.next();
+        String sourceFirstText = control.isText() ? control.text.trim() : null;
+
+        if (Citrus.IGNORE_PLACEHOLDER.equals(sourceFirstText)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Element: '" + localName + "' is ignored by placeholder '" + Citrus.IGNORE_PLACEHOLDER + "'");
+            }
+
+            control.skipContent();
+            received.next();
+            skipReceivedContent(received);
+            return;
+        }
+
+        doAttributes(element, receivedAttributes, sourceAttributes);
+
+        received.next();
+
+        //check if validation matcher on element is specified
+        if (StringUtils.hasText(sourceFirstText) && ValidationMatcherUtils.isValidationMatcherExpression(sourceFirstText)) {
+            ValidationMatcherUtils.resolveValidationMatcher(sourceName,
+                    received.isText() ? received.text.trim() : "", sourceFirstText, context);
+
+            control.skipContent();
+            skipReceivedContent(received);
+            return;
+        }
+
+        StringBuilder receivedText = new StringBuilder();
+        StringBuilder sourceText = new StringBuilder();
+        int childElements = 0;
+        while (true) {
+            while (received.isText()) {
+                receivedText.append(received.text);
+                received.next();
+            }
+
+            while (control.isText()) {
+                sourceText.append(control.text);
+                control.next();
+            }
+
+            if (received.isStartElement() && control.isStartElement()) {
+                validateElement(received, control);
+                childElements++;
+
+                received.next();
+                control.next();
+            } else if (received.isEndElement() && control.isEndElement()) {
+                break;
+            } else {
+                int receivedChildElements = childElements + received.countRemainingElements();
+                int sourceChildElements = childElements + control.countRemainingElements();
+
+                throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Number of child elements not equal for element '"
+                        + localName + "'", sourceChildElements, receivedChildElements));
+            }
+        }
+
+        doText(localName, receivedText.toString().trim(), sourceText.toString().trim());
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validation successful for element: " + localName + " (" + element.namespaceUri + ")");
+        }
+
+        pop();
+    }
+
+    /**
+     * Validates element namespace.
+     * @param element
+     * @param sourceNamespace
+     */
+    private void doElementNamespaceValidation(PathElement element, String sourceNamespace) {
+        if (log.isDebugEnabled()) {
+            log.debug("Validating namespace for element: " + element.localName);
+        }
+
+        if (element.namespaceUri != null) {
+            Assert.isTrue(sourceNamespace != null,
+                    ValidationUtils.buildValueMismatchErrorMessage("Element namespace not equal for element '" +
+                            element.localName + "'", null, element.namespaceUri));
+
+            Assert.isTrue(element.namespaceUri.equals(sourceNamespace),
+                    ValidationUtils.buildValueMismatchErrorMessage("Element namespace not equal for element '" +
+                            element.localName + "'", sourceNamespace, element.namespaceUri));
+        } else {
+            Assert.isTrue(sourceNamespace == null,
+                    ValidationUtils.buildValueMismatchErrorMessage("Element namespace not equal for element '" +
+                            element.localName + "'", sourceNamespace, null));
+        }
+    }
+
+    /**
+     * Validates attributes of element.
+     * @param element
+     * @param receivedAttributes
+     * @param sourceAttributes
+     */
+    private void doAttributes(PathElement element, List<AttributeValue> receivedAttributes, List<AttributeValue> sourceAttributes) {
+        if (log.isDebugEnabled()) {
+            log.debug("Validating attributes for element: " + element.localName);
+        }
+
+        Assert.isTrue(receivedAttributes.size() == sourceAttributes.size(),
+                ValidationUtils.buildValueMismatchErrorMessage("Number of attributes not equal for element '"
+                        + element.localName + "'", sourceAttributes.size(), receivedAttributes.size()));
+
+        for (AttributeValue receivedAttribute : receivedAttributes) {
+            doAttribute(element, receivedAttribute, AttributeValue.find(sourceAttributes, receivedAttribute));
+        }
+    }
+
+    /**
+     * Validates single attribute.
+     * @param element
+     * @param receivedAttribute
+     * @param sourceAttribute
+     */
+    private void doAttribute(PathElement element, AttributeValue receivedAttribute, AttributeValue sourceAttribute) {
+        if (log.isDebugEnabled()) {
+            log.debug("Validating attribute: " + receivedAttribute.localName + " (" + receivedAttribute.namespaceUri + ")");
+        }
+
+        Assert.isTrue(sourceAttribute != null,
+                "Attribute validation failed for element '"
+                        + element.localName + "', unknown attribute "
+                        + receivedAttribute.localName + " (" + receivedAttribute.namespaceUri + ")");
+
+        if (element.isAttributeIgnored(receivedAttribute)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Attribute '" + receivedAttribute.localName + "' is on ignore list - skipped value validation");
+            }
+            return;
+        }
+
+        String receivedValue = receivedAttribute.value;
+        String sourceValue = sourceAttribute.value;
+
+        if (StringUtils.hasText(sourceValue) && sourceValue.trim().equals(Citrus.IGNORE_PLACEHOLDER)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Attribute: '" + receivedAttribute.localName + "' is ignored by placeholder '" + Citrus.IGNORE_PLACEHOLDER + "'");
+            }
+            return;
+        }
+
+        if (StringUtils.hasText(sourceValue) && ValidationMatcherUtils.isValidationMatcherExpression(sourceValue.trim())) {
+            ValidationMatcherUtils.resolveValidationMatcher(sourceAttribute.qualifiedName, receivedValue.trim(), sourceValue.trim(), context);
+        } else if (receivedValue.contains(":") && sourceValue.contains(":")) {
+            doNamespaceQualifiedAttributeValidation(receivedAttribute, sourceAttribute);
+        } else {
+            Assert.isTrue(receivedValue.equals(sourceValue),
+                    ValidationUtils.buildValueMismatchErrorMessage("Values not equal for attribute '"
+                            + receivedAttribute.localName + "'", sourceValue, receivedValue));
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Attribute '" + receivedAttribute.localName + "'='" + receivedValue + "': OK");
+        }
+    }
+
+    /**
+     * Perform validation on namespace qualified attribute values. Namespace prefixes have been resolved
+     * with in scope namespace declarations when reading the attributes.
+     * @param receivedAttribute
+     * @param sourceAttribute
+     */
+    private void doNamespaceQualifiedAttributeValidation(AttributeValue receivedAttribute, AttributeValue sourceAttribute) {
+        String receivedValue = receivedAttribute.value;
+        String sourceValue = sourceAttribute.value;
+
+        if (receivedAttribute.valueNamespaceUri != null) {
+            if (sourceAttribute.valueNamespaceUri != null) {
+                Assert.isTrue(sourceAttribute.valueNamespaceUri.equals(receivedAttribute.valueNamespaceUri),
+                        ValidationUtils.buildValueMismatchErrorMessage("Values not equal for attribute value namespace '"
+                                + receivedValue + "'", sourceAttribute.valueNamespaceUri, receivedAttribute.valueNamespaceUri));
+
+                // remove namespace prefixes as they must not form equality
+                receivedValue = receivedValue.substring(receivedValue.indexOf(':') + 1);
+                sourceValue = sourceValue.substring(sourceValue.indexOf(':') + 1);
+            } else {
+                throw new ValidationException("Received attribute value '" + receivedAttribute.localName + "' describes namespace qualified attribute value," +
+                        " control value '" + sourceValue + "' does not");
+            }
+        }
+
+        Assert.isTrue(receivedValue.equals(sourceValue),
+                ValidationUtils.buildValueMismatchErrorMessage("Values not equal for attribute '"
+                        + receivedAttribute.localName + "'", sourceValue, receivedValue));
+    }
+
+    /**
+     * Validates trimmed text content of element.
+     * @param localName
+     * @param receivedText
+     * @param sourceText
+     */
+    private void doText(String localName, String receivedText, String sourceText) {
+        if (log.isDebugEnabled()) {
+            log.debug("Validating node value for element: " + localName);
+        }
+
+        Assert.isTrue(receivedText.equals(sourceText),
+                ValidationUtils.buildValueMismatchErrorMessage("Node value not equal for element '"
+                        + localName + "'", sourceText, receivedText));
+
+        if (log.isDebugEnabled()) {
+            log.debug("Node value '" + receivedText + "': OK");
+        }
+    }
+
+    /**
+     * Skips remaining content of current received element. Skipped elements are still added to the element path
+     * so ignore expressions matching first occurrences keep track of document order.
+     * @param received
+     * @throws XMLStreamException
+     */
+    private void skipReceivedContent(Cursor received) throws XMLStreamException {
+        int depth = 1;
+        while (true) {
+            if (received.isStartElement()) {
+                push(received);
+                depth++;
+            } else if (received.isEndElement()) {
+                pop();
+                if (--depth == 0) {
+                    return;
+                }
+            }
+
+            received.next();
+        }
+    }
+
+    /**
+     * Adds element received cursor is positioned on to the element path and evaluates ignore expressions.
+     * @param received
+     * @return
+     */
+    private PathElement push(Cursor received) {
+        PathElement parent = path.isEmpty() ? null : path.get(path.size() - 1);
+        PathElement element = new PathElement(parent, normalize(received.reader.getNamespaceURI()), received.reader.getLocalName());
+        path.add(element);
+
+        for (IgnoreExpression expression : ignoreExpressions) {
+            expression.evaluate(path, element);
+        }
+
+        return element;
+    }
+
+    /**
+     * Removes last element from element path.
+     */
+    private void pop() {
+        path.remove(path.size() - 1);
+    }
+
+    /**
+     * Extracts public and system id from document type declaration.
+     * @param documentType
+     * @return
+     */
+    private static String[] getDocumentTypeIds(String documentType) {
+        Matcher matcher = DOCTYPE_PATTERN.matcher(documentType);
+        if (!matcher.find()) {
+            return new String[] { null, null };
+        }
+
+        if (matcher.group(1) != null) {
+            return new String[] { unquote(matcher.group(1)), unquote(matcher.group(2)) };
+        } else {
+            return new String[] { null, unquote(matcher.group(3)) };
+        }
+    }
+
+    /**
+     * Removes surrounding quotes.
+     * @param value
+     * @return
+     */
+    private static String unquote(String value) {
+        return value != null ? value.substring(1, value.length() - 1) : null;
+    }
+
+    /**
+     * Builds qualified name from prefix and local name.
+     * @param prefix
+     * @param localName
+     * @return
+     */
+    private static String getQualifiedName(String prefix, String localName) {
+        return StringUtils.hasLength(prefix) ? prefix + ":" + localName : localName;
+    }
+
+    /**
+     * Stream readers may report missing namespace as empty string.
+     * @param namespaceUri
+     * @return
+     */
+    private static String normalize(String namespaceUri) {
+        return StringUtils.hasLength(namespaceUri) ? namespaceUri : null;
+    }
+
+    /**
+     * Creates input factory. External entities are not resolved and external DTD subsets resolve
+     * to empty content so validation works offline as with DOM tree validation.
+     * @return
+     */
+    /**
+     * Reads the root element name of given document without building a document tree.
+     * @param reader
+     * @return the qualified root element name or null when document has no root element.
+     */
+    public static QName readRootElement(Reader reader) {
+        XMLStreamReader streamReader = null;
+        try {
+            streamReader = inputFactory.createXMLStreamReader(reader);
+            while (streamReader.hasNext()) {
+                if (streamReader.next() == XMLStreamConstants.START_ELEMENT) {
+                    return streamReader.getName();
+                }
+            }
+
+            return null;
+        } catch (XMLStreamException e) {
+            throw new CitrusRuntimeException("Failed to read XML document stream", e);
+        } finally {
+            close(streamReader);
+        }
+    }
+
+    /**
+     * Collects namespace declarations of all elements in given document without building a document tree. Later
+     * declarations of a prefix overwrite earlier ones the same way {@link com.consol.citrus.util.XMLUtils#lookupNamespaces(String)} does.
+     * @param reader
+     * @return namespace uris by prefix.
+     */
+    public static Map<String, String> lookupNamespaces(Reader reader) {
+        Map<String, String> namespaces = new HashMap<>();
+
+        XMLStreamReader streamReader = null;
+        try {
+            streamReader = inputFactory.createXMLStreamReader(reader);
+            while (streamReader.hasNext()) {
+                if (streamReader.next() == XMLStreamConstants.START_ELEMENT) {
+                    for (int i = 0; i < streamReader.getNamespaceCount(); i++) {
+                        String prefix = streamReader.getNamespacePrefix(i);
+                        namespaces.put(prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX, streamReader.getNamespaceURI(i));
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new CitrusRuntimeException("Failed to read XML document stream", e);
+        } finally {
+            close(streamReader);
+        }
+
+        return namespaces;
+    }
+
+    /**
+     * Closes stream reader quietly.
+     * @param streamReader
+     */
+    private static void close(XMLStreamReader streamReader) {
+        if (streamReader != null) {
+            try {
+                streamReader.close();
+            } catch (XMLStreamException e) {
+                log.warn("Failed to close XML stream reader", e);
+            }
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setXMLResolver((publicId, systemId, baseUri, namespace) -> new ByteArrayInputStream(new byte[0]));
+        return factory;
+    }
+
+    /**
+     * Stream reader positioned on relevant events only. Comments, processing instructions and whitespace only
+     * text are skipped the same way DOM tree validation skips them.
+     */
+    private static class Cursor {
+        private final XMLStreamReader reader;
+
+        private int event;
+        private String text;
+        private String documentType;
+
+        Cursor(XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Moves to next start element, end element, non whitespace text or end of document.
+         * @throws XMLStreamException
+         */
+        void next() throws XMLStreamException {
+            text = null;
+
+            while (reader.hasNext()) {
+                event = reader.next();
+
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT:
+                    case XMLStreamConstants.END_ELEMENT:
+                    case XMLStreamConstants.END_DOCUMENT:
+                        return;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        if (StringUtils.hasText(reader.getText())) {
+                            text = reader.getText();
+                            return;
+                        }
+                        break;
+                    case XMLStreamConstants.DTD:
+                        documentType = reader.getText();
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            event = XMLStreamConstants.END_DOCUMENT;
+        }
+
+        /**
+         * Skips current element. Cursor must be positioned on start element.
+         * @throws XMLStreamException
+         */
+        void skipElement() throws XMLStreamException {
+            next();
+            skipContent();
+        }
+
+        /**
+         * Skips remaining content of current element up to its end element.
+         * @throws XMLStreamException
+         */
+        void skipContent() throws XMLStreamException {
+            int depth = 1;
+            while (true) {
+                if (isStartElement()) {
+                    depth++;
+                } else if (isEndElement() && --depth == 0) {
+                    return;
+                }
+
+                next();
+            }
+        }
+
+        /**
+         * Counts remaining sibling elements including the element cursor is positioned on.
+         * @return
+         * @throws XMLStreamException
+         */
+        int countRemainingElements() throws XMLStreamException {
+            int count = 0;
+            while (!isEndElement() && event != XMLStreamConstants.END_DOCUMENT) {
+                if (isStartElement()) {
+                    count++;
+                    skipElement();
+                }
+
+                next();
+            }
+
+            return count;
+        }
+
+        boolean isStartElement() {
+            return event == XMLStreamConstants.START_ELEMENT;
+        }
+
+        boolean isEndElement() {
+            return event == XMLStreamConstants.END_ELEMENT;
+        }
+
+        boolean isText() {
+            return text != null;
+        }
+
+        String getDocumentType() {
+            return documentType;
+        }
+
+        void close() {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                log.warn("Failed to close XML stream reader", e);
+            }
+        }
+    }
+
+    /**
+     * Open element in received document with position information and ignore state.
+     */
+    private static class PathElement {
+        private final String namespaceUri;
+        private final String localName;
+        private final String pathName;
+
+        /** Position among all sibling elements and among siblings with same name */
+        private final int index;
+        private final int position;
+
+        /** Child element counters */
+        private final Map<String, Integer> childPositions = new HashMap<>();
+        private int childCount;
+
+        /** Ignore state evaluated when element is opened */
+        private boolean ignored;
+        private List<AttributeTest> ignoredAttributes;
+
+        PathElement(PathElement parent, String namespaceUri, String localName) {
+            this.namespaceUri = namespaceUri;
+            this.localName = localName;
+
+            if (parent == null) {
+                this.pathName = localName;
+                this.index = 1;
+                this.position = 1;
+            } else {
+                this.pathName = parent.pathName + "." + localName;
+                this.index = ++parent.childCount;
+                this.position = parent.childPositions.merge("{" + namespaceUri + "}" + localName, 1, Integer::sum);
+            }
+        }
+
+        void ignoreAttribute(AttributeTest attributeTest) {
+            if (ignoredAttributes == null) {
+                ignoredAttributes = new ArrayList<>();
+            }
+
+            ignoredAttributes.add(attributeTest);
+        }
+
+        boolean isAttributeIgnored(AttributeValue attribute) {
+            if (ignoredAttributes != null) {
+                for (AttributeTest attributeTest : ignoredAttributes) {
+                    if (attributeTest.matches(attribute)) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Attribute snapshot taken while reader is positioned on start element. Namespace prefix in attribute value
+     * is resolved with in scope namespace declarations.
+     */
+    private static class AttributeValue {
+        private final String namespaceUri;
+        private final String localName;
+        private final String qualifiedName;
+        private final String value;
+        private final String valueNamespaceUri;
+
+        AttributeValue(String namespaceUri, String localName, String qualifiedName, String value, String valueNamespaceUri) {
+            this.namespaceUri = namespaceUri;
+            this.localName = localName;
+            this.qualifiedName = qualifiedName;
+            this.value = value;
+            this.valueNamespaceUri = valueNamespaceUri;
+        }
+
+        static List<AttributeValue> getAttributes(XMLStreamReader reader) {
+            List<AttributeValue> attributes = new ArrayList<>(reader.getAttributeCount());
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String value = reader.getAttributeValue(i);
+                String valueNamespaceUri = null;
+                if (value.indexOf(':') > 0) {
+                    valueNamespaceUri = normalize(reader.getNamespaceContext().getNamespaceURI(value.substring(0, value.indexOf(':'))));
+                }
+
+                attributes.add(new AttributeValue(normalize(reader.getAttributeNamespace(i)), reader.getAttributeLocalName(i),
+                        getQualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)), value, valueNamespaceUri));
+            }
+
+            return attributes;
+        }
+
+        static AttributeValue find(List<AttributeValue> attributes, AttributeValue attribute) {
+            for (AttributeValue candidate : attributes) {
+                if (candidate.localName.equals(attribute.localName) && Objects.equals(candidate.namespaceUri, attribute.namespaceUri)) {
+                    return candidate;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Matches attributes either by qualified name or by namespace and local name.
+     */
+    private static class AttributeTest {
+        private final String qualifiedName;
+        private final String namespaceUri;
+        private final String localName;
+
+        AttributeTest(String qualifiedName, String namespaceUri, String localName) {
+            this.qualifiedName = qualifiedName;
+            this.namespaceUri = namespaceUri;
+            this.localName = localName;
+        }
+
+        boolean matches(AttributeValue attribute) {
+            if (qualifiedName != null) {
+                return qualifiedName.equals(attribute.qualifiedName);
+            }
+
+            return WILDCARD.equals(localName) ||
+                    (localName.equals(attribute.localName) && Objects.equals(namespaceUri, attribute.namespaceUri));
+        }
+    }
+
+    /**
+     * Ignore expression evaluated on each opened element in received document.
+     */
+    private interface IgnoreExpression {
+        /**
+         * Marks element or some of its attributes as ignored when expression matches.
+         * @param path
+         * @param element
+         */
+        void evaluate(List<PathElement> path, PathElement element);
+    }
+
+    /**
+     * Dot notation ignore expression such as <code>Numbers.NumberItem.AreaCode</code>. Full path names match
+     * all occurrences, short path names match the first occurrence in document order.
+     */
+    private static class DotNotationPath implements IgnoreExpression {
+        private final String expression;
+        private final String[] tokens;
+
+        private boolean elementFound;
+        private boolean attributeOwnerFound;
+
+        DotNotationPath(String expression) {
+            this.expression = expression;
+            this.tokens = StringUtils.tokenizeToStringArray(expression, ".");
+        }
+
+        @Override
+        public void evaluate(List<PathElement> path, PathElement element) {
+            if (expression.equals(element.pathName)) {
+                element.ignored = true;
+            }
+
+            if (!elementFound && matchesSuffix(path, tokens.length)) {
+                elementFound = true;
+                element.ignored = true;
+            }
+
+            if (tokens.length > 1) {
+                String prefix = element.pathName + ".";
+                if (expression.startsWith(prefix) && expression.indexOf('.', prefix.length()) < 0) {
+                    element.ignoreAttribute(new AttributeTest(expression.substring(prefix.length()), null, null));
+                }
+
+                if (!attributeOwnerFound && matchesSuffix(path, tokens.length - 1)) {
+                    attributeOwnerFound = true;
+                    element.ignoreAttribute(new AttributeTest(tokens[tokens.length - 1], null, null));
+                }
+            }
+        }
+
+        /**
+         * Checks that local names of last elements in path match given number of leading tokens.
+         * @param path
+         * @param length
+         * @return
+         */
+        private boolean matchesSuffix(List<PathElement> path, int length) {
+            if (length == 0 || path.size() < length) {
+                return false;
+            }
+
+            for (int i = 0; i < length; i++) {
+                if (!tokens[length - 1 - i].equals(path.get(path.size() - 1 - i).localName)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * XPath location path ignore expression consisting of element name tests with optional positional predicate,
+     * child and descendant steps and optional trailing attribute step.
+     */
+    private static class LocationPath implements IgnoreExpression {
+        private final String expression;
+        private final List<LocationStep> steps;
+        private final LocationStep attributeStep;
+
+        private AttributeTest attributeTest;
+
+        LocationPath(String expression, List<LocationStep> steps, LocationStep attributeStep) {
+            this.expression = expression;
+            this.steps = steps;
+            this.attributeStep = attributeStep;
+        }
+
+        /**
+         * Parses expression and returns null if expression is not supported.
+         * @param expression
+         * @return
+         */
+        static LocationPath parse(String expression) {
+            String remaining = expression.trim();
+            List<LocationStep> steps = new ArrayList<>();
+            LocationStep attributeStep = null;
+
+            boolean descendant = false;
+            while (remaining.length() > 0) {
+                if (attributeStep != null) {
+                    return null;
+                }
+
+                if (remaining.startsWith("//")) {
+                    descendant = true;
+                    remaining = remaining.substring(2);
+                } else if (remaining.startsWith("/")) {
+                    remaining = remaining.substring(1);
+                }
+
+                int end = remaining.indexOf('/');
+                String step = end < 0 ? remaining : remaining.substring(0, end);
+                remaining = end < 0 ? "" : remaining.substring(end);
+
+                Matcher matcher = LOCATION_STEP_PATTERN.matcher(step);
+                if (!matcher.matches()) {
+                    return null;
+                }
+
+                LocationStep locationStep = new LocationStep(descendant, matcher.group(2), matcher.group(3),
+                        matcher.group(4) != null ? Integer.parseInt(matcher.group(4)) : 0);
+
+                if (locationStep.prefix != null && WILDCARD.equals(locationStep.localName)) {
+                    return null;
+                }
+
+                if (matcher.group(1) != null) {
+                    if (descendant || locationStep.position > 0) {
+                        return null;
+                    }
+
+                    attributeStep = locationStep;
+                } else {
+                    steps.add(locationStep);
+                }
+
+                descendant = false;
+            }
+
+            if (steps.isEmpty()) {
+                return null;
+            }
+
+            return new LocationPath(expression, steps, attributeStep);
+        }
+
+        /**
+         * Resolves namespace prefixes in name tests.
+         * @param namespaceContext
+         */
+        void resolveNamespaces(NamespaceContext namespaceContext) {
+            for (LocationStep step : steps) {
+                step.namespaceUri = resolve(step.prefix, namespaceContext);
+            }
+
+            if (attributeStep != null) {
+                attributeTest = new AttributeTest(null, resolve(attributeStep.prefix, namespaceContext), attributeStep.localName);
+            }
+        }
+
+        private String resolve(String prefix, NamespaceContext namespaceContext) {
+            if (prefix == null) {
+                return null;
+            }
+
+            String namespaceUri = namespaceContext != null ? normalize(namespaceContext.getNamespaceURI(prefix)) : null;
+            if (namespaceUri == null) {
+                throw new CitrusRuntimeException("Can not evaluate xpath expression '" + expression + "' - unbound namespace prefix '" + prefix + "'");
+            }
+
+            return namespaceUri;
+        }
+
+        @Override
+        public void evaluate(List<PathElement> path, PathElement element) {
+            if (matches(path, 0, 0)) {
+                if (attributeTest == null) {
+                    element.ignored = true;
+                } else {
+                    element.ignoreAttribute(attributeTest);
+                }
+            }
+        }
+
+        /**
+         * Matches remaining steps against remaining path elements.
+         * @param path
+         * @param stepIndex
+         * @param pathIndex
+         * @return
+         */
+        private boolean matches(List<PathElement> path, int stepIndex, int pathIndex) {
+            if (stepIndex == steps.size()) {
+                return pathIndex == path.size();
+            }
+
+            LocationStep step = steps.get(stepIndex);
+            if (step.descendant) {
+                for (int i = pathIndex; i < path.size(); i++) {
+                    if (step.matches(path.get(i)) && matches(path, stepIndex + 1, i + 1)) {
+                        return true;
+                    }
+                }
+
+                return false;
+            }
+
+            return pathIndex < path.size() && step.matches(path.get(pathIndex)) && matches(path, stepIndex + 1, pathIndex + 1);
+        }
+    }
+
+    /**
+     * Single location step with name test and optional position.
+     */
+    private static class LocationStep {
+        private final boolean descendant;
+        private final String prefix;
+        private final String localName;
+        private final int position;
+
+        private String namespaceUri;
+
+        LocationStep(boolean descendant, String prefix, String localName, int position) {
+            this.descendant = descendant;
+            this.prefix = prefix;
+            this.localName = localName;
+            this.position = position;
+        }
+
+        boolean matches(PathElement element) {
+            if (WILDCARD.equals(localName)) {
+                return position == 0 || element.index == position;
+            }
+
+            return localName.equals(element.localName) && Objects.equals(namespaceUri, element.namespaceUri) &&
+                    (position == 0 || element.position == position);
+        }
+    }
+}
@@ -49,6 +49,9 @@ public class XmlMessageValidationContext implements ValidationContext {
     /** Explicit schema instance to use for this validation */
     private String schema;
 
+    /** Should message content be compared with streaming reader instead of DOM tree */
+    private boolean streamingValidation = false;
+
     /**
      * Get ignored message elements.
      * @return the ignoreExpressions
@@ -161,4 +164,20 @@ public class XmlMessageValidationContext implements ValidationContext {
         this.schema = schema;
     }
 
+    /**
+     * Is streaming validation enabled.
+     * @return the streamingValidation
+     */
+    public boolean isStreamingValidation() {
+        return streamingValidation;
+    }
+
+    /**
+     * Enable/disable streaming validation of message content.
+     * @param streamingValidation the streamingValidation to set
+     */
+    public void setStreamingValidation(boolean streamingValidation) {
+        this.streamingValidation = streamingValidation;
+    }
+
 }
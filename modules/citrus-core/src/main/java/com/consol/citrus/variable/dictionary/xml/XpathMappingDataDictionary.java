@@ -25,17 +25,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.xml.namespace.SimpleNamespaceContext;
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.xpath.XPathConstants;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
  * Xml data dictionary implementation maps elements via XPath expressions. When element is identified by some expression
  * in dictionary value is overwritten accordingly. Namespace context is either evaluated on the fly or by global namespace
- * context builder.
+ * context builder. Mapping expressions are evaluated once per document so translating all nodes of a document is linear
+ * in the number of nodes.
  *
  * @author Christoph Deppisch
  * @since 1.4
@@ -48,49 +51,63 @@ public class XpathMappingDataDictionary extends AbstractXmlDataDictionary implem
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(XpathMappingDataDictionary.class);
 
+    /** Key of mapped node index stored as user data with translated documents */
+    private final String indexKey = XpathMappingDataDictionary.class.getName() + "@" + Integer.toHexString(System.identityHashCode(this));
+
     @Override
     public <T> T translate(Node node, T value, TestContext context) {
-        for (Map.Entry<String, String> expressionEntry : mappings.entrySet()) {
-            String expression = expressionEntry.getKey();
-
-            NodeList findings = (NodeList) XPathUtils.evaluateExpression(node.getOwnerDocument(), expression, buildNamespaceContext(node), XPathConstants.NODESET);
+        String mappingValue = getMappingIndex(node.getOwnerDocument()).get(node);
 
-            if (findings != null && containsNode(findings, node)) {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Data dictionary setting element '%s' value: %s", XMLUtils.getNodesPathName(node), expressionEntry.getValue()));
-                }
-                return convertIfNecessary(context.replaceDynamicContentInString(expressionEntry.getValue()), value);
+        if (mappingValue != null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Data dictionary setting element '%s' value: %s", XMLUtils.getNodesPathName(node), mappingValue));
             }
+            return convertIfNecessary(context.replaceDynamicContentInString(mappingValue), value);
         }
 
         return value;
     }
 
     /**
-     * Checks if given node set contains node.
-     * @param findings
-     * @param node
+     * Gets index of mapped nodes in given document. All mapping expressions are evaluated once per document and the
+     * resulting index is stored with the document so subsequent translations on the same document perform simple
+     * identity lookups. When several expressions match the same node the first mapping wins.
+     * @param document
      * @return
      */
-    private boolean containsNode(NodeList findings, Node node) {
-        for (int i = 0; i < findings.getLength(); i++) {
-            if (findings.item(i).equals(node)) {
-                return true;
+    @SuppressWarnings("unchecked")
+    private Map<Node, String> getMappingIndex(Document document) {
+        Map<Node, String> index = (Map<Node, String>) document.getUserData(indexKey);
+
+        if (index == null) {
+            index = new IdentityHashMap<>();
+            NamespaceContext namespaceContext = buildNamespaceContext(document);
+
+            for (Map.Entry<String, String> expressionEntry : mappings.entrySet()) {
+                NodeList findings = (NodeList) XPathUtils.evaluateExpression(document, expressionEntry.getKey(), namespaceContext, XPathConstants.NODESET);
+
+                if (findings != null) {
+                    for (int i = 0; i < findings.getLength(); i++) {
+                        index.putIfAbsent(findings.item(i), expressionEntry.getValue());
+                    }
+                }
             }
+
+            document.setUserData(indexKey, index, null);
         }
 
-        return false;
+        return index;
     }
 
     /**
-     * Builds namespace context with dynamic lookup on received node document and global namespace mappings from
+     * Builds namespace context with dynamic lookup on received document and global namespace mappings from
      * namespace context builder.
-     * @param node the element node from message
+     * @param document the message document
      * @return
      */
-    private NamespaceContext buildNamespaceContext(Node node) {
+    private NamespaceContext buildNamespaceContext(Document document) {
         SimpleNamespaceContext simpleNamespaceContext = new SimpleNamespaceContext();
-        Map<String, String> namespaces = XMLUtils.lookupNamespaces(node.getOwnerDocument());
+        Map<String, String> namespaces = XMLUtils.lookupNamespaces(document);
 
         // add default namespace mappings
         namespaces.putAll(namespaceContextBuilder.getNamespaceMappings());
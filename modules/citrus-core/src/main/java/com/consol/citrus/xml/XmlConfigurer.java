@@ -48,6 +48,11 @@ public class XmlConfigurer implements InitializingBean {
     private Map<String, Object> parseSettings = new HashMap<>();
     private Map<String, Object> serializeSettings = new HashMap<>();
 
+    /** Thread confined parser and serializer instances, replaced when settings change */
+    private volatile ThreadLocal<LSParser> parsers;
+    private volatile ThreadLocal<LSParser> nonValidatingParsers;
+    private volatile ThreadLocal<LSSerializer> serializers;
+
     public static final String SPLIT_CDATA_SECTIONS = "split-cdata-sections";
     public static final String FORMAT_PRETTY_PRINT = "format-pretty-print";
     public static final String ELEMENT_CONTENT_WHITESPACE = "element-content-whitespace";
@@ -77,6 +82,7 @@ public class XmlConfigurer implements InitializingBean {
 
         setDefaultParseSettings();
         setDefaultSerializeSettings();
+        resetThreadConfinedInstances();
     }
 
     /**
@@ -101,6 +107,37 @@ public class XmlConfigurer implements InitializingBean {
         }
     }
 
+    /**
+     * Gets thread confined LSParser instance configured with common parse settings. Parser is reused
+     * for subsequent calls on the same thread so callers must not change its configuration. In case the
+     * thread confined parser is busy a new parser instance is created.
+     * @return
+     */
+    public LSParser getLSParser() {
+        LSParser parser = parsers.get();
+        return parser.getBusy() ? createLSParser() : parser;
+    }
+
+    /**
+     * Gets thread confined LSParser instance that does not validate with schema. Used for
+     * formatting purpose where schema validation is not required.
+     * @return
+     */
+    public LSParser getNonValidatingLSParser() {
+        LSParser parser = nonValidatingParsers.get();
+        return parser.getBusy() ? createNonValidatingLSParser() : parser;
+    }
+
+    /**
+     * Creates LSParser instance with schema validation disabled.
+     * @return
+     */
+    private LSParser createNonValidatingLSParser() {
+        LSParser parser = createLSParser();
+        setParserConfigParameter(parser, VALIDATE_IF_SCHEMA, false);
+        return parser;
+    }
+
     /**
      * Creates basic LSSerializer instance and sets common
      * properties and configuration parameters.
@@ -123,6 +160,15 @@ public class XmlConfigurer implements InitializingBean {
         }
     }
 
+    /**
+     * Gets thread confined LSSerializer instance configured with common serialize settings. Serializer is reused
+     * for subsequent calls on the same thread so callers must not change its configuration or filter.
+     * @return
+     */
+    public LSSerializer getLSSerializer() {
+        return serializers.get();
+    }
+
     /**
      * Creates LSInput from dom implementation.
      * @return
@@ -233,6 +279,7 @@ public class XmlConfigurer implements InitializingBean {
      */
     public void setParseSettings(Map<String, Object> parseSettings) {
         this.parseSettings = parseSettings;
+        resetThreadConfinedInstances();
     }
 
     /**
@@ -242,13 +289,24 @@ public class XmlConfigurer implements InitializingBean {
      */
     public void setSerializeSettings(Map<String, Object> serializeSettings) {
         this.serializeSettings = serializeSettings;
+        resetThreadConfinedInstances();
     }
 
     @Override
     public void afterPropertiesSet() throws Exception {
         setDefaultParseSettings();
         setDefaultSerializeSettings();
+        resetThreadConfinedInstances();
 
         XMLUtils.initialize(this);
     }
+
+    /**
+     * Drops thread confined parser and serializer instances so new instances with current settings get created.
+     */
+    private void resetThreadConfinedInstances() {
+        parsers = ThreadLocal.withInitial(this::createLSParser);
+        nonValidatingParsers = ThreadLocal.withInitial(this::createNonValidatingLSParser);
+        serializers = ThreadLocal.withInitial(this::createLSSerializer);
+    }
 }
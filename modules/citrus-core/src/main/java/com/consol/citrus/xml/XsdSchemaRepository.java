@@ -16,6 +16,7 @@
 
 package com.consol.citrus.xml;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.xml.schema.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +24,7 @@ import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.xml.validation.XmlValidator;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
 import org.w3c.dom.Document;
@@ -30,8 +32,7 @@ import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Schema repository holding a set of XML schema resources known in the test scope.
@@ -43,13 +44,16 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
     private String name = "schemaRepository";
     
     /** List of schema resources */
-    private List<XsdSchema> schemas = new ArrayList<XsdSchema>();
+    private SchemaList schemas = new SchemaList();
     
     /** List of location patterns that will be translated to schema resources */
     private List<String> locations = new ArrayList<String>();
 
     /** Mapping strategy */
     private XsdSchemaMappingStrategy schemaMappingStrategy = new TargetNamespaceSchemaMappingStrategy();
+
+    /** Compiled validator for all schemas in this repository, reset on schema list changes */
+    private volatile CompiledSchemas validator;
     
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(XsdSchemaRepository.class);
@@ -105,6 +109,36 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
         addCitrusSchema("citrus-ssh-message");
         addCitrusSchema("citrus-rmi-message");
         addCitrusSchema("citrus-jmx-message");
+
+        if (!schemas.isEmpty()) {
+            try {
+                getValidator();
+            } catch (CitrusRuntimeException e) {
+                log.warn("Unable to compile XML schema validator for repository '" + name + "' - compilation is retried on validation", e);
+            }
+        }
+    }
+
+    /**
+     * Gets validator for all schemas in this repository. Validator is compiled once and reused as long as the
+     * list of schemas is not changed.
+     * @return the compiled validator.
+     */
+    public XmlValidator getValidator() {
+        CompiledSchemas compiled = validator;
+        if (compiled == null || !compiled.isCompiledFor(schemas)) {
+            synchronized (this) {
+                compiled = validator;
+                if (compiled == null || !compiled.isCompiledFor(schemas)) {
+                    compiled = new CompiledSchemas(schemas);
+                    validator = compiled;
+
+                    log.info(String.format("Compiled XML schema validator for repository '%s' in %s ms", name, compiled.validator.getCompileTime()));
+                }
+            }
+        }
+
+        return compiled.validator;
     }
 
     /**
@@ -132,11 +166,12 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
     }
 
     /**
-     * Set the list of known schemas.
+     * Set the list of known schemas. Schemas are copied to the repository schema list.
      * @param schemas the schemas to set
      */
     public void setSchemas(List<XsdSchema> schemas) {
-        this.schemas = schemas;
+        this.schemas = new SchemaList(schemas);
+        this.validator = null;
     }
 
     /**
@@ -185,5 +220,46 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
     public void setLocations(List<String> locations) {
         this.locations = locations;
     }
-    
+
+    /**
+     * Schema list tracking all modifications so compiled validator is reset when schemas change.
+     */
+    private static final class SchemaList extends ArrayList<XsdSchema> {
+        SchemaList() {
+            super();
+        }
+
+        SchemaList(Collection<XsdSchema> schemas) {
+            super(schemas);
+        }
+
+        @Override
+        public XsdSchema set(int index, XsdSchema element) {
+            modCount++;
+            return super.set(index, element);
+        }
+
+        int getModCount() {
+            return modCount;
+        }
+    }
+
+    /**
+     * Validator compiled for a schema list state.
+     */
+    private static final class CompiledSchemas {
+        private final CompiledXmlValidator validator;
+        private final SchemaList schemas;
+        private final int modCount;
+
+        CompiledSchemas(SchemaList schemas) {
+            this.schemas = schemas;
+            this.modCount = schemas.getModCount();
+            this.validator = CompiledXmlValidator.compile(new ArrayList<>(schemas));
+        }
+
+        boolean isCompiledFor(SchemaList schemas) {
+            return this.schemas == schemas && modCount == schemas.getModCount();
+        }
+    }
 }
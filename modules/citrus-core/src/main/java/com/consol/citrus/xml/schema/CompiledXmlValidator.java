@@ -0,0 +1,236 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml.schema;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.xml.validation.*;
+import org.springframework.xml.xsd.XsdSchema;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * XML validator working on a compiled schema instance. Compiled schema is thread safe and shared whereas
+ * {@link Validator} instances are not thread safe and therefore are confined to the calling thread. Validator keeps
+ * track of schema compile time and overall validation time.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class CompiledXmlValidator implements XmlValidator {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(CompiledXmlValidator.class);
+
+    /** Transformer factory used to serialize schema sources */
+    private static final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    /** Compiled schema */
+    private final Schema schema;
+
+    /** Thread confined validator instances */
+    private final ThreadLocal<Validator> validators;
+
+    /** Time it took to compile the schema in milliseconds */
+    private final long compileTime;
+
+    /** Validation statistics */
+    private final AtomicLong validationCount = new AtomicLong();
+    private final AtomicLong validationTime = new AtomicLong();
+
+    /**
+     * Constructor using compiled schema and compile time.
+     * @param schema
+     * @param compileTime
+     */
+    public CompiledXmlValidator(Schema schema, long compileTime) {
+        this.schema = schema;
+        this.compileTime = compileTime;
+        this.validators = ThreadLocal.withInitial(schema::newValidator);
+    }
+
+    /**
+     * Compiles validator from given list of schemas.
+     * @param schemas
+     * @return
+     */
+    public static CompiledXmlValidator compile(List<XsdSchema> schemas) {
+        List<Resource> resources = new ArrayList<>();
+        for (XsdSchema xsdSchema : schemas) {
+            resources.addAll(getSchemaResources(xsdSchema));
+        }
+
+        return compile(resources.toArray(new Resource[resources.size()]));
+    }
+
+    /**
+     * Compiles validator from given schema resources.
+     * @param schemaResources
+     * @return
+     */
+    public static CompiledXmlValidator compile(Resource[] schemaResources) {
+        long start = System.nanoTime();
+
+        try {
+            Schema schema = SchemaLoaderUtils.loadSchema(schemaResources, XmlValidatorFactory.SCHEMA_W3C_XML);
+            long compileTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Compiled XML schema validator from %s schema resources in %s ms", schemaResources.length, compileTime));
+            }
+
+            return new CompiledXmlValidator(schema, compileTime);
+        } catch (IOException | SAXException e) {
+            throw new CitrusRuntimeException("Failed to compile XML schema validator", e);
+        }
+    }
+
+    /**
+     * Gets schema resources of given schema. Schema collections provide their resources directly all
+     * other schema sources get serialized.
+     * @param xsdSchema
+     * @return
+     */
+    public static List<Resource> getSchemaResources(XsdSchema xsdSchema) {
+        if (xsdSchema instanceof AbstractSchemaCollection) {
+            return ((AbstractSchemaCollection) xsdSchema).getSchemaResources();
+        }
+
+        Source source = xsdSchema.getSource();
+        if (source == null) {
+            throw new CitrusRuntimeException("Missing source for schema " + xsdSchema.getTargetNamespace());
+        }
+
+        synchronized (transformerFactory) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try {
+                transformerFactory.newTransformer().transform(source, new StreamResult(bos));
+            } catch (TransformerException e) {
+                throw new CitrusRuntimeException("Failed to read schema " + xsdSchema.getTargetNamespace(), e);
+            }
+
+            return Collections.<Resource>singletonList(new ByteArrayResource(bos.toByteArray()));
+        }
+    }
+
+    @Override
+    public SAXParseException[] validate(Source source) throws IOException {
+        return validate(source, null);
+    }
+
+    @Override
+    public SAXParseException[] validate(Source source, ValidationErrorHandler errorHandler) throws IOException {
+        if (errorHandler == null) {
+            errorHandler = new CollectingErrorHandler();
+        }
+
+        Validator validator = validators.get();
+        validator.setErrorHandler(errorHandler);
+
+        long start = System.nanoTime();
+        try {
+            validator.validate(source);
+        } catch (SAXException e) {
+            throw new XmlValidationException("Could not validate source: " + e.getMessage(), e);
+        } finally {
+            validator.reset();
+
+            validationCount.incrementAndGet();
+            validationTime.addAndGet(System.nanoTime() - start);
+        }
+
+        return errorHandler.getErrors();
+    }
+
+    /**
+     * Gets the compiled schema.
+     * @return
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Gets the schema compile time in milliseconds.
+     * @return
+     */
+    public long getCompileTime() {
+        return compileTime;
+    }
+
+    /**
+     * Gets the number of validations performed with this validator.
+     * @return
+     */
+    public long getValidationCount() {
+        return validationCount.get();
+    }
+
+    /**
+     * Gets the accumulated validation time in milliseconds.
+     * @return
+     */
+    public long getValidationTime() {
+        return TimeUnit.NANOSECONDS.toMillis(validationTime.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("compile time: %s ms, validations: %s, validation time: %s ms", getCompileTime(), getValidationCount(), getValidationTime());
+    }
+
+    /**
+     * Error handler collects errors and fatal errors, warnings are ignored.
+     */
+    private static class CollectingErrorHandler implements ValidationErrorHandler {
+        private final List<SAXParseException> errors = new ArrayList<>();
+
+        @Override
+        public SAXParseException[] getErrors() {
+            return errors.toArray(new SAXParseException[errors.size()]);
+        }
+
+        @Override
+        public void warning(SAXParseException exception) {
+        }
+
+        @Override
+        public void error(SAXParseException exception) {
+            errors.add(exception);
+        }
+
+        @Override
+        public void fatalError(SAXParseException exception) {
+            errors.add(exception);
+        }
+    }
+}
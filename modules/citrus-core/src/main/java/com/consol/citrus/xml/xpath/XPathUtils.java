@@ -16,6 +16,7 @@
 
 package com.consol.citrus.xml.xpath;
 
+import com.consol.citrus.Citrus;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.springframework.util.StringUtils;
 import org.w3c.dom.Node;
@@ -26,6 +27,9 @@ import javax.xml.namespace.QName;
 import javax.xml.xpath.*;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * XPath utility class providing static utility methods
@@ -47,6 +51,16 @@ public abstract class XPathUtils {
     /** Dynamic namespace prefix */
     private static final String DYNAMIC_NS_PREFIX = "dns";
 
+    /** Pattern finding namespace prefixes used in XPath expression, axis specifiers are skipped */
+    private static final Pattern NAMESPACE_PREFIX_PATTERN = Pattern.compile("(?<![\\w.:-])([A-Za-z_][\\w.-]*):(?!:)");
+
+    /** Compiled expressions are not thread safe so cache is confined to the calling thread */
+    private static volatile ThreadLocal<Map<String, XPathExpression>> expressionCache = newExpressionCache();
+
+    /** Expression cache statistics */
+    private static final AtomicLong cacheHits = new AtomicLong();
+    private static final AtomicLong cacheMisses = new AtomicLong();
+
     static {
         xPathFactory = XPathFactory.newInstance();
     }
@@ -266,6 +280,35 @@ public abstract class XPathUtils {
      */
     private static XPathExpression buildExpression(String xPathExpression, NamespaceContext nsContext)
             throws XPathExpressionException {
+        if (Citrus.XPATH_EXPRESSION_CACHE_SIZE <= 0) {
+            return compileExpression(xPathExpression, nsContext);
+        }
+
+        Map<String, XPathExpression> cache = expressionCache.get();
+        String cacheKey = getCacheKey(xPathExpression, nsContext);
+
+        XPathExpression expression = cache.get(cacheKey);
+        if (expression != null) {
+            cacheHits.incrementAndGet();
+            return expression;
+        }
+
+        cacheMisses.incrementAndGet();
+        expression = compileExpression(xPathExpression, nsContext);
+        cache.put(cacheKey, expression);
+
+        return expression;
+    }
+
+    /**
+     * Compiles new xPath expression instance with given expression string and namespace context.
+     * @param xPathExpression
+     * @param nsContext
+     * @return
+     * @throws XPathExpressionException
+     */
+    private static XPathExpression compileExpression(String xPathExpression, NamespaceContext nsContext)
+            throws XPathExpressionException {
         XPath xpath = xPathFactory.newXPath();
         
         if (nsContext != null) {
@@ -275,6 +318,67 @@ public abstract class XPathUtils {
         return xpath.compile(xPathExpression);
     }
 
+    /**
+     * Builds cache key for expression. Namespace prefixes get resolved at compile time so key holds
+     * the namespace bindings of all prefixes used in the expression. This way expressions compiled with
+     * different namespace context instances holding the same bindings share the cache entry.
+     * @param xPathExpression
+     * @param nsContext
+     * @return
+     */
+    private static String getCacheKey(String xPathExpression, NamespaceContext nsContext) {
+        if (nsContext == null) {
+            return xPathExpression;
+        }
+
+        StringBuilder key = new StringBuilder(xPathExpression);
+        Matcher matcher = NAMESPACE_PREFIX_PATTERN.matcher(xPathExpression);
+        while (matcher.find()) {
+            String prefix = matcher.group(1);
+            key.append('\n').append(prefix).append('=').append(nsContext.getNamespaceURI(prefix));
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Gets number of compiled expressions served from cache.
+     * @return
+     */
+    public static long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Gets number of expressions that had to be compiled because of cache miss.
+     * @return
+     */
+    public static long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Clears compiled expressions for all threads and resets cache statistics.
+     */
+    public static void clearCache() {
+        expressionCache = newExpressionCache();
+        cacheHits.set(0L);
+        cacheMisses.set(0L);
+    }
+
+    /**
+     * Creates new thread local expression cache with least recently used eviction.
+     * @return
+     */
+    private static ThreadLocal<Map<String, XPathExpression>> newExpressionCache() {
+        return ThreadLocal.withInitial(() -> new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > Citrus.XPATH_EXPRESSION_CACHE_SIZE;
+            }
+        });
+    }
+
     /**
      * Method to find out whether an expression is of XPath nature or custom dot notation syntax.
      * @param expression the expression string to check.
@@ -18,13 +18,23 @@ package com.consol.citrus.actions;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.NestedTransactionNotSupportedException;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import javax.sql.DataSource;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,6 +48,7 @@ public class ExecuteSQLActionTest extends AbstractTestNGUnitTest {
 
     private static final String DB_STMT_1 = "DELETE * FROM ERRORS WHERE STATUS='resolved'";
     private static final String DB_STMT_2 = "DELETE * FROM CONFIGURATION WHERE VERSION=1";
+    private static final String DB_STMT_3 = "DELETE * FROM ERRORS WHERE STATUS='open'";
 
     private ExecuteSQLAction executeSQLAction;
     
@@ -166,4 +177,210 @@ public class ExecuteSQLActionTest extends AbstractTestNGUnitTest {
         executeSQLAction.execute(context);
         verify(jdbcTemplate).execute(DB_STMT_1);
     }
+
+    @Test
+    public void testSQLBatchExecution() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1 + ";");
+        stmts.add(DB_STMT_2);
+        stmts.add(DB_STMT_3);
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(2);
+
+        reset(jdbcTemplate);
+
+        executeSQLAction.execute(context);
+
+        verify(jdbcTemplate).batchUpdate(DB_STMT_1, DB_STMT_2);
+        verify(jdbcTemplate).batchUpdate(DB_STMT_3);
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSQLBatchExecutionWithBindVariables() {
+        context.setVariable("firstStatus", "resolved");
+        context.setVariable("secondStatus", "open");
+        context.setVariable("version", "1");
+
+        List<String> stmts = new ArrayList<>();
+        stmts.add("DELETE * FROM ERRORS WHERE STATUS='${firstStatus}'");
+        stmts.add("DELETE * FROM ERRORS WHERE STATUS='${secondStatus}'");
+        stmts.add("DELETE * FROM CONFIGURATION WHERE VERSION=${version}");
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(100);
+        executeSQLAction.setBindVariables(true);
+
+        reset(jdbcTemplate);
+
+        executeSQLAction.execute(context);
+
+        ArgumentCaptor<List> batchArgs = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("DELETE * FROM ERRORS WHERE STATUS=?"), batchArgs.capture());
+        verify(jdbcTemplate).batchUpdate(DB_STMT_2);
+
+        List<Object[]> args = batchArgs.getValue();
+        Assert.assertEquals(args.size(), 2);
+        Assert.assertEquals(args.get(0), new Object[] { "resolved" });
+        Assert.assertEquals(args.get(1), new Object[] { "open" });
+    }
+
+    @Test
+    public void testSQLBatchExecutionWithoutBindVariables() {
+        context.setVariable("firstStatus", "resolved");
+        context.setVariable("secondStatus", "open");
+
+        List<String> stmts = new ArrayList<>();
+        stmts.add("DELETE * FROM ERRORS WHERE STATUS='${firstStatus}'");
+        stmts.add("DELETE * FROM ERRORS WHERE STATUS='${secondStatus}'");
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(100);
+
+        reset(jdbcTemplate);
+
+        executeSQLAction.execute(context);
+
+        verify(jdbcTemplate).batchUpdate(DB_STMT_1, DB_STMT_3);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    public void testSQLBatchExecutionIgnoreErrors() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1);
+        stmts.add(DB_STMT_2);
+        stmts.add(DB_STMT_3);
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(100);
+        executeSQLAction.setIgnoreErrors(true);
+        executeSQLAction.setTransactionManager(transactionManager);
+
+        reset(jdbcTemplate, transactionManager);
+
+        doThrow(new UncategorizedSQLException("batch", DB_STMT_2, new BatchUpdateException(new int[] { 1 })))
+                .when(jdbcTemplate).batchUpdate(DB_STMT_1, DB_STMT_2, DB_STMT_3);
+        doThrow(new UncategorizedSQLException("statement", DB_STMT_2, new SQLException("failed")))
+                .when(jdbcTemplate).execute(DB_STMT_2);
+
+        executeSQLAction.execute(context);
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(5)).getTransaction(definitions.capture());
+        for (TransactionDefinition definition : definitions.getAllValues().subList(1, 5)) {
+            Assert.assertEquals(definition.getPropagationBehavior(), TransactionDefinition.PROPAGATION_NESTED);
+        }
+
+        verify(transactionManager, times(2)).rollback(any());
+        verify(jdbcTemplate).execute(DB_STMT_1);
+        verify(jdbcTemplate).execute(DB_STMT_2);
+        verify(jdbcTemplate).execute(DB_STMT_3);
+    }
+
+    @Test
+    public void testSQLBatchExecutionIgnoreErrorsWithoutTransaction() throws SQLException {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1);
+        stmts.add(DB_STMT_2);
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(100);
+        executeSQLAction.setIgnoreErrors(true);
+
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Connection connection = Mockito.mock(Connection.class);
+
+        reset(jdbcTemplate);
+
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        doThrow(new UncategorizedSQLException("batch", DB_STMT_2, new BatchUpdateException()))
+                .when(jdbcTemplate).batchUpdate(DB_STMT_1, DB_STMT_2);
+
+        executeSQLAction.execute(context);
+
+        verify(connection).rollback();
+        verify(connection, times(2)).commit();
+        verify(jdbcTemplate).execute(DB_STMT_1);
+        verify(jdbcTemplate).execute(DB_STMT_2);
+    }
+
+    @Test
+    public void testSQLBatchExecutionIgnoreErrorsNestedTransactionNotAllowed() throws SQLException {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1);
+        stmts.add(DB_STMT_2);
+        stmts.add(DB_STMT_3);
+
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Connection connection = Mockito.mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        DataSourceTransactionManager nonNestingTransactionManager = new DataSourceTransactionManager(dataSource);
+        nonNestingTransactionManager.setNestedTransactionAllowed(false);
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(100);
+        executeSQLAction.setIgnoreErrors(true);
+        executeSQLAction.setTransactionManager(nonNestingTransactionManager);
+
+        reset(jdbcTemplate);
+
+        doThrow(new UncategorizedSQLException("statement", DB_STMT_2, new SQLException("failed")))
+                .when(jdbcTemplate).execute(DB_STMT_2);
+
+        executeSQLAction.execute(context);
+
+        verify(jdbcTemplate, never()).batchUpdate(any(String[].class));
+        verify(jdbcTemplate).execute(DB_STMT_1);
+        verify(jdbcTemplate).execute(DB_STMT_2);
+        verify(jdbcTemplate).execute(DB_STMT_3);
+        verify(connection, never()).setSavepoint(anyString());
+        verify(connection).commit();
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Failed to execute SQL batch in nested transaction")
+    public void testSQLBatchExecutionIgnoreErrorsNestedTransactionNotSupported() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1);
+        stmts.add(DB_STMT_2);
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(100);
+        executeSQLAction.setIgnoreErrors(true);
+        executeSQLAction.setTransactionManager(transactionManager);
+
+        reset(jdbcTemplate, transactionManager);
+
+        when(transactionManager.getTransaction(argThat(definition -> definition != null &&
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_NESTED)))
+                .thenThrow(new NestedTransactionNotSupportedException("nested transactions not supported"));
+
+        try {
+            executeSQLAction.execute(context);
+        } finally {
+            verify(jdbcTemplate, never()).batchUpdate(any(String[].class));
+            verify(jdbcTemplate, never()).execute(anyString());
+        }
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testSQLBatchExecutionErrorForwarding() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1);
+        stmts.add(DB_STMT_2);
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(100);
+
+        reset(jdbcTemplate);
+
+        doThrow(new UncategorizedSQLException("batch", DB_STMT_2, new BatchUpdateException(new int[] { 1 })))
+                .when(jdbcTemplate).batchUpdate(DB_STMT_1, DB_STMT_2);
+
+        executeSQLAction.execute(context);
+    }
 }
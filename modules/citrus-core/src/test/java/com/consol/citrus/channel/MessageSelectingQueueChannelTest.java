@@ -16,6 +16,7 @@
 
 package com.consol.citrus.channel;
 
+import com.consol.citrus.channel.selector.DispatchingMessageSelector;
 import com.consol.citrus.channel.selector.HeaderMatchingMessageSelector;
 import org.springframework.messaging.Message;
 import org.springframework.integration.core.MessageSelector;
@@ -23,6 +24,7 @@ import org.springframework.integration.support.MessageBuilder;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
@@ -123,4 +125,68 @@ public class MessageSelectingQueueChannelTest {
         Assert.assertNull(receivedMessage);
         Assert.assertEquals(retries.get(), 4L);
     }
+
+    @Test
+    public void testReceiveSignaledOnSend() throws InterruptedException {
+        final MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+        channel.setPollingInterval(5000L);
+
+        Thread sender = new Thread(() -> {
+            try {
+                Thread.sleep(200L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build());
+        });
+        sender.start();
+
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("foo", "bar");
+
+        long start = System.currentTimeMillis();
+        Message<?> receivedMessage = channel.receive(new HeaderMatchingMessageSelector(headers), 10000L);
+        sender.join();
+
+        Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+    }
+
+    @Test
+    public void testReceiveIndexed() {
+        MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+        channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build());
+        channel.setIndexedHeaders(Collections.singletonList("foo"));
+
+        channel.send(MessageBuilder.withPayload("OtherMessage").setHeader("foo", "other").build());
+        channel.send(MessageBuilder.withPayload("BarMessage").setHeader("foo", "bar").build());
+
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("foo", "bar");
+        MessageSelector selector = new HeaderMatchingMessageSelector(headers);
+
+        Assert.assertEquals(channel.receive(selector).getPayload(), "FooMessage");
+        Assert.assertEquals(channel.receive(selector).getPayload(), "BarMessage");
+        Assert.assertNull(channel.receive(selector));
+
+        Assert.assertEquals(channel.receive(new DispatchingMessageSelector("foo = 'other'", null)).getPayload(), "OtherMessage");
+        Assert.assertEquals(channel.getQueueSize(), 0);
+    }
+
+    @Test
+    public void testReceiveIndexedAfterUnselectiveReceive() {
+        MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+        channel.setIndexedHeaders(Collections.singletonList("foo"));
+
+        channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build());
+        channel.send(MessageBuilder.withPayload("BarMessage").setHeader("foo", "bar").build());
+
+        Assert.assertEquals(channel.receive(0L).getPayload(), "FooMessage");
+
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("foo", "bar");
+
+        Assert.assertEquals(channel.receive(new HeaderMatchingMessageSelector(headers), 100L).getPayload(), "BarMessage");
+    }
 }
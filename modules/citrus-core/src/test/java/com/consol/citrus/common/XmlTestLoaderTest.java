@@ -0,0 +1,126 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.common;
+
+import com.consol.citrus.TestCase;
+import com.consol.citrus.actions.EchoAction;
+import com.consol.citrus.actions.ReceiveMessageAction;
+import com.consol.citrus.actions.SendMessageAction;
+import com.consol.citrus.container.Sequence;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.validation.builder.AbstractMessageContentBuilder;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class XmlTestLoaderTest extends AbstractTestNGUnitTest {
+
+    private static final String PACKAGE_NAME = "com.consol.citrus.common";
+
+    @BeforeMethod
+    public void clearCache() {
+        XmlTestDefinitionCache.clear();
+    }
+
+    @Test
+    public void testLoad() {
+        XmlTestLoader testLoader = createXmlTestLoader(false);
+
+        TestCase testCase = testLoader.load();
+        verifyTestCase(testCase);
+        Assert.assertEquals(XmlTestDefinitionCache.getSize(), 0);
+    }
+
+    @Test
+    public void testLoadCachedDefinition() {
+        TestCase testCase = createXmlTestLoader(true).load();
+        verifyTestCase(testCase);
+
+        TestCase nextTestCase = createXmlTestLoader(true).load();
+        verifyTestCase(nextTestCase);
+
+        Assert.assertEquals(XmlTestDefinitionCache.getSize(), 1);
+        Assert.assertEquals(XmlTestDefinitionCache.getParseCount(), 1);
+
+        Assert.assertNotSame(testCase, nextTestCase);
+        Assert.assertNotSame(testCase.getActions().get(0), nextTestCase.getActions().get(0));
+        Assert.assertNotSame(testCase.getVariableDefinitions(), nextTestCase.getVariableDefinitions());
+    }
+
+    @Test
+    public void testLoadCachedDefinitionNotSharingMessageObjects() {
+        TestCase testCase = createXmlTestLoader("SampleMessageXmlTest", true).load();
+        TestCase nextTestCase = createXmlTestLoader("SampleMessageXmlTest", true).load();
+
+        Assert.assertEquals(XmlTestDefinitionCache.getParseCount(), 1);
+
+        SendMessageAction send = (SendMessageAction) testCase.getActions().get(0);
+        SendMessageAction nextSend = (SendMessageAction) nextTestCase.getActions().get(0);
+        Assert.assertNotSame(send.getMessageBuilder(), nextSend.getMessageBuilder());
+        Assert.assertNotSame(((AbstractMessageContentBuilder) send.getMessageBuilder()).getMessageHeaders(),
+                ((AbstractMessageContentBuilder) nextSend.getMessageBuilder()).getMessageHeaders());
+
+        ReceiveMessageAction receive = (ReceiveMessageAction) testCase.getActions().get(1);
+        ReceiveMessageAction nextReceive = (ReceiveMessageAction) nextTestCase.getActions().get(1);
+        Assert.assertNotSame(receive.getMessageBuilder(), nextReceive.getMessageBuilder());
+        Assert.assertFalse(receive.getValidationContexts().isEmpty());
+        for (int i = 0; i < receive.getValidationContexts().size(); i++) {
+            Assert.assertNotSame(receive.getValidationContexts().get(i), nextReceive.getValidationContexts().get(i));
+        }
+        Assert.assertFalse(receive.getVariableExtractors().isEmpty());
+        Assert.assertNotSame(receive.getVariableExtractors().get(0), nextReceive.getVariableExtractors().get(0));
+    }
+
+    @Test
+    public void testPreload() {
+        XmlTestLoader.preload(Arrays.asList(createXmlTestLoader(true), createXmlTestLoader(true), createXmlTestLoader(false)));
+
+        Assert.assertEquals(XmlTestDefinitionCache.getSize(), 1);
+        Assert.assertEquals(XmlTestDefinitionCache.getParseCount(), 1);
+        Assert.assertTrue(XmlTestDefinitionCache.getAverageParseTime() > 0.0D);
+
+        verifyTestCase(createXmlTestLoader(true).load());
+        Assert.assertEquals(XmlTestDefinitionCache.getParseCount(), 1);
+    }
+
+    private XmlTestLoader createXmlTestLoader(boolean useDefinitionCache) {
+        return createXmlTestLoader("SampleXmlTest", useDefinitionCache);
+    }
+
+    private XmlTestLoader createXmlTestLoader(String testName, boolean useDefinitionCache) {
+        XmlTestLoader testLoader = new XmlTestLoader(getClass(), testName, PACKAGE_NAME, applicationContext);
+        testLoader.setUseDefinitionCache(useDefinitionCache);
+        return testLoader;
+    }
+
+    private void verifyTestCase(TestCase testCase) {
+        Assert.assertEquals(testCase.getName(), "SampleXmlTest");
+        Assert.assertEquals(testCase.getPackageName(), PACKAGE_NAME);
+        Assert.assertEquals(testCase.getTestClass(), getClass());
+        Assert.assertEquals(testCase.getVariableDefinitions().get("text"), "Hello Citrus!");
+        Assert.assertEquals(testCase.getActionCount(), 2L);
+        Assert.assertEquals(testCase.getActions().get(0).getClass(), EchoAction.class);
+        Assert.assertEquals(testCase.getActions().get(1).getClass(), Sequence.class);
+        Assert.assertEquals(((Sequence) testCase.getActions().get(1)).getActionCount(), 1L);
+    }
+}
@@ -32,7 +32,7 @@ public class MessageSelectingQueueChannelParserTest extends AbstractBeanDefiniti
     public void testMessageSelectingQueueChannelParser() {
         Map<String, MessageSelectingQueueChannel> channels = beanDefinitionContext.getBeansOfType(MessageSelectingQueueChannel.class);
         
-        Assert.assertEquals(channels.size(), 6);
+        Assert.assertEquals(channels.size(), 7);
         
         // 1st channel
         Assert.assertTrue(channels.containsKey("channel1"));
@@ -55,5 +55,11 @@ public class MessageSelectingQueueChannelParserTest extends AbstractBeanDefiniti
         // 6th chanel with polling interval
         channel = channels.get("channel6");
         Assert.assertEquals(channel.getPollingInterval(), 550);
+
+        // 7th channel with header indexes
+        channel = channels.get("channel7");
+        Assert.assertEquals(channel.getIndexedHeaders().size(), 2);
+        Assert.assertTrue(channel.getIndexedHeaders().contains("operation"));
+        Assert.assertTrue(channel.getIndexedHeaders().contains("correlationId"));
     }
 }
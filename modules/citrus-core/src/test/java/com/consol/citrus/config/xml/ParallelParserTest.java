@@ -23,6 +23,8 @@ import com.consol.citrus.actions.EchoAction;
 import com.consol.citrus.container.Parallel;
 import com.consol.citrus.testng.AbstractActionParserTest;
 
+import java.util.Arrays;
+
 /**
  * @author Christoph Deppisch
  */
@@ -30,7 +32,7 @@ public class ParallelParserTest extends AbstractActionParserTest<Parallel> {
 
     @Test
     public void testActionParser() {
-        assertActionCount(2);
+        assertActionCount(3);
         assertActionClassAndName(Parallel.class, "parallel");
         
         Parallel action = getNextTestActionFromTest();
@@ -44,5 +46,18 @@ public class ParallelParserTest extends AbstractActionParserTest<Parallel> {
         Assert.assertEquals(((Parallel)action.getActions().get(0)).getActionCount(), 2);
         Assert.assertEquals(action.getActions().get(1).getClass(), EchoAction.class);
         Assert.assertEquals(action.getActions().get(2).getClass(), EchoAction.class);
+        Assert.assertEquals(action.getMaxConcurrency(), 0);
+        Assert.assertFalse(action.isFailFast());
+        Assert.assertNull(action.getExecutorService());
+        Assert.assertFalse(action.isForkContext());
+        Assert.assertTrue(action.getOutputVariables().isEmpty());
+
+        action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getActionCount(), 2);
+        Assert.assertEquals(action.getMaxConcurrency(), 2);
+        Assert.assertTrue(action.isFailFast());
+        Assert.assertEquals(action.getExecutorService(), beanDefinitionContext.getBean("parallelExecutor"));
+        Assert.assertTrue(action.isForkContext());
+        Assert.assertEquals(action.getOutputVariables(), Arrays.asList("orderId", "customerId"));
     }
 }
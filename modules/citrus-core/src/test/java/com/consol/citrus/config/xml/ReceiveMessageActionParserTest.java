@@ -208,6 +208,8 @@ public class ReceiveMessageActionParserTest extends AbstractActionParserTest<Rec
         Assert.assertEquals(messageConstructionInterceptor.getXPathExpressions().get("/ns:TestMessage/"), "newValue");
         
         Assert.assertEquals(xmlValidationContext.isSchemaValidationEnabled(), false);
+        Assert.assertEquals(xmlValidationContext.isStreamingValidation(), true);
+        Assert.assertEquals(((JsonMessageValidationContext) action.getValidationContexts().get(2)).isStreamingValidation(), true);
         
         Assert.assertEquals(xmlValidationContext.getIgnoreExpressions().size(), 1);
         Assert.assertEquals(xmlValidationContext.getIgnoreExpressions().iterator().next(), "/ns:TestMessage/ns:ignore");
@@ -227,6 +229,8 @@ public class ReceiveMessageActionParserTest extends AbstractActionParserTest<Rec
         Assert.assertEquals(action.getEndpointUri(), "channel:myMessageEndpoint");
 
         Assert.assertEquals(xmlValidationContext.isSchemaValidationEnabled(), true);
+        Assert.assertEquals(xmlValidationContext.isStreamingValidation(), false);
+        Assert.assertEquals(((JsonMessageValidationContext) action.getValidationContexts().get(3)).isStreamingValidation(), false);
 
         Assert.assertEquals(xPathValidationContext.getXpathExpressions().size(), 2);
         Assert.assertEquals(xPathValidationContext.getXpathExpressions().get("/TestMessage/text"), "Hello Citrus");
@@ -245,6 +249,7 @@ public class ReceiveMessageActionParserTest extends AbstractActionParserTest<Rec
         Assert.assertEquals(action.getEndpointUri(), "channel:myMessageEndpoint");
 
         Assert.assertEquals(xmlValidationContext.isSchemaValidationEnabled(), true);
+        Assert.assertEquals(xmlValidationContext.isStreamingValidation(), false);
 
         Assert.assertEquals(xPathValidationContext.getXpathExpressions().size(), 2);
         Assert.assertEquals(xPathValidationContext.getXpathExpressions().get("/TestMessage/text"), "Hello Citrus");
@@ -40,10 +40,12 @@ public class StaticResponseEndpointAdapterParserTest extends AbstractBeanDefinit
         StaticResponseEndpointAdapter adapter = adapters.get("endpointAdapter1");
         Assert.assertEquals(StringUtils.trimAllWhitespace(adapter.getMessagePayload()), "<TestMessage><Text>Hello!</Text></TestMessage>");
         Assert.assertEquals(adapter.getMessageHeader().get("Operation"), "sayHello");
+        Assert.assertFalse(adapter.isMessagePayloadResourceReload());
 
         adapter = adapters.get("endpointAdapter2");
         Assert.assertEquals(adapter.getMessagePayload(), "");
         Assert.assertEquals(adapter.getMessagePayloadResource(), "classpath:coms/consol/citrus/response-data.xml");
+        Assert.assertTrue(adapter.isMessagePayloadResourceReload());
         Assert.assertEquals(adapter.getMessageHeader().get("Operation"), "sayHello");
     }
 }
@@ -18,13 +18,24 @@ package com.consol.citrus.container;
 
 import com.consol.citrus.TestAction;
 import com.consol.citrus.actions.*;
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.report.TestActionListener;
+import com.consol.citrus.report.TestActionListeners;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.mockito.Mockito;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.Mockito.*;
 
@@ -146,4 +157,230 @@ public class ParallelTest extends AbstractTestNGUnitTest {
 
         verify(action).execute(context);
     }
+
+    @Test
+    public void testMaxConcurrency() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setMaxConcurrency(2);
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        for (int i = 0; i < 6; i++) {
+            actionList.add(new AbstractTestAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    int current = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(current, Math::max);
+
+                    try {
+                        Thread.sleep(50L);
+                    } catch (InterruptedException e) {
+                        throw new CitrusRuntimeException(e);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }
+            });
+        }
+
+        parallelAction.setActions(actionList);
+        parallelAction.execute(context);
+
+        Assert.assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testFailFast() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setFailFast(true);
+
+        SleepAction sleep = new SleepAction();
+        sleep.setMilliseconds("10000");
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(sleep);
+        actionList.add(new FailAction());
+
+        parallelAction.setActions(actionList);
+
+        long start = System.currentTimeMillis();
+        try {
+            parallelAction.execute(context);
+            Assert.fail("Missing exception due to failing action");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(e.getMessage(), "Generated error to interrupt test execution");
+        }
+
+        Assert.assertTrue(System.currentTimeMillis() - start < 10000L);
+    }
+
+    @Test
+    public void testParallelActionListener() {
+        Parallel parallelAction = new Parallel();
+
+        TestActionListener listener = Mockito.mock(TestActionListener.class);
+        context.setTestActionListeners(new TestActionListeners());
+        context.getTestActionListeners().addTestActionListener(listener);
+
+        EchoAction echo = new EchoAction();
+        SleepAction sleep = new SleepAction();
+        sleep.setMilliseconds("100");
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(echo);
+        actionList.add(sleep);
+
+        parallelAction.setActions(actionList);
+        parallelAction.execute(context);
+
+        verify(listener).onParallelActionFinish(eq(parallelAction), eq(echo), anyLong());
+        verify(listener).onParallelActionFinish(eq(parallelAction), eq(sleep), longThat(duration -> duration >= 100L));
+    }
+
+    @Test
+    public void testCustomExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Parallel parallelAction = new Parallel();
+            parallelAction.setExecutorService(executor);
+
+            reset(action);
+
+            List<TestAction> actionList = new ArrayList<TestAction>();
+            actionList.add(new EchoAction());
+            actionList.add(action);
+
+            parallelAction.setActions(actionList);
+            parallelAction.execute(context);
+
+            verify(action).execute(context);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeOut = 10000L)
+    public void testNestedParallelOnSaturatedExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+
+        try {
+            List<TestAction> nestedContainers = new ArrayList<TestAction>();
+            for (int i = 0; i < 3; i++) {
+                Parallel nested = new Parallel();
+                nested.setExecutorService(executor);
+
+                List<TestAction> nestedActions = new ArrayList<TestAction>();
+                for (int j = 0; j < 3; j++) {
+                    SleepAction sleep = new SleepAction();
+                    sleep.setMilliseconds("50");
+                    nestedActions.add(sleep);
+                }
+                nested.setActions(nestedActions);
+
+                nestedContainers.add(nested);
+            }
+
+            Parallel parallelAction = new Parallel();
+            parallelAction.setExecutorService(executor);
+            parallelAction.setActions(nestedContainers);
+
+            parallelAction.execute(context);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeOut = 20000L)
+    public void testInterdependentActionsOnDefaultExecutor() {
+        final int branches = 150;
+        final CountDownLatch latch = new CountDownLatch(branches);
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        for (int i = 0; i < branches; i++) {
+            actionList.add(new AbstractTestAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    latch.countDown();
+                    try {
+                        if (!latch.await(10L, TimeUnit.SECONDS)) {
+                            throw new CitrusRuntimeException("Sibling actions not running at the same time");
+                        }
+                    } catch (InterruptedException e) {
+                        throw new CitrusRuntimeException(e);
+                    }
+                }
+            });
+        }
+
+        Parallel parallelAction = new Parallel();
+        parallelAction.setActions(actionList);
+        parallelAction.execute(context);
+    }
+
+    @Test
+    public void testForkContext() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setForkContext(true);
+        parallelAction.setOutputVariables(Collections.singletonList("orderId"));
+
+        context.setVariable("correlationKey", "parent");
+        context.setVariable("orderId", "0");
+
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        for (int i = 1; i <= 2; i++) {
+            final String id = String.valueOf(i);
+            actionList.add(new AbstractTestAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    Assert.assertEquals(context.getVariable("correlationKey"), "parent");
+
+                    context.setVariable("correlationKey", "branch" + id);
+                    context.setVariable("orderId", id);
+                    context.getMessageStore().storeMessage("message" + id, new DefaultMessage("Hello " + id));
+
+                    latch.countDown();
+                    try {
+                        latch.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new CitrusRuntimeException(e);
+                    }
+
+                    Assert.assertEquals(context.getVariable("correlationKey"), "branch" + id);
+                    Assert.assertNull(context.getMessageStore().getMessage("message" + (3 - Integer.valueOf(id))));
+                }
+            });
+        }
+
+        parallelAction.setActions(actionList);
+        parallelAction.execute(context);
+
+        Assert.assertEquals(context.getVariable("correlationKey"), "parent");
+        Assert.assertEquals(context.getVariable("orderId"), "2");
+        Assert.assertEquals(context.getMessageStore().getMessage("message1").getPayload(String.class), "Hello 1");
+        Assert.assertEquals(context.getMessageStore().getMessage("message2").getPayload(String.class), "Hello 2");
+    }
+
+    @Test
+    public void testForkContextException() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setForkContext(true);
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(new EchoAction());
+        actionList.add(new FailAction());
+
+        parallelAction.setActions(actionList);
+
+        try {
+            parallelAction.execute(context);
+            Assert.fail("Missing exception due to failing action");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(e.getMessage(), "Generated error to interrupt test execution");
+        }
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import com.consol.citrus.Citrus;
+import com.consol.citrus.exceptions.*;
+import com.consol.citrus.functions.*;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.variable.VariableUtils;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import java.util.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class DynamicContentTemplateTest extends AbstractTestNGUnitTest {
+
+    @BeforeMethod
+    public void setupVariables() {
+        context.setVariable("greeting", "Hello");
+        context.setVariable("text", "TestFramework!");
+        context.setVariable("dateFormat", "yyyy-MM-dd");
+        context.setVariable("withComma", "Yes, I like Citrus");
+        context.setVariable("function", "citrus:upperCase('hello')");
+        context.setVariable("parenthesis", "(bracket)");
+    }
+
+    @DataProvider
+    public Object[][] expressions() {
+        return new Object[][] {
+            new Object[] {"Hello TestFramework!"},
+            new Object[] {"${greeting} ${text}"},
+            new Object[] {"<Message>${greeting}</Message>"},
+            new Object[] {"citrus:concat('Hello', ' ', ${text})"},
+            new Object[] {"<Message>citrus:concat(${greeting}, ' ', ${text})</Message>"},
+            new Object[] {"Now is: citrus:currentDate(${dateFormat})"},
+            new Object[] {"citrus:concat(citrus:upperCase(${greeting}), ' ', citrus:concat('Test', 'Framework!'))"},
+            new Object[] {"citrus:upperCase(${withComma})"},
+            new Object[] {"citrus:concat('citrus:citrus')"},
+            new Object[] {"Text with citrus: prefix only"},
+            new Object[] {"Variable holding function ${function}"},
+            new Object[] {"citrus:concat(${parenthesis}, 'text')"},
+            new Object[] {"citrus:concat('a', citrus:concat('b', 'c'), 'd') and citrus:upperCase('e')"}
+        };
+    }
+
+    @Test(dataProvider = "expressions")
+    public void testSameResultAsVariableAndFunctionUtils(String expression) {
+        String expected = FunctionUtils.replaceFunctionsInString(VariableUtils.replaceVariablesInString(expression, context, false), context, false);
+        String expectedQuoted = FunctionUtils.replaceFunctionsInString(VariableUtils.replaceVariablesInString(expression, context, true), context, true);
+
+        Assert.assertEquals(context.replaceDynamicContentInString(expression), expected);
+        Assert.assertEquals(context.replaceDynamicContentInString(expression, true), expectedQuoted);
+
+        // second run uses cached template
+        Assert.assertEquals(context.replaceDynamicContentInString(expression), expected);
+    }
+
+    @Test
+    public void testCompile() {
+        DynamicContentTemplate template = DynamicContentTemplate.compile("citrus:concat(${greeting}, ' ', ${text})",
+                context.getFunctionRegistry().getFunctionLibraries());
+
+        Assert.assertTrue(template.hasFunctions());
+        Assert.assertEquals(template.getVariableNames(), Arrays.asList("greeting", "text"));
+        Assert.assertEquals(template.evaluate(context, false), "Hello TestFramework!");
+
+        context.setVariable("greeting", "Hi");
+        Assert.assertEquals(template.evaluate(context, false), "Hi TestFramework!");
+    }
+
+    @Test
+    public void testStaticContent() {
+        String text = "Hello TestFramework!";
+        Assert.assertSame(context.replaceDynamicContentInString(text), text);
+
+        DynamicContentTemplate template = DynamicContentTemplate.compile(text, context.getFunctionRegistry().getFunctionLibraries());
+        Assert.assertFalse(template.hasFunctions());
+        Assert.assertTrue(template.getVariableNames().isEmpty());
+        Assert.assertSame(template.evaluate(context, false), text);
+    }
+
+    @Test
+    public void testTemplateCache() {
+        DynamicContentTemplate.clearCache();
+
+        context.replaceDynamicContentInString("${greeting} ${text}");
+        context.replaceDynamicContentInString("${greeting} ${text}");
+        Assert.assertEquals(DynamicContentTemplate.getCacheSize(), 1);
+
+        context.replaceDynamicContentInString("No dynamic content");
+        Assert.assertEquals(DynamicContentTemplate.getCacheSize(), 1);
+
+        TestContext otherContext = createTestContext();
+        otherContext.setVariable("greeting", "Hi");
+        otherContext.setVariable("text", "Citrus!");
+        Assert.assertEquals(otherContext.replaceDynamicContentInString("${greeting} ${text}"), "Hi Citrus!");
+        Assert.assertEquals(DynamicContentTemplate.getCacheSize(), 1);
+    }
+
+    @Test
+    public void testTemplateCacheEvictsOldestEntries() {
+        DynamicContentTemplate.clearCache();
+
+        context.replaceDynamicContentInString("${greeting}");
+        for (int i = 0; i < Citrus.DYNAMIC_CONTENT_CACHE_SIZE + 10; i++) {
+            context.replaceDynamicContentInString("${greeting} " + i);
+        }
+
+        Assert.assertEquals(DynamicContentTemplate.getCacheSize(), Citrus.DYNAMIC_CONTENT_CACHE_SIZE);
+    }
+
+    @Test
+    public void testResolveWithoutFunctionRegistry() {
+        TestContext noFunctionsContext = createTestContext();
+        noFunctionsContext.setFunctionRegistry(null);
+        noFunctionsContext.setVariable("x", "1");
+
+        Assert.assertEquals(noFunctionsContext.replaceDynamicContentInString("plain ${x}"), "plain 1");
+        Assert.assertEquals(noFunctionsContext.replaceDynamicContentInString("citrus:upperCase(${x})"), "citrus:upperCase(1)");
+        Assert.assertEquals(noFunctionsContext.replaceDynamicContentInString("no dynamic content"), "no dynamic content");
+    }
+
+    @DataProvider
+    public Object[][] multipleLibraryExpressions() {
+        return new Object[][] {
+            new Object[] {"citrus:concat('a', custom:echo('x,y'))", "axy", "'ax,y'"},
+            new Object[] {"custom:echo(citrus:concat('x', 'y'))", "xy", "'xy'"},
+            new Object[] {"custom:function() and citrus:upperCase(${greeting})", "X and HELLO", "''X'' and 'HELLO'"},
+            new Object[] {"Function result custom:function()", "Function result X", "Function result ''X''"}
+        };
+    }
+
+    @Test(dataProvider = "multipleLibraryExpressions")
+    public void testMultipleFunctionLibraries(String expression, String result, String quotedResult) {
+        FunctionLibrary customLibrary = new FunctionLibrary();
+        customLibrary.setName("custom");
+        customLibrary.setPrefix("custom:");
+
+        Map<String, Function> functions = new HashMap<>();
+        functions.put("echo", (parameters, testContext) -> parameters.get(0));
+        functions.put("function", (parameters, testContext) -> "citrus:upperCase('x')");
+        customLibrary.setMembers(functions);
+
+        FunctionRegistry functionRegistry = new FunctionRegistry();
+        List<FunctionLibrary> libraries = new ArrayList<>();
+        libraries.add(customLibrary);
+        libraries.addAll(context.getFunctionRegistry().getFunctionLibraries());
+        functionRegistry.setFunctionLibraries(libraries);
+
+        TestContext testContext = createTestContext();
+        testContext.setFunctionRegistry(functionRegistry);
+        testContext.setVariable("greeting", "Hello");
+
+        String expected = FunctionUtils.replaceFunctionsInString(VariableUtils.replaceVariablesInString(expression, testContext, false), testContext, false);
+        String expectedQuoted = FunctionUtils.replaceFunctionsInString(VariableUtils.replaceVariablesInString(expression, testContext, true), testContext, true);
+
+        Assert.assertEquals(expected, result);
+        Assert.assertEquals(expectedQuoted, quotedResult);
+        Assert.assertEquals(testContext.replaceDynamicContentInString(expression), expected);
+        Assert.assertEquals(testContext.replaceDynamicContentInString(expression, true), expectedQuoted);
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testUnknownVariable() {
+        context.replaceDynamicContentInString("citrus:concat(${unknown}, 'text')");
+    }
+
+    @Test(expectedExceptions = NoSuchFunctionException.class)
+    public void testUnknownFunction() {
+        context.replaceDynamicContentInString("citrus:unknown(${greeting})");
+    }
+
+    @Test(expectedExceptions = NoSuchFunctionException.class)
+    public void testVariableValueCompletesFunction() {
+        context.replaceDynamicContentInString("Text with citrus: prefix ${parenthesis}");
+    }
+
+    @Test(expectedExceptions = InvalidFunctionUsageException.class)
+    public void testInvalidFunction() {
+        context.replaceDynamicContentInString("() citrus:citrus");
+    }
+}
@@ -22,6 +22,7 @@ import com.consol.citrus.actions.CreateVariablesAction;
 import com.consol.citrus.container.StopTimer;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.VariableNullValueException;
+import com.consol.citrus.message.*;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.variable.GlobalVariables;
 import org.mockito.Mockito;
@@ -328,6 +329,35 @@ public class TestContextTest extends AbstractTestNGUnitTest {
     /**
      * Data container for test variable object access.
      */
+    @Test
+    public void testMergeForkedMessagesInStoreOrder() {
+        final List<String> stored = new ArrayList<>();
+        context.setMessageStore(new DefaultMessageStore() {
+            @Override
+            public void storeMessage(String id, Message message) {
+                stored.add(id);
+                super.storeMessage(id, message);
+            }
+        });
+
+        TestContext child = context.fork();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            child.getMessageStore().storeMessage("message" + i, new DefaultMessage("Hello " + i));
+            expected.add("message" + i);
+        }
+
+        child.getMessageStore().storeMessage("message0", new DefaultMessage("Hello again"));
+        expected.remove("message0");
+        expected.add("message0");
+
+        Assert.assertTrue(stored.isEmpty());
+
+        context.merge(child, Collections.<String>emptyList());
+        Assert.assertEquals(stored, expected);
+        Assert.assertEquals(context.getMessageStore().getMessage("message0").getPayload(String.class), "Hello again");
+    }
+
     private static class DataContainer {
         private int number = 99;
         private Object data;
@@ -16,17 +16,26 @@
 
 package com.consol.citrus.endpoint.adapter;
 
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.context.TestContextFactory;
+import com.consol.citrus.message.MessageHeaders;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.mockito.Mockito.*;
+
 /**
  * @author Christoph Deppisch
  */
@@ -105,4 +114,98 @@ public class StaticResponseEndpointAdapterTest extends AbstractTestNGUnitTest {
         Assert.assertNotNull(response.getHeader("ResponseId"));
         Assert.assertEquals(response.getHeader("ResponseId"), "123456789");
     }
+
+    @Test
+    public void testHandleStaticMessage() {
+        TestContextFactory contextFactory = Mockito.spy(testContextFactory);
+
+        StaticResponseEndpointAdapter endpointAdapter = new StaticResponseEndpointAdapter();
+        endpointAdapter.setTestContextFactory(contextFactory);
+
+        Map<String, Object> header = new HashMap<>();
+        header.put("Operation", "UnitTest");
+
+        endpointAdapter.setMessageHeader(header);
+        endpointAdapter.setMessagePayload("<TestMessage>Hello User!</TestMessage>");
+
+        Message response = endpointAdapter.handleMessage(new DefaultMessage("<TestMessage>Hello World!</TestMessage>"));
+        Message nextResponse = endpointAdapter.handleMessage(new DefaultMessage("<TestMessage>Hello World!</TestMessage>"));
+
+        Assert.assertEquals(response.getPayload(), "<TestMessage>Hello User!</TestMessage>");
+        Assert.assertEquals(response.getHeader("Operation"), "UnitTest");
+        Assert.assertEquals(nextResponse.getPayload(), "<TestMessage>Hello User!</TestMessage>");
+        Assert.assertEquals(nextResponse.getHeader("Operation"), "UnitTest");
+        Assert.assertNotEquals(response.getId(), nextResponse.getId());
+        Assert.assertNull(header.get(MessageHeaders.ID));
+
+        // test context only used once for compiling response template
+        verify(contextFactory, times(1)).getObject();
+    }
+
+    @Test
+    public void testHandleDynamicMessageHeader() {
+        StaticResponseEndpointAdapter endpointAdapter = new StaticResponseEndpointAdapter();
+        endpointAdapter.setTestContextFactory(testContextFactory);
+
+        testContextFactory.getGlobalVariables().getVariables().put("operation", "sayHello");
+
+        Map<String, Object> header = new HashMap<>();
+        header.put("Operation", "${operation}");
+
+        endpointAdapter.setMessageHeader(header);
+        endpointAdapter.setMessagePayload("<TestMessage>Hello User!</TestMessage>");
+
+        Message response = endpointAdapter.handleMessage(new DefaultMessage("<TestMessage>Hello World!</TestMessage>"));
+        Assert.assertEquals(response.getPayload(), "<TestMessage>Hello User!</TestMessage>");
+        Assert.assertEquals(response.getHeader("Operation"), "sayHello");
+
+        testContextFactory.getGlobalVariables().getVariables().put("operation", "sayGoodbye");
+        response = endpointAdapter.handleMessage(new DefaultMessage("<TestMessage>Hello World!</TestMessage>"));
+        Assert.assertEquals(response.getHeader("Operation"), "sayGoodbye");
+    }
+
+    @Test
+    public void testHandleMessageWithoutFunctionRegistry() {
+        TestContextFactory contextFactory = Mockito.mock(TestContextFactory.class);
+        when(contextFactory.getObject()).thenAnswer(invocation -> {
+            TestContext context = new TestContext();
+            context.setFunctionRegistry(null);
+            context.setVariable("user", "Citrus");
+            return context;
+        });
+
+        StaticResponseEndpointAdapter endpointAdapter = new StaticResponseEndpointAdapter();
+        endpointAdapter.setTestContextFactory(contextFactory);
+
+        Map<String, Object> header = new HashMap<>();
+        header.put("Operation", "UnitTest");
+
+        endpointAdapter.setMessageHeader(header);
+        endpointAdapter.setMessagePayload("<TestMessage>Hello ${user}!</TestMessage>");
+
+        Message response = endpointAdapter.handleMessage(new DefaultMessage("<TestMessage>Hello World!</TestMessage>"));
+        Assert.assertEquals(response.getPayload(), "<TestMessage>Hello Citrus!</TestMessage>");
+        Assert.assertEquals(response.getHeader("Operation"), "UnitTest");
+    }
+
+    @Test
+    public void testHandleMessageResourceReload() throws IOException {
+        File payloadFile = File.createTempFile("response", ".xml");
+        payloadFile.deleteOnExit();
+        Files.write(payloadFile.toPath(), "<TestMessage>Hello User!</TestMessage>".getBytes(StandardCharsets.UTF_8));
+
+        StaticResponseEndpointAdapter endpointAdapter = new StaticResponseEndpointAdapter();
+        endpointAdapter.setTestContextFactory(testContextFactory);
+        endpointAdapter.setMessagePayloadResource("file:" + payloadFile.getAbsolutePath());
+        endpointAdapter.setMessagePayloadResourceReload(true);
+
+        Message response = endpointAdapter.handleMessage(new DefaultMessage("<TestMessage>Hello World!</TestMessage>"));
+        Assert.assertEquals(response.getPayload(), "<TestMessage>Hello User!</TestMessage>");
+
+        Files.write(payloadFile.toPath(), "<TestMessage>Hello Citrus!</TestMessage>".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(payloadFile.setLastModified(payloadFile.lastModified() + 2000L));
+
+        response = endpointAdapter.handleMessage(new DefaultMessage("<TestMessage>Hello World!</TestMessage>"));
+        Assert.assertEquals(response.getPayload(), "<TestMessage>Hello Citrus!</TestMessage>");
+    }
 }
@@ -16,6 +16,9 @@
 
 package com.consol.citrus.endpoint.adapter;
 
+import com.consol.citrus.TestCase;
+import com.consol.citrus.actions.SendMessageAction;
+import com.consol.citrus.common.XmlTestDefinitionCache;
 import com.consol.citrus.endpoint.adapter.mapping.XPathPayloadMappingKeyExtractor;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.DefaultMessage;
@@ -110,4 +113,35 @@ public class XmlTestExecutingEndpointAdapterTest extends AbstractTestNGUnitTest
             Assert.assertEquals(e.getMessage(), "Failed to load test case");
         }
     }
+
+    /**
+     * Test XML files are parsed once and each request gets a new test case instance with its own parser created objects
+     */
+    @Test
+    public void testCachedTestDefinitions() throws Exception {
+        XmlTestDefinitionCache.clear();
+
+        XmlTestExecutingEndpointAdapter cachingAdapter = new XmlTestExecutingEndpointAdapter();
+        cachingAdapter.setApplicationContext(endpointAdapter.getApplicationContext());
+
+        TestCase first = cachingAdapter.getTestCase(context, "FooTest");
+        TestCase second = cachingAdapter.getTestCase(context, "FooTest");
+
+        Assert.assertEquals(XmlTestDefinitionCache.getParseCount(), 1);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first.getName(), "FooTest");
+        Assert.assertEquals(second.getName(), "FooTest");
+        Assert.assertEquals(first.getActionCount(), second.getActionCount());
+        Assert.assertNotSame(first.getActions().get(0), second.getActions().get(0));
+
+        SendMessageAction firstSend = (SendMessageAction) first.getActions().get(2);
+        SendMessageAction secondSend = (SendMessageAction) second.getActions().get(2);
+        Assert.assertNotSame(firstSend, secondSend);
+        Assert.assertNotSame(firstSend.getMessageBuilder(), secondSend.getMessageBuilder());
+
+        cachingAdapter.getTestCase(context, "BarTest");
+        Assert.assertEquals(XmlTestDefinitionCache.getParseCount(), 2);
+
+        cachingAdapter.destroy();
+    }
 }
@@ -17,10 +17,15 @@
 package com.consol.citrus.message.correlation;
 
 import com.consol.citrus.channel.ChannelSyncEndpointConfiguration;
+import com.consol.citrus.context.TestContext;
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
 import static org.mockito.Mockito.*;
 
 
@@ -83,4 +88,73 @@ public class PollingCorrelationManagerTest {
         Assert.assertNull(correlationManager.find("foo"));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFindSignaledOnStore() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(10000L);
+        pollableEndpointConfiguration.setTimeout(20000L);
+
+        final PollingCorrelationManager<String> correlationManager = new PollingCorrelationManager(pollableEndpointConfiguration, "Try again");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> result = executor.submit(() -> correlationManager.find("foo"));
+
+            Thread.sleep(100L);
+            Assert.assertFalse(result.isDone());
+
+            correlationManager.store("foo", "bar");
+            Assert.assertEquals(result.get(5000L, TimeUnit.MILLISECONDS), "bar");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testGetCorrelationKeySignaledOnSave() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        final PollingCorrelationManager<String> correlationManager = new PollingCorrelationManager(pollableEndpointConfiguration, "Try again");
+        final TestContext context = new TestContext();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> result = executor.submit(() -> correlationManager.getCorrelationKey("correlationKey", context));
+
+            Thread.sleep(50L);
+            correlationManager.saveCorrelationKey("correlationKey", "foo", context);
+            Assert.assertEquals(result.get(5000L, TimeUnit.MILLISECONDS), "foo");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentFindAndStoreWithoutMissedSignal() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(10000L);
+        pollableEndpointConfiguration.setTimeout(20000L);
+
+        final PollingCorrelationManager<String> correlationManager = new PollingCorrelationManager(pollableEndpointConfiguration, "Try again");
+
+        ExecutorService findExecutor = Executors.newFixedThreadPool(8);
+        ExecutorService storeExecutor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final String key = "key" + i;
+                final String value = "value" + i;
+
+                results.add(findExecutor.submit(() -> correlationManager.find(key)));
+                storeExecutor.submit(() -> correlationManager.store(key, value));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                Assert.assertEquals(results.get(i).get(5000L, TimeUnit.MILLISECONDS), "value" + i);
+            }
+        } finally {
+            findExecutor.shutdownNow();
+            storeExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class JsonUtilsTest {
+
+    @Test
+    public void testParseMessagePayloadCached() {
+        Message message = new DefaultMessage("{\"text\":\"Hello World!\", \"index\":5}");
+
+        DocumentContext json = JsonUtils.parseMessagePayload(message);
+        Assert.assertEquals(json.read("$.text"), "Hello World!");
+        Assert.assertSame(JsonUtils.parseMessagePayload(message), json);
+
+        message.setPayload("{\"text\":\"Hello Citrus!\"}");
+        DocumentContext updated = JsonUtils.parseMessagePayload(message);
+        Assert.assertNotSame(updated, json);
+        Assert.assertEquals(updated.read("$.text"), "Hello Citrus!");
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Failed to parse JSON text")
+    public void testParseInvalidJson() {
+        JsonUtils.parseMessagePayload(new DefaultMessage("{\"text\":"));
+    }
+
+    @Test
+    public void testCompileJsonPathCached() {
+        JsonUtils.clearCache();
+
+        JsonPath jsonPath = JsonUtils.compileJsonPath("$.text");
+        Assert.assertSame(JsonUtils.compileJsonPath("$.text"), jsonPath);
+        Assert.assertNotSame(JsonUtils.compileJsonPath("$.index"), jsonPath);
+
+        Message message = new DefaultMessage("{\"text\":\"Hello World!\", \"index\":5}");
+        Assert.assertEquals(JsonUtils.parseMessagePayload(message).read(jsonPath), "Hello World!");
+
+        JsonUtils.clearCache();
+        Assert.assertNotSame(JsonUtils.compileJsonPath("$.text"), jsonPath);
+    }
+}
@@ -17,6 +17,8 @@
 package com.consol.citrus.util;
 
 
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -383,4 +385,28 @@ public class XMLUtilsTest {
         Assert.assertEquals(XMLUtils.omitXmlDeclaration(""), "");
         Assert.assertEquals(XMLUtils.omitXmlDeclaration("Test"), "Test");
     }
+
+    @Test
+    public void testParseMessagePayloadCached() {
+        Message message = new DefaultMessage("<testRequest><message id=\"1\">Hello</message></testRequest>");
+
+        Document doc = XMLUtils.parseMessagePayload(message);
+        Assert.assertEquals(doc.getFirstChild().getLocalName(), "testRequest");
+        Assert.assertSame(XMLUtils.parseMessagePayload(message), doc);
+
+        message.setPayload("<testResponse><message id=\"1\">Hello</message></testResponse>");
+        Document updated = XMLUtils.parseMessagePayload(message);
+        Assert.assertNotSame(updated, doc);
+        Assert.assertEquals(updated.getFirstChild().getLocalName(), "testResponse");
+    }
+
+    @Test
+    public void testParseMessagePayloadWithoutViewCache() {
+        Message message = Mockito.mock(Message.class, Mockito.CALLS_REAL_METHODS);
+        Mockito.doReturn("<testRequest><message id=\"1\">Hello</message></testRequest>").when(message).getPayload(String.class);
+
+        Document doc = XMLUtils.parseMessagePayload(message);
+        Assert.assertEquals(doc.getFirstChild().getLocalName(), "testRequest");
+        Assert.assertNotSame(XMLUtils.parseMessagePayload(message), doc);
+    }
 }
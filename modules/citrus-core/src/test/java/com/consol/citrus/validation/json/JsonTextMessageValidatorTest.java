@@ -315,6 +315,175 @@ public class JsonTextMessageValidatorTest extends AbstractTestNGUnitTest {
         validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
     }
     
+    @Test
+    public void testJsonValidationIgnoreArrayEntries() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("[" +
+                "{\"text\":\"Hello World!\", \"index\":1, \"id\":\"x1\"}, " +
+                "{\"text\":\"Hallo Welt!\", \"index\":2, \"id\":\"x2\"}, " +
+                "{\"text\":\"Hola del mundo!\", \"index\":3, \"id\":\"x3\"}]");
+        Message controlMessage = new DefaultMessage("[" +
+                "{\"text\":\"Hello World!\", \"index\":1, \"id\":\"?\"}, " +
+                "{\"text\":\"?\", \"index\":\"?\", \"id\":\"?\"}, " +
+                "{\"text\":\"Hola del mundo!\", \"index\":3, \"id\":\"?\"}]");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.getIgnoreExpressions().add("$[*].id");
+        validationContext.getIgnoreExpressions().add("$[1]");
+        validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+    }
+
+    @Test(expectedExceptions = ValidationException.class)
+    public void testJsonValidationIgnoreEntriesByPath() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("{\"id\":\"x123456789x\", \"object\":{\"id\":\"x123456789x\"}}");
+        Message controlMessage = new DefaultMessage("{\"id\":\"?\", \"object\":{\"id\":\"?\"}}");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.getIgnoreExpressions().add("$.object.id");
+        validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+    }
+
+    @Test
+    public void testJsonValidationIgnoreArrayOrder() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("{\"greetings\":[" +
+                "{\"text\":\"Hello World!\", \"index\":1, \"tags\":[\"en\", \"us\"]}, " +
+                "{\"text\":\"Hallo Welt!\", \"index\":2, \"tags\":[\"de\"]}, " +
+                "{\"text\":\"Hola del mundo!\", \"index\":3, \"tags\":[]}], \"ids\":[3, 1, 2]}");
+        Message controlMessage = new DefaultMessage("{\"greetings\":[" +
+                "{\"text\":\"Hola del mundo!\", \"index\":\"@greaterThan(2)@\", \"tags\":[]}, " +
+                "{\"text\":\"Hello World!\", \"index\":1, \"tags\":[\"us\", \"en\"]}, " +
+                "{\"text\":\"Hallo Welt!\", \"index\":2, \"tags\":[\"de\"]}], \"ids\":[1, 2, 3]}");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.setIgnoreArrayOrder(true);
+        validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+
+        try {
+            validator.validateMessage(receivedMessage, controlMessage, context, new JsonMessageValidationContext());
+            Assert.fail("Missing validation exception due to array order");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testJsonValidationIgnoreArrayOrderLargeArray() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        StringBuilder received = new StringBuilder("[");
+        StringBuilder control = new StringBuilder("[");
+        for (int i = 0; i < 10000; i++) {
+            received.append(i > 0 ? ", " : "").append("{\"id\":").append(i).append(", \"name\":\"item").append(i).append("\"}");
+            control.append(i > 0 ? ", " : "").append("{\"id\":").append(9999 - i).append(", \"name\":\"item").append(9999 - i).append("\"}");
+        }
+        received.append("]");
+        control.append("]");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.setIgnoreArrayOrder(true);
+        validator.validateMessage(new DefaultMessage(received.toString()), new DefaultMessage(control.toString()), context, validationContext);
+    }
+
+    @Test
+    public void testJsonValidationIgnoreArrayOrderMissingItem() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("[{\"id\":1}, {\"id\":2}, {\"id\":3}]");
+        Message controlMessage = new DefaultMessage("[{\"id\":3}, {\"id\":1}, {\"id\":4}]");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.setIgnoreArrayOrder(true);
+
+        try {
+            validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+            Assert.fail("Missing validation exception due to missing array item");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().startsWith("Missing JSON array item"));
+        }
+
+        validationContext.getIgnoreExpressions().add("$[1]");
+        validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+    }
+
+    @Test
+    public void testJsonValidationIgnoreArrayOrderMaximumMatching() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("[{\"v\":10}, {\"v\":1}]");
+        Message controlMessage = new DefaultMessage("[{\"v\":\"@ignore@\"}, {\"v\":\"@greaterThan(5)@\"}]");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.setIgnoreArrayOrder(true);
+        validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+    }
+
+    @Test(timeOut = 30000L)
+    public void testJsonValidationIgnoreArrayOrderLargeArrays() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.setIgnoreArrayOrder(true);
+
+        StringBuilder equalItems = new StringBuilder("[");
+        for (int i = 0; i < 10000; i++) {
+            equalItems.append(i > 0 ? "," : "").append("\"same\"");
+        }
+        equalItems.append("]");
+        validator.validateMessage(new DefaultMessage(equalItems.toString()), new DefaultMessage(equalItems.toString()), context, validationContext);
+
+        StringBuilder received = new StringBuilder("[");
+        StringBuilder control = new StringBuilder("[");
+        StringBuilder matchers = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            received.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(", \"type\":\"item\"}");
+            control.append(i > 0 ? "," : "").append("{\"id\":").append(4999 - i).append(", \"type\":\"item\"}");
+            matchers.append(i > 0 ? "," : "").append("{\"id\":\"@greaterThan(-1)@\", \"type\":\"item\"}");
+        }
+        received.append("]");
+        control.append("]");
+        matchers.append("]");
+        validator.validateMessage(new DefaultMessage(received.toString()), new DefaultMessage(control.toString()), context, validationContext);
+        validator.validateMessage(new DefaultMessage(received.toString()), new DefaultMessage(matchers.toString()), context, validationContext);
+    }
+
+    @Test
+    public void testJsonValidationIgnoreArrayOrderCreateVariables() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("[{\"id\":2, \"name\":\"bar\"}, {\"id\":1, \"name\":\"foo\"}]");
+        Message controlMessage = new DefaultMessage("[{\"id\":1, \"name\":\"@variable('first')@\"}, {\"id\":2, \"name\":\"@variable('second')@\"}]");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.setIgnoreArrayOrder(true);
+        validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+
+        Assert.assertEquals(context.getVariable("first"), "foo");
+        Assert.assertEquals(context.getVariable("second"), "bar");
+    }
+
+    @Test
+    public void testJsonValidationIgnoreArrayOrderClosestCandidate() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("[{\"id\":1, \"name\":\"foo\"}, {\"id\":2, \"name\":\"bar\"}]");
+        Message controlMessage = new DefaultMessage("[{\"id\":1, \"name\":\"foo\"}, {\"id\":2, \"name\":\"baz\"}]");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.setIgnoreArrayOrder(true);
+
+        try {
+            validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+            Assert.fail("Missing validation exception due to missing array item");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().startsWith("Missing JSON array item"));
+            Assert.assertTrue(e.getCause().getMessage().contains("Values not equal for entry: 'name', expected 'baz' but was 'bar'"));
+        }
+    }
+
     @Test
     public void testJsonValidationInvalidJsonText() {
         JsonTextMessageValidator validator = new JsonTextMessageValidator();
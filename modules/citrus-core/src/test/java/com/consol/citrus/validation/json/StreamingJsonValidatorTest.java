@@ -0,0 +1,187 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.json;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.util.JsonUtils;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+import java.util.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class StreamingJsonValidatorTest extends AbstractTestNGUnitTest {
+
+    @DataProvider
+    public Object[][] documents() {
+        return new Object[][] {
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5, \"id\":\"x123456789x\"}",
+                    "{\"id\":\"x123456789x\", \"text\":\"Hello World!\", \"index\":5}", null, true, true},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5, \"id\":\"x123456789x\"}",
+                    "{\"text\":\"Hello World!\", \"index\":6, \"id\":\"x123456789x\"}", null, true, false},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5, \"id\":\"x123456789x\"}",
+                    "{\"text\":\"Hello World!\", \"index\":\"5\", \"id\":\"x123456789x\"}", null, true, false},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5, \"id\":\"x123456789x\"}",
+                    "{\"text\":\"Hello World!\", \"index\":5}", null, true, false},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5, \"id\":\"x123456789x\"}",
+                    "{\"text\":\"Hello World!\", \"index\":5}", null, false, true},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5}",
+                    "{\"text\":\"Hello World!\", \"index\":5, \"id\":\"x123456789x\"}", null, false, false},
+            new Object[] {"{\"text\":\"Hello World!\", \"price\":1.5, \"amount\":12345678901, \"active\":true, \"comment\":null}",
+                    "{\"text\":\"Hello World!\", \"price\":1.5, \"amount\":12345678901, \"active\":true, \"comment\":null}", null, true, true},
+            new Object[] {"{\"text\":\"Hello World!\", \"comment\":\"foo\"}",
+                    "{\"text\":\"Hello World!\", \"comment\":null}", null, true, false},
+            new Object[] {"{\"text\":\"Hello World!\", \"comment\":null}",
+                    "{\"text\":\"Hello World!\", \"comment\":\"\"}", null, true, true},
+            new Object[] {"{\"text\":\"Hello World!\", \"object\":{\"id\":\"x123456789x\", \"list\":[1, 2, 3]}}",
+                    "{\"text\":\"Hello World!\", \"object\":{\"list\":[1, 2, 3], \"id\":\"x123456789x\"}}", null, true, true},
+            new Object[] {"{\"text\":\"Hello World!\", \"object\":{\"id\":\"x123456789x\", \"list\":[1, 2, 3]}}",
+                    "{\"text\":\"Hello World!\", \"object\":{\"list\":[1, 3, 2], \"id\":\"x123456789x\"}}", null, true, false},
+            new Object[] {"{\"text\":\"Hello World!\", \"object\":{\"id\":\"x123456789x\"}}",
+                    "{\"text\":\"Hello World!\", \"object\":[\"x123456789x\"]}", null, true, false},
+            new Object[] {"{\"text\":\"Hello World!\", \"object\":[\"x123456789x\"]}",
+                    "{\"text\":\"Hello World!\", \"object\":{\"id\":\"x123456789x\"}}", null, true, false},
+            new Object[] {"{\"greetings\":[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"Hallo Welt!\", \"index\":2}]}",
+                    "{\"greetings\":[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"Hallo Welt!\", \"index\":2}]}", null, true, true},
+            new Object[] {"{\"greetings\":[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"Hallo Welt!\", \"index\":2}]}",
+                    "{\"greetings\":[{\"text\":\"Hallo Welt!\", \"index\":2}, {\"text\":\"Hello World!\", \"index\":1}]}", null, true, false},
+            new Object[] {"{\"greetings\":[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"Hallo Welt!\", \"index\":2}]}",
+                    "{\"greetings\":[{\"text\":\"Hello World!\", \"index\":1}]}", null, true, false},
+            new Object[] {"{\"greetings\":[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"Hallo Welt!\", \"index\":2}]}",
+                    "{\"greetings\":[{\"text\":\"Hello World!\", \"index\":1}]}", null, false, true},
+            new Object[] {"[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"Hallo Welt!\", \"index\":2}]",
+                    "[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"Hallo Welt!\", \"index\":2}]", null, true, true},
+            new Object[] {"[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"Hallo Welt!\", \"index\":2}]",
+                    "[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"Hallo Welt!\", \"index\":3}]", null, true, false},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5, \"object\":{\"id\":\"x123456789x\"}, \"greetings\":[1, 2]}",
+                    "{\"text\":\"Hello World!\", \"index\":\"@ignore@\", \"object\":{\"id\":\"@ignore@\"}, \"greetings\":\"@ignore@\"}", null, true, true},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5, \"object\":{\"id\":\"x123456789x\"}}",
+                    "{\"text\":\"@startsWith(Hello)@\", \"index\":\"@greaterThan(4)@\", \"object\":\"@contains(x123456789x)@\"}", null, true, true},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5}",
+                    "{\"text\":\"@startsWith(Hello)@\", \"index\":\"@greaterThan(5)@\"}", null, true, false},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5, \"object\":{\"id\":\"x123456789x\"}, \"greetings\":[{\"index\":1}, {\"index\":2}]}",
+                    "{\"text\":\"Hello World!\", \"index\":\"?\", \"object\":{\"id\":\"?\"}, \"greetings\":[{\"index\":\"?\"}, {\"index\":\"?\"}]}",
+                    new HashSet<>(Arrays.asList("$..index", "$.object.id")), true, true},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5, \"object\":{\"id\":\"x123456789x\"}, \"greetings\":[{\"index\":1}, {\"index\":2}]}",
+                    "{\"text\":\"Hello World!\", \"index\":5, \"object\":{\"id\":\"x123456789x\"}, \"greetings\":[{\"index\":\"?\"}, {\"index\":2}]}",
+                    Collections.singleton("$.greetings[0].index"), true, true},
+            new Object[] {"{\"text\":\"Hello World!\", \"index\":5, \"object\":{\"id\":\"x123456789x\"}, \"greetings\":[{\"index\":1}, {\"index\":2}]}",
+                    "{\"text\":\"Hello World!\", \"index\":5, \"object\":{\"id\":\"x123456789x\"}, \"greetings\":[{\"index\":1}, {\"index\":\"?\"}]}",
+                    Collections.singleton("$.greetings[0].index"), true, false},
+            new Object[] {"{\"text\":\"Hello World!\", \"greetings\":[{\"index\":1}, {\"index\":2}]}",
+                    "{\"text\":\"Hello World!\", \"greetings\":[{\"index\":\"?\"}, {\"index\":\"?\"}]}",
+                    Collections.singleton("$['greetings'][*]['index']"), true, true},
+            new Object[] {"{\"text\":\"Hello World!\", \"object\":{\"id\":\"x123456789x\", \"name\":\"foo\"}}",
+                    "{\"text\":\"Hello World!\", \"object\":{\"id\":\"?\", \"name\":\"?\"}}",
+                    Collections.singleton("$.object.*"), true, true},
+            new Object[] {"[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"Hallo Welt!\", \"index\":2}]",
+                    "[{\"text\":\"Hello World!\", \"index\":1}, {\"text\":\"?\", \"index\":\"?\"}]",
+                    Collections.singleton("$[1]"), true, true}
+        };
+    }
+
+    @Test(dataProvider = "documents")
+    public void testSameResultAsTreeValidation(String received, String control, Set<String> ignoreExpressions, boolean strict, boolean valid) {
+        Assert.assertEquals(validate(received, control, ignoreExpressions, strict, false), valid, "Unexpected tree validation result");
+        Assert.assertEquals(validate(received, control, ignoreExpressions, strict, true), valid, "Unexpected streaming validation result");
+    }
+
+    @Test
+    public void testSupports() {
+        Assert.assertTrue(StreamingJsonValidator.supports(null));
+        Assert.assertTrue(StreamingJsonValidator.supports(new HashSet<>(Arrays.asList("$.text", "$..index", "$.items[*].id",
+                "$['items'][2][\"id\"]", "$.object.*", "$..*"))));
+
+        Assert.assertFalse(StreamingJsonValidator.supports(Collections.singleton("$.items[?(@.id == 1)]")));
+        Assert.assertFalse(StreamingJsonValidator.supports(Collections.singleton("$.items[0:2]")));
+        Assert.assertFalse(StreamingJsonValidator.supports(Collections.singleton("$.items[0,1]")));
+        Assert.assertFalse(StreamingJsonValidator.supports(Collections.singleton("$.items.length()")));
+        Assert.assertFalse(StreamingJsonValidator.supports(Collections.singleton("items.id")));
+    }
+
+    @Test
+    public void testUnsupportedIgnoreExpressionUsesTreeValidation() {
+        Assert.assertTrue(validate("{\"items\":[{\"id\":1, \"name\":\"IGNORED\"}, {\"id\":2, \"name\":\"foo\"}]}",
+                "{\"items\":[{\"id\":1, \"name\":\"bar\"}, {\"id\":2, \"name\":\"foo\"}]}",
+                Collections.singleton("$.items[?(@.id == 1)].name"), true, true));
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Unsupported JsonPath ignore expression.*")
+    public void testUnsupportedIgnoreExpression() {
+        new StreamingJsonValidator(Collections.singleton("$.items[0:2]"), true, context);
+    }
+
+    @Test
+    public void testNonStandardJsonRejected() {
+        for (String received : new String[] {"{'text':'Hello World!'}", "{text:\"Hello World!\"}"}) {
+            for (boolean streaming : new boolean[] {false, true}) {
+                try {
+                    validate(received, "{\"text\":\"Hello World!\"}", null, true, streaming);
+                    Assert.fail("Missing parse exception for non standard JSON text: " + received);
+                } catch (CitrusRuntimeException e) {
+                    Assert.assertEquals(e.getMessage(), "Failed to parse JSON text");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLargeDocument() {
+        StringBuilder received = new StringBuilder("{\"items\":[");
+        StringBuilder control = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < 20000; i++) {
+            received.append(i > 0 ? ", " : "").append("{\"id\":").append(i).append(", \"name\":\"Item ").append(i).append("\", \"timestamp\":").append(System.nanoTime()).append("}");
+            control.append(i > 0 ? ", " : "").append("{\"id\":").append(i).append(", \"name\":\"Item ").append(i).append("\", \"timestamp\":\"@ignore@\"}");
+        }
+        received.append("]}");
+        control.append("]}");
+
+        new StreamingJsonValidator(Collections.<String>emptySet(), true, context)
+                .validate(new StringReader(received.toString()), JsonUtils.parseJson(control.toString()));
+    }
+
+    /**
+     * Validates JSON texts and returns validation result.
+     * @param received
+     * @param control
+     * @param ignoreExpressions
+     * @param strict
+     * @param streaming
+     * @return
+     */
+    private boolean validate(String received, String control, Set<String> ignoreExpressions, boolean strict, boolean streaming) {
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.setStreamingValidation(streaming);
+        if (ignoreExpressions != null) {
+            validationContext.setIgnoreExpressions(ignoreExpressions);
+        }
+
+        try {
+            new JsonTextMessageValidator().strict(strict).validateMessage(new DefaultMessage(received), new DefaultMessage(control), context, validationContext);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.util.XMLUtils;
 import com.consol.citrus.xml.XsdSchemaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -29,6 +30,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -609,6 +612,37 @@ public class DomXmlMessageValidatorTest extends AbstractTestNGUnitTest {
         validator.validateMessage(message, controlMessage, context, validationContext);
     }
     
+    @Test
+    public void testValidateMessagePayloadKeepsCachedDocument() {
+        Message message = new DefaultMessage("<root>\n"
+                        + "  <element attributeA='attribute-value'>\n"
+                        + "    <sub-element attribute='A'>text-value</sub-element>\n"
+                        + "    <sub-element attribute='B'>@ignore@</sub-element>\n"
+                        + "    <sub-element attribute='C'>  matcher-value  </sub-element>\n"
+                        + "  </element>\n"
+                    + "</root>");
+
+        Message controlMessage = new DefaultMessage("<root>"
+                        + "<element attributeA='attribute-value'>"
+                        + "<sub-element attribute='A'>text-value</sub-element>"
+                        + "<sub-element attribute='B'>@ignore@</sub-element>"
+                        + "<sub-element attribute='C'>@equalsIgnoreCase('MATCHER-VALUE')@</sub-element>"
+                        + "</element>"
+                    + "</root>");
+
+        Document cached = XMLUtils.parseMessagePayload(message);
+        int childNodes = cached.getDocumentElement().getChildNodes().getLength();
+
+        XmlMessageValidationContext validationContext = new XmlMessageValidationContext();
+        DomXmlMessageValidator validator = new DomXmlMessageValidator();
+        validator.validateMessage(message, controlMessage, context, validationContext);
+        validator.validateMessage(message, controlMessage, context, validationContext);
+
+        Assert.assertSame(XMLUtils.parseMessagePayload(message), cached);
+        Assert.assertEquals(cached.getDocumentElement().getChildNodes().getLength(), childNodes);
+        Assert.assertEquals(cached.getDocumentElement().getChildNodes().item(0).getNodeType(), Node.TEXT_NODE);
+    }
+
     @Test
     public void testValidateMessagePayloadWithIgnoresSuccess() {
         Message message = new DefaultMessage("<root>"
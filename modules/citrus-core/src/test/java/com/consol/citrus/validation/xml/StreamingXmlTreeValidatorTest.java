@@ -0,0 +1,257 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.xml;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.xml.XsdSchemaRepository;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.xml.namespace.SimpleNamespaceContext;
+import org.springframework.xml.xsd.SimpleXsdSchema;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class StreamingXmlTreeValidatorTest extends AbstractTestNGUnitTest {
+
+    private static final String NAMESPACES = "xmlns='http://citrusframework.org/default' xmlns:ns1='http://citrusframework.org/ns1' " +
+            "xmlns:ns2='http://citrusframework.org/ns2' xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance'";
+
+    @DataProvider
+    public Object[][] documents() {
+        return new Object[][] {
+            new Object[] {"<root><element attributeA='attribute-value' attributeB='attribute-value'><sub-element attribute='A'>text-value</sub-element></element></root>",
+                    "<root>\n  <element attributeB='attribute-value' attributeA='attribute-value'>\n    <sub-element attribute='A'>text-value</sub-element>\n  </element>\n</root>", null, true},
+            new Object[] {"<root><element><sub-element>text-value</sub-element></element></root>",
+                    "<root><element><sub-element>other-value</sub-element></element></root>", null, false},
+            new Object[] {"<root><element><sub-element/></element></root>",
+                    "<root><element><sub-element/><sub-element/></element></root>", null, false},
+            new Object[] {"<root><element><sub-element/><sub-element/></element></root>",
+                    "<root><element><sub-element/></element></root>", null, false},
+            new Object[] {"<root><element><sub-element/></element></root>",
+                    "<root><element><other-element/></element></root>", null, false},
+            new Object[] {"<root><element attribute='A'/></root>",
+                    "<root><element attribute='B'/></root>", null, false},
+            new Object[] {"<root><element attribute='A'/></root>",
+                    "<root><element attribute='A' other='B'/></root>", null, false},
+            new Object[] {"<root><element other='A'/></root>",
+                    "<root><element attribute='A'/></root>", null, false},
+            new Object[] {"<root xmlns='http://citrusframework.org/ns1'><element/></root>",
+                    "<root xmlns='http://citrusframework.org/ns2'><element/></root>", null, false},
+            new Object[] {"<ns1:root xmlns:ns1='http://citrusframework.org/ns1'><ns1:element/></ns1:root>",
+                    "<root xmlns='http://citrusframework.org/ns1'><element/></root>", null, true},
+            new Object[] {"<root>text<element/>more text</root>",
+                    "<root>text<element/>more text</root>", null, true},
+            new Object[] {"<root>text<element/>more text</root>",
+                    "<root>text<element/>other text</root>", null, false},
+            new Object[] {"<root><element><![CDATA[some <data>]]></element></root>",
+                    "<root><element><![CDATA[some <data>]]></element></root>", null, true},
+            new Object[] {"<!-- comment --><root><!-- comment --><element>text</element></root>",
+                    "<root><element><!-- comment -->text</element></root>", null, true},
+            new Object[] {"<root><element attribute='A'><sub-element>ignored</sub-element></element></root>",
+                    "<root><element attribute='A'>@ignore@</element></root>", null, true},
+            new Object[] {"<root><element attribute='ignored'>text</element></root>",
+                    "<root><element attribute='@ignore@'>text</element></root>", null, true},
+            new Object[] {"<root><element attribute='text-attribute'>text-element</element></root>",
+                    "<root><element attribute='@startsWith(text)@'>@startsWith(text)@</element></root>", null, true},
+            new Object[] {"<root><element attribute='text-attribute'>text-element</element></root>",
+                    "<root><element attribute='@startsWith(FAIL)@'>@startsWith(text)@</element></root>", null, false},
+            new Object[] {"<root><element attribute='text-attribute'>text-element</element></root>",
+                    "<root><element attribute='text-attribute'>@startsWith(FAIL)@</element></root>", null, false},
+            new Object[] {"<root><element attribute='A'><sub-element>ignored</sub-element></element></root>",
+                    "<root><element attribute='B'>@ignore@</element></root>", null, true},
+            new Object[] {"<root><element>THIS IS IGNORED</element><element>text</element></root>",
+                    "<root><element>text-value</element><element>text</element></root>", Collections.singleton("//root/element[1]"), true},
+            new Object[] {"<root><element>text</element><element>THIS IS IGNORED</element></root>",
+                    "<root><element>text</element><element>text-value</element></root>", Collections.singleton("//root/element[1]"), false},
+            new Object[] {"<root><element>text</element><other/><element>THIS IS IGNORED</element></root>",
+                    "<root><element>text</element><other/><element>text-value</element></root>", Collections.singleton("/root/*[3]"), true},
+            new Object[] {"<root><element><sub-element attribute='X'>IGNORED</sub-element></element></root>",
+                    "<root><element><sub-element attribute='Y'>text</sub-element></element></root>", Collections.singleton("//sub-element"), true},
+            new Object[] {"<root><element><sub-element attribute='X'>text</sub-element></element></root>",
+                    "<root><element><sub-element attribute='Y'>text</sub-element></element></root>", Collections.singleton("//element/sub-element/@attribute"), true},
+            new Object[] {"<root><element><sub-element attribute='X'>text</sub-element></element></root>",
+                    "<root><element><sub-element attribute='Y'>text</sub-element></element></root>", Collections.singleton("root.element.sub-element.attribute"), true},
+            new Object[] {"<root><element><sub-element>IGNORED</sub-element></element></root>",
+                    "<root><element><sub-element>text</sub-element></element></root>", Collections.singleton("root.element.sub-element"), true},
+            new Object[] {"<root><element><sub-element>IGNORED</sub-element></element><sub-element>text</sub-element></root>",
+                    "<root><element><sub-element>text</sub-element></element><sub-element>text</sub-element></root>", Collections.singleton("sub-element"), true},
+            new Object[] {"<root><element><sub-element>text</sub-element></element><sub-element>IGNORED</sub-element></root>",
+                    "<root><element><sub-element>text</sub-element></element><sub-element>text</sub-element></root>", Collections.singleton("sub-element"), false},
+            new Object[] {"<root " + NAMESPACES + "><element xsi:type='ns1:attribute-value'><sub-element xsi:type='ns2:AType'>text-value</sub-element></element></root>",
+                    "<root " + NAMESPACES + "><element xsi:type='ns1:attribute-value'><sub-element xsi:type='ns2:AType'>text-value</sub-element></element></root>", null, true},
+            new Object[] {"<root " + NAMESPACES + "><element xsi:type='ns1:attribute-value'/></root>",
+                    "<root " + NAMESPACES.replace("ns1=", "cit=") + "><element xsi:type='cit:attribute-value'/></root>", null, true},
+            new Object[] {"<root " + NAMESPACES + "><element xsi:type='ns1:attribute-value'/></root>",
+                    "<root " + NAMESPACES.replace("ns1=", "cit=") + "><element xsi:type='ns1:attribute-value'/></root>", null, false},
+            new Object[] {"<root " + NAMESPACES + "><element xsi:type='ns1:attribute-value'/></root>",
+                    "<root " + NAMESPACES.replace("/ns1'", "/cit'") + "><element xsi:type='ns1:attribute-value'/></root>", null, false},
+            new Object[] {"<root " + NAMESPACES + "><element xsi:type='ns1:attribute-value'/></root>",
+                    "<root " + NAMESPACES + "><element xsi:type='ns1:other-value'/></root>", null, false},
+            new Object[] {"<root " + NAMESPACES + "><ns1:element>IGNORED</ns1:element><element>text</element></root>",
+                    "<root " + NAMESPACES + "><ns1:element>text</ns1:element><element>text</element></root>", Collections.singleton("//ns1:element"), true},
+            new Object[] {"<!DOCTYPE root PUBLIC \"example\" \"com/consol/citrus/validation/example.dtd\"><root><element>text</element></root>",
+                    "<!DOCTYPE root PUBLIC \"example\" \"com/consol/citrus/validation/example.dtd\"><root><element>text</element></root>", null, true},
+            new Object[] {"<!DOCTYPE root PUBLIC \"example\" \"com/consol/citrus/validation/example.dtd\"><root><element>text</element></root>",
+                    "<!DOCTYPE root PUBLIC \"@ignore@\" \"com/consol/citrus/validation/example.dtd\"><root><element>text</element></root>", null, true},
+            new Object[] {"<!DOCTYPE root PUBLIC \"example\" \"com/consol/citrus/validation/example.dtd\"><root><element>text</element></root>",
+                    "<!DOCTYPE root PUBLIC \"foo\" \"com/consol/citrus/validation/example.dtd\"><root><element>text</element></root>", null, false}
+        };
+    }
+
+    @Test(dataProvider = "documents")
+    public void testSameResultAsTreeValidation(String received, String control, Set<String> ignoreExpressions, boolean valid) {
+        Assert.assertEquals(validate(received, control, ignoreExpressions, false), valid, "Unexpected tree validation result");
+        Assert.assertEquals(validate(received, control, ignoreExpressions, true), valid, "Unexpected streaming validation result");
+    }
+
+    @Test
+    public void testSupports() {
+        Assert.assertTrue(StreamingXmlTreeValidator.supports(null));
+        Assert.assertTrue(StreamingXmlTreeValidator.supports(new HashSet<>(Arrays.asList("root.element", "/root/element[2]",
+                "//ns1:element/@ns2:attribute", "//*/element/@*"))));
+
+        Assert.assertFalse(StreamingXmlTreeValidator.supports(Collections.singleton("/root/element[@id='1']")));
+        Assert.assertFalse(StreamingXmlTreeValidator.supports(Collections.singleton("/root/element/text()")));
+        Assert.assertFalse(StreamingXmlTreeValidator.supports(Collections.singleton("count(/root/element)")));
+        Assert.assertFalse(StreamingXmlTreeValidator.supports(Collections.singleton("/root/@attribute/element")));
+    }
+
+    @Test
+    public void testUnsupportedIgnoreExpressionUsesTreeValidation() {
+        Assert.assertTrue(validate("<root><element id='1'>IGNORED</element><element id='2'>text</element></root>",
+                "<root><element id='1'>text</element><element id='2'>text</element></root>",
+                Collections.singleton("/root/element[@id='1']"), true));
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = ".*unbound namespace prefix 'unknown'")
+    public void testUnboundNamespacePrefix() {
+        new StreamingXmlTreeValidator(Collections.singleton("//unknown:element"), new SimpleNamespaceContext(), context);
+    }
+
+    @Test
+    public void testLargeDocument() {
+        StringBuilder received = new StringBuilder("<root>");
+        StringBuilder control = new StringBuilder("<root>");
+        for (int i = 0; i < 20000; i++) {
+            received.append("<item id='").append(i).append("'><name>Item ").append(i).append("</name><timestamp>").append(System.nanoTime()).append("</timestamp></item>");
+            control.append("<item id='").append(i).append("'><name>Item ").append(i).append("</name><timestamp>@ignore@</timestamp></item>");
+        }
+        received.append("</root>");
+        control.append("</root>");
+
+        new StreamingXmlTreeValidator(Collections.<String>emptySet(), new SimpleNamespaceContext(), context)
+                .validate(new StringReader(received.toString()), new StringReader(control.toString()));
+    }
+
+    @Test
+    public void testStreamingWithSchemaAndNamespaceValidation() throws Exception {
+        String payload = "<message xmlns=\"http://citrusframework.org/test\">"
+                + "<correlationId>Kx1R123456789</correlationId>"
+                + "<bookingId>Bx1G987654321</bookingId>"
+                + "<test>Hello TestFramework</test>"
+                + "</message>";
+
+        DomXmlMessageValidator validator = new DomXmlMessageValidator();
+        validator.addSchemaRepository(createSchemaRepository());
+
+        XmlMessageValidationContext validationContext = new XmlMessageValidationContext();
+        validationContext.setStreamingValidation(true);
+        validationContext.setControlNamespaces(Collections.singletonMap("", "http://citrusframework.org/test"));
+
+        validator.validateMessage(new NoDomMessage(payload), new DefaultMessage(payload), context, validationContext);
+
+        validationContext.setControlNamespaces(Collections.singletonMap("ns", "http://citrusframework.org/test"));
+        try {
+            validator.validateMessage(new NoDomMessage(payload), new DefaultMessage(payload), context, validationContext);
+            Assert.fail("Missing validation exception due to wrong namespace prefix");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getMessage().contains("Missing namespace ns(http://citrusframework.org/test) in node message"));
+        }
+
+        validationContext.setControlNamespaces(Collections.emptyMap());
+        String invalid = payload.replace("<bookingId>Bx1G987654321</bookingId>", "");
+        try {
+            validator.validateMessage(new NoDomMessage(invalid), new DefaultMessage(invalid), context, validationContext);
+            Assert.fail("Missing validation exception due to schema violation");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getMessage().startsWith("XML schema validation failed"));
+        }
+    }
+
+    /**
+     * Creates schema repository with test schema.
+     * @return
+     * @throws Exception
+     */
+    private XsdSchemaRepository createSchemaRepository() throws Exception {
+        SimpleXsdSchema schema = new SimpleXsdSchema(new ClassPathResource("com/consol/citrus/validation/test.xsd"));
+        schema.afterPropertiesSet();
+
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        schemaRepository.getSchemas().add(schema);
+        return schemaRepository;
+    }
+
+    /**
+     * Message failing on any attempt to build a document tree of its payload.
+     */
+    private static class NoDomMessage extends DefaultMessage {
+        NoDomMessage(String payload) {
+            super(payload);
+        }
+
+        @Override
+        public synchronized <T> T getPayloadView(Class<T> type, Function<Message, T> parser) {
+            throw new AssertionError("Unexpected document tree for streaming validation");
+        }
+    }
+
+    /**
+     * Validates documents and returns validation result.
+     * @param received
+     * @param control
+     * @param ignoreExpressions
+     * @param streaming
+     * @return
+     */
+    private boolean validate(String received, String control, Set<String> ignoreExpressions, boolean streaming) {
+        XmlMessageValidationContext validationContext = new XmlMessageValidationContext();
+        validationContext.setStreamingValidation(streaming);
+        validationContext.setSchemaValidation(false);
+        if (ignoreExpressions != null) {
+            validationContext.setIgnoreExpressions(ignoreExpressions);
+        }
+
+        try {
+            new DomXmlMessageValidator().validateMessage(new DefaultMessage(received), new DefaultMessage(control), context, validationContext);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+}
@@ -86,6 +86,36 @@ public class XpathMappingDataDictionaryTest extends AbstractTestNGUnitTest {
                 "</TestMessage>");
     }
 
+    @Test
+    public void testTranslateLargeDocument() throws Exception {
+        StringBuilder payload = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><TestMessage>");
+        for (int i = 0; i < 5000; i++) {
+            payload.append("<Item id=\"").append(i).append("\"><Name>Item ").append(i).append("</Name><Timestamp>?</Timestamp></Item>");
+        }
+        payload.append("</TestMessage>");
+
+        Map<String, String> mappings = new HashMap<String, String>();
+        mappings.put("//Item/Timestamp", "${timestamp}");
+        mappings.put("//Item[@id='1']/Name", "Updated");
+
+        context.setVariable("timestamp", "2017-01-01");
+
+        XpathMappingDataDictionary dictionary = new XpathMappingDataDictionary();
+        dictionary.setMappings(mappings);
+
+        Message intercepted = dictionary.interceptMessage(new DefaultMessage(payload.toString()), Citrus.DEFAULT_MESSAGE_TYPE, context);
+        String result = intercepted.getPayload(String.class);
+        Assert.assertFalse(result.contains("<Timestamp>?</Timestamp>"));
+        Assert.assertTrue(result.contains("<Timestamp>2017-01-01</Timestamp>"));
+        Assert.assertTrue(result.contains("<Name>Item 0</Name>"));
+        Assert.assertTrue(result.contains("<Name>Updated</Name>"));
+        Assert.assertFalse(result.contains("<Name>Item 1</Name>"));
+
+        intercepted = dictionary.interceptMessage(new DefaultMessage(payload.toString().replace("id=\"1\"", "id=\"x\"")), Citrus.DEFAULT_MESSAGE_TYPE, context);
+        Assert.assertTrue(intercepted.getPayload(String.class).contains("<Name>Item 1</Name>"));
+        Assert.assertFalse(intercepted.getPayload(String.class).contains("<Name>Updated</Name>"));
+    }
+
     @Test
     public void testTranslateWithNamespaceLookup() throws Exception {
         Message message = new DefaultMessage("<?xml version=\"1.0\" encoding=\"UTF-8\"?><ns1:TestMessage xmlns:ns1=\"http://www.foo.bar\"><ns1:Text>Hello World!</ns1:Text><ns1:OtherText name=\"foo\">No changes</ns1:OtherText></ns1:TestMessage>");
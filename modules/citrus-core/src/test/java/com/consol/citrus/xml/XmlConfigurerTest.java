@@ -0,0 +1,82 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml;
+
+import com.consol.citrus.util.XMLUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.w3c.dom.ls.LSParser;
+import org.w3c.dom.ls.LSSerializer;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class XmlConfigurerTest {
+
+    @Test
+    public void testThreadConfinedInstances() throws Exception {
+        XmlConfigurer configurer = new XmlConfigurer();
+
+        LSParser parser = configurer.getLSParser();
+        LSSerializer serializer = configurer.getLSSerializer();
+        Assert.assertSame(configurer.getLSParser(), parser);
+        Assert.assertSame(configurer.getLSSerializer(), serializer);
+        Assert.assertNotSame(configurer.getNonValidatingLSParser(), parser);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assert.assertNotSame(executor.submit(configurer::getLSParser).get(), parser);
+            Assert.assertNotSame(executor.submit(configurer::getLSSerializer).get(), serializer);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSettingsChange() {
+        XmlConfigurer configurer = new XmlConfigurer();
+
+        LSParser parser = configurer.getLSParser();
+        configurer.setParseSettings(Collections.<String, Object>singletonMap(XmlConfigurer.CDATA_SECTIONS, false));
+
+        LSParser updated = configurer.getLSParser();
+        Assert.assertNotSame(updated, parser);
+        Assert.assertFalse((Boolean) updated.getDomConfig().getParameter(XmlConfigurer.CDATA_SECTIONS));
+    }
+
+    @Test
+    public void testParallelParsing() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final int index = i;
+                results.add(executor.submit(() -> XMLUtils.serialize(XMLUtils.parseMessagePayload("<message index=\"" + index + "\">Hello</message>"))));
+            }
+
+            for (int i = 0; i < 100; i++) {
+                Assert.assertTrue(results.get(i).get().contains("<message index=\"" + i + "\">Hello</message>"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
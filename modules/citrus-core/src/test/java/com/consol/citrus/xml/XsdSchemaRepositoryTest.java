@@ -16,9 +16,15 @@
 
 package com.consol.citrus.xml;
 
+import com.consol.citrus.xml.schema.CompiledXmlValidator;
+import org.springframework.xml.validation.XmlValidator;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
 
 import com.consol.citrus.xml.schema.WsdlXsdSchema;
 
@@ -135,4 +141,40 @@ public class XsdSchemaRepositoryTest {
         Assert.assertEquals(schemaRepository.getSchemas().size(), 1);
         Assert.assertEquals(schemaRepository.getSchemas().get(0).getClass(), SimpleXsdSchema.class);
     }
+
+    @Test
+    public void testCompiledValidator() throws Exception {
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/validation/test.xsd");
+
+        schemaRepository.afterPropertiesSet();
+
+        XmlValidator validator = schemaRepository.getValidator();
+        Assert.assertEquals(validator.getClass(), CompiledXmlValidator.class);
+        Assert.assertSame(schemaRepository.getValidator(), validator);
+
+        SAXParseException[] errors = validator.validate(new StreamSource(new StringReader("<message xmlns=\"http://citrusframework.org/test\">"
+                + "<correlationId>Kx1R123456789</correlationId>"
+                + "<bookingId>Bx1G987654321</bookingId>"
+                + "<test>Hello TestFramework</test>"
+                + "</message>")));
+        Assert.assertEquals(errors.length, 0);
+
+        errors = validator.validate(new StreamSource(new StringReader("<message xmlns=\"http://citrusframework.org/test\">"
+                + "<unknown>Kx1R123456789</unknown>"
+                + "</message>")));
+        Assert.assertEquals(errors.length, 1);
+        Assert.assertEquals(((CompiledXmlValidator) validator).getValidationCount(), 2L);
+
+        schemaRepository.addCitrusSchema("citrus-config");
+        Assert.assertNotSame(schemaRepository.getValidator(), validator);
+
+        validator = schemaRepository.getValidator();
+        schemaRepository.getSchemas().set(0, schemaRepository.getSchemas().get(0));
+        Assert.assertNotSame(schemaRepository.getValidator(), validator);
+
+        validator = schemaRepository.getValidator();
+        schemaRepository.setSchemas(schemaRepository.getSchemas());
+        Assert.assertNotSame(schemaRepository.getValidator(), validator);
+    }
 }
@@ -19,8 +19,11 @@ package com.consol.citrus.xml.xpath;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.consol.citrus.util.XMLUtils;
+import org.springframework.xml.namespace.SimpleNamespaceContext;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import org.w3c.dom.Document;
 
 /**
  * @author Christoph Deppisch
@@ -69,4 +72,40 @@ public class XPathUtilsTest {
         Assert.assertEquals(XPathUtils.replaceDynamicNamespaces("//{http://citrusframework.org/unkown}Foo/{http://citrusframework.org/unknown}bar", namespaces),
                 "//{http://citrusframework.org/unkown}Foo/{http://citrusframework.org/unknown}bar");
     }
+
+    @Test
+    public void testExpressionCache() {
+        Document doc = XMLUtils.parseMessagePayload("<ns1:root xmlns:ns1=\"http://citrusframework.org/foo\" " +
+                "xmlns:ns2=\"http://citrusframework.org/bar\"><ns1:text>foo</ns1:text><ns2:text>bar</ns2:text></ns1:root>");
+
+        XPathUtils.clearCache();
+
+        Assert.assertEquals(XPathUtils.evaluateAsString(doc, "/ns1:root/ns1:text", buildContext("http://citrusframework.org/foo")), "foo");
+        Assert.assertEquals(XPathUtils.getCacheMisses(), 1L);
+        Assert.assertEquals(XPathUtils.getCacheHits(), 0L);
+
+        // new context instance holding same bindings
+        Assert.assertEquals(XPathUtils.evaluateAsString(doc, "/ns1:root/ns1:text", buildContext("http://citrusframework.org/foo")), "foo");
+        Assert.assertEquals(XPathUtils.getCacheMisses(), 1L);
+        Assert.assertEquals(XPathUtils.getCacheHits(), 1L);
+
+        // same prefix bound to different namespace must not reuse compiled expression
+        Assert.assertEquals(XPathUtils.evaluateAsBoolean(doc, "/ns1:root/ns1:text", buildContext("http://citrusframework.org/bar")), Boolean.FALSE);
+        Assert.assertEquals(XPathUtils.getCacheMisses(), 2L);
+
+        Assert.assertEquals(XPathUtils.evaluateAsNumber(doc, "count(/*/child::*)", null), Double.valueOf(2));
+        Assert.assertEquals(XPathUtils.evaluateAsNumber(doc, "count(/*/child::*)", null), Double.valueOf(2));
+        Assert.assertEquals(XPathUtils.getCacheMisses(), 3L);
+        Assert.assertEquals(XPathUtils.getCacheHits(), 2L);
+
+        XPathUtils.clearCache();
+        Assert.assertEquals(XPathUtils.getCacheMisses(), 0L);
+        Assert.assertEquals(XPathUtils.getCacheHits(), 0L);
+    }
+
+    private SimpleNamespaceContext buildContext(String namespace) {
+        SimpleNamespaceContext namespaceContext = new SimpleNamespaceContext();
+        namespaceContext.bindNamespaceUri("ns1", namespace);
+        return namespaceContext;
+    }
 }
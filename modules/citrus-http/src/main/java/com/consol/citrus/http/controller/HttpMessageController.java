@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2011 the original author or authors.
+ * Copyright 2006-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,29 +18,55 @@ package com.consol.citrus.http.controller;
 
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.message.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.*;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Controller;
-import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.util.UrlPathHelper;
 
 import javax.servlet.http.*;
+import java.io.IOException;
 import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Message controller implementation handling all incoming requests by forwarding to a message 
  * handler for further processing.
+ *
+ * Requests are processed asynchronously with Servlet 3 async support. The request message is built on the servlet container
+ * thread, the endpoint adapter is then called on a worker thread of the controller task executor so waiting for the response does not
+ * hold a container thread. Requests are rejected with service unavailable status when all workers are busy and the executor queue is full.
+ * Requests on servlets or filters without async support are handled synchronously on the servlet container thread. The response of
+ * each request is kept as request attribute so concurrent requests never share response state.
  * 
  * @author Christoph Deppisch
  */
 @Controller
 @RequestMapping("/*")
-public class HttpMessageController {
+public class HttpMessageController implements InitializingBean, DisposableBean {
+
+    /** Request attribute holding the deferred response of the current request */
+    public static final String RESPONSE_ATTRIBUTE = HttpMessageController.class.getName() + ".RESPONSE";
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(HttpMessageController.class);
 
     /** Endpoint adapter for incoming requests, providing proper responses */
     private EndpointAdapter endpointAdapter = new EmptyResponseEndpointAdapter();
@@ -48,71 +74,193 @@ public class HttpMessageController {
     /** Endpoint configuration */
     private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
 
-    /** Hold the latest response message for message tracing reasons */
-    private ResponseEntity<String> responseCache;
-    
+    /** Url path helper is thread safe so share one instance for all requests */
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
+
+    /** Executor calling the endpoint adapter */
+    private AsyncTaskExecutor taskExecutor;
+
+    /** Number of worker threads in default task executor */
+    private int poolSize = 200;
+
+    /** Number of requests waiting for a free worker in default task executor, further requests are rejected */
+    private int queueCapacity = 100;
+
+    /** Converter writing response entities of synchronously handled requests */
+    private final StringHttpMessageConverter responseConverter = new StringHttpMessageConverter();
+
+    /** Async request timeout in milliseconds, zero or negative value waits forever */
+    private long asyncTimeout = 0L;
+
+    /** Request metrics */
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicLong completedRequests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
     @RequestMapping(value = "**", method = { RequestMethod.GET })
     @ResponseBody
-    public ResponseEntity<String> handleGetRequest(HttpEntity<String> requestEntity) {
+    public DeferredResult<ResponseEntity<String>> handleGetRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.GET, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.POST })
     @ResponseBody
-    public ResponseEntity<String> handlePostRequest(HttpEntity<String> requestEntity) {
+    public DeferredResult<ResponseEntity<String>> handlePostRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.POST, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.PUT })
     @ResponseBody
-    public ResponseEntity<String> handlePutRequest(HttpEntity<String> requestEntity) {
+    public DeferredResult<ResponseEntity<String>> handlePutRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.PUT, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.DELETE })
     @ResponseBody
-    public ResponseEntity<String> handleDeleteRequest(HttpEntity<String> requestEntity) {
+    public DeferredResult<ResponseEntity<String>> handleDeleteRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.DELETE, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.OPTIONS })
     @ResponseBody
-    public ResponseEntity<String> handleOptionsRequest(HttpEntity<String> requestEntity) {
+    public DeferredResult<ResponseEntity<String>> handleOptionsRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.OPTIONS, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.HEAD })
     @ResponseBody
-    public ResponseEntity<String> handleHeadRequest(HttpEntity<String> requestEntity) {
+    public DeferredResult<ResponseEntity<String>> handleHeadRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.HEAD, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.TRACE })
     @ResponseBody
-    public ResponseEntity<String> handleTraceRequest(HttpEntity<String> requestEntity) {
+    public DeferredResult<ResponseEntity<String>> handleTraceRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.TRACE, requestEntity);
     }
 
     @RequestMapping(value= "**", method = { RequestMethod.PATCH })
     @ResponseBody
-    public ResponseEntity<String> handlePatchRequest(HttpEntity<String> requestEntity) {
+    public DeferredResult<ResponseEntity<String>> handlePatchRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.PATCH, requestEntity);
     }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (taskExecutor == null) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(poolSize);
+            executor.setMaxPoolSize(poolSize);
+            executor.setQueueCapacity(queueCapacity);
+            executor.setAllowCoreThreadTimeOut(true);
+            executor.setThreadNamePrefix("citrus-http-");
+            executor.afterPropertiesSet();
+            taskExecutor = executor;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (taskExecutor instanceof ThreadPoolTaskExecutor) {
+            ((ThreadPoolTaskExecutor) taskExecutor).shutdown();
+        }
+    }
     
     /**
      * Handles requests with endpoint adapter implementation. Previously sets Http request method as header parameter.
+     * Endpoint adapter is called with task executor, without task executor the endpoint adapter is called on the
+     * current thread. Requests without async support are handled on the current thread and the response is written
+     * directly, in this case the method returns null.
      * @param method
      * @param requestEntity
      * @return
      */
-    private ResponseEntity<String> handleRequestInternal(HttpMethod method, HttpEntity<String> requestEntity) {
-        HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration, null);
+    private DeferredResult<ResponseEntity<String>> handleRequestInternal(HttpMethod method, HttpEntity<String> requestEntity) {
+        ServletRequestAttributes requestAttributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        HttpServletRequest servletRequest = requestAttributes.getRequest();
+        HttpMessage request = createRequestMessage(method, requestEntity, servletRequest);
+
+        DeferredResult<ResponseEntity<String>> response = new DeferredResult<>(asyncTimeout > 0 ? asyncTimeout : 0L);
+        requestAttributes.setAttribute(RESPONSE_ATTRIBUTE, response, RequestAttributes.SCOPE_REQUEST);
+
+        long start = System.nanoTime();
+        inFlightRequests.incrementAndGet();
+
+        Runnable task = () -> {
+            try {
+                ResponseEntity<String> responseEntity = handleMessage(request);
+                completed(start, true);
+                response.setResult(responseEntity);
+            } catch (RuntimeException e) {
+                completed(start, false);
+                response.setErrorResult(e);
+            }
+        };
+
+        if (!servletRequest.isAsyncSupported()) {
+            task.run();
+            writeResponse(response, requestAttributes.getResponse());
+            return null;
+        }
+
+        if (taskExecutor == null) {
+            task.run();
+        } else {
+            try {
+                taskExecutor.execute(task);
+            } catch (TaskRejectedException e) {
+                log.warn("Unable to handle Http request - all workers are busy", e);
+                completed(start, false);
+                response.setResult(new ResponseEntity<>("Unable to handle Http request - all workers are busy", HttpStatus.SERVICE_UNAVAILABLE));
+            }
+        }
+
+        return response;
+    }
+
+    /**
+     * Writes result of synchronously handled request to the servlet response. Error results are raised so the servlet
+     * container handles them as usual.
+     * @param response
+     * @param servletResponse
+     */
+    private void writeResponse(DeferredResult<ResponseEntity<String>> response, HttpServletResponse servletResponse) {
+        Object result = response.getResult();
+        if (result instanceof RuntimeException) {
+            throw (RuntimeException) result;
+        }
+
+        ResponseEntity<String> responseEntity = (ResponseEntity<String>) result;
+        ServletServerHttpResponse outputMessage = new ServletServerHttpResponse(servletResponse);
+        outputMessage.setStatusCode(responseEntity.getStatusCode());
+        outputMessage.getHeaders().putAll(responseEntity.getHeaders());
+
+        try {
+            if (responseEntity.hasBody()) {
+                responseConverter.write(responseEntity.getBody(), responseEntity.getHeaders().getContentType(), outputMessage);
+            }
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to write Http response", e);
+        } finally {
+            outputMessage.close();
+        }
+    }
 
-        HttpServletRequest servletRequest = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
-        UrlPathHelper pathHelper = new UrlPathHelper();
+    /**
+     * Builds request message from request entity and servlet request. Must be called on the servlet container thread.
+     * @param method
+     * @param requestEntity
+     * @param servletRequest
+     * @return
+     */
+    private HttpMessage createRequestMessage(HttpMethod method, HttpEntity<String> requestEntity, HttpServletRequest servletRequest) {
+        HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration, null);
 
-        Enumeration allHeaders = servletRequest.getHeaderNames();
-        for (String headerName : CollectionUtils.toArray(allHeaders, new String[] {})) {
+        Enumeration<String> headerNames = servletRequest.getHeaderNames();
+        while (headerNames.hasMoreElements()) {
+            String headerName = headerNames.nextElement();
             if (request.getHeader(headerName) == null) {
                 String headerValue = servletRequest.getHeader(headerName);
                 request.header(headerName, headerValue != null ? headerValue : "");
@@ -140,39 +288,121 @@ public class HttpMessageController {
             queryParams = queryParams.replaceAll("&", ",");
         }
 
-        request.path(pathHelper.getRequestUri(servletRequest))
-                .uri(pathHelper.getRequestUri(servletRequest))
+        String requestUri = pathHelper.getRequestUri(servletRequest);
+        request.path(requestUri)
+                .uri(requestUri)
                 .contextPath(pathHelper.getContextPath(servletRequest))
                 .queryParams(queryParams)
                 .version(servletRequest.getProtocol())
                 .method(method);
 
+        return request;
+    }
+
+    /**
+     * Calls endpoint adapter and converts response message to response entity. Cookies are added as
+     * response headers as the servlet response must not be accessed outside of the servlet container threads.
+     * @param request
+     * @return
+     */
+    private ResponseEntity<String> handleMessage(HttpMessage request) {
         Message response = endpointAdapter.handleMessage(request);
         if (response == null) {
-            responseCache = new ResponseEntity<>(HttpStatus.OK);
+            return new ResponseEntity<>(HttpStatus.OK);
+        }
+
+        HttpMessage httpResponse;
+        if (response instanceof HttpMessage) {
+            httpResponse = (HttpMessage) response;
         } else {
-            HttpMessage httpResponse;
-            if (response instanceof HttpMessage) {
-                httpResponse = (HttpMessage) response;
-            } else {
-                httpResponse = new HttpMessage(response);
-            }
+            httpResponse = new HttpMessage(response);
+        }
 
-            if (httpResponse.getStatusCode() == null) {
-                httpResponse.status(HttpStatus.OK);
-            }
+        if (httpResponse.getStatusCode() == null) {
+            httpResponse.status(HttpStatus.OK);
+        }
 
-            responseCache = (ResponseEntity<String>) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration, null);
+        ResponseEntity<String> responseEntity = (ResponseEntity<String>) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration, null);
 
-            if (endpointConfiguration.isHandleCookies() && httpResponse.getCookies() != null) {
-                HttpServletResponse servletResponse = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getResponse();
-                for (Cookie cookie : httpResponse.getCookies()) {
-                    servletResponse.addCookie(cookie);
-                }
+        if (endpointConfiguration.isHandleCookies() && !httpResponse.getCookies().isEmpty()) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(responseEntity.getHeaders());
+            for (Cookie cookie : httpResponse.getCookies()) {
+                headers.add(HttpHeaders.SET_COOKIE, getSetCookieHeader(cookie));
             }
+
+            responseEntity = new ResponseEntity<>(responseEntity.getBody(), headers, responseEntity.getStatusCode());
+        }
+
+        return responseEntity;
+    }
+
+    /**
+     * Builds set cookie header value for given cookie.
+     * @param cookie
+     * @return
+     */
+    private String getSetCookieHeader(Cookie cookie) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(cookie.getName()).append("=").append(cookie.getValue() != null ? cookie.getValue() : "");
+
+        if (StringUtils.hasText(cookie.getPath())) {
+            builder.append(";Path=").append(cookie.getPath());
+        }
+
+        if (StringUtils.hasText(cookie.getDomain())) {
+            builder.append(";Domain=").append(cookie.getDomain());
+        }
+
+        if (cookie.getMaxAge() >= 0) {
+            builder.append(";Max-Age=").append(cookie.getMaxAge());
+        }
+
+        if (cookie.getSecure()) {
+            builder.append(";Secure");
+        }
+
+        if (cookie.isHttpOnly()) {
+            builder.append(";HttpOnly");
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Updates request metrics on completed request.
+     * @param start
+     * @param success
+     */
+    private void completed(long start, boolean success) {
+        long latency = System.nanoTime() - start;
+
+        inFlightRequests.decrementAndGet();
+        if (success) {
+            completedRequests.incrementAndGet();
+        } else {
+            failedRequests.incrementAndGet();
         }
 
-        return responseCache;
+        totalLatency.addAndGet(latency);
+        long max;
+        while (latency > (max = maxLatency.get()) && !maxLatency.compareAndSet(max, latency)) {
+            // retry
+        }
+    }
+
+    /**
+     * Gets the response entity for given request. Returns null in case response has not been created yet.
+     * @param request
+     * @return
+     */
+    public ResponseEntity<String> getResponse(HttpServletRequest request) {
+        Object response = request.getAttribute(RESPONSE_ATTRIBUTE);
+        if (response instanceof DeferredResult && ((DeferredResult) response).getResult() instanceof ResponseEntity) {
+            return (ResponseEntity<String>) ((DeferredResult) response).getResult();
+        }
+
+        return null;
     }
     
     /**
@@ -208,10 +438,123 @@ public class HttpMessageController {
     }
 
     /**
-     * Gets the responseCache.
-     * @return the responseCache the responseCache to get.
+     * Gets the response of the request currently bound to this thread.
+     * @return the response of the current request or null.
+     * @deprecated in favor of {@link #getResponse(HttpServletRequest)}
      */
+    @Deprecated
     public ResponseEntity<String> getResponseCache() {
-        return responseCache;
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes instanceof ServletRequestAttributes) {
+            return getResponse(((ServletRequestAttributes) requestAttributes).getRequest());
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the task executor.
+     * @return
+     */
+    public AsyncTaskExecutor getTaskExecutor() {
+        return taskExecutor;
+    }
+
+    /**
+     * Sets the task executor calling the endpoint adapter.
+     * @param taskExecutor
+     */
+    public void setTaskExecutor(AsyncTaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Gets the pool size.
+     * @return
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Sets the number of worker threads in default task executor.
+     * @param poolSize
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Gets the queue capacity.
+     * @return
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the number of requests waiting for a free worker in default task executor. Further requests are
+     * rejected with service unavailable status.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the async timeout.
+     * @return
+     */
+    public long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    /**
+     * Sets the async request timeout in milliseconds.
+     * @param asyncTimeout
+     */
+    public void setAsyncTimeout(long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    /**
+     * Gets the number of requests currently waiting for the endpoint adapter response.
+     * @return
+     */
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    /**
+     * Gets the number of successfully handled requests.
+     * @return
+     */
+    public long getCompletedRequests() {
+        return completedRequests.get();
+    }
+
+    /**
+     * Gets the number of requests failed with error.
+     * @return
+     */
+    public long getFailedRequests() {
+        return failedRequests.get();
+    }
+
+    /**
+     * Gets the average request latency in milliseconds.
+     * @return
+     */
+    public long getAverageLatency() {
+        long handled = completedRequests.get() + failedRequests.get();
+        return handled > 0 ? TimeUnit.NANOSECONDS.toMillis(totalLatency.get() / handled) : 0L;
+    }
+
+    /**
+     * Gets the maximum request latency in milliseconds.
+     * @return
+     */
+    public long getMaxLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatency.get());
     }
 }
@@ -28,6 +28,7 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
@@ -59,7 +60,10 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      */
     public boolean preHandle(HttpServletRequest request, 
             HttpServletResponse response, Object handler) throws Exception {
-        handleRequest(getRequestContent(request));
+        if (!DispatcherType.ASYNC.equals(request.getDispatcherType())) {
+            handleRequest(getRequestContent(request));
+        }
+
         return true;
     }
 
@@ -68,7 +72,7 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      */
     public void postHandle(HttpServletRequest request,
             HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        handleResponse(getResponseContent(response, handler));
+        handleResponse(getResponseContent(request, response, handler));
     }
 
     /**
@@ -151,10 +155,11 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
     }
     
     /**
+     * @param request
      * @param response
      * @return
      */
-    private String getResponseContent(HttpServletResponse response, Object handler) {
+    private String getResponseContent(HttpServletRequest request, HttpServletResponse response, Object handler) {
         StringBuilder builder = new StringBuilder();
 
         builder.append(response);
@@ -163,7 +168,7 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
             HandlerMethod handlerMethod = (HandlerMethod) handler;
             if (handlerMethod.getBean() instanceof HttpMessageController) {
                 ResponseEntity<String> responseEntity =
-                        ((HttpMessageController) handlerMethod.getBean()).getResponseCache();
+                        ((HttpMessageController) handlerMethod.getBean()).getResponse(request);
                 if (responseEntity != null) {
                     builder.append(NEWLINE);
                     builder.append(responseEntity.getBody());
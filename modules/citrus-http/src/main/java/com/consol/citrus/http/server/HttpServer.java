@@ -163,6 +163,7 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
                 FilterHolder filterHolder = new FilterHolder();
                 filterHolder.setName(filterEntry.getKey());
                 filterHolder.setFilter(filterEntry.getValue());
+                filterHolder.setAsyncSupported(true);
 
                 servletHandler.addFilter(filterHolder, filterMapping);
             }
@@ -201,6 +202,7 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     private void addDispatcherServlet() {
         ServletHolder servletHolder = new ServletHolder(getDispatherServlet());
         servletHolder.setName(getServletName());
+        servletHolder.setAsyncSupported(true);
         servletHolder.setInitParameter("contextConfigLocation", contextConfigLocation);
 
         servletHandler.addServlet(servletHolder);
@@ -231,6 +233,7 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
 
         FilterHolder filterHolder = new FilterHolder(new RequestCachingServletFilter());
         filterHolder.setName("request-caching-filter");
+        filterHolder.setAsyncSupported(true);
         servletHandler.addFilter(filterHolder, filterMapping);
     }
 
@@ -244,6 +247,7 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
 
         FilterHolder filterHolder = new FilterHolder(new GzipServletFilter());
         filterHolder.setName("gzip-filter");
+        filterHolder.setAsyncSupported(true);
         servletHandler.addFilter(filterHolder, filterMapping);
     }
 
@@ -37,13 +37,40 @@ public class GzipServletFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        if (response instanceof GzipHttpServletResponseWrapper) {
+            // async dispatch continues with the gzip response of the initial dispatch
+            doFilterGzip(request, (GzipHttpServletResponseWrapper) response, filterChain);
+            return;
+        }
+
         String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
         if (acceptEncoding != null && acceptEncoding.indexOf("gzip") >= 0) {
-            GzipHttpServletResponseWrapper gzipResponse = new GzipHttpServletResponseWrapper(response);
-            filterChain.doFilter(request, gzipResponse);
-            gzipResponse.finish();
+            doFilterGzip(request, new GzipHttpServletResponseWrapper(response), filterChain);
         } else {
             filterChain.doFilter(request, response);
         }
     }
+
+    /**
+     * Continues filter chain with gzip response. Response is finished unless async processing has been started
+     * in which case the async dispatch finishes the response.
+     * @param request
+     * @param gzipResponse
+     * @param filterChain
+     * @throws ServletException
+     * @throws IOException
+     */
+    private void doFilterGzip(HttpServletRequest request, GzipHttpServletResponseWrapper gzipResponse,
+                              FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(request, gzipResponse);
+
+        if (!isAsyncStarted(request)) {
+            gzipResponse.finish();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import com.consol.citrus.endpoint.adapter.StaticEndpointAdapter;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.message.Message;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class HttpMessageControllerTest {
+
+    private HttpMessageController controller;
+    private MockMvc mockMvc;
+
+    @BeforeMethod
+    public void setUp() {
+        controller = new HttpMessageController();
+        controller.afterPropertiesSet();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        controller.destroy();
+    }
+
+    @Test
+    public void testConcurrentResponses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        controller.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message message) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return new HttpMessage("Hello " + message.getPayload(String.class))
+                        .status(HttpStatus.ACCEPTED);
+            }
+        });
+
+        MvcResult fooResult = mockMvc.perform(post("/test").content("Foo"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult barResult = mockMvc.perform(post("/test").content("Bar"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        Assert.assertEquals(controller.getInFlightRequests(), 2);
+
+        release.countDown();
+        fooResult.getAsyncResult(5000L);
+        barResult.getAsyncResult(5000L);
+
+        mockMvc.perform(asyncDispatch(fooResult))
+                .andExpect(status().isAccepted())
+                .andExpect(content().string("Hello Foo"));
+        mockMvc.perform(asyncDispatch(barResult))
+                .andExpect(status().isAccepted())
+                .andExpect(content().string("Hello Bar"));
+
+        Assert.assertEquals(controller.getResponse(fooResult.getRequest()).getBody(), "Hello Foo");
+        Assert.assertEquals(controller.getResponse(barResult.getRequest()).getBody(), "Hello Bar");
+
+        Assert.assertEquals(controller.getInFlightRequests(), 0);
+        Assert.assertEquals(controller.getCompletedRequests(), 2L);
+        Assert.assertEquals(controller.getFailedRequests(), 0L);
+        Assert.assertTrue(controller.getMaxLatency() >= controller.getAverageLatency());
+    }
+
+    @Test
+    public void testEmptyResponse() throws Exception {
+        MvcResult result = mockMvc.perform(get("/test"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        result.getAsyncResult(5000L);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        Assert.assertEquals(controller.getCompletedRequests(), 1L);
+    }
+
+    @Test
+    public void testFailedRequest() throws Exception {
+        controller.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message message) {
+                throw new IllegalStateException("Something went wrong");
+            }
+        });
+
+        MvcResult result = mockMvc.perform(get("/test"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        result.getAsyncResult(5000L);
+
+        Assert.assertTrue(result.getAsyncResult() instanceof IllegalStateException);
+        Assert.assertEquals(controller.getInFlightRequests(), 0);
+        Assert.assertEquals(controller.getCompletedRequests(), 0L);
+        Assert.assertEquals(controller.getFailedRequests(), 1L);
+    }
+
+    @Test
+    public void testRejectedRequest() throws Exception {
+        controller.destroy();
+        controller = new HttpMessageController();
+        controller.setPoolSize(1);
+        controller.setQueueCapacity(0);
+        controller.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        CountDownLatch release = new CountDownLatch(1);
+        controller.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message message) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return new HttpMessage("Hello");
+            }
+        });
+
+        MvcResult busyResult = mockMvc.perform(get("/test"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult rejectedResult = mockMvc.perform(get("/test"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        rejectedResult.getAsyncResult(5000L);
+        mockMvc.perform(asyncDispatch(rejectedResult))
+                .andExpect(status().isServiceUnavailable());
+
+        release.countDown();
+        busyResult.getAsyncResult(5000L);
+        mockMvc.perform(asyncDispatch(busyResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Hello"));
+
+        Assert.assertEquals(controller.getCompletedRequests(), 1L);
+        Assert.assertEquals(controller.getFailedRequests(), 1L);
+    }
+
+    @Test
+    public void testRequestWithoutAsyncSupport() throws Exception {
+        controller.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message message) {
+                return new HttpMessage("Hello " + message.getPayload(String.class))
+                        .status(HttpStatus.ACCEPTED);
+            }
+        });
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setAsyncSupported(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            Assert.assertNull(controller.handlePostRequest(new HttpEntity<>("Foo")));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        Assert.assertEquals(response.getStatus(), HttpStatus.ACCEPTED.value());
+        Assert.assertEquals(response.getContentAsString(), "Hello Foo");
+        Assert.assertEquals(controller.getResponse(request).getBody(), "Hello Foo");
+        Assert.assertEquals(controller.getCompletedRequests(), 1L);
+    }
+}
@@ -155,4 +155,22 @@ public class ExecuteSQLBuilder extends AbstractTestActionBuilder<ExecuteSQLActio
         action.setIgnoreErrors(ignoreErrors);
         return this;
     }
+
+    /**
+     * Sends statements in JDBC batches of given size.
+     * @param batchSize number of statements per batch
+     */
+    public ExecuteSQLBuilder batchSize(int batchSize) {
+        action.setBatchSize(batchSize);
+        return this;
+    }
+
+    /**
+     * Binds test variables used as complete string literal as string parameters when executing batches.
+     * @param bindVariables
+     */
+    public ExecuteSQLBuilder bindVariables(boolean bindVariables) {
+        action.setBindVariables(bindVariables);
+        return this;
+    }
 }
@@ -20,6 +20,9 @@ import com.consol.citrus.container.*;
 import com.consol.citrus.dsl.design.TestDesigner;
 import com.consol.citrus.dsl.runner.TestRunner;
 
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
 /**
  * @author Christoph Deppisch
  * @since 2.3
@@ -60,4 +63,54 @@ public class ParallelBuilder extends AbstractTestContainerBuilder<Parallel> {
         this(runner, new Parallel());
     }
 
+    /**
+     * Sets the maximum number of nested actions running at the same time.
+     * @param maxConcurrency
+     * @return
+     */
+    public ParallelBuilder maxConcurrency(int maxConcurrency) {
+        container.setMaxConcurrency(maxConcurrency);
+        return this;
+    }
+
+    /**
+     * Enables fail fast mode so first error cancels all other nested actions.
+     * @param failFast
+     * @return
+     */
+    public ParallelBuilder failFast(boolean failFast) {
+        container.setFailFast(failFast);
+        return this;
+    }
+
+    /**
+     * Sets the executor service running nested actions.
+     * @param executorService
+     * @return
+     */
+    public ParallelBuilder executor(ExecutorService executorService) {
+        container.setExecutorService(executorService);
+        return this;
+    }
+
+    /**
+     * Runs each nested action with its own forked test context.
+     * @param forkContext
+     * @return
+     */
+    public ParallelBuilder forkContext(boolean forkContext) {
+        container.setForkContext(forkContext);
+        return this;
+    }
+
+    /**
+     * Sets variables that are merged back from forked test contexts when all nested actions have finished.
+     * @param variableNames
+     * @return
+     */
+    public ParallelBuilder outputVariables(String... variableNames) {
+        container.setOutputVariables(Arrays.asList(variableNames));
+        return this;
+    }
+
 }
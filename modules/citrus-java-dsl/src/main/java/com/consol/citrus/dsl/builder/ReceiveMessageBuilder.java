@@ -521,6 +521,30 @@ public class ReceiveMessageBuilder<A extends ReceiveMessageAction, T extends Rec
         return self;
     }
 
+    /**
+     * Sets streaming validation enabled/disabled for this message. Streaming validation compares large XML
+     * and JSON message payloads without building DOM or JSON trees. Validation falls back to tree validation
+     * when ignore expressions or array order settings are not supported in streaming mode.
+     * @param enabled
+     * @return
+     */
+    public T streamingValidation(boolean enabled) {
+        xmlMessageValidationContext.setStreamingValidation(enabled);
+        jsonMessageValidationContext.setStreamingValidation(enabled);
+        return self;
+    }
+
+    /**
+     * Sets order insensitive JSON array validation enabled/disabled for this message. Control array items
+     * are matched with received array items regardless of their position.
+     * @param enabled
+     * @return
+     */
+    public T ignoreArrayOrder(boolean enabled) {
+        jsonMessageValidationContext.setIgnoreArrayOrder(enabled);
+        return self;
+    }
+
     /**
      * Validates XML namespace with prefix and uri.
      * @param prefix
@@ -812,6 +836,7 @@ public class ReceiveMessageBuilder<A extends ReceiveMessageAction, T extends Rec
             xPathContext.setSchema(xmlMessageValidationContext.getSchema());
             xPathContext.setSchemaRepository(xmlMessageValidationContext.getSchemaRepository());
             xPathContext.setSchemaValidation(xmlMessageValidationContext.isSchemaValidationEnabled());
+            xPathContext.setStreamingValidation(xmlMessageValidationContext.isStreamingValidation());
             xPathContext.setDTDResource(xmlMessageValidationContext.getDTDResource());
 
             getAction().getValidationContexts().remove(xmlMessageValidationContext);
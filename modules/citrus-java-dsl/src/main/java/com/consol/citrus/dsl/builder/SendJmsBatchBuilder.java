@@ -0,0 +1,184 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.dsl.builder;
+
+import com.consol.citrus.endpoint.Endpoint;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.jms.actions.SendJmsBatchAction;
+import com.consol.citrus.message.MessageType;
+import com.consol.citrus.util.FileUtils;
+import com.consol.citrus.validation.builder.PayloadTemplateMessageBuilder;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * Action builder publishes a batch of messages built from a message template to a JMS endpoint
+ * using a single session.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class SendJmsBatchBuilder extends AbstractTestActionBuilder<SendJmsBatchAction> {
+
+    /** Message template builder */
+    private final PayloadTemplateMessageBuilder messageBuilder = new PayloadTemplateMessageBuilder();
+
+    /**
+     * Constructor using action field.
+     * @param action
+     */
+    public SendJmsBatchBuilder(SendJmsBatchAction action) {
+        super(action);
+        action.setMessageBuilder(messageBuilder);
+    }
+
+    /**
+     * Default constructor.
+     */
+    public SendJmsBatchBuilder() {
+        this(new SendJmsBatchAction());
+    }
+
+    /**
+     * Sets the message endpoint to send messages to.
+     * @param endpoint
+     * @return
+     */
+    public SendJmsBatchBuilder endpoint(Endpoint endpoint) {
+        action.setEndpoint(endpoint);
+        return this;
+    }
+
+    /**
+     * Sets the message endpoint uri to send messages to.
+     * @param uri
+     * @return
+     */
+    public SendJmsBatchBuilder endpoint(String uri) {
+        action.setEndpointUri(uri);
+        return this;
+    }
+
+    /**
+     * Sets the message template payload. Template may reference the current batch index and data source record
+     * as test variables.
+     * @param payload
+     * @return
+     */
+    public SendJmsBatchBuilder payload(String payload) {
+        messageBuilder.setPayloadData(payload);
+        return this;
+    }
+
+    /**
+     * Sets the message template payload resource.
+     * @param payloadResource
+     * @return
+     */
+    public SendJmsBatchBuilder payload(Resource payloadResource) {
+        return payload(payloadResource, FileUtils.getDefaultCharset());
+    }
+
+    /**
+     * Sets the message template payload resource.
+     * @param payloadResource
+     * @param charset
+     * @return
+     */
+    public SendJmsBatchBuilder payload(Resource payloadResource, Charset charset) {
+        try {
+            messageBuilder.setPayloadData(FileUtils.readToString(payloadResource, charset));
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read payload resource", e);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds message header name value pair to the message template.
+     * @param name
+     * @param value
+     * @return
+     */
+    public SendJmsBatchBuilder header(String name, Object value) {
+        messageBuilder.getMessageHeaders().put(name, value);
+        return this;
+    }
+
+    /**
+     * Sets the message type.
+     * @param messageType
+     * @return
+     */
+    public SendJmsBatchBuilder messageType(MessageType messageType) {
+        return messageType(messageType.name());
+    }
+
+    /**
+     * Sets the message type.
+     * @param messageType
+     * @return
+     */
+    public SendJmsBatchBuilder messageType(String messageType) {
+        action.setMessageType(messageType);
+        return this;
+    }
+
+    /**
+     * Sets the number of messages to send.
+     * @param count
+     * @return
+     */
+    public SendJmsBatchBuilder count(int count) {
+        action.setCount(String.valueOf(count));
+        return this;
+    }
+
+    /**
+     * Sets the number of messages to send as expression.
+     * @param count
+     * @return
+     */
+    public SendJmsBatchBuilder count(String count) {
+        action.setCount(count);
+        return this;
+    }
+
+    /**
+     * Sets the data source file path with one record per line.
+     * @param filePath
+     * @return
+     */
+    public SendJmsBatchBuilder dataSource(String filePath) {
+        action.setDataSource(filePath);
+        return this;
+    }
+
+    /**
+     * Enables transacted session with given commit interval.
+     * @param commitInterval
+     * @return
+     */
+    public SendJmsBatchBuilder transacted(int commitInterval) {
+        action.setTransacted(true);
+        action.setCommitInterval(commitInterval);
+        return this;
+    }
+}
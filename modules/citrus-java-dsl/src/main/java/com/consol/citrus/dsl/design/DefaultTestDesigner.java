@@ -357,6 +357,13 @@ public class DefaultTestDesigner implements TestDesigner {
         return builder;
     }
 
+    @Override
+    public SendJmsBatchBuilder sendBatch() {
+        SendJmsBatchBuilder builder = new SendJmsBatchBuilder();
+        action(builder);
+        return builder;
+    }
+
     @Override
     public PurgeChannelsBuilder purgeChannels() {
         PurgeChannelsBuilder builder = new PurgeChannelsBuilder();
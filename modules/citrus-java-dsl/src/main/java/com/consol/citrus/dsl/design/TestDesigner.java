@@ -244,6 +244,14 @@ public interface TestDesigner extends ApplicationContextAware {
      */
     PurgeJmsQueuesBuilder purgeQueues();
 
+    /**
+     * Creates a new send JMS message batch action definition
+     * for further configuration.
+     *
+     * @return
+     */
+    SendJmsBatchBuilder sendBatch();
+
 
     /**
      * Creates a new purge message channel action definition
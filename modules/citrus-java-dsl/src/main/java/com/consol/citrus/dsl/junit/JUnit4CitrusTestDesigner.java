@@ -251,6 +251,11 @@ public class JUnit4CitrusTestDesigner extends JUnit4CitrusTest implements TestDe
         return testDesigner.purgeQueues();
     }
 
+    @Override
+    public SendJmsBatchBuilder sendBatch() {
+        return testDesigner.sendBatch();
+    }
+
     @Override
     public PurgeChannelsBuilder purgeChannels() {
         return testDesigner.purgeChannels();
@@ -196,6 +196,11 @@ public class JUnit4CitrusTestRunner extends JUnit4CitrusTest implements TestRunn
         return testRunner.purgeQueues(configurer);
     }
 
+    @Override
+    public TestAction sendBatch(BuilderSupport<SendJmsBatchBuilder> configurer) {
+        return testRunner.sendBatch(configurer);
+    }
+
     @Override
     public PurgeMessageChannelAction purgeChannels(BuilderSupport<PurgeChannelsBuilder> configurer) {
         return testRunner.purgeChannels(configurer);
@@ -195,6 +195,11 @@ public class TestNGCitrusTestRunner extends TestNGCitrusTest implements TestRunn
         return testRunner.purgeQueues(configurer);
     }
 
+    @Override
+    public TestAction sendBatch(BuilderSupport<SendJmsBatchBuilder> configurer) {
+        return testRunner.sendBatch(configurer);
+    }
+
     @Override
     public PurgeMessageChannelAction purgeChannels(BuilderSupport<PurgeChannelsBuilder> configurer) {
         return testRunner.purgeChannels(configurer);
@@ -23,7 +23,10 @@ import com.consol.citrus.container.Sequence;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 public class ParallelTestDesignerTest extends AbstractTestNGUnitTest {
 
@@ -85,4 +88,50 @@ public class ParallelTestDesignerTest extends AbstractTestNGUnitTest {
         assertEquals(container.getTestAction(2).getClass(), EchoAction.class);
         assertEquals(((EchoAction) container.getTestAction(2)).getMessage(), "3.0");
     }
+
+    @Test
+    public void testParallelBuilderConcurrencySettings() {
+        MockTestDesigner builder = new MockTestDesigner(applicationContext, context) {
+            @Override
+            public void configure() {
+                parallel()
+                    .maxConcurrency(2)
+                    .failFast(true)
+                    .actions(echo("1"), echo("2"), echo("3"));
+            }
+        };
+
+        builder.configure();
+
+        TestCase test = builder.getTestCase();
+        assertEquals(test.getActionCount(), 1);
+
+        Parallel container = (Parallel)test.getActions().get(0);
+        assertEquals(container.getActionCount(), 3);
+        assertEquals(container.getMaxConcurrency(), 2);
+        assertTrue(container.isFailFast());
+    }
+
+    @Test
+    public void testParallelBuilderForkContext() {
+        MockTestDesigner builder = new MockTestDesigner(applicationContext, context) {
+            @Override
+            public void configure() {
+                parallel()
+                    .forkContext(true)
+                    .outputVariables("orderId", "customerId")
+                    .actions(echo("1"), echo("2"));
+            }
+        };
+
+        builder.configure();
+
+        TestCase test = builder.getTestCase();
+        assertEquals(test.getActionCount(), 1);
+
+        Parallel container = (Parallel)test.getActions().get(0);
+        assertEquals(container.getActionCount(), 2);
+        assertTrue(container.isForkContext());
+        assertEquals(container.getOutputVariables(), Arrays.asList("orderId", "customerId"));
+    }
 }
@@ -1496,6 +1496,35 @@ public class ReceiveMessageTestDesignerTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(validationContext.getIgnoreExpressions().iterator().next(), "TestRequest.Message");
     }
 
+    @Test
+    public void testReceiveBuilderWithStreamingValidation() {
+        MockTestDesigner builder = new MockTestDesigner(applicationContext, context) {
+            @Override
+            public void configure() {
+                receive(messageEndpoint)
+                    .payload("<TestRequest><Message>?</Message></TestRequest>")
+                    .schemaValidation(false)
+                    .streamingValidation(true)
+                    .ignore("//TestRequest/Message");
+            }
+        };
+
+        builder.configure();
+
+        TestCase test = builder.getTestCase();
+        Assert.assertEquals(test.getActionCount(), 1);
+        ReceiveMessageAction action = (ReceiveMessageAction) ((DelegatingTestAction)test.getActions().get(0)).getDelegate();
+
+        Assert.assertEquals(action.getValidationContexts().size(), 3);
+        Assert.assertEquals(action.getValidationContexts().get(1).getClass(), XmlMessageValidationContext.class);
+
+        XmlMessageValidationContext validationContext = (XmlMessageValidationContext) action.getValidationContexts().get(1);
+        Assert.assertFalse(validationContext.isSchemaValidationEnabled());
+        Assert.assertTrue(validationContext.isStreamingValidation());
+        Assert.assertEquals(validationContext.getIgnoreExpressions().iterator().next(), "//TestRequest/Message");
+        Assert.assertTrue(((JsonMessageValidationContext) action.getValidationContexts().get(2)).isStreamingValidation());
+    }
+
     @Test
     public void testReceiveBuilderWithIgnoreElementsJsonPath() {
         MockTestDesigner builder = new MockTestDesigner(applicationContext, context) {
@@ -1535,6 +1564,31 @@ public class ReceiveMessageTestDesignerTest extends AbstractTestNGUnitTest {
         Assert.assertTrue(validationContext.getIgnoreExpressions().contains("$.person.age"));
     }
     
+    @Test
+    public void testReceiveBuilderWithIgnoreArrayOrder() {
+        MockTestDesigner builder = new MockTestDesigner(applicationContext, context) {
+            @Override
+            public void configure() {
+                receive(messageEndpoint)
+                        .messageType(MessageType.JSON)
+                        .payload("{\"greetings\": [\"Hello\", \"Hallo\", \"Hola\"]}")
+                        .ignoreArrayOrder(true);
+            }
+        };
+
+        builder.configure();
+
+        TestCase test = builder.getTestCase();
+        Assert.assertEquals(test.getActionCount(), 1);
+        ReceiveMessageAction action = (ReceiveMessageAction) ((DelegatingTestAction)test.getActions().get(0)).getDelegate();
+
+        Assert.assertEquals(action.getValidationContexts().size(), 3);
+        Assert.assertEquals(action.getValidationContexts().get(2).getClass(), JsonMessageValidationContext.class);
+
+        JsonMessageValidationContext validationContext = (JsonMessageValidationContext) action.getValidationContexts().get(2);
+        Assert.assertTrue(validationContext.isIgnoreArrayOrder());
+    }
+
     @Test
     public void testReceiveBuilderWithSchema() {
         MockTestDesigner builder = new MockTestDesigner(applicationContext, context) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.consol.citrus.dsl.design;
+
+import com.consol.citrus.TestCase;
+import com.consol.citrus.jms.actions.SendJmsBatchAction;
+import com.consol.citrus.jms.endpoint.JmsEndpoint;
+import com.consol.citrus.message.MessageType;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.validation.builder.PayloadTemplateMessageBuilder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class SendJmsBatchTestDesignerTest extends AbstractTestNGUnitTest {
+
+    private JmsEndpoint jmsEndpoint = new JmsEndpoint();
+
+    @Test
+    public void testSendJmsBatchBuilder() {
+        MockTestDesigner builder = new MockTestDesigner(applicationContext, context) {
+            @Override
+            public void configure() {
+                sendBatch()
+                    .endpoint(jmsEndpoint)
+                    .payload("<Message>${citrus.batch.index}</Message>")
+                    .header("operation", "batch")
+                    .count(1000)
+                    .transacted(250);
+            }
+        };
+
+        builder.configure();
+
+        TestCase test = builder.getTestCase();
+        Assert.assertEquals(test.getActionCount(), 1);
+        Assert.assertEquals(test.getActions().get(0).getClass(), SendJmsBatchAction.class);
+        Assert.assertEquals(test.getActions().get(0).getName(), "send-jms-batch");
+
+        SendJmsBatchAction action = (SendJmsBatchAction) test.getActions().get(0);
+        Assert.assertEquals(action.getEndpoint(), jmsEndpoint);
+        Assert.assertEquals(action.getCount(), "1000");
+        Assert.assertTrue(action.isTransacted());
+        Assert.assertEquals(action.getCommitInterval(), 250);
+        Assert.assertEquals(action.getMessageType(), MessageType.XML.name());
+
+        PayloadTemplateMessageBuilder messageBuilder = (PayloadTemplateMessageBuilder) action.getMessageBuilder();
+        Assert.assertEquals(messageBuilder.getPayloadData(), "<Message>${citrus.batch.index}</Message>");
+        Assert.assertEquals(messageBuilder.getMessageHeaders().get("operation"), "batch");
+    }
+
+    @Test
+    public void testSendJmsBatchBuilderWithDataSource() {
+        MockTestDesigner builder = new MockTestDesigner(applicationContext, context) {
+            @Override
+            public void configure() {
+                sendBatch()
+                    .endpoint("jms:queue:test")
+                    .messageType(MessageType.PLAINTEXT)
+                    .payload("${citrus.batch.record}")
+                    .dataSource("classpath:batch-data.txt");
+            }
+        };
+
+        builder.configure();
+
+        TestCase test = builder.getTestCase();
+        SendJmsBatchAction action = (SendJmsBatchAction) test.getActions().get(0);
+        Assert.assertNull(action.getEndpoint());
+        Assert.assertEquals(action.getEndpointUri(), "jms:queue:test");
+        Assert.assertEquals(action.getDataSource(), "classpath:batch-data.txt");
+        Assert.assertFalse(action.isTransacted());
+        Assert.assertEquals(action.getMessageType(), MessageType.PLAINTEXT.name());
+    }
+}
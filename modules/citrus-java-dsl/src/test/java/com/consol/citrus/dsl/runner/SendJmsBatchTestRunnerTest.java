@@ -0,0 +1,83 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.consol.citrus.dsl.runner;
+
+import com.consol.citrus.TestCase;
+import com.consol.citrus.jms.actions.SendJmsBatchAction;
+import com.consol.citrus.jms.endpoint.JmsEndpoint;
+import com.consol.citrus.message.MessageType;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.jms.*;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class SendJmsBatchTestRunnerTest extends AbstractTestNGUnitTest {
+    private ConnectionFactory connectionFactory = Mockito.mock(ConnectionFactory.class);
+    private Connection connection = Mockito.mock(Connection.class);
+    private Session session = Mockito.mock(Session.class);
+    private MessageProducer messageProducer = Mockito.mock(MessageProducer.class);
+    private Queue queue = Mockito.mock(Queue.class);
+    private TextMessage textMessage = Mockito.mock(TextMessage.class);
+
+    @Test
+    public void testSendJmsBatchBuilder() throws JMSException {
+        reset(connectionFactory, connection, session, messageProducer, queue, textMessage);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(true, Session.SESSION_TRANSACTED)).thenReturn(session);
+        when(session.createQueue("batch.queue")).thenReturn(queue);
+        when(session.createProducer(queue)).thenReturn(messageProducer);
+        when(session.createTextMessage(anyString())).thenReturn(textMessage);
+
+        final JmsEndpoint jmsEndpoint = new JmsEndpoint();
+        jmsEndpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        jmsEndpoint.getEndpointConfiguration().setDestinationName("batch.queue");
+
+        MockTestRunner builder = new MockTestRunner(getClass().getSimpleName(), applicationContext, context) {
+            @Override
+            public void execute() {
+                sendBatch(builder -> builder.endpoint(jmsEndpoint)
+                        .messageType(MessageType.PLAINTEXT)
+                        .payload("Hello ${citrus.batch.index}")
+                        .count(10)
+                        .transacted(4));
+            }
+        };
+
+        TestCase test = builder.getTestCase();
+        Assert.assertEquals(test.getActionCount(), 1);
+        Assert.assertEquals(test.getActions().get(0).getClass(), SendJmsBatchAction.class);
+        Assert.assertEquals(test.getActions().get(0).getName(), "send-jms-batch");
+
+        SendJmsBatchAction action = (SendJmsBatchAction) test.getActions().get(0);
+        Assert.assertEquals(action.getEndpoint(), jmsEndpoint);
+        Assert.assertEquals(action.getCount(), "10");
+        Assert.assertEquals(action.getCommitInterval(), 4);
+
+        verify(session).createTextMessage("Hello 0");
+        verify(session).createTextMessage("Hello 9");
+        verify(messageProducer, times(10)).send(textMessage);
+        verify(session, times(3)).commit();
+        verify(session).close();
+    }
+}
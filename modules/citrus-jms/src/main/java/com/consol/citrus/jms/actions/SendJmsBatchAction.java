@@ -0,0 +1,360 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.actions;
+
+import com.consol.citrus.actions.AbstractTestAction;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.endpoint.Endpoint;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.jms.endpoint.JmsEndpoint;
+import com.consol.citrus.jms.endpoint.JmsProducer;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.message.MessageType;
+import com.consol.citrus.util.FileUtils;
+import com.consol.citrus.validation.builder.MessageContentBuilder;
+import com.consol.citrus.validation.builder.PayloadTemplateMessageBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+
+import java.io.*;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Action publishes a batch of messages to a JMS endpoint over a single session. Messages are built from a message template
+ * either for a given count or for each line of a data source file. Template can reference the current message index and data source record
+ * with test variables {@link #BATCH_INDEX_VARIABLE} and {@link #BATCH_RECORD_VARIABLE}. Optionally messages are sent in transactions
+ * committed after the given number of messages. Achieved throughput is reported in the log.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class SendJmsBatchAction extends AbstractTestAction {
+
+    /** Test variable holding the current message index starting with zero */
+    public static final String BATCH_INDEX_VARIABLE = "citrus.batch.index";
+
+    /** Test variable holding the current data source record */
+    public static final String BATCH_RECORD_VARIABLE = "citrus.batch.record";
+
+    /** Jms endpoint instance */
+    private Endpoint endpoint;
+
+    /** Jms endpoint uri */
+    private String endpointUri;
+
+    /** Builder constructing the message template */
+    private MessageContentBuilder messageBuilder = new PayloadTemplateMessageBuilder();
+
+    /** The message type to send in this action */
+    private String messageType = MessageType.XML.name();
+
+    /** Number of messages to send */
+    private String count = "1";
+
+    /** Data source file with one record per line */
+    private String dataSource;
+
+    /** Use transacted session */
+    private boolean transacted = false;
+
+    /** Number of messages per transaction */
+    private int commitInterval = 100;
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SendJmsBatchAction.class);
+
+    /**
+     * Default constructor.
+     */
+    public SendJmsBatchAction() {
+        setName("send-jms-batch");
+    }
+
+    @Override
+    public void doExecute(TestContext context) {
+        Endpoint messageEndpoint = getOrCreateEndpoint(context);
+        if (!(messageEndpoint instanceof JmsEndpoint)) {
+            throw new CitrusRuntimeException(String.format("Unable to send message batch to endpoint '%s' - expected JMS endpoint", messageEndpoint.getName()));
+        }
+
+        JmsProducer producer = (JmsProducer) messageEndpoint.createProducer();
+
+        long start = System.currentTimeMillis();
+        long sent;
+        if (StringUtils.hasText(dataSource)) {
+            Resource resource = FileUtils.getFileResource(context.replaceDynamicContentInString(dataSource), context);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), FileUtils.getDefaultCharset()))) {
+                sent = producer.sendBatch(new DataSourceIterator(reader, context), context, transacted, commitInterval);
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read batch data source: " + dataSource, e);
+            }
+        } else {
+            sent = producer.sendBatch(new CountIterator(Integer.valueOf(context.replaceDynamicContentInString(count)), context), context, transacted, commitInterval);
+        }
+
+        long duration = Math.max(System.currentTimeMillis() - start, 1L);
+        log.info(String.format("Sent batch of %d messages to endpoint '%s' in %d ms (%.1f msgs/sec)",
+                sent, messageEndpoint.getName(), duration, sent * 1000.0 / duration));
+    }
+
+    /**
+     * Builds next message from template with given index.
+     * @param index
+     * @param context
+     * @return
+     */
+    private Message buildMessage(int index, TestContext context) {
+        context.setVariable(BATCH_INDEX_VARIABLE, index);
+        return messageBuilder.buildMessageContent(context, messageType);
+    }
+
+    /**
+     * Creates or gets the message endpoint instance.
+     * @param context
+     * @return the message endpoint
+     */
+    public Endpoint getOrCreateEndpoint(TestContext context) {
+        if (endpoint != null) {
+            return endpoint;
+        } else if (StringUtils.hasText(endpointUri)) {
+            return context.getEndpointFactory().create(endpointUri, context);
+        } else {
+            throw new CitrusRuntimeException("Neither endpoint nor endpoint uri is set properly!");
+        }
+    }
+
+    /**
+     * Builds given number of messages.
+     */
+    private class CountIterator implements Iterator<Message> {
+        private final int count;
+        private final TestContext context;
+        private int index = 0;
+
+        CountIterator(int count, TestContext context) {
+            this.count = count;
+            this.context = context;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        @Override
+        public Message next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return buildMessage(index++, context);
+        }
+    }
+
+    /**
+     * Builds one message per non empty data source line.
+     */
+    private class DataSourceIterator implements Iterator<Message> {
+        private final BufferedReader reader;
+        private final TestContext context;
+        private String record;
+        private int index = 0;
+
+        DataSourceIterator(BufferedReader reader, TestContext context) {
+            this.reader = reader;
+            this.context = context;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (record == null) {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+
+                    if (StringUtils.hasText(line)) {
+                        record = line;
+                    }
+                }
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read batch data source", e);
+            }
+
+            return true;
+        }
+
+        @Override
+        public Message next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            context.setVariable(BATCH_RECORD_VARIABLE, record);
+            record = null;
+            return buildMessage(index++, context);
+        }
+    }
+
+    /**
+     * Gets the message endpoint.
+     * @return
+     */
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Sets the message endpoint.
+     * @param endpoint
+     * @return
+     */
+    public SendJmsBatchAction setEndpoint(Endpoint endpoint) {
+        this.endpoint = endpoint;
+        return this;
+    }
+
+    /**
+     * Gets the endpoint uri.
+     * @return
+     */
+    public String getEndpointUri() {
+        return endpointUri;
+    }
+
+    /**
+     * Sets the endpoint uri.
+     * @param endpointUri
+     * @return
+     */
+    public SendJmsBatchAction setEndpointUri(String endpointUri) {
+        this.endpointUri = endpointUri;
+        return this;
+    }
+
+    /**
+     * Gets the message builder.
+     * @return
+     */
+    public MessageContentBuilder getMessageBuilder() {
+        return messageBuilder;
+    }
+
+    /**
+     * Sets the message builder.
+     * @param messageBuilder
+     * @return
+     */
+    public SendJmsBatchAction setMessageBuilder(MessageContentBuilder messageBuilder) {
+        this.messageBuilder = messageBuilder;
+        return this;
+    }
+
+    /**
+     * Gets the message type.
+     * @return
+     */
+    public String getMessageType() {
+        return messageType;
+    }
+
+    /**
+     * Sets the message type.
+     * @param messageType
+     * @return
+     */
+    public SendJmsBatchAction setMessageType(String messageType) {
+        this.messageType = messageType;
+        return this;
+    }
+
+    /**
+     * Gets the message count.
+     * @return
+     */
+    public String getCount() {
+        return count;
+    }
+
+    /**
+     * Sets the message count.
+     * @param count
+     * @return
+     */
+    public SendJmsBatchAction setCount(String count) {
+        this.count = count;
+        return this;
+    }
+
+    /**
+     * Gets the data source.
+     * @return
+     */
+    public String getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Sets the data source file path.
+     * @param dataSource
+     * @return
+     */
+    public SendJmsBatchAction setDataSource(String dataSource) {
+        this.dataSource = dataSource;
+        return this;
+    }
+
+    /**
+     * Gets the transacted.
+     * @return
+     */
+    public boolean isTransacted() {
+        return transacted;
+    }
+
+    /**
+     * Sets the transacted.
+     * @param transacted
+     * @return
+     */
+    public SendJmsBatchAction setTransacted(boolean transacted) {
+        this.transacted = transacted;
+        return this;
+    }
+
+    /**
+     * Gets the commit interval.
+     * @return
+     */
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    /**
+     * Sets the commit interval.
+     * @param commitInterval
+     * @return
+     */
+    public SendJmsBatchAction setCommitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+        return this;
+    }
+}
@@ -83,6 +83,12 @@ public @interface JmsEndpointConfig {
      */
     boolean useObjectMessages() default false;
 
+    /**
+     * Prefetch size.
+     * @return
+     */
+    int prefetchSize() default 0;
+
     /**
      * Timeout.
      * @return
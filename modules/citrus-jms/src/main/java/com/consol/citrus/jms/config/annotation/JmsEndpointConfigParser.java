@@ -89,6 +89,7 @@ public class JmsEndpointConfigParser extends AbstractAnnotationConfigParser<JmsE
 
         builder.pubSubDomain(annotation.pubSubDomain());
         builder.useObjectMessages(annotation.useObjectMessages());
+        builder.prefetchSize(annotation.prefetchSize());
 
         if (StringUtils.hasText(annotation.messageConverter())) {
             builder.messageConverter(getReferenceResolver().resolve(annotation.messageConverter(), JmsMessageConverter.class));
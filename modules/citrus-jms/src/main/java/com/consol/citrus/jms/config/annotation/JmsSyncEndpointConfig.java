@@ -101,6 +101,12 @@ public @interface JmsSyncEndpointConfig {
      */
     int pollingInterval() default 500;
 
+    /**
+     * Shared reply queue on temporary reply destination, not supported with named reply destination.
+     * @return
+     */
+    boolean sharedReplyQueue() default false;
+
     /**
      * Message correlator.
      * @return
@@ -119,6 +119,7 @@ public class JmsSyncEndpointConfigParser extends AbstractAnnotationConfigParser<
         }
 
         builder.pollingInterval(annotation.pollingInterval());
+        builder.sharedReplyQueue(annotation.sharedReplyQueue());
 
         return builder.initialize().build();
     }
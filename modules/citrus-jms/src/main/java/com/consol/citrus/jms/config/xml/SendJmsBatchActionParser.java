@@ -0,0 +1,73 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.config.xml;
+
+import com.consol.citrus.config.util.BeanDefinitionParserUtils;
+import com.consol.citrus.config.xml.AbstractMessageActionParser;
+import com.consol.citrus.config.xml.DescriptionElementParser;
+import com.consol.citrus.jms.actions.SendJmsBatchAction;
+import com.consol.citrus.validation.builder.AbstractMessageContentBuilder;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.xml.ParserContext;
+import org.springframework.util.StringUtils;
+import org.springframework.util.xml.DomUtils;
+import org.w3c.dom.Element;
+
+/**
+ * Bean definition parser for send-batch action in test case.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class SendJmsBatchActionParser extends AbstractMessageActionParser {
+
+    @Override
+    public BeanDefinition parse(Element element, ParserContext parserContext) {
+        String endpointUri = element.getAttribute("endpoint");
+
+        if (!StringUtils.hasText(endpointUri)) {
+            throw new BeanCreationException("Endpoint reference must not be empty");
+        }
+
+        BeanDefinitionBuilder builder = BeanDefinitionBuilder.rootBeanDefinition(SendJmsBatchAction.class);
+
+        if (endpointUri.contains(":")) {
+            builder.addPropertyValue("endpointUri", endpointUri);
+        } else {
+            builder.addPropertyReference("endpoint", endpointUri);
+        }
+
+        DescriptionElementParser.doParse(element, builder);
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("count"), "count");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("data-source"), "dataSource");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("transacted"), "transacted");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("commit-interval"), "commitInterval");
+
+        Element messageElement = DomUtils.getChildElementByTagName(element, "message");
+        if (messageElement != null) {
+            BeanDefinitionParserUtils.setPropertyValue(builder, messageElement.getAttribute("type"), "messageType");
+        }
+
+        AbstractMessageContentBuilder messageBuilder = constructMessageBuilder(messageElement);
+        parseHeaderElements(element, messageBuilder);
+        builder.addPropertyValue("messageBuilder", messageBuilder);
+
+        return builder.getBeanDefinition();
+    }
+}
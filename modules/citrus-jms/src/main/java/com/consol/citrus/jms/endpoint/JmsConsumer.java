@@ -26,6 +26,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 import javax.jms.Destination;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Christoph Deppisch
@@ -39,6 +41,9 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
     /** Endpoint configuration */
     private final JmsEndpointConfiguration endpointConfiguration;
 
+    /** Prefetch buffers by destination */
+    private final Map<Object, JmsMessageBuffer> messageBuffers = new ConcurrentHashMap<>();
+
     /**
      * Default constructor using endpoint.
      * @param name
@@ -51,6 +56,15 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
 
     @Override
     public Message receive(String selector, TestContext context, long timeout) {
+        if (endpointConfiguration.getPrefetchSize() > 0) {
+            if (!JmsMessageBuffer.supportsSelector(selector)) {
+                throw new CitrusRuntimeException("Message selector '" + selector + "' is not supported by prefetch buffer - " +
+                        "receiving directly from destination would take messages from the buffer listener");
+            }
+
+            return receiveBuffered(selector, context, timeout);
+        }
+
         endpointConfiguration.getJmsTemplate().setReceiveTimeout(timeout);
         javax.jms.Message receivedJmsMessage;
 
@@ -72,6 +86,64 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
         return receivedMessage;
     }
 
+    /**
+     * Receive message from prefetch buffer. Buffer is started with long lived message listener on first access.
+     * @param selector
+     * @param context
+     * @param timeout
+     * @return
+     */
+    private Message receiveBuffered(String selector, TestContext context, long timeout) {
+        Object destination;
+        if (endpointConfiguration.getDestination() != null) {
+            destination = endpointConfiguration.getDestination();
+        } else if (StringUtils.hasText(endpointConfiguration.getDestinationName())) {
+            destination = context.replaceDynamicContentInString(endpointConfiguration.getDestinationName());
+        } else if (endpointConfiguration.getJmsTemplate().getDefaultDestination() != null) {
+            destination = endpointConfiguration.getJmsTemplate().getDefaultDestination();
+        } else if (StringUtils.hasText(endpointConfiguration.getJmsTemplate().getDefaultDestinationName())) {
+            destination = context.replaceDynamicContentInString(endpointConfiguration.getJmsTemplate().getDefaultDestinationName());
+        } else {
+            throw new CitrusRuntimeException("Unable to receive message - JMS destination not set");
+        }
+
+        JmsMessageBuffer buffer = messageBuffers.computeIfAbsent(destination, key -> {
+            JmsMessageBuffer messageBuffer = new JmsMessageBuffer(endpointConfiguration, endpointConfiguration.getPrefetchSize());
+            if (key instanceof Destination) {
+                messageBuffer.start((Destination) key);
+            } else {
+                messageBuffer.start(key.toString());
+            }
+            return messageBuffer;
+        });
+
+        String destinationName = destination instanceof Destination ? endpointConfiguration.getDestinationName((Destination) destination) : destination.toString();
+        if (log.isDebugEnabled()) {
+            log.debug("Receiving buffered JMS message on destination: '" + destinationName + (StringUtils.hasText(selector) ? "(" + selector + ")" : "") + "'");
+        }
+
+        javax.jms.Message receivedJmsMessage = buffer.receive(selector, timeout);
+
+        if (receivedJmsMessage == null) {
+            throw new ActionTimeoutException("Action timed out while receiving JMS message on '" + destinationName + (StringUtils.hasText(selector) ? "(" + selector + ")" : "") + "'");
+        }
+
+        log.info("Received JMS message on destination: '" + destinationName + (StringUtils.hasText(selector) ? "(" + selector + ")" : "") + "'");
+
+        Message receivedMessage = endpointConfiguration.getMessageConverter().convertInbound(receivedJmsMessage, endpointConfiguration, context);
+        context.onInboundMessage(receivedMessage);
+
+        return receivedMessage;
+    }
+
+    /**
+     * Closes all prefetch buffers and their message listeners.
+     */
+    public void destroy() {
+        messageBuffers.values().forEach(JmsMessageBuffer::close);
+        messageBuffers.clear();
+    }
+
     /**
      * Receive message from destination name.
      * @param destinationName
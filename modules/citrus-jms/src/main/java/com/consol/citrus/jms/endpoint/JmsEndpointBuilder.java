@@ -129,6 +129,16 @@ public class JmsEndpointBuilder extends AbstractEndpointBuilder<JmsEndpoint> {
         return this;
     }
 
+    /**
+     * Sets the prefetch size.
+     * @param prefetchSize
+     * @return
+     */
+    public JmsEndpointBuilder prefetchSize(int prefetchSize) {
+        endpoint.getEndpointConfiguration().setPrefetchSize(prefetchSize);
+        return this;
+    }
+
     /**
      * Sets the default timeout.
      * @param timeout
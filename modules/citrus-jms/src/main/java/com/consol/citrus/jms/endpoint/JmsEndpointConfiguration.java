@@ -69,6 +69,9 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Should always use object messages */
     private boolean useObjectMessages = false;
 
+    /** Number of messages prefetched by long lived message listener, zero disables prefetching */
+    private int prefetchSize = 0;
+
     /**
      * Get the destination name (either a queue name or a topic name).
      * @param destination
@@ -279,4 +282,25 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     public void setDestinationNameResolver(EndpointUriResolver destinationNameResolver) {
         this.destinationNameResolver = destinationNameResolver;
     }
+
+    /**
+     * Gets the prefetchSize.
+     *
+     * @return
+     */
+    public int getPrefetchSize() {
+        return prefetchSize;
+    }
+
+    /**
+     * Sets the prefetchSize. When greater than zero consumers receive messages from a bounded buffer
+     * filled by a long lived message listener. Message selectors are evaluated on the buffer and must be
+     * supported by {@link JmsMessageBuffer#supportsSelector(String)}. Buffered messages are acknowledged on arrival
+     * so messages left in the buffer are lost when the endpoint is closed.
+     *
+     * @param prefetchSize
+     */
+    public void setPrefetchSize(int prefetchSize) {
+        this.prefetchSize = prefetchSize;
+    }
 }
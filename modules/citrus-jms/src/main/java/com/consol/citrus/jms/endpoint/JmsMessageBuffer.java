@@ -0,0 +1,327 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.connection.ConnectionFactoryUtils;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import javax.jms.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Long lived message listener on a JMS destination that prefetches messages into a bounded local buffer. Consumers
+ * are served from the buffer so no connection, session and consumer setup is required per receive. When the buffer is full
+ * the listener blocks until consumers have taken messages from the buffer.
+ *
+ * Message selectors are evaluated locally on the buffered messages. Supported selectors compare header or property values to string
+ * literals combined with AND, e.g. "operation = 'sayHello' AND JMSCorrelationID = '12345'". Buffered messages not matching a
+ * selector stay in the buffer and count against its capacity.
+ *
+ * Listener session uses auto acknowledgement so messages are acknowledged as soon as the listener has handed them
+ * to the buffer. Messages left in the buffer on close and messages still waiting for free buffer space are lost.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class JmsMessageBuffer implements MessageListener {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(JmsMessageBuffer.class);
+
+    /** Selector expressions supported for local evaluation */
+    private static final Pattern SELECTOR_PATTERN = Pattern.compile("^\\s*([\\w.$]+)\\s*=\\s*'((?:[^']|'')*)'\\s*(?:(?i:AND)\\s+|$)");
+
+    /** Endpoint configuration */
+    private final JmsEndpointConfiguration endpointConfiguration;
+
+    /** Maximum number of buffered messages */
+    private final int capacity;
+
+    /** Buffered messages in arrival order */
+    private final LinkedList<Message> messages = new LinkedList<>();
+
+    /** Guards buffered messages */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition messageAdded = lock.newCondition();
+    private final Condition messageRemoved = lock.newCondition();
+
+    /** Listener resources */
+    private Connection connection;
+    private Session session;
+    private MessageConsumer messageConsumer;
+
+    /** Destination listened on */
+    private Destination destination;
+
+    /** Buffer closed marker */
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor using endpoint configuration and buffer capacity.
+     * @param endpointConfiguration
+     * @param capacity
+     */
+    public JmsMessageBuffer(JmsEndpointConfiguration endpointConfiguration, int capacity) {
+        Assert.isTrue(capacity > 0, "Message buffer capacity must be greater than zero");
+
+        this.endpointConfiguration = endpointConfiguration;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Starts listening on given destination.
+     * @param destination
+     */
+    public void start(Destination destination) {
+        start(destination, null);
+    }
+
+    /**
+     * Starts listening on destination with given name. Destination name gets resolved with the destination resolver of the Jms template.
+     * @param destinationName
+     */
+    public void start(String destinationName) {
+        start(null, destinationName);
+    }
+
+    /**
+     * Creates connection, session and message consumer with this buffer as message listener.
+     * @param destination
+     * @param destinationName
+     */
+    private void start(Destination destination, String destinationName) {
+        JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+
+        try {
+            connection = jmsTemplate.getConnectionFactory().createConnection();
+            session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+
+            if (destination != null) {
+                this.destination = destination;
+            } else {
+                this.destination = jmsTemplate.getDestinationResolver().resolveDestinationName(session, destinationName, endpointConfiguration.isPubSubDomain());
+            }
+
+            messageConsumer = session.createConsumer(this.destination);
+            messageConsumer.setMessageListener(this);
+            connection.start();
+
+            log.debug("Started message buffer on destination: '{}'", endpointConfiguration.getDestinationName(this.destination));
+        } catch (JMSException e) {
+            close();
+            throw new CitrusRuntimeException("Failed to start message buffer on JMS destination", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        lock.lock();
+        try {
+            while (messages.size() >= capacity && !closed) {
+                messageRemoved.await();
+            }
+
+            if (closed) {
+                log.warn("Message buffer for destination: '{}' is closed - message is discarded",
+                        endpointConfiguration.getDestinationName(destination));
+                return;
+            }
+
+            messages.add(message);
+            messageAdded.signalAll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for free message buffer space - message is discarded");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Receives next buffered message matching the given selector. Timeout follows the Jms template semantics where zero
+     * waits indefinitely and negative values do not wait at all.
+     * @param selector the message selector, may be empty.
+     * @param timeout time to wait in milliseconds.
+     * @return the buffered message or null on timeout.
+     */
+    public Message receive(String selector, long timeout) {
+        Map<String, String> selectorValues = parseSelector(selector);
+        if (selectorValues == null) {
+            throw new CitrusRuntimeException("Unsupported message selector for local evaluation: '" + selector + "'");
+        }
+
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeout);
+        lock.lock();
+        try {
+            while (true) {
+                for (Iterator<Message> it = messages.iterator(); it.hasNext();) {
+                    Message message = it.next();
+                    if (matches(message, selectorValues)) {
+                        it.remove();
+                        messageRemoved.signalAll();
+                        return message;
+                    }
+                }
+
+                if (closed || timeout < 0) {
+                    return null;
+                }
+
+                if (timeout == 0) {
+                    messageAdded.await();
+                } else if (remaining <= 0L) {
+                    return null;
+                } else {
+                    remaining = messageAdded.awaitNanos(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for buffered JMS message", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if message header and property values match all selector values.
+     * @param message
+     * @param selectorValues
+     * @return
+     */
+    private boolean matches(Message message, Map<String, String> selectorValues) {
+        try {
+            for (Map.Entry<String, String> entry : selectorValues.entrySet()) {
+                Object value;
+                switch (entry.getKey()) {
+                    case "JMSMessageID":
+                        value = message.getJMSMessageID();
+                        break;
+                    case "JMSCorrelationID":
+                        value = message.getJMSCorrelationID();
+                        break;
+                    case "JMSType":
+                        value = message.getJMSType();
+                        break;
+                    default:
+                        value = message.getObjectProperty(entry.getKey());
+                }
+
+                if (value == null || !entry.getValue().equals(value.toString())) {
+                    return false;
+                }
+            }
+        } catch (JMSException e) {
+            log.warn("Failed to evaluate message selector on buffered message", e);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if given message selector can be evaluated locally.
+     * @param selector
+     * @return
+     */
+    public static boolean supportsSelector(String selector) {
+        return parseSelector(selector) != null;
+    }
+
+    /**
+     * Parses selector to key value pairs. Returns null when selector is not supported for local evaluation.
+     * @param selector
+     * @return
+     */
+    private static Map<String, String> parseSelector(String selector) {
+        Map<String, String> selectorValues = new LinkedHashMap<>();
+        if (!StringUtils.hasText(selector)) {
+            return selectorValues;
+        }
+
+        Matcher matcher = SELECTOR_PATTERN.matcher(selector);
+        int position = 0;
+        while (position < selector.length()) {
+            matcher.region(position, selector.length());
+            if (!matcher.lookingAt()) {
+                return null;
+            }
+
+            selectorValues.put(matcher.group(1), matcher.group(2).replace("''", "'"));
+            position = matcher.end();
+        }
+
+        return selectorValues;
+    }
+
+    /**
+     * Gets the current number of buffered messages.
+     * @return
+     */
+    public int getSize() {
+        lock.lock();
+        try {
+            return messages.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the buffer capacity.
+     * @return
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Stops listener and closes session and connection. Messages left in the buffer have already been acknowledged
+     * and are lost.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            messageAdded.signalAll();
+            messageRemoved.signalAll();
+
+            if (!messages.isEmpty()) {
+                log.warn("Close message buffer with {} unconsumed messages for destination: '{}' - messages are lost",
+                        messages.size(), destination);
+                messages.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        JmsUtils.closeMessageConsumer(messageConsumer);
+        JmsUtils.closeSession(session);
+        ConnectionFactoryUtils.releaseConnection(connection, endpointConfiguration.getJmsTemplate().getConnectionFactory(), true);
+    }
+}
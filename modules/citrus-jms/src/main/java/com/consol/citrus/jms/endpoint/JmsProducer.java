@@ -22,10 +22,13 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.Producer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jms.connection.ConnectionFactoryUtils;
+import org.springframework.jms.support.JmsUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
-import javax.jms.Destination;
+import javax.jms.*;
+import java.util.Iterator;
 
 /**
  * @author Christoph Deppisch
@@ -115,6 +118,122 @@ public class JmsProducer implements Producer {
         log.info("Message was sent to JMS destination: '" + endpointConfiguration.getDestinationName(destination) + "'");
     }
 
+    /**
+     * Sends all messages provided by the given iterator over a single session and message producer. Destination is resolved
+     * once with the first message. Transacted sessions get committed after the given number of messages and at the end of the batch.
+     * @param messages the messages to send.
+     * @param context the current test context.
+     * @param transacted use transacted session.
+     * @param commitInterval number of messages per transaction.
+     * @return the number of messages sent.
+     */
+    public long sendBatch(Iterator<Message> messages, TestContext context, boolean transacted, int commitInterval) {
+        Assert.isTrue(!transacted || commitInterval > 0, "Commit interval must be greater than zero");
+
+        if (!messages.hasNext()) {
+            return 0L;
+        }
+
+        Connection connection = null;
+        Session session = null;
+        MessageProducer messageProducer = null;
+        long sent = 0L;
+
+        try {
+            connection = endpointConfiguration.getJmsTemplate().getConnectionFactory().createConnection();
+            session = connection.createSession(transacted, transacted ? Session.SESSION_TRANSACTED : Session.AUTO_ACKNOWLEDGE);
+
+            Message message = messages.next();
+            Destination destination = resolveBatchDestination(message, session, context);
+            messageProducer = session.createProducer(destination);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Sending JMS message batch to destination: '" + endpointConfiguration.getDestinationName(destination) + "'");
+            }
+
+            while (message != null) {
+                javax.jms.Message jmsMessage = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration, context);
+                endpointConfiguration.getMessageConverter().convertOutbound(jmsMessage, message, endpointConfiguration, context);
+                messageProducer.send(jmsMessage);
+                context.onOutboundMessage(message);
+                sent++;
+
+                if (transacted && sent % commitInterval == 0) {
+                    session.commit();
+                }
+
+                message = messages.hasNext() ? messages.next() : null;
+            }
+
+            if (transacted && sent % commitInterval != 0) {
+                session.commit();
+            }
+
+            log.info("Message batch of " + sent + " messages was sent to JMS destination: '" + endpointConfiguration.getDestinationName(destination) + "'");
+        } catch (JMSException e) {
+            if (transacted) {
+                rollback(session);
+            }
+
+            throw new CitrusRuntimeException("Failed to send JMS message batch after " + sent + " messages", e);
+        } catch (RuntimeException e) {
+            if (transacted) {
+                rollback(session);
+            }
+
+            throw e;
+        } finally {
+            JmsUtils.closeMessageProducer(messageProducer);
+            JmsUtils.closeSession(session);
+            ConnectionFactoryUtils.releaseConnection(connection, endpointConfiguration.getJmsTemplate().getConnectionFactory(), false);
+        }
+
+        return sent;
+    }
+
+    /**
+     * Resolves destination for batch sending using the given session.
+     * @param message
+     * @param session
+     * @param context
+     * @return
+     * @throws JMSException
+     */
+    private Destination resolveBatchDestination(Message message, Session session, TestContext context) throws JMSException {
+        String destinationName;
+        if (endpointConfiguration.getDestination() != null) {
+            return endpointConfiguration.getDestination();
+        } else if (StringUtils.hasText(endpointConfiguration.getDestinationName())) {
+            if (endpointConfiguration.getDestinationNameResolver() != null) {
+                destinationName = context.replaceDynamicContentInString(endpointConfiguration.getDestinationNameResolver().resolveEndpointUri(message, endpointConfiguration.getDestinationName()));
+            } else {
+                destinationName = context.replaceDynamicContentInString(endpointConfiguration.getDestinationName());
+            }
+        } else if (endpointConfiguration.getJmsTemplate().getDefaultDestination() != null) {
+            return endpointConfiguration.getJmsTemplate().getDefaultDestination();
+        } else if (StringUtils.hasText(endpointConfiguration.getJmsTemplate().getDefaultDestinationName())) {
+            destinationName = context.replaceDynamicContentInString(endpointConfiguration.getJmsTemplate().getDefaultDestinationName());
+        } else {
+            throw new CitrusRuntimeException("Unable to send message - JMS destination not set");
+        }
+
+        return endpointConfiguration.getJmsTemplate().getDestinationResolver().resolveDestinationName(session, destinationName, endpointConfiguration.isPubSubDomain());
+    }
+
+    /**
+     * Rolls back transacted session ignoring errors.
+     * @param session
+     */
+    private void rollback(Session session) {
+        try {
+            if (session != null) {
+                session.rollback();
+            }
+        } catch (JMSException e) {
+            log.warn("Failed to rollback JMS message batch", e);
+        }
+    }
+
     @Override
     public String getName() {
         return name;
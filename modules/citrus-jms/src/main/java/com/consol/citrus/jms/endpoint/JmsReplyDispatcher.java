@@ -0,0 +1,202 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.support.JmsUtils;
+
+import javax.jms.*;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Long lived reply consumer on a single reply destination shared by all requests of a synchronous JMS producer.
+ * Reply messages are dispatched to waiting senders by their JMS correlation id which is expected to be the
+ * JMS message id of the request. Replies arriving before the sender has started waiting are kept until claimed,
+ * replies nobody waits for are discarded after the reply timeout.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class JmsReplyDispatcher implements MessageListener {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(JmsReplyDispatcher.class);
+
+    /** Minimum time unclaimed replies are kept in milliseconds */
+    private static final long MIN_UNCLAIMED_REPLY_TIMEOUT = 60000L;
+
+    /** Session dedicated to reply consumer */
+    private final Session session;
+
+    /** Shared reply destination */
+    private final Destination replyDestination;
+
+    /** Reply consumer */
+    private final MessageConsumer messageConsumer;
+
+    /** Senders waiting for reply by correlation id */
+    private final Map<String, CompletableFuture<Message>> pendingReplies = new ConcurrentHashMap<>();
+
+    /** Replies that arrived before sender started waiting */
+    private final Map<String, UnclaimedReply> unclaimedReplies = new ConcurrentHashMap<>();
+
+    /** Time unclaimed replies are kept in milliseconds */
+    private final long unclaimedReplyTimeout;
+
+    /**
+     * Constructor using dedicated session, reply destination and timeout. Consumer on reply destination is
+     * created immediately.
+     * @param session
+     * @param replyDestination
+     * @param timeout
+     * @throws JMSException
+     */
+    public JmsReplyDispatcher(Session session, Destination replyDestination, long timeout) throws JMSException {
+        this.session = session;
+        this.replyDestination = replyDestination;
+        this.unclaimedReplyTimeout = Math.max(timeout, MIN_UNCLAIMED_REPLY_TIMEOUT);
+
+        this.messageConsumer = session.createConsumer(replyDestination);
+        this.messageConsumer.setMessageListener(this);
+    }
+
+    /**
+     * Waits for reply with given correlation id.
+     * @param correlationId the JMS message id of the request.
+     * @param timeout time to wait in milliseconds, negative values wait forever.
+     * @return the reply message or null on timeout.
+     */
+    public Message receive(String correlationId, long timeout) {
+        CompletableFuture<Message> reply = new CompletableFuture<>();
+        pendingReplies.put(correlationId, reply);
+
+        try {
+            UnclaimedReply unclaimed = unclaimedReplies.remove(correlationId);
+            if (unclaimed != null) {
+                reply.complete(unclaimed.message);
+            }
+
+            return timeout >= 0 ? reply.get(timeout, TimeUnit.MILLISECONDS) : reply.get();
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for reply message", e);
+        } catch (ExecutionException e) {
+            throw new CitrusRuntimeException("Failed to receive reply message", e.getCause());
+        } finally {
+            pendingReplies.remove(correlationId);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        String correlationId;
+        try {
+            correlationId = message.getJMSCorrelationID();
+        } catch (JMSException e) {
+            log.warn("Failed to read correlation id of reply message - discard reply", e);
+            return;
+        }
+
+        if (correlationId == null) {
+            log.warn("Discard reply message without correlation id on reply destination: '{}'", replyDestination);
+            return;
+        }
+
+        CompletableFuture<Message> reply = pendingReplies.get(correlationId);
+        if (reply != null) {
+            reply.complete(message);
+            return;
+        }
+
+        purgeUnclaimedReplies();
+        unclaimedReplies.put(correlationId, new UnclaimedReply(message));
+
+        // sender may have started waiting in the meantime
+        reply = pendingReplies.get(correlationId);
+        if (reply != null && unclaimedReplies.remove(correlationId) != null) {
+            reply.complete(message);
+        }
+    }
+
+    /**
+     * Removes unclaimed replies that exceeded the reply timeout.
+     */
+    private void purgeUnclaimedReplies() {
+        long expired = System.currentTimeMillis() - unclaimedReplyTimeout;
+
+        for (Iterator<Map.Entry<String, UnclaimedReply>> it = unclaimedReplies.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, UnclaimedReply> entry = it.next();
+            if (entry.getValue().timestamp < expired) {
+                log.warn("Discard unclaimed reply message with correlation id '{}'", entry.getKey());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the shared reply destination.
+     * @return
+     */
+    public Destination getReplyDestination() {
+        return replyDestination;
+    }
+
+    /**
+     * Gets the number of senders currently waiting for a reply.
+     * @return
+     */
+    public int getPendingReplies() {
+        return pendingReplies.size();
+    }
+
+    /**
+     * Closes reply consumer and dedicated session. Temporary reply destinations get deleted.
+     */
+    public void close() {
+        JmsUtils.closeMessageConsumer(messageConsumer);
+
+        try {
+            if (replyDestination instanceof TemporaryQueue) {
+                ((TemporaryQueue) replyDestination).delete();
+            } else if (replyDestination instanceof TemporaryTopic) {
+                ((TemporaryTopic) replyDestination).delete();
+            }
+        } catch (JMSException e) {
+            log.error("Error while deleting temporary destination '" + replyDestination + "'", e);
+        }
+
+        JmsUtils.closeSession(session);
+    }
+
+    /**
+     * Reply message with arrival time.
+     */
+    private static final class UnclaimedReply {
+        private final Message message;
+        private final long timestamp = System.currentTimeMillis();
+
+        UnclaimedReply(Message message) {
+            this.message = message;
+        }
+    }
+}
@@ -84,6 +84,10 @@ public class JmsSyncEndpoint extends JmsEndpoint implements DisposableBean {
         if (jmsSyncMessageProducer != null) {
             jmsSyncMessageProducer.destroy();
         }
+
+        if (jmsSyncMessageConsumer != null) {
+            jmsSyncMessageConsumer.destroy();
+        }
     }
 
 }
@@ -160,6 +160,16 @@ public class JmsSyncEndpointBuilder extends AbstractEndpointBuilder<JmsSyncEndpo
         return this;
     }
 
+    /**
+     * Sets the shared reply queue mode. Requires temporary reply destination, named reply destinations are not supported.
+     * @param sharedReplyQueue
+     * @return
+     */
+    public JmsSyncEndpointBuilder sharedReplyQueue(boolean sharedReplyQueue) {
+        endpoint.getEndpointConfiguration().setSharedReplyQueue(sharedReplyQueue);
+        return this;
+    }
+
     /**
      * Sets the message correlator.
      * @param correlator
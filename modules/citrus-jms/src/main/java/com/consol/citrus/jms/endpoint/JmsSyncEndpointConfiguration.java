@@ -43,6 +43,9 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration imple
     /** Polling interval when waiting for synchronous reply message to arrive */
     private long pollingInterval = 500L;
 
+    /** Use one reply destination and consumer shared by all requests */
+    private boolean sharedReplyQueue = false;
+
     /**
      * Set the reply message correlator.
      * @param correlator the correlator to set
@@ -107,4 +110,22 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration imple
         this.pollingInterval = pollingInterval;
     }
 
+    /**
+     * Gets the sharedReplyQueue.
+     * @return the sharedReplyQueue
+     */
+    public boolean isSharedReplyQueue() {
+        return sharedReplyQueue;
+    }
+
+    /**
+     * Enables shared reply queue mode where all requests use the same temporary reply destination and reply messages
+     * are dispatched to waiting senders by correlation id. Named reply destinations are not supported in this mode as
+     * the reply consumer would also take replies meant for other producers on that destination.
+     * @param sharedReplyQueue the sharedReplyQueue to set
+     */
+    public void setSharedReplyQueue(boolean sharedReplyQueue) {
+        this.sharedReplyQueue = sharedReplyQueue;
+    }
+
 }
@@ -32,6 +32,8 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import javax.jms.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * @author Christoph Deppisch
@@ -45,6 +47,18 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     /** JMS session */
     private Session session = null;
 
+    /** Maximum number of idle sessions kept for reuse in shared reply queue mode */
+    private static final int MAX_IDLE_SESSIONS = 10;
+
+    /** Idle sessions and producers borrowed per request in shared reply queue mode */
+    private final BlockingQueue<SessionHolder> sessionPool = new ArrayBlockingQueue<>(MAX_IDLE_SESSIONS);
+
+    /** Marks producer as destroyed so returned sessions are closed */
+    private volatile boolean destroyed = false;
+
+    /** Reply consumer on shared reply destination */
+    private JmsReplyDispatcher replyDispatcher;
+
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
@@ -76,6 +90,12 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
 
         context.onOutboundMessage(message);
 
+        if (endpointConfiguration.isSharedReplyQueue() &&
+                message.getHeader(org.springframework.messaging.MessageHeaders.REPLY_CHANNEL) == null) {
+            sendWithSharedReplyQueue(message, correlationKey, context);
+            return;
+        }
+
         MessageProducer messageProducer = null;
         MessageConsumer messageConsumer = null;
         Destination replyToDestination = null;
@@ -87,30 +107,7 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
             javax.jms.Message jmsRequest = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration, context);
             endpointConfiguration.getMessageConverter().convertOutbound(jmsRequest, message, endpointConfiguration, context);
 
-            Destination destination;
-            if (endpointConfiguration.getDestination() != null) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Sending JMS message to destination: '" + endpointConfiguration.getDestinationName(endpointConfiguration.getDestination()) + "'");
-                }
-
-                destination = endpointConfiguration.getDestination();
-            } else if (StringUtils.hasText(endpointConfiguration.getDestinationName())){
-                if (endpointConfiguration.getDestinationNameResolver() != null) {
-                    destination = resolveDestination(context.replaceDynamicContentInString(endpointConfiguration.getDestinationNameResolver().resolveEndpointUri(message, endpointConfiguration.getDestinationName())));
-                } else {
-                    destination = resolveDestination(context.replaceDynamicContentInString(endpointConfiguration.getDestinationName()));
-                }
-            } else if (endpointConfiguration.getJmsTemplate().getDefaultDestination() != null) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Sending JMS message to destination: '" + endpointConfiguration.getDestinationName(endpointConfiguration.getJmsTemplate().getDefaultDestination()) + "'");
-                }
-
-                destination = endpointConfiguration.getJmsTemplate().getDefaultDestination();
-            } else if (StringUtils.hasText(endpointConfiguration.getJmsTemplate().getDefaultDestinationName())) {
-                destination = resolveDestination(context.replaceDynamicContentInString(endpointConfiguration.getJmsTemplate().getDefaultDestinationName()));
-            } else {
-                throw new CitrusRuntimeException("Unable to send message - JMS destination not set");
-            }
+            Destination destination = getDestination(message, session, context);
 
             messageProducer = session.createProducer(destination);
 
@@ -152,6 +149,127 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         }
     }
 
+    /**
+     * Sends message using a session and producer borrowed from the session pool. Reply message is received on the
+     * reply destination shared by all requests and dispatched by the JMS correlation id.
+     * @param message
+     * @param correlationKey
+     * @param context
+     */
+    private void sendWithSharedReplyQueue(Message message, String correlationKey, TestContext context) {
+        SessionHolder sessionHolder = null;
+        boolean reusable = false;
+
+        try {
+            createConnection();
+            JmsReplyDispatcher dispatcher = getReplyDispatcher();
+            sessionHolder = borrowSession();
+
+            javax.jms.Message jmsRequest = endpointConfiguration.getMessageConverter().createJmsMessage(message, sessionHolder.session, endpointConfiguration, context);
+            endpointConfiguration.getMessageConverter().convertOutbound(jmsRequest, message, endpointConfiguration, context);
+
+            Destination destination = getDestination(message, sessionHolder.session, context);
+
+            jmsRequest.setJMSReplyTo(dispatcher.getReplyDestination());
+            sessionHolder.producer.send(destination, jmsRequest);
+
+            reusable = true;
+            returnSession(sessionHolder);
+            sessionHolder = null;
+
+            log.info("Message was sent to JMS destination: '{}'", endpointConfiguration.getDestinationName(destination));
+            log.debug("Receiving reply message on shared destination: '{}'", dispatcher.getReplyDestination());
+
+            javax.jms.Message jmsReplyMessage = dispatcher.receive(jmsRequest.getJMSMessageID(), endpointConfiguration.getTimeout());
+
+            if (jmsReplyMessage == null) {
+                throw new ActionTimeoutException("Reply timed out after " +
+                        endpointConfiguration.getTimeout() + "ms. Did not receive reply message on reply destination");
+            }
+
+            Message responseMessage = endpointConfiguration.getMessageConverter().convertInbound(jmsReplyMessage, endpointConfiguration, context);
+
+            log.info("Received reply message on JMS destination: '{}'", dispatcher.getReplyDestination());
+
+            context.onInboundMessage(responseMessage);
+
+            correlationManager.store(correlationKey, responseMessage);
+        } catch (JMSException e) {
+            throw new CitrusRuntimeException(e);
+        } finally {
+            if (sessionHolder != null && !reusable) {
+                sessionHolder.close();
+            }
+        }
+    }
+
+    /**
+     * Borrows idle session and producer from the session pool. Creates new session when no idle session is available.
+     * @return
+     * @throws JMSException
+     */
+    private SessionHolder borrowSession() throws JMSException {
+        SessionHolder sessionHolder = sessionPool.poll();
+
+        if (sessionHolder == null) {
+            Session pooledSession = newSession(connection);
+            sessionHolder = new SessionHolder(pooledSession, pooledSession.createProducer(null));
+        }
+
+        return sessionHolder;
+    }
+
+    /**
+     * Returns session and producer to the session pool once the request has been sent. Closes the session
+     * when the pool already holds the maximum number of idle sessions or the producer has been destroyed.
+     * @param sessionHolder
+     */
+    private void returnSession(SessionHolder sessionHolder) {
+        if (destroyed || !sessionPool.offer(sessionHolder)) {
+            sessionHolder.close();
+            return;
+        }
+
+        // producer may have been destroyed concurrently while session was added to the pool
+        if (destroyed && sessionPool.remove(sessionHolder)) {
+            sessionHolder.close();
+        }
+    }
+
+    /**
+     * Gets the reply dispatcher consuming the shared reply destination. Creates dispatcher with dedicated session
+     * on first access. Shared reply destination must be temporary as the dispatcher consumes all replies on the destination
+     * without message selector and would take replies of other producers sharing a named reply destination.
+     * @return
+     * @throws JMSException
+     */
+    private synchronized JmsReplyDispatcher getReplyDispatcher() throws JMSException {
+        if (replyDispatcher == null) {
+            Destination configuredReplyDestination = endpointConfiguration.getReplyDestination();
+            boolean temporary = configuredReplyDestination instanceof TemporaryQueue || configuredReplyDestination instanceof TemporaryTopic;
+            if ((configuredReplyDestination != null && !temporary) || StringUtils.hasText(endpointConfiguration.getReplyDestinationName())) {
+                throw new CitrusRuntimeException(String.format("Shared reply queue is not supported with named reply destination '%s' - " +
+                        "remove reply destination to use a temporary reply queue or disable shared reply queue",
+                        configuredReplyDestination != null ? configuredReplyDestination : endpointConfiguration.getReplyDestinationName()));
+            }
+
+            Session replySession = newSession(connection);
+
+            Destination replyDestination;
+            if (configuredReplyDestination != null) {
+                replyDestination = configuredReplyDestination;
+            } else if (endpointConfiguration.isPubSubDomain() && replySession instanceof TopicSession) {
+                replyDestination = replySession.createTemporaryTopic();
+            } else {
+                replyDestination = replySession.createTemporaryQueue();
+            }
+
+            replyDispatcher = new JmsReplyDispatcher(replySession, replyDestination, endpointConfiguration.getTimeout());
+        }
+
+        return replyDispatcher;
+    }
+
     @Override
     public Message receive(TestContext context) {
         return receive(correlationManager.getCorrelationKey(
@@ -185,7 +303,7 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * @return connection
      * @throws JMSException
      */
-    protected void createConnection() throws JMSException {
+    protected synchronized void createConnection() throws JMSException {
         if (connection == null) {
             if (!endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof QueueConnectionFactory) {
                 connection = ((QueueConnectionFactory) endpointConfiguration.getConnectionFactory()).createQueueConnection();
@@ -211,16 +329,26 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      */
     protected void createSession(Connection connection) throws JMSException {
         if (session == null) {
-            if (!endpointConfiguration.isPubSubDomain() && connection instanceof QueueConnection) {
-                session = ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
-            } else if (endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof TopicConnectionFactory) {
-                session = ((TopicConnection) connection).createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
-            } else {
-                log.warn("Not able to create a session with connection factory '" + endpointConfiguration.getConnectionFactory() + "'" +
-                        " when using setting 'publish-subscribe-domain' (=" + endpointConfiguration.isPubSubDomain() + ")");
+            session = newSession(connection);
+        }
+    }
 
-                session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-            }
+    /**
+     * Create new JMS session according to publish subscribe domain setting.
+     * @param connection to use for session creation.
+     * @return session.
+     * @throws JMSException
+     */
+    private Session newSession(Connection connection) throws JMSException {
+        if (!endpointConfiguration.isPubSubDomain() && connection instanceof QueueConnection) {
+            return ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
+        } else if (endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof TopicConnectionFactory) {
+            return ((TopicConnection) connection).createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
+        } else {
+            log.warn("Not able to create a session with connection factory '" + endpointConfiguration.getConnectionFactory() + "'" +
+                    " when using setting 'publish-subscribe-domain' (=" + endpointConfiguration.isPubSubDomain() + ")");
+
+            return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
         }
     }
 
@@ -294,13 +422,50 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         }
     }
 
+    /**
+     * Retrieve the send destination either by endpoint configuration or by default destination
+     * of Jms template.
+     *
+     * @param message the message to send.
+     * @param session current JMS session.
+     * @param context the current test context.
+     * @return the send destination.
+     * @throws JMSException
+     */
+    private Destination getDestination(Message message, Session session, TestContext context) throws JMSException {
+        if (endpointConfiguration.getDestination() != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Sending JMS message to destination: '" + endpointConfiguration.getDestinationName(endpointConfiguration.getDestination()) + "'");
+            }
+
+            return endpointConfiguration.getDestination();
+        } else if (StringUtils.hasText(endpointConfiguration.getDestinationName())){
+            if (endpointConfiguration.getDestinationNameResolver() != null) {
+                return resolveDestination(session, context.replaceDynamicContentInString(endpointConfiguration.getDestinationNameResolver().resolveEndpointUri(message, endpointConfiguration.getDestinationName())));
+            } else {
+                return resolveDestination(session, context.replaceDynamicContentInString(endpointConfiguration.getDestinationName()));
+            }
+        } else if (endpointConfiguration.getJmsTemplate().getDefaultDestination() != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Sending JMS message to destination: '" + endpointConfiguration.getDestinationName(endpointConfiguration.getJmsTemplate().getDefaultDestination()) + "'");
+            }
+
+            return endpointConfiguration.getJmsTemplate().getDefaultDestination();
+        } else if (StringUtils.hasText(endpointConfiguration.getJmsTemplate().getDefaultDestinationName())) {
+            return resolveDestination(session, context.replaceDynamicContentInString(endpointConfiguration.getJmsTemplate().getDefaultDestinationName()));
+        } else {
+            throw new CitrusRuntimeException("Unable to send message - JMS destination not set");
+        }
+    }
+
     /**
      * Resolve destination from given name.
+     * @param session
      * @param destinationName
      * @return
      * @throws JMSException
      */
-    private Destination resolveDestination(String destinationName) throws JMSException {
+    private Destination resolveDestination(Session session, String destinationName) throws JMSException {
         if (log.isDebugEnabled()) {
             log.debug("Sending JMS message to destination: '" + destinationName + "'");
         }
@@ -326,6 +491,19 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * Destroy method closing JMS session and connection
      */
     public void destroy() {
+        synchronized (this) {
+            if (replyDispatcher != null) {
+                replyDispatcher.close();
+                replyDispatcher = null;
+            }
+        }
+
+        destroyed = true;
+        SessionHolder sessionHolder;
+        while ((sessionHolder = sessionPool.poll()) != null) {
+            sessionHolder.close();
+        }
+
         JmsUtils.closeSession(session);
 
         if (connection != null) {
@@ -348,4 +526,25 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     public void setCorrelationManager(CorrelationManager<Message> correlationManager) {
         this.correlationManager = correlationManager;
     }
+
+    /**
+     * Pooled session and anonymous producer used by one request at a time in shared reply queue mode.
+     */
+    private static final class SessionHolder {
+        private final Session session;
+        private final MessageProducer producer;
+
+        SessionHolder(Session session, MessageProducer producer) {
+            this.session = session;
+            this.producer = producer;
+        }
+
+        /**
+         * Closes producer and session.
+         */
+        void close() {
+            JmsUtils.closeMessageProducer(producer);
+            JmsUtils.closeSession(session);
+        }
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.actions;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.jms.endpoint.JmsEndpoint;
+import com.consol.citrus.jms.endpoint.TextMessageImpl;
+import com.consol.citrus.message.MessageType;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.validation.builder.PayloadTemplateMessageBuilder;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.jms.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class SendJmsBatchActionTest extends AbstractTestNGUnitTest {
+
+    private ConnectionFactory connectionFactory = Mockito.mock(ConnectionFactory.class);
+    private Connection connection = Mockito.mock(Connection.class);
+    private Session session = Mockito.mock(Session.class);
+    private Destination destination = Mockito.mock(Destination.class);
+    private MessageProducer messageProducer = Mockito.mock(MessageProducer.class);
+
+    @Test
+    public void testSendBatchTransacted() throws JMSException {
+        List<String> sent = prepareMocks();
+
+        PayloadTemplateMessageBuilder messageBuilder = new PayloadTemplateMessageBuilder();
+        messageBuilder.setPayloadData("Hello ${citrus.batch.index}");
+
+        SendJmsBatchAction action = new SendJmsBatchAction()
+                .setEndpoint(createEndpoint())
+                .setMessageBuilder(messageBuilder)
+                .setMessageType(MessageType.PLAINTEXT.name())
+                .setCount("5")
+                .setTransacted(true)
+                .setCommitInterval(2);
+
+        action.execute(context);
+
+        Assert.assertEquals(sent.size(), 5);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(sent.get(i), "Hello " + i);
+        }
+
+        verify(connection).createSession(true, Session.SESSION_TRANSACTED);
+        verify(session).createProducer(destination);
+        verify(session, times(3)).commit();
+        verify(session, never()).rollback();
+        verify(messageProducer).close();
+        verify(session).close();
+    }
+
+    @Test
+    public void testSendBatchFromDataSource() throws JMSException {
+        List<String> sent = prepareMocks();
+
+        PayloadTemplateMessageBuilder messageBuilder = new PayloadTemplateMessageBuilder();
+        messageBuilder.setPayloadData("${citrus.batch.index}:${citrus.batch.record}");
+
+        SendJmsBatchAction action = new SendJmsBatchAction()
+                .setEndpoint(createEndpoint())
+                .setMessageBuilder(messageBuilder)
+                .setMessageType(MessageType.PLAINTEXT.name())
+                .setDataSource("classpath:com/consol/citrus/jms/actions/batch-data.txt");
+
+        action.execute(context);
+
+        Assert.assertEquals(sent.size(), 3);
+        Assert.assertEquals(sent.get(0), "0:Alice");
+        Assert.assertEquals(sent.get(1), "1:Bob");
+        Assert.assertEquals(sent.get(2), "2:Charlie");
+
+        verify(connection).createSession(false, Session.AUTO_ACKNOWLEDGE);
+        verify(session, never()).commit();
+    }
+
+    @Test
+    public void testSendBatchRollback() throws JMSException {
+        prepareMocks();
+
+        doNothing().doThrow(new JMSException("Broker unavailable")).when(messageProducer).send(any(javax.jms.Message.class));
+
+        PayloadTemplateMessageBuilder messageBuilder = new PayloadTemplateMessageBuilder();
+        messageBuilder.setPayloadData("Hello");
+
+        SendJmsBatchAction action = new SendJmsBatchAction()
+                .setEndpoint(createEndpoint())
+                .setMessageBuilder(messageBuilder)
+                .setMessageType(MessageType.PLAINTEXT.name())
+                .setCount("10")
+                .setTransacted(true);
+
+        try {
+            action.execute(context);
+            Assert.fail("Missing exception due to failed message batch");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(e.getMessage(), "Failed to send JMS message batch after 1 messages");
+        }
+
+        verify(session, never()).commit();
+        verify(session).rollback();
+        verify(session).close();
+    }
+
+    private JmsEndpoint createEndpoint() {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        return endpoint;
+    }
+
+    private List<String> prepareMocks() throws JMSException {
+        reset(connectionFactory, connection, session, destination, messageProducer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        when(session.createProducer(destination)).thenReturn(messageProducer);
+        when(session.createTextMessage(anyString())).thenAnswer(invocation ->
+                new TextMessageImpl(invocation.getArgument(0), new HashMap<String, Object>()));
+
+        List<String> sent = new ArrayList<>();
+        doAnswer(invocation -> {
+            sent.add(((TextMessage) invocation.getArgument(0)).getText());
+            return null;
+        }).when(messageProducer).send(any(javax.jms.Message.class));
+
+        return sent;
+    }
+}
@@ -53,6 +53,7 @@ public class JmsEndpointConfigParserTest extends AbstractTestNGUnitTest {
             messageConverter="messageConverter",
             destinationResolver="destinationResolver",
             destinationNameResolver="destinationNameResolver",
+            prefetchSize=100,
             destination="jmsQueue")
     private JmsEndpoint jmsEndpoint2;
 
@@ -117,6 +118,7 @@ public class JmsEndpointConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertNull(jmsEndpoint1.getEndpointConfiguration().getDestination());
         Assert.assertEquals(jmsEndpoint1.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertEquals(jmsEndpoint1.getEndpointConfiguration().isUseObjectMessages(), false);
+        Assert.assertEquals(jmsEndpoint1.getEndpointConfiguration().getPrefetchSize(), 0);
 
         // 2nd message receiver
         Assert.assertNotNull(jmsEndpoint2.getEndpointConfiguration().getConnectionFactory());
@@ -127,6 +129,7 @@ public class JmsEndpointConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertNull(jmsEndpoint2.getEndpointConfiguration().getDestinationName());
         Assert.assertNotNull(jmsEndpoint2.getEndpointConfiguration().getDestination());
         Assert.assertEquals(jmsEndpoint2.getEndpointConfiguration().getTimeout(), 10000L);
+        Assert.assertEquals(jmsEndpoint2.getEndpointConfiguration().getPrefetchSize(), 100);
 
         // 3rd message receiver
         Assert.assertNull(jmsEndpoint3.getEndpointConfiguration().getConnectionFactory());
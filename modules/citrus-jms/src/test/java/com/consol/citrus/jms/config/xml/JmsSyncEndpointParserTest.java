@@ -90,6 +90,7 @@ public class JmsSyncEndpointParserTest extends AbstractBeanDefinitionParserTest
         Assert.assertEquals(jmsSyncEndpoint.getEndpointConfiguration().getReplyDestinationName(), "JMS.Reply.Queue");
         Assert.assertNull(jmsSyncEndpoint.getEndpointConfiguration().getReplyDestination());
         Assert.assertEquals(jmsSyncEndpoint.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
+        Assert.assertFalse(jmsSyncEndpoint.getEndpointConfiguration().isSharedReplyQueue());
 
         // 2nd message sender
         jmsSyncEndpoint = endpoints.get("jmsSyncEndpoint2");
@@ -114,6 +115,7 @@ public class JmsSyncEndpointParserTest extends AbstractBeanDefinitionParserTest
         jmsSyncEndpoint = endpoints.get("jmsSyncEndpoint4");
         Assert.assertNotNull(jmsSyncEndpoint.getEndpointConfiguration().getPollingInterval());
         Assert.assertEquals(jmsSyncEndpoint.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertTrue(jmsSyncEndpoint.getEndpointConfiguration().isSharedReplyQueue());
         Assert.assertNotNull(jmsSyncEndpoint.getActor());
         Assert.assertEquals(jmsSyncEndpoint.getActor(), beanDefinitionContext.getBean("testActor", TestActor.class));
     }
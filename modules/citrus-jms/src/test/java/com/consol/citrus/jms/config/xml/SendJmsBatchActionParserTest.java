@@ -0,0 +1,56 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.config.xml;
+
+import com.consol.citrus.jms.actions.SendJmsBatchAction;
+import com.consol.citrus.testng.AbstractActionParserTest;
+import com.consol.citrus.validation.builder.PayloadTemplateMessageBuilder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class SendJmsBatchActionParserTest extends AbstractActionParserTest<SendJmsBatchAction> {
+
+    @Test
+    public void testSendJmsBatchActionParser() {
+        assertActionCount(2);
+        assertActionClassAndName(SendJmsBatchAction.class, "send-jms-batch");
+
+        SendJmsBatchAction action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getEndpoint(), beanDefinitionContext.getBean("myJmsEndpoint"));
+        Assert.assertEquals(action.getCount(), "100");
+        Assert.assertNull(action.getDataSource());
+        Assert.assertFalse(action.isTransacted());
+        Assert.assertEquals(action.getMessageType(), "XML");
+        PayloadTemplateMessageBuilder messageBuilder = (PayloadTemplateMessageBuilder) action.getMessageBuilder();
+        Assert.assertEquals(messageBuilder.getPayloadData(), "<TestMessage>${citrus.batch.index}</TestMessage>");
+        Assert.assertEquals(messageBuilder.getMessageHeaders().get("operation"), "batch");
+
+        action = getNextTestActionFromTest();
+        Assert.assertNull(action.getEndpoint());
+        Assert.assertEquals(action.getEndpointUri(), "jms:queue:test");
+        Assert.assertEquals(action.getDataSource(), "classpath:com/consol/citrus/jms/actions/batch-data.txt");
+        Assert.assertTrue(action.isTransacted());
+        Assert.assertEquals(action.getCommitInterval(), 500);
+        Assert.assertEquals(action.getMessageType(), "plaintext");
+        messageBuilder = (PayloadTemplateMessageBuilder) action.getMessageBuilder();
+        Assert.assertEquals(messageBuilder.getPayloadResourcePath(), "classpath:com/consol/citrus/jms/actions/batch-template.txt");
+        Assert.assertTrue(messageBuilder.getMessageHeaders().isEmpty());
+    }
+}
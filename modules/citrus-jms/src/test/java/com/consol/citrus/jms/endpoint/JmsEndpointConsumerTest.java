@@ -27,8 +27,14 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import javax.jms.*;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.Mockito.*;
 
@@ -264,4 +270,167 @@ public class JmsEndpointConsumerTest extends AbstractTestNGUnitTest {
 
         verify(connection).start();
     }
+
+    @Test
+    public void testReceiveWithPrefetchBuffer() throws JMSException {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setPrefetchSize(10);
+
+        reset(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        when(session.createConsumer(destination)).thenReturn(messageConsumer);
+
+        AtomicReference<MessageListener> listener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            listener.get().onMessage(new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>",
+                    Collections.<String, Object>singletonMap("Operation", "sayHello")));
+            listener.get().onMessage(new TextMessageImpl("<TestRequest><Message>Goodbye!</Message></TestRequest>",
+                    Collections.<String, Object>singletonMap("Operation", "sayGoodbye")));
+            return null;
+        }).when(messageConsumer).setMessageListener(any(MessageListener.class));
+
+        JmsConsumer consumer = (JmsConsumer) endpoint.createConsumer();
+
+        Message receivedMessage = consumer.receive("Operation = 'sayGoodbye'", context);
+        Assert.assertEquals(receivedMessage.getPayload(), "<TestRequest><Message>Goodbye!</Message></TestRequest>");
+
+        receivedMessage = consumer.receive(context);
+        Assert.assertEquals(receivedMessage.getPayload(), "<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        listener.get().onMessage(new TextMessageImpl("<TestRequest><Message>Hello again!</Message></TestRequest>",
+                Collections.<String, Object>singletonMap("Operation", "sayHello")));
+
+        receivedMessage = consumer.receive("Operation = 'sayHello'", context);
+        Assert.assertEquals(receivedMessage.getPayload(), "<TestRequest><Message>Hello again!</Message></TestRequest>");
+
+        verify(connectionFactory).createConnection();
+        verify(session).createConsumer(destination);
+        verify(connection).start();
+        verify(jmsTemplate, never()).setReceiveTimeout(anyLong());
+
+        consumer.destroy();
+
+        verify(messageConsumer).close();
+        verify(session).close();
+    }
+
+    @Test
+    public void testReceiveWithFullPrefetchBuffer() throws Exception {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setPrefetchSize(1);
+
+        reset(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        when(session.createConsumer(destination)).thenReturn(messageConsumer);
+
+        AtomicReference<MessageListener> listener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            return null;
+        }).when(messageConsumer).setMessageListener(any(MessageListener.class));
+
+        JmsConsumer consumer = (JmsConsumer) endpoint.createConsumer();
+        try {
+            consumer.receive(context, 100L);
+            Assert.fail("Missing timeout exception on empty buffer");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Action timed out while receiving JMS message"));
+        }
+
+        ExecutorService listenerThread = Executors.newSingleThreadExecutor();
+        Future<?> delivered = listenerThread.submit(() -> {
+            for (int i = 0; i < 3; i++) {
+                listener.get().onMessage(new TextMessageImpl("Message " + i, new HashMap<String, Object>()));
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(consumer.receive(context).getPayload(), "Message " + i);
+        }
+
+        delivered.get(5, TimeUnit.SECONDS);
+        listenerThread.shutdown();
+
+        consumer.destroy();
+    }
+
+    @Test
+    public void testReceiveWithPrefetchBufferUnsupportedSelector() throws JMSException {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setPrefetchSize(10);
+
+        reset(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+
+        try {
+            endpoint.createConsumer().receive("Operation LIKE 'say%'", context);
+            Assert.fail("Missing exception due to unsupported message selector");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Message selector 'Operation LIKE 'say%'' is not supported by prefetch buffer"));
+        }
+
+        verify(connectionFactory, never()).createConnection();
+    }
+
+    @Test
+    public void testPrefetchBufferDiscardsUnconsumedMessagesOnClose() throws JMSException {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setPrefetchSize(10);
+
+        reset(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(false, Session.AUTO_ACKNOWLEDGE)).thenReturn(session);
+        when(session.createConsumer(destination)).thenReturn(messageConsumer);
+
+        javax.jms.Message hello = Mockito.mock(javax.jms.Message.class);
+        javax.jms.Message goodbye = Mockito.mock(javax.jms.Message.class);
+        javax.jms.Message unconsumed = Mockito.mock(javax.jms.Message.class);
+        when(hello.getObjectProperty("Operation")).thenReturn("sayHello");
+        when(goodbye.getObjectProperty("Operation")).thenReturn("sayGoodbye");
+        when(unconsumed.getObjectProperty("Operation")).thenReturn("sayHello");
+
+        AtomicReference<MessageListener> listener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            listener.get().onMessage(hello);
+            listener.get().onMessage(goodbye);
+            return null;
+        }).when(messageConsumer).setMessageListener(any(MessageListener.class));
+
+        JmsMessageBuffer buffer = new JmsMessageBuffer(endpoint.getEndpointConfiguration(), 10);
+        buffer.start(destination);
+
+        Assert.assertEquals(buffer.receive("Operation = 'sayGoodbye'", -1L), goodbye);
+        Assert.assertEquals(buffer.receive("Operation = 'sayHello'", -1L), hello);
+
+        listener.get().onMessage(unconsumed);
+        Assert.assertEquals(buffer.getSize(), 1L);
+        buffer.close();
+
+        Assert.assertEquals(buffer.getSize(), 0L);
+        Assert.assertNull(buffer.receive("Operation = 'sayHello'", -1L));
+        verify(hello, never()).acknowledge();
+        verify(goodbye, never()).acknowledge();
+        verify(unconsumed, never()).acknowledge();
+        verify(messageConsumer).close();
+        verify(session, never()).recover();
+        verify(session).close();
+    }
 }
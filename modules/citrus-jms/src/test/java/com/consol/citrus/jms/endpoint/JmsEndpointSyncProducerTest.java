@@ -16,6 +16,7 @@
 
 package com.consol.citrus.jms.endpoint;
 
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.*;
@@ -27,8 +28,16 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import javax.jms.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.Mockito.*;
 
@@ -151,6 +160,240 @@ public class JmsEndpointSyncProducerTest extends AbstractTestNGUnitTest {
         verify(tempReplyQueue).delete();
     }
 
+    @Test
+    public void testSendMessageWithSharedReplyQueue() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setSharedReplyQueue(true);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+
+        when(session.createTemporaryQueue()).thenReturn(tempReplyQueue);
+        when(session.createConsumer(tempReplyQueue)).thenReturn(messageConsumer);
+        when(session.createProducer(null)).thenReturn(messageProducer);
+
+        AtomicInteger messageIds = new AtomicInteger();
+        when(session.createTextMessage(anyString())).thenAnswer(invocation ->
+                new CorrelatedTextMessage(invocation.getArgument(0), "ID:" + messageIds.incrementAndGet(), null));
+
+        AtomicReference<MessageListener> replyListener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            replyListener.set(invocation.getArgument(0));
+            return null;
+        }).when(messageConsumer).setMessageListener(any(MessageListener.class));
+
+        // reply arrives before sender starts waiting
+        doAnswer(invocation -> {
+            TextMessage request = invocation.getArgument(1);
+            Assert.assertEquals(request.getJMSReplyTo(), tempReplyQueue);
+            replyListener.get().onMessage(new CorrelatedTextMessage("<TestResponse>" + request.getJMSMessageID() + "</TestResponse>",
+                    "ID:reply", request.getJMSMessageID()));
+            return null;
+        }).when(messageProducer).send(eq(destination), any(TextMessage.class));
+
+        JmsSyncProducer producer = (JmsSyncProducer) endpoint.createProducer();
+        producer.send(message, context);
+        Assert.assertEquals(producer.receive(context).getPayload(String.class), "<TestResponse>ID:1</TestResponse>");
+
+        producer.send(message, context);
+        Assert.assertEquals(producer.receive(context).getPayload(String.class), "<TestResponse>ID:2</TestResponse>");
+
+        verify(connection).start();
+        verify(session).createTemporaryQueue();
+        verify(session).createConsumer(tempReplyQueue);
+        verify(session).createProducer(null);
+        verify(messageProducer, times(2)).send(eq(destination), any(TextMessage.class));
+
+        producer.destroy();
+
+        verify(messageConsumer).close();
+        verify(tempReplyQueue).delete();
+        verify(messageProducer).close();
+    }
+
+    @Test
+    public void testSendMessageWithSharedReplyQueueConcurrently() throws Exception {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setReplyDestination(tempReplyQueue);
+        endpoint.getEndpointConfiguration().setSharedReplyQueue(true);
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+
+        when(session.createConsumer(tempReplyQueue)).thenReturn(messageConsumer);
+        when(session.createProducer(null)).thenReturn(messageProducer);
+
+        AtomicInteger messageIds = new AtomicInteger();
+        when(session.createTextMessage(anyString())).thenAnswer(invocation ->
+                new CorrelatedTextMessage(invocation.getArgument(0), "ID:" + messageIds.incrementAndGet(), null));
+
+        AtomicReference<MessageListener> replyListener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            replyListener.set(invocation.getArgument(0));
+            return null;
+        }).when(messageConsumer).setMessageListener(any(MessageListener.class));
+
+        ExecutorService replyExecutor = Executors.newSingleThreadExecutor();
+        doAnswer(invocation -> {
+            TextMessage request = invocation.getArgument(1);
+            replyExecutor.execute(() -> {
+                try {
+                    replyListener.get().onMessage(new CorrelatedTextMessage(request.getText().replace("Request", "Response"),
+                            "ID:reply", request.getJMSMessageID()));
+                } catch (JMSException e) {
+                    throw new CitrusRuntimeException(e);
+                }
+            });
+            return null;
+        }).when(messageProducer).send(eq(destination), any(TextMessage.class));
+
+        final JmsSyncProducer producer = (JmsSyncProducer) endpoint.createProducer();
+
+        ExecutorService senders = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final int sender = i;
+            results.add(senders.submit(() -> {
+                int replies = 0;
+                for (int j = 0; j < 25; j++) {
+                    TestContext senderContext = createTestContext();
+                    producer.send(new DefaultMessage("Request " + sender + "-" + j), senderContext);
+                    Assert.assertEquals(producer.receive(senderContext).getPayload(String.class), "Response " + sender + "-" + j);
+                    replies++;
+                }
+                return replies;
+            }));
+        }
+
+        for (Future<Integer> result : results) {
+            Assert.assertEquals(result.get(10, TimeUnit.SECONDS), Integer.valueOf(25));
+        }
+
+        senders.shutdown();
+        replyExecutor.shutdown();
+
+        verify(connection).start();
+        verify(session).createConsumer(tempReplyQueue);
+        verify(session, atMost(4)).createProducer(null);
+        verify(messageProducer, times(100)).send(eq(destination), any(TextMessage.class));
+
+        producer.destroy();
+    }
+
+    @Test
+    public void testSendMessageWithSharedReplyQueueReusesPooledSession() throws Exception {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setReplyDestination(tempReplyQueue);
+        endpoint.getEndpointConfiguration().setSharedReplyQueue(true);
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+
+        when(session.createConsumer(tempReplyQueue)).thenReturn(messageConsumer);
+        when(session.createProducer(null)).thenReturn(messageProducer);
+
+        AtomicInteger messageIds = new AtomicInteger();
+        when(session.createTextMessage(anyString())).thenAnswer(invocation ->
+                new CorrelatedTextMessage(invocation.getArgument(0), "ID:" + messageIds.incrementAndGet(), null));
+
+        AtomicReference<MessageListener> replyListener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            replyListener.set(invocation.getArgument(0));
+            return null;
+        }).when(messageConsumer).setMessageListener(any(MessageListener.class));
+
+        doAnswer(invocation -> {
+            TextMessage request = invocation.getArgument(1);
+            replyListener.get().onMessage(new CorrelatedTextMessage(request.getText().replace("Request", "Response"),
+                    "ID:reply", request.getJMSMessageID()));
+            return null;
+        }).when(messageProducer).send(eq(destination), any(TextMessage.class));
+
+        final JmsSyncProducer producer = (JmsSyncProducer) endpoint.createProducer();
+
+        // each request is sent by a new thread
+        for (int i = 0; i < 20; i++) {
+            ExecutorService sender = Executors.newSingleThreadExecutor();
+            final int request = i;
+            Assert.assertEquals(sender.submit(() -> {
+                TestContext senderContext = createTestContext();
+                producer.send(new DefaultMessage("Request " + request), senderContext);
+                return producer.receive(senderContext).getPayload(String.class);
+            }).get(10, TimeUnit.SECONDS), "Response " + request);
+            sender.shutdown();
+        }
+
+        verify(session).createProducer(null);
+        verify(messageProducer, times(20)).send(eq(destination), any(TextMessage.class));
+
+        producer.destroy();
+
+        verify(messageProducer).close();
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Shared reply queue is not supported with named reply destination 'JMS.Reply.Queue'.*")
+    public void testSendMessageWithSharedReplyQueueNamedReplyDestination() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setReplyDestinationName("JMS.Reply.Queue");
+        endpoint.getEndpointConfiguration().setSharedReplyQueue(true);
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+
+        try {
+            endpoint.createProducer().send(new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>"), context);
+        } finally {
+            verify(session, never()).createConsumer(any(Destination.class));
+            verify(messageProducer, never()).send(any(Destination.class), any(javax.jms.Message.class));
+        }
+    }
+
+    @Test(expectedExceptions = ActionTimeoutException.class)
+    public void testSendMessageWithSharedReplyQueueTimeout() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setReplyDestination(tempReplyQueue);
+        endpoint.getEndpointConfiguration().setSharedReplyQueue(true);
+        endpoint.getEndpointConfiguration().setTimeout(100L);
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+
+        when(session.createConsumer(tempReplyQueue)).thenReturn(messageConsumer);
+        when(session.createProducer(null)).thenReturn(messageProducer);
+
+        when(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).thenReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>()));
+
+        endpoint.createProducer().send(new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>"), context);
+    }
+
     @Test
     @SuppressWarnings("rawtypes")
     public void testSendMessageWithReplyHandler() throws JMSException {
@@ -398,4 +641,28 @@ public class JmsEndpointSyncProducerTest extends AbstractTestNGUnitTest {
             Assert.assertEquals(retryCount, 1);
         }
     }
+
+    /**
+     * Text message with configurable message id and correlation id.
+     */
+    private static class CorrelatedTextMessage extends TextMessageImpl {
+        private final String messageId;
+        private final String correlationId;
+
+        CorrelatedTextMessage(String text, String messageId, String correlationId) {
+            super(text, new HashMap<String, Object>());
+            this.messageId = messageId;
+            this.correlationId = correlationId;
+        }
+
+        @Override
+        public String getJMSMessageID() throws JMSException {
+            return messageId;
+        }
+
+        @Override
+        public String getJMSCorrelationID() throws JMSException {
+            return correlationId;
+        }
+    }
 }
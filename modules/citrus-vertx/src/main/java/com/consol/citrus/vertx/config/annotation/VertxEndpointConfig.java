@@ -71,6 +71,12 @@ public @interface VertxEndpointConfig {
      */
     int pollingInterval() default 500;
 
+    /**
+     * Persistent subscription queue capacity.
+     * @return
+     */
+    int queueCapacity() default 0;
+
     /**
      * Timeout.
      * @return
@@ -63,6 +63,8 @@ public class VertxEndpointConfigParser extends AbstractAnnotationConfigParser<Ve
 
         builder.pollingInterval(annotation.pollingInterval());
 
+        builder.queueCapacity(annotation.queueCapacity());
+
         builder.timeout(annotation.timeout());
 
         if (StringUtils.hasText(annotation.actor())) {
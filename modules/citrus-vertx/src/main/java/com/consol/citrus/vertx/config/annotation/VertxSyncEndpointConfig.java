@@ -77,6 +77,12 @@ public @interface VertxSyncEndpointConfig {
      */
     int pollingInterval() default 500;
 
+    /**
+     * Persistent subscription queue capacity.
+     * @return
+     */
+    int queueCapacity() default 0;
+
     /**
      * Timeout.
      * @return
@@ -68,6 +68,8 @@ public class VertxSyncEndpointConfigParser extends AbstractAnnotationConfigParse
 
         builder.pollingInterval(annotation.pollingInterval());
 
+        builder.queueCapacity(annotation.queueCapacity());
+
         builder.timeout(annotation.timeout());
 
         if (StringUtils.hasText(annotation.actor())) {
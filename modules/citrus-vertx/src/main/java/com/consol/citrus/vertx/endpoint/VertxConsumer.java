@@ -54,14 +54,25 @@ public class VertxConsumer extends AbstractMessageConsumer {
         super(name, endpointConfiguration);
         this.vertx = vertx;
         this.endpointConfiguration = endpointConfiguration;
+
+        if (endpointConfiguration.getQueueCapacity() > 0) {
+            getMessageQueue();
+        }
     }
 
+    /** Persistent subscription queue when enabled */
+    private VertxMessageQueue messageQueue;
+
     @Override
     public Message receive(TestContext context, long timeout) {
         if (log.isDebugEnabled()) {
             log.debug("Receiving message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
         }
 
+        if (endpointConfiguration.getQueueCapacity() > 0) {
+            return receiveQueued(context, timeout);
+        }
+
         VertxSingleMessageHandler vertxMessageHandler = new VertxSingleMessageHandler();
         MessageConsumer<Object> vertxConsumer = vertx.eventBus().consumer(endpointConfiguration.getAddress(), vertxMessageHandler);
 
@@ -101,6 +112,50 @@ public class VertxConsumer extends AbstractMessageConsumer {
         }
     }
 
+    /**
+     * Receives message from persistent event bus subscription queue. Subscription is started when consumer is created
+     * and stays active until consumer is destroyed.
+     * @param context
+     * @param timeout
+     * @return
+     */
+    private Message receiveQueued(TestContext context, long timeout) {
+        Message message = endpointConfiguration.getMessageConverter().convertInbound(getMessageQueue().receive(timeout), endpointConfiguration, context);
+
+        if (message == null) {
+            throw new ActionTimeoutException("Action timed out while receiving message on Vert.x event bus address '" + endpointConfiguration.getAddress() + "'");
+        }
+
+        log.info("Received message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
+
+        context.onInboundMessage(message);
+
+        return message;
+    }
+
+    /**
+     * Gets the persistent subscription queue and starts subscription if not already done.
+     * @return
+     */
+    public synchronized VertxMessageQueue getMessageQueue() {
+        if (messageQueue == null) {
+            messageQueue = new VertxMessageQueue(endpointConfiguration.getAddress(), endpointConfiguration.getQueueCapacity());
+            messageQueue.start(vertx);
+        }
+
+        return messageQueue;
+    }
+
+    /**
+     * Closes persistent event bus subscription if any.
+     */
+    public synchronized void destroy() {
+        if (messageQueue != null) {
+            messageQueue.close();
+            messageQueue = null;
+        }
+    }
+
     /**
      * Simple Vert.x message handler stores first message received on event bus and ignores all further messages
      * until subscription is unregistered automatically.
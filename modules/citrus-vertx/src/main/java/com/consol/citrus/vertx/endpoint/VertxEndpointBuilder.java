@@ -104,6 +104,16 @@ public class VertxEndpointBuilder extends AbstractEndpointBuilder<VertxEndpoint>
         return this;
     }
 
+    /**
+     * Sets the persistent subscription queue capacity.
+     * @param queueCapacity
+     * @return
+     */
+    public VertxEndpointBuilder queueCapacity(int queueCapacity) {
+        endpoint.getEndpointConfiguration().setQueueCapacity(queueCapacity);
+        return this;
+    }
+
     /**
      * Sets the default timeout.
      * @param timeout
@@ -40,6 +40,9 @@ public class VertxEndpointConfiguration extends AbstractPollableEndpointConfigur
     /** Message converter */
     private VertxMessageConverter messageConverter = new VertxMessageConverter();
 
+    /** Capacity of persistent subscription queue, zero disables the queue */
+    private int queueCapacity = 0;
+
     /**
      * Gets the address on the vert.x event bus.
      * @return
@@ -119,4 +122,21 @@ public class VertxEndpointConfiguration extends AbstractPollableEndpointConfigur
     public void setMessageConverter(VertxMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Gets the queue capacity.
+     * @return
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the capacity of the persistent event bus subscription queue. Positive values enable a long lived
+     * subscription feeding a bounded queue consumers receive from. Zero subscribes on each receive.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
 }
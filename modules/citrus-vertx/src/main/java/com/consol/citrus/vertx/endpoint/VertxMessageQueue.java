@@ -0,0 +1,218 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.vertx.endpoint;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent subscription on a Vert.x event bus address feeding a bounded local queue. Consumers take messages from the queue
+ * with blocking receive so no messages get lost between receive calls and no subscription setup is required per receive.
+ *
+ * When the queue is full the event bus consumer is paused so Vert.x buffers further messages until consumers have taken
+ * messages from the queue. Queue metrics such as received and dropped messages, pause count and high water mark are exposed for
+ * monitoring backpressure.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class VertxMessageQueue implements Handler<Message<Object>> {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(VertxMessageQueue.class);
+
+    /** Event bus address */
+    private final String address;
+
+    /** Queued event bus messages */
+    private final BlockingQueue<Message<Object>> messages;
+
+    /** Event bus subscription */
+    private MessageConsumer<Object> consumer;
+
+    /** Subscription paused because queue is full */
+    private volatile boolean paused = false;
+
+    /** Queue metrics */
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong pauseCount = new AtomicLong();
+    private final AtomicInteger highWaterMark = new AtomicInteger();
+
+    /**
+     * Constructor using event bus address and queue capacity.
+     * @param address
+     * @param capacity
+     */
+    public VertxMessageQueue(String address, int capacity) {
+        Assert.isTrue(capacity > 0, "Message queue capacity must be greater than zero");
+
+        this.address = address;
+        this.messages = new LinkedBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Registers event bus consumer with this queue as message handler.
+     * @param vertx
+     */
+    public synchronized void start(Vertx vertx) {
+        if (consumer == null) {
+            consumer = vertx.eventBus().consumer(address, this);
+            log.debug("Started message queue on Vert.x event bus address: '{}'", address);
+        }
+    }
+
+    @Override
+    public void handle(Message<Object> message) {
+        receivedCount.incrementAndGet();
+
+        if (!messages.offer(message)) {
+            droppedCount.incrementAndGet();
+            log.warn("Discard message on full message queue for Vert.x event bus address: '{}'", address);
+            return;
+        }
+
+        highWaterMark.accumulateAndGet(messages.size(), Math::max);
+
+        if (messages.remainingCapacity() == 0) {
+            pause();
+        }
+    }
+
+    /**
+     * Receives next queued message waiting the given time. Negative timeout values do not wait at all.
+     * @param timeout time to wait in milliseconds.
+     * @return the event bus message or null on timeout.
+     */
+    public Message<Object> receive(long timeout) {
+        try {
+            Message<Object> message = timeout > 0 ? messages.poll(timeout, TimeUnit.MILLISECONDS) : messages.poll();
+
+            if (message != null && paused) {
+                resume();
+            }
+
+            return message;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for message on Vert.x event bus address '" + address + "'", e);
+        }
+    }
+
+    /**
+     * Pauses event bus subscription.
+     */
+    private synchronized void pause() {
+        if (!paused && consumer != null) {
+            paused = true;
+            pauseCount.incrementAndGet();
+            consumer.pause();
+
+            log.debug("Paused full message queue on Vert.x event bus address: '{}'", address);
+
+            // consumers may have taken messages in the meantime
+            if (messages.remainingCapacity() > 0) {
+                resume();
+            }
+        }
+    }
+
+    /**
+     * Resumes event bus subscription.
+     */
+    private synchronized void resume() {
+        if (paused && consumer != null) {
+            paused = false;
+            consumer.resume();
+
+            log.debug("Resumed message queue on Vert.x event bus address: '{}'", address);
+        }
+    }
+
+    /**
+     * Unregisters event bus consumer. Messages left in the queue are discarded.
+     */
+    public synchronized void close() {
+        if (consumer != null) {
+            consumer.unregister();
+            consumer = null;
+        }
+
+        if (!messages.isEmpty()) {
+            log.warn("Discard {} queued messages for Vert.x event bus address: '{}'", messages.size(), address);
+            messages.clear();
+        }
+    }
+
+    /**
+     * Gets the current number of queued messages.
+     * @return
+     */
+    public int getSize() {
+        return messages.size();
+    }
+
+    /**
+     * Gets the maximum number of queued messages seen so far.
+     * @return
+     */
+    public int getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    /**
+     * Gets the total number of messages received on the event bus.
+     * @return
+     */
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    /**
+     * Gets the number of messages discarded because of a full queue.
+     * @return
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Gets the number of times the subscription has been paused because of a full queue.
+     * @return
+     */
+    public long getPauseCount() {
+        return pauseCount.get();
+    }
+
+    /**
+     * Is subscription currently paused.
+     * @return
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+}
@@ -64,6 +64,21 @@ public class VertxSyncEndpoint extends VertxEndpoint {
         return vertxSyncMessageConsumer;
     }
 
+    /**
+     * Sync endpoint acts either as producer or as consumer so consumer and its subscription queue are not
+     * created on initialization but with the first consumer access.
+     */
+    @Override
+    public void afterPropertiesSet() {
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (vertxSyncMessageConsumer != null) {
+            vertxSyncMessageConsumer.destroy();
+        }
+    }
+
     @Override
     public Producer createProducer() {
         if (vertxSyncMessageConsumer != null) {
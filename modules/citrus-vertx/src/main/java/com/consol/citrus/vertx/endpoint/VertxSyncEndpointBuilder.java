@@ -105,6 +105,16 @@ public class VertxSyncEndpointBuilder extends AbstractEndpointBuilder<VertxSyncE
         return this;
     }
 
+    /**
+     * Sets the persistent subscription queue capacity.
+     * @param queueCapacity
+     * @return
+     */
+    public VertxSyncEndpointBuilder queueCapacity(int queueCapacity) {
+        endpoint.getEndpointConfiguration().setQueueCapacity(queueCapacity);
+        return this;
+    }
+
     /**
      * Sets the message correlator.
      * @param correlator
@@ -48,6 +48,7 @@ public class VertxEndpointConfigParserTest extends AbstractTestNGUnitTest {
             vertxFactory="specialVertxInstanceFactory",
             address="news-feed2",
             timeout=10000L,
+            queueCapacity=100,
             messageConverter="messageConverter")
     private VertxEndpoint vertxEndpoint2;
 
@@ -66,8 +67,8 @@ public class VertxEndpointConfigParserTest extends AbstractTestNGUnitTest {
 
     @Mock
     private VertxInstanceFactory vertxInstanceFactory = Mockito.mock(VertxInstanceFactory.class);
-    @Mock
-    private VertxInstanceFactory specialVertxInstanceFactory = Mockito.mock(VertxInstanceFactory.class);
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private VertxInstanceFactory specialVertxInstanceFactory;
     @Mock
     private VertxMessageConverter messageConverter = Mockito.mock(VertxMessageConverter.class);
     @Mock
@@ -96,6 +97,7 @@ public class VertxEndpointConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(vertxEndpoint1.getVertxInstanceFactory(), vertxInstanceFactory);
         Assert.assertEquals(vertxEndpoint1.getEndpointConfiguration().getAddress(), "news-feed1");
         Assert.assertEquals(vertxEndpoint1.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertEquals(vertxEndpoint1.getEndpointConfiguration().getQueueCapacity(), 0);
 
         // 2nd message receiver
         Assert.assertNotNull(vertxEndpoint2.getVertxInstanceFactory());
@@ -105,6 +107,7 @@ public class VertxEndpointConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(vertxEndpoint2.getEndpointConfiguration().getPort(), 10105);
         Assert.assertEquals(vertxEndpoint2.getEndpointConfiguration().getAddress(), "news-feed2");
         Assert.assertEquals(vertxEndpoint2.getEndpointConfiguration().getTimeout(), 10000L);
+        Assert.assertEquals(vertxEndpoint2.getEndpointConfiguration().getQueueCapacity(), 100);
 
         // 3rd message receiver
         Assert.assertEquals(vertxEndpoint3.getEndpointConfiguration().getAddress(), "news-feed3");
@@ -41,6 +41,7 @@ public class VertxEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(vertxEndpoint.getVertxInstanceFactory(), beanDefinitionContext.getBean("vertxInstanceFactory"));
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getAddress(), "news-feed1");
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getQueueCapacity(), 0);
 
         // 2nd message receiver
         vertxEndpoint = endpoints.get("vertxEndpoint2");
@@ -51,6 +52,7 @@ public class VertxEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getPort(), 10105);
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getAddress(), "news-feed2");
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getTimeout(), 10000L);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getQueueCapacity(), 100);
 
         // 3rd message receiver
         vertxEndpoint = endpoints.get("vertxEndpoint3");
@@ -16,6 +16,7 @@
 
 package com.consol.citrus.vertx.endpoint;
 
+import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.report.MessageListeners;
@@ -32,6 +33,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.MessageConsumer;
+import org.mockito.ArgumentCaptor;
 
 import static org.mockito.Mockito.*;
 
@@ -129,6 +131,153 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
         verify(messageConsumer).unregister();
     }
 
+    @Test
+    public void testVertxEndpointConsumerWithQueue() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+        endpointConfiguration.setQueueCapacity(10);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        reset(vertx, eventBus, messageConsumer);
+
+        when(vertx.eventBus()).thenReturn(eventBus);
+        when(eventBus.consumer(eq(eventBusAddress), any(Handler.class))).thenReturn(messageConsumer);
+
+        VertxConsumer vertxConsumer = (VertxConsumer) vertxEndpoint.createConsumer();
+        VertxMessageQueue messageQueue = vertxConsumer.getMessageQueue();
+
+        ArgumentCaptor<Handler> handler = ArgumentCaptor.forClass(Handler.class);
+        verify(eventBus).consumer(eq(eventBusAddress), handler.capture());
+
+        for (int i = 1; i <= 3; i++) {
+            handler.getValue().handle(createVertxMessage(eventBusAddress, "Message " + i));
+        }
+
+        Assert.assertEquals(messageQueue.getSize(), 3);
+        Assert.assertEquals(messageQueue.getHighWaterMark(), 3);
+
+        for (int i = 1; i <= 3; i++) {
+            Message receivedMessage = vertxEndpoint.createConsumer().receive(context, endpointConfiguration.getTimeout());
+            Assert.assertEquals(receivedMessage.getPayload(), "Message " + i);
+            Assert.assertEquals(receivedMessage.getHeader(CitrusVertxMessageHeaders.VERTX_ADDRESS), eventBusAddress);
+        }
+
+        Assert.assertEquals(messageQueue.getSize(), 0);
+        Assert.assertEquals(messageQueue.getReceivedCount(), 3L);
+        Assert.assertEquals(messageQueue.getDroppedCount(), 0L);
+
+        verify(eventBus).consumer(eq(eventBusAddress), any(Handler.class));
+        verify(messageConsumer, never()).unregister();
+
+        vertxEndpoint.destroy();
+        verify(messageConsumer).unregister();
+    }
+
+    @Test
+    public void testVertxEndpointConsumerWithFullQueue() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+        endpointConfiguration.setQueueCapacity(2);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        reset(vertx, eventBus, messageConsumer);
+
+        when(vertx.eventBus()).thenReturn(eventBus);
+        when(eventBus.consumer(eq(eventBusAddress), any(Handler.class))).thenReturn(messageConsumer);
+
+        VertxConsumer vertxConsumer = (VertxConsumer) vertxEndpoint.createConsumer();
+        VertxMessageQueue messageQueue = vertxConsumer.getMessageQueue();
+
+        ArgumentCaptor<Handler> handler = ArgumentCaptor.forClass(Handler.class);
+        verify(eventBus).consumer(eq(eventBusAddress), handler.capture());
+
+        handler.getValue().handle(createVertxMessage(eventBusAddress, "Message 1"));
+        handler.getValue().handle(createVertxMessage(eventBusAddress, "Message 2"));
+
+        Assert.assertTrue(messageQueue.isPaused());
+        verify(messageConsumer).pause();
+
+        handler.getValue().handle(createVertxMessage(eventBusAddress, "Message 3"));
+        Assert.assertEquals(messageQueue.getDroppedCount(), 1L);
+        Assert.assertEquals(messageQueue.getPauseCount(), 1L);
+
+        Message receivedMessage = vertxConsumer.receive(context, endpointConfiguration.getTimeout());
+        Assert.assertEquals(receivedMessage.getPayload(), "Message 1");
+
+        Assert.assertFalse(messageQueue.isPaused());
+        verify(messageConsumer).resume();
+
+        Assert.assertEquals(messageQueue.getHighWaterMark(), 2);
+        vertxEndpoint.destroy();
+    }
+
+    @Test
+    public void testVertxEndpointConsumerWithQueueStartedOnInitialization() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+        endpointConfiguration.setQueueCapacity(10);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        reset(vertx, eventBus, messageConsumer);
+
+        when(vertx.eventBus()).thenReturn(eventBus);
+        when(eventBus.consumer(eq(eventBusAddress), any(Handler.class))).thenReturn(messageConsumer);
+
+        vertxEndpoint.afterPropertiesSet();
+
+        ArgumentCaptor<Handler> handler = ArgumentCaptor.forClass(Handler.class);
+        verify(eventBus).consumer(eq(eventBusAddress), handler.capture());
+
+        // message published before first receive
+        handler.getValue().handle(createVertxMessage(eventBusAddress, "Hello from Vert.x!"));
+
+        Message receivedMessage = vertxEndpoint.createConsumer().receive(context, endpointConfiguration.getTimeout());
+        Assert.assertEquals(receivedMessage.getPayload(), "Hello from Vert.x!");
+
+        verify(eventBus).consumer(eq(eventBusAddress), any(Handler.class));
+
+        vertxEndpoint.destroy();
+        verify(messageConsumer).unregister();
+    }
+
+    @Test(expectedExceptions = ActionTimeoutException.class)
+    public void testVertxEndpointConsumerWithQueueTimeout() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+        endpointConfiguration.setQueueCapacity(10);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        reset(vertx, eventBus, messageConsumer);
+
+        when(vertx.eventBus()).thenReturn(eventBus);
+        when(eventBus.consumer(eq(eventBusAddress), any(Handler.class))).thenReturn(messageConsumer);
+
+        try {
+            vertxEndpoint.createConsumer().receive(context, 100L);
+        } finally {
+            vertxEndpoint.destroy();
+        }
+    }
+
+    private io.vertx.core.eventbus.Message createVertxMessage(String address, String body) {
+        io.vertx.core.eventbus.Message message = Mockito.mock(io.vertx.core.eventbus.Message.class);
+        when(message.body()).thenReturn(body);
+        when(message.address()).thenReturn(address);
+        return message;
+    }
+
     @Test
     public void testVertxEndpointWithOutboundMessageListeners() {
         String eventBusAddress = "news-feed";
@@ -74,6 +74,16 @@ public class WebSocketClientBuilder extends AbstractEndpointBuilder<WebSocketCli
         return this;
     }
 
+    /**
+     * Sets the inbound message buffer capacity.
+     * @param bufferCapacity
+     * @return
+     */
+    public WebSocketClientBuilder bufferCapacity(int bufferCapacity) {
+        endpoint.getEndpointConfiguration().setBufferCapacity(bufferCapacity);
+        return this;
+    }
+
     /**
      * Sets the default timeout.
      * @param timeout
@@ -17,6 +17,7 @@
 package com.consol.citrus.websocket.config.annotation;
 
 import com.consol.citrus.annotations.CitrusEndpointConfig;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
 
 import java.lang.annotation.*;
 
@@ -53,6 +54,12 @@ public @interface WebSocketClientConfig {
      */
     int pollingInterval() default 500;
 
+    /**
+     * Inbound message buffer capacity.
+     * @return
+     */
+    int bufferCapacity() default CitrusWebSocketHandler.DEFAULT_BUFFER_CAPACITY;
+
     /**
      * Timeout.
      * @return
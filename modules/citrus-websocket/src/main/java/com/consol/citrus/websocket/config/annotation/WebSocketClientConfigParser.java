@@ -55,6 +55,8 @@ public class WebSocketClientConfigParser extends AbstractAnnotationConfigParser<
 
         builder.pollingInterval(annotation.pollingInterval());
 
+        builder.bufferCapacity(annotation.bufferCapacity());
+
         builder.timeout(annotation.timeout());
 
         if (StringUtils.hasText(annotation.actor())) {
@@ -16,6 +16,8 @@
 
 package com.consol.citrus.websocket.config.annotation;
 
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
+
 /**
  * @author Christoph Deppisch
  * @since 2.5
@@ -45,4 +47,10 @@ public @interface WebSocketConfig {
      * @return
      */
     long timeout() default 5000L;
+
+    /**
+     * Inbound message buffer capacity.
+     * @return
+     */
+    int bufferCapacity() default CitrusWebSocketHandler.DEFAULT_BUFFER_CAPACITY;
 }
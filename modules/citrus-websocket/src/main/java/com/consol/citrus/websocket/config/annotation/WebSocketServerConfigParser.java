@@ -62,6 +62,7 @@ public class WebSocketServerConfigParser extends AbstractAnnotationConfigParser<
             }
 
             webSocketConfiguration.setTimeout(webSocketConfig.timeout());
+            webSocketConfiguration.setBufferCapacity(webSocketConfig.bufferCapacity());
 
             WebSocketEndpoint webSocket = new WebSocketEndpoint(webSocketConfiguration);
             webSocket.setName(webSocketConfig.id());
@@ -25,7 +25,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.web.socket.WebSocketMessage;
 
 /**
- * Consumer polls for incoming messages on web socket handler.
+ * Consumer waits for incoming messages on web socket handler.
  * @author Martin Maher
  * @since 2.3
  */
@@ -54,7 +54,7 @@ public class WebSocketConsumer extends AbstractSelectiveMessageConsumer {
     public Message receive(String selector, TestContext context, long timeout) {
         LOG.info(String.format("Waiting %s ms for Web Socket message ...", timeout));
 
-        WebSocketMessage<?> message = receive(endpointConfiguration, timeout);
+        WebSocketMessage<?> message = receive(endpointConfiguration, selector, timeout);
         Message receivedMessage = endpointConfiguration.getMessageConverter().convertInbound(message, endpointConfiguration, context);
 
         LOG.info("Received Web Socket message");
@@ -64,33 +64,20 @@ public class WebSocketConsumer extends AbstractSelectiveMessageConsumer {
     }
 
     /**
-     * Receive web socket message by polling on web socket handler for incoming message.
+     * Receive web socket message by waiting on web socket handler for incoming message.
      * @param config
+     * @param selector
      * @param timeout
      * @return
      */
-    private WebSocketMessage<?> receive(WebSocketEndpointConfiguration config, long timeout) {
-        long timeLeft = timeout;
-
-        WebSocketMessage<?> message = config.getHandler().getMessage();
+    private WebSocketMessage<?> receive(WebSocketEndpointConfiguration config, String selector, long timeout) {
         String path = endpointConfiguration.getEndpointUri();
-        while (message == null && timeLeft > 0) {
-            timeLeft -= endpointConfiguration.getPollingInterval();
-            long sleep = timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft;
-            if (LOG.isDebugEnabled()) {
-                String msg = "Waiting for message on '%s' - retrying in %s ms";
-                LOG.debug(String.format(msg, path, (sleep)));
-            }
-
-            try {
-                Thread.sleep(sleep);
-            } catch (InterruptedException e) {
-                LOG.warn(String.format("Thread interrupted while waiting for message on '%s'", path), e);
-            }
-
-            message = config.getHandler().getMessage();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Waiting for message on '%s'", path));
         }
 
+        WebSocketMessage<?> message = config.getHandler().receive(selector, timeout);
+
         if (message == null) {
             throw new ActionTimeoutException(String.format("Action timed out while receiving message on '%s'", path));
         }
@@ -76,4 +76,16 @@ public interface WebSocketEndpointConfiguration extends PollableEndpointConfigur
      * @param endpointUriResolver the endpointUriResolver to set
      */
     void setEndpointUriResolver(EndpointUriResolver endpointUriResolver);
+
+    /**
+     * Gets the inbound message buffer capacity per session.
+     * @return
+     */
+    int getBufferCapacity();
+
+    /**
+     * Sets the inbound message buffer capacity per session.
+     * @param bufferCapacity
+     */
+    void setBufferCapacity(int bufferCapacity);
 }
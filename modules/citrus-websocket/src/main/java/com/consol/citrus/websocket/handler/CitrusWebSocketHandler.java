@@ -16,19 +16,30 @@
 
 package com.consol.citrus.websocket.handler;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.MessageSelectorBuilder;
+import com.consol.citrus.websocket.message.WebSocketMessageHeaders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.Queue;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Web Socket Handler for handling incoming and sending outgoing Web Socket messages
+ * Web Socket Handler for handling incoming and sending outgoing Web Socket messages.
+ *
+ * Inbound messages are kept in a buffer that is bounded per session. When a session has reached the buffer capacity the receiving
+ * thread blocks until consumers have taken messages from the buffer. Consumers wait for new messages with timed receive optionally
+ * using a message selector. Per session statistics are available for asserting streaming behavior.
  *
  * @author Martin Maher
  * @since 2.3
@@ -37,34 +48,65 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
     /** Logger */
     private static final Logger LOG = LoggerFactory.getLogger(CitrusWebSocketHandler.class);
 
-    /** Inbound message cache */
-    private final Queue<WebSocketMessage<?>> inboundMessages = new LinkedList<>();
+    /** Default number of buffered inbound messages per session */
+    public static final int DEFAULT_BUFFER_CAPACITY = 10000;
+
+    /** Maximum number of buffered inbound messages per session */
+    private final int bufferCapacity;
+
+    /** Inbound message buffer in arrival order */
+    private final LinkedList<InboundMessage> inboundMessages = new LinkedList<>();
+
+    /** Guards inbound message buffer */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition messageAdded = lock.newCondition();
+    private final Condition messageRemoved = lock.newCondition();
 
     /** Web socket sessions */
-    private final Map<String, WebSocketSession> sessions = new HashMap<>();
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    /** Inbound message statistics per session */
+    private final Map<String, SessionStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor using default buffer capacity.
+     */
+    public CitrusWebSocketHandler() {
+        this(DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Constructor using inbound buffer capacity per session.
+     * @param bufferCapacity
+     */
+    public CitrusWebSocketHandler(int bufferCapacity) {
+        Assert.isTrue(bufferCapacity > 0, "Web Socket buffer capacity must be greater than zero");
+        this.bufferCapacity = bufferCapacity;
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         LOG.debug(String.format("WebSocket connection established (%s)", session.getId()));
         sessions.put(session.getId(), session);
+        getSessionStatistics(session.getId());
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received text message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session, message);
     }
 
     @Override
     protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received binary message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session, message);
     }
 
     @Override
     protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received pong message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session, message);
     }
 
     @Override
@@ -78,12 +120,92 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
         sessions.remove(session.getId());
     }
 
+    /**
+     * Adds inbound message to buffer. Blocks while the session has reached the buffer capacity.
+     * @param session
+     * @param message
+     * @throws InterruptedException
+     */
+    private void addMessage(WebSocketSession session, WebSocketMessage<?> message) throws InterruptedException {
+        SessionStatistics sessionStatistics = getSessionStatistics(session.getId());
+
+        lock.lock();
+        try {
+            while (sessionStatistics.buffered >= bufferCapacity) {
+                LOG.debug(String.format("WebSocket buffer for session (%s) is full - waiting for consumers", session.getId()));
+                messageRemoved.await();
+            }
+
+            inboundMessages.add(new InboundMessage(session, message));
+            sessionStatistics.received.incrementAndGet();
+            sessionStatistics.buffered++;
+            sessionStatistics.highWaterMark = Math.max(sessionStatistics.highWaterMark, sessionStatistics.buffered);
+
+            messageAdded.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * Polls message from internal cache.
      * @return
      */
     public WebSocketMessage<?> getMessage() {
-        return inboundMessages.poll();
+        return receive(null, -1L);
+    }
+
+    /**
+     * Receives next inbound message waiting the given time.
+     * @param timeout time to wait in milliseconds, zero or negative values do not wait.
+     * @return the message or null on timeout.
+     */
+    public WebSocketMessage<?> receive(long timeout) {
+        return receive(null, timeout);
+    }
+
+    /**
+     * Receives next inbound message matching the given selector waiting the given time. Selector key value pairs are matched
+     * against session id (key {@link WebSocketMessageHeaders#WEB_SOCKET_SESSION_ID}), last frame marker
+     * (key {@link WebSocketMessageHeaders#WEB_SOCKET_IS_LAST}) and session attributes such as web socket id and path.
+     * @param selector the message selector, may be empty.
+     * @param timeout time to wait in milliseconds, zero or negative values do not wait.
+     * @return the message or null on timeout.
+     */
+    public WebSocketMessage<?> receive(String selector, long timeout) {
+        Map<String, String> selectorValues = StringUtils.hasText(selector) ?
+                MessageSelectorBuilder.withString(selector).toKeyValueMap() : Collections.<String, String>emptyMap();
+
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeout);
+        lock.lock();
+        try {
+            while (true) {
+                for (Iterator<InboundMessage> it = inboundMessages.iterator(); it.hasNext();) {
+                    InboundMessage inbound = it.next();
+                    if (inbound.matches(selectorValues)) {
+                        it.remove();
+
+                        SessionStatistics sessionStatistics = getSessionStatistics(inbound.session.getId());
+                        sessionStatistics.buffered--;
+                        sessionStatistics.consumed.incrementAndGet();
+
+                        messageRemoved.signalAll();
+                        return inbound.message;
+                    }
+                }
+
+                if (remaining <= 0L) {
+                    return null;
+                }
+
+                remaining = messageAdded.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for Web Socket message", e);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -109,4 +231,123 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
         }
         return sentSuccessfully;
     }
+
+    /**
+     * Gets inbound message statistics for given session. Statistics are kept after the session has been closed.
+     * @param sessionId
+     * @return
+     */
+    public SessionStatistics getSessionStatistics(String sessionId) {
+        return statistics.computeIfAbsent(sessionId, SessionStatistics::new);
+    }
+
+    /**
+     * Gets inbound message statistics of all sessions.
+     * @return
+     */
+    public Collection<SessionStatistics> getSessionStatistics() {
+        return Collections.unmodifiableCollection(statistics.values());
+    }
+
+    /**
+     * Gets the buffer capacity per session.
+     * @return
+     */
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    /**
+     * Inbound message with the session it was received on.
+     */
+    private static final class InboundMessage {
+        private final WebSocketSession session;
+        private final WebSocketMessage<?> message;
+
+        InboundMessage(WebSocketSession session, WebSocketMessage<?> message) {
+            this.session = session;
+            this.message = message;
+        }
+
+        /**
+         * Checks if all selector values match this message.
+         * @param selectorValues
+         * @return
+         */
+        boolean matches(Map<String, String> selectorValues) {
+            for (Map.Entry<String, String> entry : selectorValues.entrySet()) {
+                Object value;
+                if (entry.getKey().equals(WebSocketMessageHeaders.WEB_SOCKET_SESSION_ID)) {
+                    value = session.getId();
+                } else if (entry.getKey().equals(WebSocketMessageHeaders.WEB_SOCKET_IS_LAST)) {
+                    value = message.isLast();
+                } else {
+                    value = session.getAttributes() != null ? session.getAttributes().get(entry.getKey()) : null;
+                }
+
+                if (value == null || !entry.getValue().equals(value.toString())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Inbound message statistics of a single session.
+     */
+    public static final class SessionStatistics {
+        private final String sessionId;
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong consumed = new AtomicLong();
+
+        /** Guarded by handler lock */
+        private volatile int buffered = 0;
+        private volatile int highWaterMark = 0;
+
+        SessionStatistics(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        /**
+         * Gets the session id.
+         * @return
+         */
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        /**
+         * Gets the number of messages received on this session.
+         * @return
+         */
+        public long getReceived() {
+            return received.get();
+        }
+
+        /**
+         * Gets the number of messages taken from the buffer by consumers.
+         * @return
+         */
+        public long getConsumed() {
+            return consumed.get();
+        }
+
+        /**
+         * Gets the number of currently buffered messages.
+         * @return
+         */
+        public int getBuffered() {
+            return buffered;
+        }
+
+        /**
+         * Gets the maximum number of buffered messages seen so far.
+         * @return
+         */
+        public int getHighWaterMark() {
+            return highWaterMark;
+        }
+    }
 }
@@ -22,6 +22,7 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
 import com.consol.citrus.websocket.message.WebSocketMessage;
+import com.consol.citrus.websocket.message.WebSocketMessageHeaders;
 import com.consol.citrus.websocket.server.WebSocketServerEndpointConfiguration;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
@@ -30,6 +31,8 @@ import org.springframework.web.socket.*;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.*;
+
 import static org.mockito.Mockito.*;
 
 public class WebSocketEndpointTest extends AbstractTestNGUnitTest {
@@ -166,4 +169,85 @@ public class WebSocketEndpointTest extends AbstractTestNGUnitTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testWebSocketEndpointSelector() throws Exception {
+        WebSocketServerEndpointConfiguration endpointConfiguration = new WebSocketServerEndpointConfiguration();
+        WebSocketEndpoint webSocketEndpoint = new WebSocketEndpoint(endpointConfiguration);
+
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        endpointConfiguration.setHandler(handler);
+        endpointConfiguration.setEndpointUri("/test");
+
+        reset(session, session2);
+        when(session.getId()).thenReturn("test-socket-1");
+        when(session2.getId()).thenReturn("test-socket-2");
+
+        handler.afterConnectionEstablished(session);
+        handler.afterConnectionEstablished(session2);
+
+        handler.handleMessage(session, new TextMessage("Hello from socket 1"));
+        handler.handleMessage(session2, new TextMessage("Hello from socket 2"));
+        handler.handleMessage(session, new TextMessage("Bye from socket 1"));
+
+        WebSocketConsumer consumer = (WebSocketConsumer) webSocketEndpoint.createConsumer();
+        Message received = consumer.receive(WebSocketMessageHeaders.WEB_SOCKET_SESSION_ID + " = 'test-socket-2'", context, 1000L);
+        Assert.assertEquals(received.getPayload(), "Hello from socket 2");
+
+        received = consumer.receive(WebSocketMessageHeaders.WEB_SOCKET_SESSION_ID + " = 'test-socket-1'", context, 1000L);
+        Assert.assertEquals(received.getPayload(), "Hello from socket 1");
+
+        Assert.assertEquals(handler.getSessionStatistics("test-socket-1").getReceived(), 2L);
+        Assert.assertEquals(handler.getSessionStatistics("test-socket-1").getConsumed(), 1L);
+        Assert.assertEquals(handler.getSessionStatistics("test-socket-1").getBuffered(), 1);
+        Assert.assertEquals(handler.getSessionStatistics("test-socket-1").getHighWaterMark(), 2);
+        Assert.assertEquals(handler.getSessionStatistics("test-socket-2").getReceived(), 1L);
+        Assert.assertEquals(handler.getSessionStatistics("test-socket-2").getBuffered(), 0);
+
+        try {
+            consumer.receive(WebSocketMessageHeaders.WEB_SOCKET_SESSION_ID + " = 'test-socket-2'", context, 100L);
+            Assert.fail("Missing timeout exception on web socket endpoint");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains("/test"));
+        }
+    }
+
+    @Test
+    public void testWebSocketEndpointBlockingReceive() throws Exception {
+        WebSocketServerEndpointConfiguration endpointConfiguration = new WebSocketServerEndpointConfiguration();
+        final WebSocketEndpoint webSocketEndpoint = new WebSocketEndpoint(endpointConfiguration);
+
+        final CitrusWebSocketHandler handler = new CitrusWebSocketHandler(2);
+        endpointConfiguration.setHandler(handler);
+        endpointConfiguration.setEndpointUri("/test");
+
+        reset(session);
+        when(session.getId()).thenReturn("test-socket-1");
+        handler.afterConnectionEstablished(session);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> producer = executor.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    handler.handleMessage(session, new TextMessage("Message " + i));
+                }
+                return null;
+            });
+
+            for (int i = 0; i < 100; i++) {
+                Message received = webSocketEndpoint.createConsumer().receive(context, 5000L);
+                Assert.assertEquals(received.getPayload(), "Message " + i);
+            }
+
+            producer.get(5000L, TimeUnit.MILLISECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CitrusWebSocketHandler.SessionStatistics statistics = handler.getSessionStatistics("test-socket-1");
+        Assert.assertEquals(statistics.getReceived(), 100L);
+        Assert.assertEquals(statistics.getConsumed(), 100L);
+        Assert.assertEquals(statistics.getBuffered(), 0);
+        Assert.assertTrue(statistics.getHighWaterMark() <= 2);
+    }
+}
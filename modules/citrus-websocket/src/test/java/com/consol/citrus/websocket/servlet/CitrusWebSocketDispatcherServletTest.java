@@ -149,6 +149,7 @@ public class CitrusWebSocketDispatcherServletTest extends AbstractTestNGUnitTest
         wsEndpoint.setWebSocketHandler(isA(CitrusWebSocketHandler.class));
 
         when(wsEndpointConfig.getEndpointUri()).thenReturn(endpointUri);
+        when(wsEndpointConfig.getBufferCapacity()).thenReturn(CitrusWebSocketHandler.DEFAULT_BUFFER_CAPACITY);
 
         when(servletContext.getContextHandler()).thenReturn(contextHandler);
         when(servletContext.getAttribute(DecoratedObjectFactory.ATTR)).thenReturn(objectFactory);
@@ -20,7 +20,7 @@ import com.consol.citrus.Citrus;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.FileUtils;
-import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Base64InputStream;
 import org.apache.commons.codec.binary.Hex;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -30,8 +30,11 @@ import org.springframework.ws.mime.Attachment;
 
 import javax.activation.DataHandler;
 import javax.activation.DataSource;
+import javax.activation.FileDataSource;
 import java.io.*;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Citrus SOAP attachment implementation.
@@ -46,6 +49,9 @@ public class SoapAttachment implements Attachment, Serializable {
     public static final String ENCODING_BASE64_BINARY = "base64Binary";
     public static final String ENCODING_HEX_BINARY = "hexBinary";
 
+    /** Buffer size used when streaming attachment data */
+    private static final int BUFFER_SIZE = 8192;
+
     /** Content body as string */
     private String content = null;
 
@@ -70,6 +76,9 @@ public class SoapAttachment implements Attachment, Serializable {
     /** Optional MTOM encoding */
     private String encodingType = ENCODING_BASE64_BINARY;
 
+    /** Text content not read from data handler yet */
+    private boolean textContentPending = false;
+
     /** Test context for variable resolving */
     private TestContext context;
 
@@ -80,7 +89,8 @@ public class SoapAttachment implements Attachment, Serializable {
     }
 
     /**
-     * Static construction method from Spring mime attachment.
+     * Static construction method from Spring mime attachment. Attachment data is not read here, text content is read
+     * on first access and binary content stays streamed through the attachment data handler.
      * @param attachment
      * @return
      */
@@ -90,11 +100,8 @@ public class SoapAttachment implements Attachment, Serializable {
         soapAttachment.setContentType(attachment.getContentType());
 
         if (attachment.getContentType().startsWith("text")) {
-            try {
-                soapAttachment.setContent(FileUtils.readToString(attachment.getInputStream()).trim());
-            } catch (IOException e) {
-                throw new CitrusRuntimeException("Failed to read SOAP attachment content", e);
-            }
+            soapAttachment.setDataHandler(new DataHandler(new AttachmentDataSource(attachment)));
+            soapAttachment.textContentPending = true;
         } else {
             // Binary content
             soapAttachment.setDataHandler(attachment.getDataHandler());
@@ -150,6 +157,7 @@ public class SoapAttachment implements Attachment, Serializable {
      */
     public void setDataHandler(DataHandler dataHandler) {
         this.dataHandler = dataHandler;
+        this.textContentPending = false;
     }
 
     @Override
@@ -160,10 +168,16 @@ public class SoapAttachment implements Attachment, Serializable {
     @Override
     public long getSize() {
         try {
-            if (content != null) {
+            if (content != null || textContentPending) {
                 return getContent().getBytes(charsetName).length;
+            } else if (dataHandler == null && StringUtils.hasText(getContentResourcePath())) {
+                return new PathMatchingResourcePatternResolver().getResource(getContentResourcePath()).contentLength();
+            } else if (getDataHandler().getDataSource() instanceof FileDataSource) {
+                return ((FileDataSource) getDataHandler().getDataSource()).getFile().length();
             } else {
-                return getSizeOfContent(getDataHandler().getInputStream());
+                try (InputStream inputStream = getDataHandler().getInputStream()) {
+                    return getSizeOfContent(inputStream);
+                }
             }
         } catch (UnsupportedEncodingException e) {
             throw new CitrusRuntimeException(e);
@@ -174,7 +188,16 @@ public class SoapAttachment implements Attachment, Serializable {
 
     @Override
     public String toString() {
-        return String.format("%s [contentId: %s, contentType: %s, content: %s]", getClass().getSimpleName().toUpperCase(), getContentId(), getContentType(), getContent());
+        return String.format("%s [contentId: %s, contentType: %s, content: %s]", getClass().getSimpleName().toUpperCase(), getContentId(), getContentType(),
+                isBinaryContent() ? "<binary data>" : getContent());
+    }
+
+    /**
+     * Checks if content is only available as binary data that gets encoded when accessed as string.
+     * @return
+     */
+    private boolean isBinaryContent() {
+        return content == null && !textContentPending && !(StringUtils.hasText(getContentResourcePath()) && getContentType().startsWith("text"));
     }
 
     /**
@@ -182,6 +205,16 @@ public class SoapAttachment implements Attachment, Serializable {
      * @return the content
      */
     public String getContent() {
+        if (textContentPending) {
+            try (InputStream inputStream = dataHandler.getInputStream()) {
+                content = FileUtils.readToString(inputStream, Charset.forName(charsetName)).trim();
+                dataHandler = null;
+                textContentPending = false;
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read SOAP attachment content", e);
+            }
+        }
+
         if (content != null) {
             return context != null ? context.replaceDynamicContentInString(content) : content;
         } else if (StringUtils.hasText(getContentResourcePath()) && getContentType().startsWith("text")) {
@@ -192,12 +225,11 @@ public class SoapAttachment implements Attachment, Serializable {
                 throw new CitrusRuntimeException("Failed to read SOAP attachment file resource", e);
             }
         } else {
-            try {
-                byte[] binaryData = FileCopyUtils.copyToByteArray(getDataHandler().getInputStream());
+            try (InputStream inputStream = getDataHandler().getInputStream()) {
                 if (encodingType.equals(SoapAttachment.ENCODING_BASE64_BINARY)) {
-                    return Base64.encodeBase64String(binaryData);
+                    return encodeBase64(inputStream);
                 } else if (encodingType.equals(SoapAttachment.ENCODING_HEX_BINARY)) {
-                    return Hex.encodeHexString(binaryData).toUpperCase();
+                    return encodeHex(inputStream);
                 } else {
                     throw new CitrusRuntimeException(String.format("Unsupported encoding type '%s' for SOAP attachment - choose one of %s or %s",
                             encodingType, SoapAttachment.ENCODING_BASE64_BINARY, SoapAttachment.ENCODING_HEX_BINARY));
@@ -314,12 +346,42 @@ public class SoapAttachment implements Attachment, Serializable {
      */
     private static long getSizeOfContent(InputStream is) throws IOException {
         long size = 0;
-        while (is.read() != -1) {
-            size++;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            size += read;
         }
         return size;
     }
 
+    /**
+     * Encodes binary data of given input stream chunk by chunk to base64 string.
+     * @param is
+     * @return
+     */
+    private static String encodeBase64(InputStream is) throws IOException {
+        try (Reader reader = new InputStreamReader(new Base64InputStream(is, true, 0, null), StandardCharsets.US_ASCII)) {
+            StringWriter writer = new StringWriter();
+            FileCopyUtils.copy(reader, writer);
+            return writer.toString();
+        }
+    }
+
+    /**
+     * Encodes binary data of given input stream chunk by chunk to upper case hex string.
+     * @param is
+     * @return
+     */
+    private static String encodeHex(InputStream is) throws IOException {
+        StringBuilder hex = new StringBuilder();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            hex.append(Hex.encodeHex(read == buffer.length ? buffer : Arrays.copyOf(buffer, read), false));
+        }
+        return hex.toString();
+    }
+
     /**
      * Data source working on this attachments text content data.
      */
@@ -345,6 +407,37 @@ public class SoapAttachment implements Attachment, Serializable {
         }
     }
 
+    /**
+     * Data source working on the input stream of a Spring mime attachment.
+     */
+    private static class AttachmentDataSource implements DataSource {
+        private final Attachment attachment;
+
+        AttachmentDataSource(Attachment attachment) {
+            this.attachment = attachment;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return attachment.getInputStream();
+        }
+
+        @Override
+        public String getContentType() {
+            return attachment.getContentType();
+        }
+
+        @Override
+        public String getName() {
+            return attachment.getContentId();
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     /**
      * Data source working on this attachments file resource.
      */
@@ -18,15 +18,22 @@ package com.consol.citrus.ws.validation;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.ws.message.SoapAttachment;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * Soap attachment validator performs binary content validation by comparing attachment content binary input streams.
+ * Streams are compared chunk by chunk so attachment content is never loaded into memory as a whole. Optionally compares
+ * message digests of both streams instead, e.g. when only the digest is of interest for very large attachments.
  *
  * @author Christoph Deppisch
  * @since 2.1
@@ -36,16 +43,35 @@ public class BinarySoapAttachmentValidator extends AbstractSoapAttachmentValidat
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(BinarySoapAttachmentValidator.class);
 
+    /** Size of chunks compared at once */
+    private static final int CHUNK_SIZE = 8192;
+
+    /** Optional message digest algorithm such as SHA-256 used instead of chunked comparison */
+    private String digestAlgorithm;
+
     @Override
     protected void validateAttachmentContent(SoapAttachment receivedAttachment, SoapAttachment controlAttachment) {
         if (log.isDebugEnabled()) {
             log.debug("Validating binary SOAP attachment content ...");
         }
 
-        try {
-            Assert.isTrue(IOUtils.contentEquals(receivedAttachment.getInputStream(), controlAttachment.getInputStream()),
-                    "Values not equal for binary attachment content '"
-                            + controlAttachment.getContentId() + "'");
+        try (InputStream received = receivedAttachment.getInputStream();
+             InputStream control = controlAttachment.getInputStream()) {
+            if (StringUtils.hasText(digestAlgorithm)) {
+                String receivedDigest = digest(received);
+                String controlDigest = digest(control);
+
+                Assert.isTrue(receivedDigest.equals(controlDigest),
+                        "Values not equal for binary attachment content '"
+                                + controlAttachment.getContentId() + "', expected " + digestAlgorithm + " digest '"
+                                + controlDigest + "' but was '" + receivedDigest + "'");
+            } else {
+                long mismatch = compare(received, control);
+
+                Assert.isTrue(mismatch < 0,
+                        "Values not equal for binary attachment content '"
+                                + controlAttachment.getContentId() + "', first difference at byte offset " + mismatch);
+            }
         } catch(IOException e) {
             throw new CitrusRuntimeException("Binary SOAP attachment validation failed", e);
         }
@@ -54,4 +80,78 @@ public class BinarySoapAttachmentValidator extends AbstractSoapAttachmentValidat
             log.debug("Validating binary SOAP attachment content: OK");
         }
     }
+
+    /**
+     * Compares both streams chunk by chunk.
+     * @param received
+     * @param control
+     * @return offset of first differing byte or -1 when stream contents are equal.
+     * @throws IOException
+     */
+    private long compare(InputStream received, InputStream control) throws IOException {
+        byte[] receivedChunk = new byte[CHUNK_SIZE];
+        byte[] controlChunk = new byte[CHUNK_SIZE];
+        long offset = 0;
+
+        while (true) {
+            int receivedLength = IOUtils.read(received, receivedChunk);
+            int controlLength = IOUtils.read(control, controlChunk);
+
+            int length = Math.min(receivedLength, controlLength);
+            for (int i = 0; i < length; i++) {
+                if (receivedChunk[i] != controlChunk[i]) {
+                    return offset + i;
+                }
+            }
+
+            if (receivedLength != controlLength) {
+                return offset + length;
+            }
+
+            if (receivedLength < CHUNK_SIZE) {
+                return -1L;
+            }
+
+            offset += receivedLength;
+        }
+    }
+
+    /**
+     * Computes message digest of given stream.
+     * @param inputStream
+     * @return hex encoded digest.
+     * @throws IOException
+     */
+    private String digest(InputStream inputStream) throws IOException {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(digestAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new CitrusRuntimeException("Unsupported message digest algorithm for binary SOAP attachment validation: " + digestAlgorithm, e);
+        }
+
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int read;
+        while ((read = inputStream.read(chunk)) != -1) {
+            messageDigest.update(chunk, 0, read);
+        }
+
+        return Hex.encodeHexString(messageDigest.digest());
+    }
+
+    /**
+     * Gets the digest algorithm.
+     * @return
+     */
+    public String getDigestAlgorithm() {
+        return digestAlgorithm;
+    }
+
+    /**
+     * Sets the message digest algorithm such as SHA-256. When set attachment contents are compared by digest.
+     * @param digestAlgorithm
+     */
+    public void setDigestAlgorithm(String digestAlgorithm) {
+        this.digestAlgorithm = digestAlgorithm;
+    }
 }
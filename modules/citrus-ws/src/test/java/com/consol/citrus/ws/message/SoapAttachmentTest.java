@@ -25,6 +25,7 @@ import org.testng.annotations.Test;
 
 import javax.activation.DataHandler;
 import javax.activation.DataSource;
+import javax.activation.FileDataSource;
 import java.io.*;
 import java.nio.file.*;
 import java.nio.charset.Charset;
@@ -110,6 +111,57 @@ public class SoapAttachmentTest {
         Assert.assertEquals(soapAttachment.getSize(), resourceContent.length);
     }
 
+    @Test
+    public void testFromAttachmentReadsTextContentLazily() throws Exception {
+        reset(attachment);
+
+        when(attachment.getContentId()).thenReturn("mail");
+        when(attachment.getContentType()).thenReturn("text/plain");
+        when(attachment.getInputStream()).thenReturn(new StaticTextDataSource(" This is mail text content! ", "text/plain", "UTF-8", "mail").getInputStream());
+
+        SoapAttachment soapAttachment = SoapAttachment.from(attachment);
+        verify(attachment, never()).getInputStream();
+
+        Assert.assertEquals(soapAttachment.getSize(), 26L);
+        Assert.assertEquals(soapAttachment.getContent(), "This is mail text content!");
+        Assert.assertTrue(soapAttachment.toString().contains("This is mail text content!"));
+        verify(attachment, times(1)).getInputStream();
+    }
+
+    @Test
+    public void testBinaryContentIsNotMaterialized() throws Exception {
+        reset(attachment);
+
+        when(attachment.getContentId()).thenReturn("img");
+        when(attachment.getContentType()).thenReturn("application/octet-stream");
+
+        DataSource dataSource = Mockito.spy(new StaticTextDataSource("This is img text content!", "application/octet-stream", "UTF-8", "img"));
+        when(attachment.getDataHandler()).thenReturn(new DataHandler(dataSource));
+
+        SoapAttachment soapAttachment = SoapAttachment.from(attachment);
+        Assert.assertTrue(soapAttachment.toString().contains("<binary data>"));
+        verify(dataSource, never()).getInputStream();
+
+        Assert.assertEquals(soapAttachment.getSize(), 25L);
+    }
+
+    @Test
+    public void testFileDataSourceSize() throws Exception {
+        File file = File.createTempFile("soap-attachment", ".bin");
+        file.deleteOnExit();
+        Files.write(file.toPath(), new byte[100000]);
+
+        SoapAttachment soapAttachment = new SoapAttachment();
+        soapAttachment.setContentType("application/octet-stream");
+        soapAttachment.setDataHandler(new DataHandler(new FileDataSource(file)));
+
+        Assert.assertEquals(soapAttachment.getSize(), 100000L);
+        Assert.assertEquals(soapAttachment.getContent(), Base64.encodeBase64String(new byte[100000]));
+
+        soapAttachment.setEncodingType(SoapAttachment.ENCODING_HEX_BINARY);
+        Assert.assertEquals(soapAttachment.getContent(), Hex.encodeHexString(new byte[100000]).toUpperCase());
+    }
+
     private class StaticTextDataSource implements DataSource {
 
         private final String content;
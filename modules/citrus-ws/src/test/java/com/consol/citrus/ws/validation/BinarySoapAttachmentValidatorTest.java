@@ -0,0 +1,117 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.ws.validation;
+
+import com.consol.citrus.ws.message.SoapAttachment;
+import com.consol.citrus.ws.message.SoapMessage;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.3
+ */
+public class BinarySoapAttachmentValidatorTest {
+
+    private static final String IMAGE_RESOURCE = "classpath:com/consol/citrus/ws/actions/test-attachment.png";
+
+    @Test
+    public void testBinaryValidation() {
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(createAttachment(IMAGE_RESOURCE));
+
+        BinarySoapAttachmentValidator validator = new BinarySoapAttachmentValidator();
+        validator.validateAttachment(testMessage, Collections.singletonList(createAttachment(IMAGE_RESOURCE)));
+    }
+
+    @Test
+    public void testBinaryValidationDigest() {
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(createAttachment(IMAGE_RESOURCE));
+
+        BinarySoapAttachmentValidator validator = new BinarySoapAttachmentValidator();
+        validator.setDigestAlgorithm("SHA-256");
+        validator.validateAttachment(testMessage, Collections.singletonList(createAttachment(IMAGE_RESOURCE)));
+    }
+
+    @Test
+    public void testBinaryValidationContentMismatch() {
+        char[] data = new char[20000];
+        Arrays.fill(data, 'a');
+        String receivedContent = new String(data);
+        data[10000] = 'b';
+        String controlContent = new String(data);
+
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(createAttachment(receivedContent, "application/octet-stream"));
+
+        BinarySoapAttachmentValidator validator = new BinarySoapAttachmentValidator();
+        try {
+            validator.validateAttachment(testMessage, Collections.singletonList(createAttachment(controlContent, "application/octet-stream")));
+            Assert.fail("Missing validation exception");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("byte offset 10000"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testBinaryValidationLengthMismatch() {
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(createAttachment("Hello", "application/octet-stream"));
+
+        BinarySoapAttachmentValidator validator = new BinarySoapAttachmentValidator();
+        try {
+            validator.validateAttachment(testMessage, Collections.singletonList(createAttachment("Hello World", "application/octet-stream")));
+            Assert.fail("Missing validation exception");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("byte offset 5"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testBinaryValidationDigestMismatch() {
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(createAttachment("Hello", "application/octet-stream"));
+
+        BinarySoapAttachmentValidator validator = new BinarySoapAttachmentValidator();
+        validator.setDigestAlgorithm("SHA-256");
+        try {
+            validator.validateAttachment(testMessage, Collections.singletonList(createAttachment("Hello World", "application/octet-stream")));
+            Assert.fail("Missing validation exception");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("SHA-256 digest"), e.getMessage());
+        }
+    }
+
+    private SoapAttachment createAttachment(String resourcePath) {
+        SoapAttachment attachment = new SoapAttachment();
+        attachment.setContentId("img");
+        attachment.setContentType("image/png");
+        attachment.setContentResourcePath(resourcePath);
+        return attachment;
+    }
+
+    private SoapAttachment createAttachment(String content, String contentType) {
+        SoapAttachment attachment = new SoapAttachment(content);
+        attachment.setContentId("data");
+        attachment.setContentType(contentType);
+        return attachment;
+    }
+}